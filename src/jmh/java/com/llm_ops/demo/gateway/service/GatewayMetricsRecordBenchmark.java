@@ -0,0 +1,58 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.keys.domain.ProviderType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 호출마다 {@code Timer.builder(...).tag(...).register(...)}로 meter를 찾던 기존 기록 방식과
+ * {@link GatewayMetrics}의 캐시된 handle 기록을 비교하는 JMH 벤치마크입니다.
+ * {@code ./gradlew jmh}로 실행하며, gc profiler 결과의 {@code gc.alloc.rate.norm}이 호출당 할당 바이트입니다.
+ * {@code cachedHandles}는 0 B/op 근처여야 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GatewayMetricsRecordBenchmark {
+
+    private static final String MODEL = "gpt-4o-mini";
+    private static final ProviderType PROVIDER = ProviderType.OPENAI;
+
+    private SimpleMeterRegistry registry;
+    private GatewayMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new GatewayMetrics(registry);
+    }
+
+    @Benchmark
+    public Timer builderLookup() {
+        Timer timer = Timer.builder("gateway_request_seconds_builder")
+                .publishPercentileHistogram(true)
+                .tag("provider", PROVIDER.name().toLowerCase())
+                .tag("model", MODEL)
+                .tag("is_rag", String.valueOf(false))
+                .tag("is_failover", String.valueOf(false))
+                .tag("status", "success")
+                .register(registry);
+        timer.record(1_000_000L, TimeUnit.NANOSECONDS);
+        return timer;
+    }
+
+    @Benchmark
+    public void cachedHandles() {
+        metrics.recordRequest(PROVIDER, MODEL, false, false, GatewayMetrics.Outcome.SUCCESS, 1_000_000L);
+        metrics.incrementLlmSuccess(PROVIDER, MODEL);
+        metrics.recordOutputTokens(PROVIDER, MODEL, 128L);
+    }
+}
@@ -0,0 +1,57 @@
+package com.llm_ops.demo.prompt.template;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 변수마다 {@code String.replace}를 반복하던 기존 렌더링과 {@link PromptTemplate} 렌더링을 비교하는 JMH 벤치마크입니다.
+ * 단위 테스트와 분리해 {@code ./gradlew jmh}로 실행하며, 결과는 {@code build/results/jmh}에 남습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PromptTemplateRenderBenchmark {
+
+    @Param({"5", "40"})
+    private int variableCount;
+
+    private String template;
+    private PromptTemplate compiled;
+    private Map<String, String> variables;
+
+    @Setup
+    public void setUp() {
+        variables = new LinkedHashMap<>();
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < variableCount; i++) {
+            variables.put("var" + i, "value-" + i + "-" + "x".repeat(40));
+            source.append("Section ").append(i).append(": {{var").append(i).append("}}\n");
+            source.append("lorem ipsum dolor sit amet ".repeat(20)).append('\n');
+        }
+        template = source.toString();
+        compiled = PromptTemplate.compile(template);
+    }
+
+    @Benchmark
+    public String replaceEachVariable() {
+        String rendered = template;
+        for (Map.Entry<String, String> entry : variables.entrySet()) {
+            rendered = rendered.replace("{{" + entry.getKey() + "}}", entry.getValue());
+        }
+        return rendered;
+    }
+
+    @Benchmark
+    public String compiledRender() {
+        return compiled.render(variables);
+    }
+}
@@ -0,0 +1,44 @@
+package com.llm_ops.demo.budget.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 로컬 예산 상태 엔진 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "budget.state")
+@Getter
+@Setter
+public class BudgetStateProperties {
+
+    private static final long DEFAULT_RECONCILE_INTERVAL_MS = 5_000L;
+    private static final long DEFAULT_IDLE_EVICT_MS = 600_000L;
+    private static final int DEFAULT_RECONCILE_BATCH_SIZE = 500;
+
+    /**
+     * 정책과 월 사용량을 DB와 맞추는 주기입니다. 다른 노드에서 발생한 사용량/정책 변경은 최대 이 시간만큼 늦게 반영됩니다.
+     */
+    private long reconcileIntervalMs = DEFAULT_RECONCILE_INTERVAL_MS;
+
+    /**
+     * 이 시간 동안 평가되지 않은 scope는 메모리에서 제거합니다.
+     */
+    private long idleEvictMs = DEFAULT_IDLE_EVICT_MS;
+
+    private int reconcileBatchSize = DEFAULT_RECONCILE_BATCH_SIZE;
+
+    public long resolvedReconcileIntervalMs() {
+        return reconcileIntervalMs > 0 ? reconcileIntervalMs : DEFAULT_RECONCILE_INTERVAL_MS;
+    }
+
+    public long resolvedIdleEvictMs() {
+        return idleEvictMs > 0 ? idleEvictMs : DEFAULT_IDLE_EVICT_MS;
+    }
+
+    public int resolvedReconcileBatchSize() {
+        return reconcileBatchSize > 0 ? reconcileBatchSize : DEFAULT_RECONCILE_BATCH_SIZE;
+    }
+}
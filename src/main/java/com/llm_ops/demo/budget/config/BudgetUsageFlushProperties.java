@@ -0,0 +1,37 @@
+package com.llm_ops.demo.budget.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 월 사용량 증가분을 모아 DB에 반영하는 write-behind 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "budget.usage-flush")
+@Getter
+@Setter
+public class BudgetUsageFlushProperties {
+
+    private static final long DEFAULT_INTERVAL_MS = 1_000L;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * 메모리에 모인 증가분을 DB에 반영하는 주기입니다. 비정상 종료 시 최대 이 시간만큼의 증가분이 유실될 수 있습니다.
+     */
+    private long intervalMs = DEFAULT_INTERVAL_MS;
+
+    /**
+     * 한 번의 JDBC batch로 보내는 최대 행 수입니다.
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public long resolvedIntervalMs() {
+        return intervalMs > 0 ? intervalMs : DEFAULT_INTERVAL_MS;
+    }
+
+    public int resolvedBatchSize() {
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+}
@@ -2,6 +2,8 @@ package com.llm_ops.demo.budget.repository;
 
 import com.llm_ops.demo.budget.domain.BudgetMonthlyUsage;
 import com.llm_ops.demo.budget.domain.BudgetScopeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -11,5 +13,10 @@ public interface BudgetMonthlyUsageRepository extends JpaRepository<BudgetMonthl
         Long scopeId,
         Integer yearMonth
     );
-}
 
+    List<BudgetMonthlyUsage> findAllByScopeTypeAndYearMonthAndScopeIdIn(
+        BudgetScopeType scopeType,
+        Integer yearMonth,
+        Collection<Long> scopeIds
+    );
+}
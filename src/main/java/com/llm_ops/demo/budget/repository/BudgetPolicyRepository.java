@@ -2,10 +2,13 @@ package com.llm_ops.demo.budget.repository;
 
 import com.llm_ops.demo.budget.domain.BudgetPolicy;
 import com.llm_ops.demo.budget.domain.BudgetScopeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface BudgetPolicyRepository extends JpaRepository<BudgetPolicy, Long> {
     Optional<BudgetPolicy> findByScopeTypeAndScopeId(BudgetScopeType scopeType, Long scopeId);
-}
 
+    List<BudgetPolicy> findAllByScopeTypeAndScopeIdIn(BudgetScopeType scopeType, Collection<Long> scopeIds);
+}
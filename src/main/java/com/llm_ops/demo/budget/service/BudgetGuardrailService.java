@@ -1,44 +1,53 @@
 package com.llm_ops.demo.budget.service;
 
-import com.llm_ops.demo.budget.domain.BudgetPolicy;
 import com.llm_ops.demo.budget.domain.BudgetScopeType;
 import com.llm_ops.demo.budget.domain.BudgetSoftAction;
+import com.llm_ops.demo.budget.service.BudgetStateEngine.PolicyState;
 import java.math.BigDecimal;
 import java.time.YearMonth;
-import java.util.Map;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+/**
+ * 게이트웨이 요청의 예산 가드레일을 판단합니다.
+ * 정책과 월 사용량은 {@link BudgetStateEngine}의 메모리 상태를 사용하므로 요청 경로에서 DB를 조회하지 않습니다.
+ */
 @Service
 public class BudgetGuardrailService {
 
-    private final BudgetPolicyService budgetPolicyService;
+    private final BudgetStateEngine budgetStateEngine;
     private final BudgetUsageService budgetUsageService;
 
-    public BudgetGuardrailService(BudgetPolicyService budgetPolicyService, BudgetUsageService budgetUsageService) {
-        this.budgetPolicyService = budgetPolicyService;
+    public BudgetGuardrailService(BudgetStateEngine budgetStateEngine, BudgetUsageService budgetUsageService) {
+        this.budgetStateEngine = budgetStateEngine;
         this.budgetUsageService = budgetUsageService;
     }
 
     public BudgetDecision evaluateProviderCredential(Long providerCredentialId) {
+        return evaluateProviderCredential(providerCredentialId, null);
+    }
+
+    /**
+     * 이번 요청의 예상 비용({@code projectedCostUsd})까지 더했을 때 하드리밋을 넘으면 프로바이더 호출 전에 차단합니다.
+     * 예상 비용이 없으면 현재 사용량만으로 판단합니다.
+     */
+    public BudgetDecision evaluateProviderCredential(Long providerCredentialId, @Nullable BigDecimal projectedCostUsd) {
         if (providerCredentialId == null || providerCredentialId <= 0) {
             return BudgetDecision.allow();
         }
 
-        BudgetPolicy policy = budgetPolicyService
-            .findPolicy(BudgetScopeType.PROVIDER_CREDENTIAL, providerCredentialId)
-            .filter(p -> Boolean.TRUE.equals(p.getEnabled()))
+        PolicyState policy = budgetStateEngine
+            .policy(BudgetScopeType.PROVIDER_CREDENTIAL, providerCredentialId)
+            .filter(PolicyState::enabled)
             .orElse(null);
-        if (policy == null || policy.getMonthLimitUsd() == null) {
+        if (policy == null || policy.monthLimitUnits() == null) {
             return BudgetDecision.allow();
         }
 
         YearMonth ym = budgetUsageService.currentUtcYearMonth();
-        BigDecimal used = budgetUsageService
-            .findUsage(BudgetScopeType.PROVIDER_CREDENTIAL, providerCredentialId, ym)
-            .map(u -> u.getCostUsd())
-            .orElse(BigDecimal.ZERO);
+        long used = budgetStateEngine.usedCostUnits(BudgetScopeType.PROVIDER_CREDENTIAL, providerCredentialId, ym);
 
-        if (used.compareTo(policy.getMonthLimitUsd()) >= 0) {
+        if (used >= policy.monthLimitUnits()) {
             return new BudgetDecision(
                 BudgetDecisionAction.BLOCK,
                 BudgetScopeType.PROVIDER_CREDENTIAL,
@@ -48,6 +57,17 @@ public class BudgetGuardrailService {
             );
         }
 
+        long projected = BudgetStateEngine.toUnits(projectedCostUsd);
+        if (projected > 0 && used + projected > policy.monthLimitUnits()) {
+            return new BudgetDecision(
+                BudgetDecisionAction.BLOCK,
+                BudgetScopeType.PROVIDER_CREDENTIAL,
+                providerCredentialId,
+                "PROVIDER_BUDGET_PROJECTED_EXCEEDED",
+                new BudgetDecision.Overrides(null, null, null)
+            );
+        }
+
         return BudgetDecision.allow();
     }
 
@@ -56,32 +76,28 @@ public class BudgetGuardrailService {
             return BudgetDecision.allow();
         }
 
-        BudgetPolicy policy = budgetPolicyService
-            .findPolicy(BudgetScopeType.WORKSPACE, workspaceId)
-            .filter(p -> Boolean.TRUE.equals(p.getEnabled()))
+        PolicyState policy = budgetStateEngine
+            .policy(BudgetScopeType.WORKSPACE, workspaceId)
+            .filter(PolicyState::enabled)
             .orElse(null);
-        if (policy == null || policy.getSoftLimitUsd() == null) {
+        if (policy == null || policy.softLimitUnits() == null) {
             return BudgetDecision.allow();
         }
 
         YearMonth ym = budgetUsageService.currentUtcYearMonth();
-        BigDecimal used = budgetUsageService
-            .findUsage(BudgetScopeType.WORKSPACE, workspaceId, ym)
-            .map(u -> u.getCostUsd())
-            .orElse(BigDecimal.ZERO);
+        long used = budgetStateEngine.usedCostUnits(BudgetScopeType.WORKSPACE, workspaceId, ym);
 
-        if (used.compareTo(policy.getSoftLimitUsd()) < 0) {
+        if (used < policy.softLimitUnits()) {
             return BudgetDecision.allow();
         }
 
-        if (policy.getSoftAction() != null && policy.getSoftAction() != BudgetSoftAction.DEGRADE) {
+        if (policy.softAction() != null && policy.softAction() != BudgetSoftAction.DEGRADE) {
             return BudgetDecision.allow();
         }
 
-        Map<String, String> map = budgetPolicyService.parseDegradeProviderModelMapOrEmpty(policy);
         String modelOverride = null;
         if (providerKeyLowercase != null && !providerKeyLowercase.isBlank()) {
-            modelOverride = map.get(providerKeyLowercase);
+            modelOverride = policy.degradeProviderModelMap().get(providerKeyLowercase);
         }
 
         return new BudgetDecision(
@@ -91,8 +107,8 @@ public class BudgetGuardrailService {
             "WORKSPACE_SOFT_LIMIT_EXCEEDED",
             new BudgetDecision.Overrides(
                 modelOverride,
-                policy.getDegradeMaxOutputTokens(),
-                policy.getDegradeDisableRag()
+                policy.degradeMaxOutputTokens(),
+                policy.degradeDisableRag()
             )
         );
     }
@@ -22,10 +22,16 @@ public class BudgetPolicyService {
 
     private final BudgetPolicyRepository budgetPolicyRepository;
     private final ObjectMapper objectMapper;
+    private final BudgetStateEngine budgetStateEngine;
 
-    public BudgetPolicyService(BudgetPolicyRepository budgetPolicyRepository, ObjectMapper objectMapper) {
+    public BudgetPolicyService(
+        BudgetPolicyRepository budgetPolicyRepository,
+        ObjectMapper objectMapper,
+        BudgetStateEngine budgetStateEngine
+    ) {
         this.budgetPolicyRepository = budgetPolicyRepository;
         this.objectMapper = objectMapper;
+        this.budgetStateEngine = budgetStateEngine;
     }
 
     @Transactional(readOnly = true)
@@ -55,7 +61,9 @@ public class BudgetPolicyService {
             request.degradeDisableRag(),
             request.enabled()
         );
-        return budgetPolicyRepository.save(policy);
+        BudgetPolicy saved = budgetPolicyRepository.save(policy);
+        budgetStateEngine.invalidatePolicy(scopeType, scopeId);
+        return saved;
     }
 
     public Map<String, String> parseDegradeProviderModelMapOrEmpty(BudgetPolicy policy) {
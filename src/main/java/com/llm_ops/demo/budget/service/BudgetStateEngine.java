@@ -0,0 +1,337 @@
+package com.llm_ops.demo.budget.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llm_ops.demo.budget.config.BudgetStateProperties;
+import com.llm_ops.demo.budget.domain.BudgetMonthlyUsage;
+import com.llm_ops.demo.budget.domain.BudgetPolicy;
+import com.llm_ops.demo.budget.domain.BudgetScopeType;
+import com.llm_ops.demo.budget.domain.BudgetSoftAction;
+import com.llm_ops.demo.budget.repository.BudgetMonthlyUsageRepository;
+import com.llm_ops.demo.budget.repository.BudgetPolicyRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 예산 가드레일 판단에 필요한 정책과 월 누적 사용량을 노드 메모리에 보관하는 상태 엔진입니다.
+ * <p>
+ * 게이트웨이 요청 경로에서는 DB를 조회하지 않고 메모리 값만 비교합니다.
+ * 비용은 {@code budget_monthly_usage.cost_usd}와 같은 소수 8자리 단위의 long으로 환산해 다룹니다.
+ * <ul>
+ *     <li>사용량 = 마지막 reconcile 시점의 (DB 값 + 아직 flush되지 않은 이 노드의 증가분) + 이후 이 노드에서 기록된 증가분({@link LongAdder})</li>
+ *     <li>reconcile 주기마다 정책과 사용량을 DB 기준으로 다시 맞추므로, 다른 노드의 변경은 최대 한 주기 늦게 반영됩니다.</li>
+ *     <li>reconcile은 증가분을 먼저 비우고, {@link BudgetUsageAggregator}의 대기 증가분을 읽은 뒤 DB를 읽습니다.
+ *     그 사이 flush된 증가분은 양쪽에 중복될 수 있지만 빠지지는 않으므로 사용량을 적게 보는 일은 없습니다(차단 쪽으로 보수적).</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BudgetStateEngine {
+
+    private static final int COST_SCALE = 8;
+    private static final TypeReference<Map<String, String>> MAP_STRING_STRING = new TypeReference<>() {
+    };
+
+    private final BudgetPolicyRepository budgetPolicyRepository;
+    private final BudgetMonthlyUsageRepository budgetMonthlyUsageRepository;
+    private final BudgetUsageAggregator budgetUsageAggregator;
+    private final BudgetStateProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<ScopeKey, PolicyEntry> policies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UsageKey, UsageEntry> usages = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BudgetStateEngine(
+        BudgetPolicyRepository budgetPolicyRepository,
+        BudgetMonthlyUsageRepository budgetMonthlyUsageRepository,
+        BudgetUsageAggregator budgetUsageAggregator,
+        BudgetStateProperties properties,
+        ObjectMapper objectMapper
+    ) {
+        this(
+            budgetPolicyRepository,
+            budgetMonthlyUsageRepository,
+            budgetUsageAggregator,
+            properties,
+            objectMapper,
+            Clock.systemUTC(),
+            System::nanoTime
+        );
+    }
+
+    BudgetStateEngine(
+        BudgetPolicyRepository budgetPolicyRepository,
+        BudgetMonthlyUsageRepository budgetMonthlyUsageRepository,
+        BudgetUsageAggregator budgetUsageAggregator,
+        BudgetStateProperties properties,
+        ObjectMapper objectMapper,
+        Clock clock,
+        LongSupplier nanoClock
+    ) {
+        this.budgetPolicyRepository = budgetPolicyRepository;
+        this.budgetMonthlyUsageRepository = budgetMonthlyUsageRepository;
+        this.budgetUsageAggregator = budgetUsageAggregator;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 가드레일 판단에 필요한 정책 값의 불변 스냅샷입니다. 한도는 소수 8자리 단위 long입니다.
+     */
+    public record PolicyState(
+        boolean enabled,
+        Long monthLimitUnits,
+        Long softLimitUnits,
+        BudgetSoftAction softAction,
+        Map<String, String> degradeProviderModelMap,
+        Integer degradeMaxOutputTokens,
+        Boolean degradeDisableRag
+    ) {
+    }
+
+    public Optional<PolicyState> policy(BudgetScopeType scopeType, Long scopeId) {
+        if (scopeType == null || scopeId == null || scopeId <= 0) {
+            return Optional.empty();
+        }
+        ScopeKey key = new ScopeKey(scopeType, scopeId);
+        PolicyEntry entry = policies.get(key);
+        if (entry == null) {
+            PolicyState loaded = budgetPolicyRepository.findByScopeTypeAndScopeId(scopeType, scopeId)
+                .map(this::toPolicyState)
+                .orElse(null);
+            PolicyEntry created = new PolicyEntry(loaded);
+            PolicyEntry existing = policies.putIfAbsent(key, created);
+            entry = existing != null ? existing : created;
+        }
+        entry.lastAccessNanos = nanoClock.getAsLong();
+        return Optional.ofNullable(entry.state);
+    }
+
+    /**
+     * 해당 월의 누적 비용(소수 8자리 단위)을 반환합니다. 처음 평가되는 scope만 DB에서 읽습니다.
+     */
+    public long usedCostUnits(BudgetScopeType scopeType, Long scopeId, YearMonth yearMonth) {
+        if (scopeType == null || scopeId == null || scopeId <= 0 || yearMonth == null) {
+            return 0L;
+        }
+        UsageKey key = new UsageKey(scopeType, scopeId, BudgetUsageService.toYearMonthInt(yearMonth));
+        UsageEntry entry = usages.get(key);
+        if (entry == null) {
+            UsageEntry created = new UsageEntry();
+            UsageEntry existing = usages.putIfAbsent(key, created);
+            entry = existing != null ? existing : created;
+        }
+        if (!entry.loaded) {
+            // 엔트리를 먼저 등록해 두어야 기준값을 읽는 동안 기록된 증가분이 localUnits에 남습니다.
+            long pendingUnits = budgetUsageAggregator.pendingCostUnits(scopeType, scopeId, key.yearMonth());
+            long dbUnits = budgetMonthlyUsageRepository
+                .findByScopeTypeAndScopeIdAndYearMonth(scopeType, scopeId, key.yearMonth())
+                .map(usage -> toUnits(usage.getCostUsd()))
+                .orElse(0L);
+            entry.baseUnits = dbUnits + pendingUnits;
+            entry.loaded = true;
+        }
+        entry.lastAccessNanos = nanoClock.getAsLong();
+        return entry.baseUnits + entry.localUnits.sum();
+    }
+
+    /**
+     * 사용량 증가분을 반영합니다. 아직 평가된 적 없는 scope는 첫 평가 때 DB와 대기 증가분에서 읽으므로 무시합니다.
+     */
+    public void recordUsage(BudgetScopeType scopeType, Long scopeId, YearMonth yearMonth, BigDecimal costUsdDelta) {
+        if (scopeType == null || scopeId == null || scopeId <= 0 || yearMonth == null || costUsdDelta == null) {
+            return;
+        }
+        UsageEntry entry = usages.get(new UsageKey(scopeType, scopeId, BudgetUsageService.toYearMonthInt(yearMonth)));
+        if (entry != null) {
+            entry.localUnits.add(toUnits(costUsdDelta));
+        }
+    }
+
+    /**
+     * 정책 변경 시 캐시된 정책을 제거합니다. 다음 평가에서 DB 값을 다시 읽습니다.
+     */
+    public void invalidatePolicy(BudgetScopeType scopeType, Long scopeId) {
+        if (scopeType == null || scopeId == null) {
+            return;
+        }
+        ScopeKey key = new ScopeKey(scopeType, scopeId);
+        policies.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    policies.remove(key);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${budget.state.reconcile-interval-ms:5000}")
+    public void reconcile() {
+        long now = nanoClock.getAsLong();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.resolvedIdleEvictMs());
+        int currentYearMonth = BudgetUsageService.toYearMonthInt(YearMonth.now(clock.withZone(ZoneOffset.UTC)));
+
+        policies.values().removeIf(entry -> now - entry.lastAccessNanos > idleNanos);
+        usages.entrySet().removeIf(entry -> entry.getKey().yearMonth() != currentYearMonth
+            || now - entry.getValue().lastAccessNanos > idleNanos);
+
+        try {
+            reconcilePolicies();
+            reconcileUsages(currentYearMonth);
+        } catch (Exception e) {
+            log.warn("Budget state reconcile failed. Keeping in-memory state until next run.", e);
+        }
+    }
+
+    public int trackedPolicyCount() {
+        return policies.size();
+    }
+
+    public int trackedUsageCount() {
+        return usages.size();
+    }
+
+    public static long toUnits(BigDecimal costUsd) {
+        if (costUsd == null) {
+            return 0L;
+        }
+        return costUsd.setScale(COST_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private void reconcilePolicies() {
+        for (BudgetScopeType scopeType : BudgetScopeType.values()) {
+            List<Long> scopeIds = policies.keySet().stream()
+                .filter(key -> key.scopeType() == scopeType)
+                .map(ScopeKey::scopeId)
+                .toList();
+            for (List<Long> batch : partition(scopeIds)) {
+                Map<Long, BudgetPolicy> loaded = budgetPolicyRepository.findAllByScopeTypeAndScopeIdIn(scopeType, batch)
+                    .stream()
+                    .collect(Collectors.toMap(BudgetPolicy::getScopeId, policy -> policy, (a, b) -> a));
+                for (Long scopeId : batch) {
+                    PolicyEntry entry = policies.get(new ScopeKey(scopeType, scopeId));
+                    if (entry != null) {
+                        BudgetPolicy policy = loaded.get(scopeId);
+                        entry.state = policy != null ? toPolicyState(policy) : null;
+                    }
+                }
+            }
+        }
+    }
+
+    private void reconcileUsages(int yearMonth) {
+        for (BudgetScopeType scopeType : BudgetScopeType.values()) {
+            List<Long> scopeIds = usages.keySet().stream()
+                .filter(key -> key.scopeType() == scopeType && key.yearMonth() == yearMonth)
+                .map(UsageKey::scopeId)
+                .toList();
+            for (List<Long> batch : partition(scopeIds)) {
+                // DB를 읽기 전에 증가분을 기준값으로 옮깁니다. 기준값을 먼저 올리고 증가분을 빼므로
+                // 그 사이 평가는 사용량을 더 크게 볼 수는 있어도 작게 보지는 않습니다.
+                Map<Long, Long> pendingUnits = new HashMap<>();
+                for (Long scopeId : batch) {
+                    UsageEntry entry = usages.get(new UsageKey(scopeType, scopeId, yearMonth));
+                    if (entry != null && entry.loaded) {
+                        long local = entry.localUnits.sum();
+                        entry.baseUnits += local;
+                        entry.localUnits.add(-local);
+                    }
+                    // DB보다 먼저 읽어야 그 사이 flush된 증가분이 양쪽에서 모두 빠지지 않습니다.
+                    pendingUnits.put(scopeId, budgetUsageAggregator.pendingCostUnits(scopeType, scopeId, yearMonth));
+                }
+                Map<Long, Long> loaded = budgetMonthlyUsageRepository
+                    .findAllByScopeTypeAndYearMonthAndScopeIdIn(scopeType, yearMonth, batch)
+                    .stream()
+                    .collect(Collectors.toMap(BudgetMonthlyUsage::getScopeId, usage -> toUnits(usage.getCostUsd()), (a, b) -> a));
+                for (Long scopeId : batch) {
+                    UsageEntry entry = usages.get(new UsageKey(scopeType, scopeId, yearMonth));
+                    if (entry != null && entry.loaded) {
+                        entry.baseUnits = loaded.getOrDefault(scopeId, 0L) + pendingUnits.getOrDefault(scopeId, 0L);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        int batchSize = properties.resolvedReconcileBatchSize();
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(ids.subList(from, Math.min(ids.size(), from + batchSize)));
+        }
+        return batches;
+    }
+
+    private PolicyState toPolicyState(BudgetPolicy policy) {
+        return new PolicyState(
+            Boolean.TRUE.equals(policy.getEnabled()),
+            policy.getMonthLimitUsd() != null ? toUnits(policy.getMonthLimitUsd()) : null,
+            policy.getSoftLimitUsd() != null ? toUnits(policy.getSoftLimitUsd()) : null,
+            policy.getSoftAction(),
+            parseDegradeProviderModelMap(policy.getDegradeProviderModelMap()),
+            policy.getDegradeMaxOutputTokens(),
+            policy.getDegradeDisableRag()
+        );
+    }
+
+    private Map<String, String> parseDegradeProviderModelMap(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return Collections.unmodifiableMap(objectMapper.readValue(raw, MAP_STRING_STRING));
+        } catch (Exception e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private record ScopeKey(BudgetScopeType scopeType, Long scopeId) {
+    }
+
+    private record UsageKey(BudgetScopeType scopeType, Long scopeId, int yearMonth) {
+    }
+
+    private static final class PolicyEntry {
+        private volatile PolicyState state;
+        private volatile long lastAccessNanos;
+
+        private PolicyEntry(PolicyState state) {
+            this.state = state;
+        }
+    }
+
+    private static final class UsageEntry {
+        // 최초 로드 이후에는 reconcile 스레드만 갱신합니다.
+        private volatile long baseUnits;
+        private volatile boolean loaded;
+        private final LongAdder localUnits = new LongAdder();
+        private volatile long lastAccessNanos;
+    }
+}
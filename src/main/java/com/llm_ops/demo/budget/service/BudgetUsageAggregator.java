@@ -0,0 +1,304 @@
+package com.llm_ops.demo.budget.service;
+
+import com.llm_ops.demo.budget.config.BudgetUsageFlushProperties;
+import com.llm_ops.demo.budget.domain.BudgetScopeType;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 월 사용량 증가분을 (scope, scopeId, yearMonth) 단위로 메모리에 모았다가 주기적으로 DB에 반영하는 write-behind 집계기입니다.
+ * <p>
+ * 요청 경로에서는 {@link LongAdder}에 더하기만 하고, flush 주기마다 키별 합계를 한 행으로 묶어
+ * {@code INSERT ... ON CONFLICT DO UPDATE SET cost_usd = cost_usd + ?} batch 하나를 트랜잭션으로 실행합니다.
+ * <ul>
+ *     <li>flush가 실패하면 꺼낸 증가분을 다시 더해 다음 주기에 재시도합니다.</li>
+ *     <li>애플리케이션 종료 시 남은 증가분을 마지막으로 flush합니다.</li>
+ *     <li>flush 중인 증가분도 {@link #pendingCostUnits}에 포함되므로 상태 엔진이 DB 값과 합쳐도 사용량을 적게 보지 않습니다.</li>
+ *     <li>지난 달 키를 제거할 때는 먼저 제거 중으로 표시한 뒤 더하는 중인 요청이 없고 비어 있을 때만 제거합니다.
+ *     제거 중인 키에 더하려는 요청은 제거가 끝날 때까지 기다렸다가 새 키에 더하므로 증가분을 잃지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BudgetUsageAggregator {
+
+    private static final String POSTGRES_UPSERT_SQL = """
+        INSERT INTO budget_monthly_usage
+            (scope_type, scope_id, year_month, cost_usd, total_tokens, request_count, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW())
+        ON CONFLICT (scope_type, scope_id, year_month) DO UPDATE SET
+            cost_usd = budget_monthly_usage.cost_usd + EXCLUDED.cost_usd,
+            total_tokens = budget_monthly_usage.total_tokens + EXCLUDED.total_tokens,
+            request_count = budget_monthly_usage.request_count + EXCLUDED.request_count,
+            updated_at = NOW()
+        """;
+
+    // 테스트(H2)처럼 ON CONFLICT를 지원하지 않는 DB에서는 표준 MERGE로 같은 증가 연산을 수행합니다.
+    private static final String MERGE_UPSERT_SQL = """
+        MERGE INTO budget_monthly_usage t
+        USING (VALUES (CAST(? AS VARCHAR(32)), CAST(? AS BIGINT), CAST(? AS INTEGER),
+                       CAST(? AS NUMERIC(18, 8)), CAST(? AS BIGINT), CAST(? AS BIGINT)))
+            AS s (scope_type, scope_id, year_month, cost_usd, total_tokens, request_count)
+        ON t.scope_type = s.scope_type AND t.scope_id = s.scope_id AND t.year_month = s.year_month
+        WHEN MATCHED THEN UPDATE SET
+            cost_usd = t.cost_usd + s.cost_usd,
+            total_tokens = t.total_tokens + s.total_tokens,
+            request_count = t.request_count + s.request_count,
+            updated_at = CURRENT_TIMESTAMP
+        WHEN NOT MATCHED THEN INSERT
+            (scope_type, scope_id, year_month, cost_usd, total_tokens, request_count, created_at, updated_at)
+            VALUES (s.scope_type, s.scope_id, s.year_month, s.cost_usd, s.total_tokens, s.request_count,
+                    CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+        """;
+
+    private static final int COST_SCALE = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BudgetUsageFlushProperties properties;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<UsageKey, PendingUsage> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile String upsertSql;
+
+    @Autowired
+    public BudgetUsageAggregator(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        BudgetUsageFlushProperties properties
+    ) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), properties, Clock.systemUTC());
+    }
+
+    BudgetUsageAggregator(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        BudgetUsageFlushProperties properties,
+        Clock clock
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public void add(
+        BudgetScopeType scopeType,
+        Long scopeId,
+        YearMonth yearMonth,
+        BigDecimal costUsdDelta,
+        Long totalTokensDelta
+    ) {
+        if (scopeType == null || scopeId == null || scopeId <= 0 || yearMonth == null) {
+            return;
+        }
+        UsageKey key = new UsageKey(scopeType, scopeId, BudgetUsageService.toYearMonthInt(yearMonth));
+        PendingUsage usage = pending.computeIfAbsent(key, ignored -> new PendingUsage());
+        while (!usage.tryAcquire()) {
+            // 지난 달 키를 제거하는 중입니다. 제거되거나 제거가 취소되면 다시 시도합니다.
+            Thread.onSpinWait();
+            usage = pending.computeIfAbsent(key, ignored -> new PendingUsage());
+        }
+        try {
+            usage.costUnits.add(BudgetStateEngine.toUnits(costUsdDelta));
+            usage.totalTokens.add(totalTokensDelta != null ? totalTokensDelta : 0L);
+            usage.requestCount.increment();
+        } finally {
+            usage.release();
+        }
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은(flush 중 포함) 비용 증가분을 소수 8자리 단위로 반환합니다.
+     */
+    public long pendingCostUnits(BudgetScopeType scopeType, Long scopeId, int yearMonth) {
+        PendingUsage usage = pending.get(new UsageKey(scopeType, scopeId, yearMonth));
+        if (usage == null) {
+            return 0L;
+        }
+        return usage.costUnits.sum() + usage.inFlightCostUnits.sum();
+    }
+
+    /**
+     * 모인 증가분을 DB에 반영하고, 반영한 행 수를 반환합니다.
+     */
+    @Scheduled(fixedDelayString = "${budget.usage-flush.interval-ms:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<DrainedUsage> drained = drain();
+            int written = 0;
+            int batchSize = properties.resolvedBatchSize();
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                List<DrainedUsage> batch = drained.subList(from, Math.min(drained.size(), from + batchSize));
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    List<DrainedUsage> remaining = drained.subList(from, drained.size());
+                    remaining.forEach(DrainedUsage::requeue);
+                    log.warn("Budget usage flush failed. Re-queued {} pending rows for next run.", remaining.size(), e);
+                    break;
+                }
+                batch.forEach(DrainedUsage::complete);
+                written += batch.size();
+            }
+            evictSettledPastMonths();
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (hasPending()) {
+            log.error("Budget usage flush on shutdown failed. {} pending rows were not persisted.", pending.size());
+        }
+    }
+
+    public int pendingKeyCount() {
+        return pending.size();
+    }
+
+    private List<DrainedUsage> drain() {
+        List<DrainedUsage> drained = new ArrayList<>();
+        pending.forEach((key, usage) -> {
+            long costUnits = usage.costUnits.sum();
+            long totalTokens = usage.totalTokens.sum();
+            long requestCount = usage.requestCount.sum();
+            if (costUnits == 0L && totalTokens == 0L && requestCount == 0L) {
+                return;
+            }
+            // flush 중 금액을 먼저 올린 뒤 대기 금액에서 빼므로, 그 사이 pendingCostUnits는 크게 보일 수는 있어도 작게 보이지 않습니다.
+            usage.inFlightCostUnits.add(costUnits);
+            usage.costUnits.add(-costUnits);
+            usage.totalTokens.add(-totalTokens);
+            usage.requestCount.add(-requestCount);
+            drained.add(new DrainedUsage(key, usage, costUnits, totalTokens, requestCount));
+        });
+        return drained;
+    }
+
+    private void write(List<DrainedUsage> batch) {
+        String sql = resolveUpsertSql();
+        List<Object[]> args = batch.stream()
+            .map(row -> new Object[]{
+                row.key().scopeType().name(),
+                row.key().scopeId(),
+                row.key().yearMonth(),
+                BigDecimal.valueOf(row.costUnits(), COST_SCALE),
+                row.totalTokens(),
+                row.requestCount()
+            })
+            .toList();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, args));
+    }
+
+    private String resolveUpsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT_SQL : MERGE_UPSERT_SQL;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * 지난 달보다 오래된 키는 거의 더해지지 않으므로 비어 있으면 제거합니다.
+     * 늦게 끝난 요청이 같은 키에 더하는 중일 수 있어, {@link PendingUsage#tryRetire()}가 성공한 키만 제거합니다.
+     */
+    private void evictSettledPastMonths() {
+        YearMonth previous = YearMonth.now(clock.withZone(ZoneOffset.UTC)).minusMonths(1);
+        int oldestActiveYearMonth = BudgetUsageService.toYearMonthInt(previous);
+        pending.forEach((key, usage) -> {
+            if (key.yearMonth() < oldestActiveYearMonth && usage.isSettled() && usage.tryRetire()) {
+                pending.remove(key, usage);
+            }
+        });
+    }
+
+    private boolean hasPending() {
+        return pending.values().stream().anyMatch(usage -> !usage.isSettled());
+    }
+
+    private record UsageKey(BudgetScopeType scopeType, Long scopeId, int yearMonth) {
+    }
+
+    private static final class PendingUsage {
+        private final LongAdder costUnits = new LongAdder();
+        private final LongAdder totalTokens = new LongAdder();
+        private final LongAdder requestCount = new LongAdder();
+        private final LongAdder inFlightCostUnits = new LongAdder();
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean retired;
+
+        private boolean isSettled() {
+            return costUnits.sum() == 0L && totalTokens.sum() == 0L && requestCount.sum() == 0L
+                && inFlightCostUnits.sum() == 0L;
+        }
+
+        /**
+         * 더하기 전에 호출합니다. 제거 중이면 false를 반환하며, 이때는 더하지 않아야 합니다.
+         */
+        private boolean tryAcquire() {
+            writers.incrementAndGet();
+            if (retired) {
+                writers.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void release() {
+            writers.decrementAndGet();
+        }
+
+        /**
+         * 제거 중으로 표시한 뒤 더하는 중인 요청이 없고 비어 있으면 true를 반환합니다. true면 호출자가 바로 제거해야 합니다.
+         * 표시를 먼저 하고 writers를 읽으므로, 더하는 요청과 동시에 실행돼도 둘 중 하나는 상대를 봅니다.
+         */
+        private boolean tryRetire() {
+            retired = true;
+            if (writers.get() == 0 && isSettled()) {
+                return true;
+            }
+            retired = false;
+            return false;
+        }
+    }
+
+    private record DrainedUsage(UsageKey key, PendingUsage usage, long costUnits, long totalTokens, long requestCount) {
+
+        private void complete() {
+            usage.inFlightCostUnits.add(-costUnits);
+        }
+
+        private void requeue() {
+            usage.costUnits.add(costUnits);
+            usage.totalTokens.add(totalTokens);
+            usage.requestCount.add(requestCount);
+            usage.inFlightCostUnits.add(-costUnits);
+        }
+    }
+}
@@ -10,7 +10,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.YearMonth;
 import java.util.Optional;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +17,18 @@ import org.springframework.transaction.annotation.Transactional;
 public class BudgetUsageService {
 
     private final BudgetMonthlyUsageRepository budgetMonthlyUsageRepository;
+    private final BudgetStateEngine budgetStateEngine;
+    private final BudgetUsageAggregator budgetUsageAggregator;
     private final Clock clock = Clock.systemUTC();
 
-    public BudgetUsageService(BudgetMonthlyUsageRepository budgetMonthlyUsageRepository) {
+    public BudgetUsageService(
+        BudgetMonthlyUsageRepository budgetMonthlyUsageRepository,
+        BudgetStateEngine budgetStateEngine,
+        BudgetUsageAggregator budgetUsageAggregator
+    ) {
         this.budgetMonthlyUsageRepository = budgetMonthlyUsageRepository;
+        this.budgetStateEngine = budgetStateEngine;
+        this.budgetUsageAggregator = budgetUsageAggregator;
     }
 
     public YearMonth currentUtcYearMonth() {
@@ -48,7 +55,10 @@ public class BudgetUsageService {
         );
     }
 
-    @Transactional
+    /**
+     * 사용량 증가분을 write-behind 집계기에 더하고 상태 엔진에 바로 반영합니다.
+     * DB 반영은 {@link BudgetUsageAggregator}가 주기적으로 묶어서 수행하므로 요청 경로에서는 DB를 건드리지 않습니다.
+     */
     public void recordUsage(
         BudgetScopeType scopeType,
         Long scopeId,
@@ -60,29 +70,8 @@ public class BudgetUsageService {
             return;
         }
 
-        int ym = toYearMonthInt(yearMonth);
-        for (int attempt = 0; attempt < 3; attempt++) {
-            Optional<BudgetMonthlyUsage> existing = budgetMonthlyUsageRepository
-                .findByScopeTypeAndScopeIdAndYearMonth(scopeType, scopeId, ym);
-            if (existing.isPresent()) {
-                existing.get().addUsage(costUsdDelta, totalTokensDelta, 1L);
-                return;
-            }
-
-            try {
-                BudgetMonthlyUsage created = BudgetMonthlyUsage.create(scopeType, scopeId, ym);
-                created.addUsage(costUsdDelta, totalTokensDelta, 1L);
-                budgetMonthlyUsageRepository.save(created);
-                return;
-            } catch (DataIntegrityViolationException ignored) {
-                // 동시성으로 unique 충돌 시 재시도
-            }
-        }
-
-        BudgetMonthlyUsage finalRow = budgetMonthlyUsageRepository
-            .findByScopeTypeAndScopeIdAndYearMonth(scopeType, scopeId, ym)
-            .orElseGet(() -> budgetMonthlyUsageRepository.save(BudgetMonthlyUsage.create(scopeType, scopeId, ym)));
-        finalRow.addUsage(costUsdDelta, totalTokensDelta, 1L);
+        // 집계기에 먼저 더해야 상태 엔진 reconcile이 (DB + 대기 증가분)을 읽을 때 이 증가분을 놓치지 않습니다.
+        budgetUsageAggregator.add(scopeType, scopeId, yearMonth, costUsdDelta, totalTokensDelta);
+        budgetStateEngine.recordUsage(scopeType, scopeId, yearMonth, costUsdDelta);
     }
 }
-
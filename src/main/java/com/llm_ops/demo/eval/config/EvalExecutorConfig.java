@@ -0,0 +1,45 @@
+package com.llm_ops.demo.eval.config;
+
+import com.llm_ops.demo.gateway.config.GatewayExecutors;
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Eval 모델 호출 실행기 설정입니다. 게이트웨이와 같은 실행 모드(플랫폼 스레드 풀 / 가상 스레드)를 따릅니다.
+ */
+@Configuration
+public class EvalExecutorConfig {
+
+    private static final int PROVIDER_CALL_MAX_THREADS = 16;
+
+    private final GatewayMetrics gatewayMetrics;
+    private final boolean virtualThreads;
+    private ExecutorService evalProviderCallExecutor;
+
+    public EvalExecutorConfig(GatewayMetrics gatewayMetrics, Environment environment) {
+        this.gatewayMetrics = gatewayMetrics;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Bean(name = "evalProviderCallExecutor")
+    public ExecutorService evalProviderCallExecutor() {
+        ExecutorService executor = GatewayExecutors.create(
+                virtualThreads,
+                "eval-provider-call-",
+                PROVIDER_CALL_MAX_THREADS,
+                Integer.MAX_VALUE
+        );
+        this.evalProviderCallExecutor = gatewayMetrics.instrumentExecutor("eval_provider_call", executor);
+        return this.evalProviderCallExecutor;
+    }
+
+    @PreDestroy
+    public void shutdownEvalProviderCallExecutor() {
+        GatewayExecutors.shutdown(evalProviderCallExecutor, "evalProviderCallExecutor");
+    }
+}
@@ -17,6 +17,8 @@ import com.llm_ops.demo.eval.rule.EvalRuleCheckerService;
 import com.llm_ops.demo.eval.config.EvalProperties;
 import com.llm_ops.demo.prompt.domain.PromptVersion;
 import com.llm_ops.demo.prompt.repository.PromptReleaseRepository;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+import com.llm_ops.demo.prompt.template.PromptTemplateCache;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
@@ -36,6 +38,7 @@ import org.springframework.stereotype.Service;
 public class EvalExecutionService {
 
     private static final Logger log = LoggerFactory.getLogger(EvalExecutionService.class);
+    private static final int PROMPT_TEMPLATE_CACHE_MAX_ENTRIES = 256;
 
     private final EvalRunRepository evalRunRepository;
     private final EvalCaseResultRepository evalCaseResultRepository;
@@ -50,6 +53,9 @@ public class EvalExecutionService {
     private final ObjectMapper objectMapper;
     private final EvalMetrics evalMetrics;
     private final EvalProperties evalProperties;
+    // 데이터셋 케이스마다 같은 버전 템플릿을 다시 파싱하지 않도록 버전별로 컴파일 결과를 재사용합니다.
+    private final PromptTemplateCache promptTemplateCache =
+            new PromptTemplateCache(PromptTemplate.Syntax.DOUBLE_OR_SINGLE_BRACE, PROMPT_TEMPLATE_CACHE_MAX_ENTRIES);
 
     public EvalExecutionService(
             EvalRunRepository evalRunRepository,
@@ -372,16 +378,10 @@ public class EvalExecutionService {
             }
         }
 
-        String userTemplate = version.getUserTemplate();
-        if (userTemplate == null || userTemplate.isBlank()) {
-            userTemplate = "{{question}}";
-        }
-        String renderedUser = renderTemplate(userTemplate, variables);
+        String renderedUser = promptTemplateCache.userTemplate(version).render(variables);
 
-        String systemTemplate = version.getSystemPrompt();
-        String renderedSystem = (systemTemplate == null || systemTemplate.isBlank())
-                ? null
-                : renderTemplate(systemTemplate, variables);
+        PromptTemplate systemTemplate = promptTemplateCache.systemTemplate(version);
+        String renderedSystem = systemTemplate != null ? systemTemplate.render(variables) : null;
 
         if (renderedSystem == null || renderedSystem.isBlank()) {
             return renderedUser;
@@ -389,17 +389,6 @@ public class EvalExecutionService {
         return renderedSystem + "\n\n" + renderedUser;
     }
 
-    private String renderTemplate(String template, Map<String, String> variables) {
-        String rendered = template;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue() == null ? "" : entry.getValue();
-            rendered = rendered.replace("{{" + key + "}}", value);
-            rendered = rendered.replace("{" + key + "}", value);
-        }
-        return rendered;
-    }
-
     private boolean isRunCancelled(Long runId) {
         return evalRunRepository.findById(runId)
                 .map(run -> run.status() == EvalRunStatus.CANCELLED)
@@ -7,6 +7,7 @@ import com.llm_ops.demo.eval.config.EvalProperties;
 import com.llm_ops.demo.gateway.pricing.ModelPricing;
 import com.llm_ops.demo.gateway.service.GatewayChatOptionsCreateService;
 import com.llm_ops.demo.gateway.service.GatewayFailureClassifier;
+import com.llm_ops.demo.gateway.service.ProviderClientRegistry;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.keys.domain.ProviderType;
@@ -17,13 +18,10 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.ai.anthropic.AnthropicChatModel;
-import org.springframework.ai.anthropic.api.AnthropicApi;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.metadata.ChatResponseMetadata;
@@ -33,7 +31,7 @@ import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
-import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
@@ -43,33 +41,28 @@ public class EvalModelRunnerService {
 
     private static final String DEFAULT_GEMINI_MODEL = "gemini-2.5-flash-lite";
     private static final GatewayFailureClassifier FAILURE_CLASSIFIER = new GatewayFailureClassifier();
-    private static final int PROVIDER_CALL_MAX_THREADS = 16;
-    private static final AtomicInteger PROVIDER_CALL_THREAD_SEQUENCE = new AtomicInteger(1);
-    private static final ExecutorService PROVIDER_CALL_EXECUTOR = Executors.newFixedThreadPool(
-            PROVIDER_CALL_MAX_THREADS,
-            runnable -> {
-                Thread thread = new Thread(runnable);
-                thread.setName("eval-provider-call-" + PROVIDER_CALL_THREAD_SEQUENCE.getAndIncrement());
-                thread.setDaemon(true);
-                return thread;
-            }
-    );
 
     private final EvalProperties evalProperties;
     private final ProviderCredentialService providerCredentialService;
     private final GatewayChatOptionsCreateService gatewayChatOptionsCreateService;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ProviderClientRegistry providerClientRegistry;
+    private final ExecutorService providerCallExecutor;
 
     public EvalModelRunnerService(
             EvalProperties evalProperties,
             ProviderCredentialService providerCredentialService,
             GatewayChatOptionsCreateService gatewayChatOptionsCreateService,
-            CircuitBreakerRegistry circuitBreakerRegistry
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            ProviderClientRegistry providerClientRegistry,
+            @Qualifier("evalProviderCallExecutor") ExecutorService providerCallExecutor
     ) {
         this.evalProperties = evalProperties;
         this.providerCredentialService = providerCredentialService;
         this.gatewayChatOptionsCreateService = gatewayChatOptionsCreateService;
         this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.providerClientRegistry = providerClientRegistry;
+        this.providerCallExecutor = providerCallExecutor;
     }
 
     public ModelExecution run(
@@ -98,9 +91,9 @@ public class EvalModelRunnerService {
         for (int attempt = 1; attempt <= sameProviderTotalAttempts; attempt++) {
             try {
                 ChatResponse response = circuitBreaker.executeCallable(() -> switch (provider) {
-                    case OPENAI -> callOpenAi(resolved.apiKey(), model, prompt, temperature, maxOutputTokens);
-                    case ANTHROPIC -> callAnthropic(resolved.apiKey(), model, prompt, temperature, maxOutputTokens);
-                    case GEMINI -> callGemini(resolved.apiKey(), model, prompt, temperature, maxOutputTokens);
+                    case OPENAI -> callOpenAi(resolved, model, prompt, temperature, maxOutputTokens);
+                    case ANTHROPIC -> callAnthropic(resolved, model, prompt, temperature, maxOutputTokens);
+                    case GEMINI -> callGemini(resolved, model, prompt, temperature, maxOutputTokens);
                 });
                 int retryCount = attempt - 1;
                 return toExecution(provider, model, response, startedAtNanos, retryCount);
@@ -217,13 +210,13 @@ public class EvalModelRunnerService {
     }
 
     private ChatResponse callOpenAi(
-            String apiKey,
+            ProviderCredentialService.ResolvedProviderApiKey resolved,
             String model,
             String prompt,
             Double temperature,
             Integer maxOutputTokens
     ) {
-        OpenAiChatModel chatModel = new OpenAiChatModel(new OpenAiApi(apiKey));
+        OpenAiChatModel chatModel = providerClientRegistry.openAi(resolved);
         OpenAiChatOptions options = OpenAiChatOptions.builder().build();
         if (model != null && !model.isBlank()) {
             options.setModel(model);
@@ -237,13 +230,13 @@ public class EvalModelRunnerService {
     }
 
     private ChatResponse callAnthropic(
-            String apiKey,
+            ProviderCredentialService.ResolvedProviderApiKey resolved,
             String model,
             String prompt,
             Double temperature,
             Integer maxOutputTokens
     ) {
-        AnthropicChatModel chatModel = new AnthropicChatModel(new AnthropicApi(apiKey));
+        AnthropicChatModel chatModel = providerClientRegistry.anthropic(resolved);
         var options = gatewayChatOptionsCreateService.anthropicOptions();
         if (model != null && !model.isBlank()) {
             options.setModel(model);
@@ -257,7 +250,7 @@ public class EvalModelRunnerService {
     }
 
     private ChatResponse callGemini(
-            String apiKey,
+            ProviderCredentialService.ResolvedProviderApiKey resolved,
             String modelOverride,
             String prompt,
             Double temperature,
@@ -274,27 +267,26 @@ public class EvalModelRunnerService {
             }
             GenerateContentConfig config = configBuilder.build();
 
-            try (Client client = Client.builder().apiKey(apiKey).build()) {
-                GenerateContentResponse response = client.models.generateContent(model, prompt, config);
-                String output = response != null ? response.text() : "";
-                String resolvedModel = response != null ? response.modelVersion().orElse(model) : model;
-
-                ChatResponseMetadata.Builder metadataBuilder = ChatResponseMetadata.builder().withModel(resolvedModel);
-                if (response != null) {
-                    response.responseId().ifPresent(metadataBuilder::withId);
-                    response.usageMetadata().ifPresent(usage -> {
-                        Long promptTokens = usage.promptTokenCount().map(Integer::longValue).orElse(null);
-                        Long completionTokens = usage.candidatesTokenCount().map(Integer::longValue).orElse(null);
-                        Long totalTokens = usage.totalTokenCount().map(Integer::longValue).orElse(null);
-                        metadataBuilder.withUsage(new DefaultUsage(promptTokens, completionTokens, totalTokens));
-                    });
-                }
-
-                return new ChatResponse(
-                        java.util.List.of(new Generation(new AssistantMessage(output))),
-                        metadataBuilder.build()
-                );
+            Client client = providerClientRegistry.gemini(resolved);
+            GenerateContentResponse response = client.models.generateContent(model, prompt, config);
+            String output = response != null ? response.text() : "";
+            String resolvedModel = response != null ? response.modelVersion().orElse(model) : model;
+
+            ChatResponseMetadata.Builder metadataBuilder = ChatResponseMetadata.builder().withModel(resolvedModel);
+            if (response != null) {
+                response.responseId().ifPresent(metadataBuilder::withId);
+                response.usageMetadata().ifPresent(usage -> {
+                    Long promptTokens = usage.promptTokenCount().map(Integer::longValue).orElse(null);
+                    Long completionTokens = usage.candidatesTokenCount().map(Integer::longValue).orElse(null);
+                    Long totalTokens = usage.totalTokenCount().map(Integer::longValue).orElse(null);
+                    metadataBuilder.withUsage(new DefaultUsage(promptTokens, completionTokens, totalTokens));
+                });
             }
+
+            return new ChatResponse(
+                    java.util.List.of(new Generation(new AssistantMessage(output))),
+                    metadataBuilder.build()
+            );
         });
     }
 
@@ -367,7 +359,7 @@ public class EvalModelRunnerService {
             java.util.concurrent.Callable<ChatResponse> providerCall
     ) {
         long timeoutMs = Math.max(1_000L, evalProperties.getRunner().getRequestTimeoutMs());
-        Future<ChatResponse> future = PROVIDER_CALL_EXECUTOR.submit(providerCall);
+        Future<ChatResponse> future = providerCallExecutor.submit(providerCall);
         try {
             return future.get(timeoutMs, TimeUnit.MILLISECONDS);
         } catch (TimeoutException timeoutException) {
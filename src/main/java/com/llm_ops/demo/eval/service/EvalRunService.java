@@ -28,6 +28,8 @@ import com.llm_ops.demo.prompt.domain.PromptVersion;
 import com.llm_ops.demo.prompt.repository.PromptReleaseRepository;
 import com.llm_ops.demo.prompt.repository.PromptRepository;
 import com.llm_ops.demo.prompt.repository.PromptVersionRepository;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+import com.llm_ops.demo.prompt.template.PromptTemplateCache;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
@@ -51,11 +53,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class EvalRunService {
 
     private static final Logger log = LoggerFactory.getLogger(EvalRunService.class);
+    private static final int PROMPT_TEMPLATE_CACHE_MAX_ENTRIES = 256;
     private static final Pattern DOUBLE_BRACE_VARIABLE_PATTERN = Pattern.compile("\\{\\{\\s*([a-zA-Z0-9_]+)\\s*\\}\\}");
     private static final Pattern SINGLE_BRACE_VARIABLE_PATTERN = Pattern.compile("\\{([a-zA-Z0-9_]+)\\}");
 
     private final EvalAccessService evalAccessService;
     private final EvalProperties evalProperties;
+    // 데이터셋 케이스마다 같은 버전 템플릿을 다시 파싱하지 않도록 버전별로 컴파일 결과를 재사용합니다.
+    private final PromptTemplateCache promptTemplateCache =
+            new PromptTemplateCache(PromptTemplate.Syntax.DOUBLE_OR_SINGLE_BRACE, PROMPT_TEMPLATE_CACHE_MAX_ENTRIES);
     private final EvalRunRepository evalRunRepository;
     private final EvalCaseResultRepository evalCaseResultRepository;
     private final EvalTestCaseRepository evalTestCaseRepository;
@@ -467,16 +473,10 @@ public class EvalRunService {
     private String buildFinalPrompt(PromptVersion version, com.llm_ops.demo.eval.domain.EvalTestCase testCase) {
         Map<String, String> variables = buildTemplateVariables(testCase);
 
-        String userTemplate = version.getUserTemplate();
-        if (userTemplate == null || userTemplate.isBlank()) {
-            userTemplate = "{{question}}";
-        }
-        String renderedUser = renderTemplate(userTemplate, variables);
+        String renderedUser = promptTemplateCache.userTemplate(version).render(variables);
 
-        String systemTemplate = version.getSystemPrompt();
-        String renderedSystem = (systemTemplate == null || systemTemplate.isBlank())
-                ? null
-                : renderTemplate(systemTemplate, variables);
+        PromptTemplate systemTemplate = promptTemplateCache.systemTemplate(version);
+        String renderedSystem = systemTemplate != null ? systemTemplate.render(variables) : null;
 
         if (renderedSystem == null || renderedSystem.isBlank()) {
             return renderedUser;
@@ -583,17 +583,6 @@ public class EvalRunService {
         return value == null || value.trim().isEmpty();
     }
 
-    private String renderTemplate(String template, Map<String, String> variables) {
-        String rendered = template;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue() == null ? "" : entry.getValue();
-            rendered = rendered.replace("{{" + key + "}}", value);
-            rendered = rendered.replace("{" + key + "}", value);
-        }
-        return rendered;
-    }
-
     private int resolveEstimateMaxOutputTokens(PromptVersion version) {
         Integer configured = readMaxOutputTokens(version.getModelConfig());
         if (configured != null && configured > 0) {
@@ -0,0 +1,81 @@
+package com.llm_ops.demo.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로바이더별 적응형 동시 호출 한도(AIMD) 설정입니다.
+ * 관측한 지연과 오류에 따라 한도를 min~max 사이에서 조정하며, 한도를 넘는 호출은 대기하지 않고 즉시 failover 대상이 됩니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.adaptive-limit")
+@Getter
+@Setter
+public class GatewayAdaptiveLimitProperties {
+
+    private static final int DEFAULT_INITIAL_LIMIT = 20;
+    private static final int DEFAULT_MIN_LIMIT = 2;
+    private static final int DEFAULT_MAX_LIMIT = 200;
+    private static final double DEFAULT_BACKOFF_RATIO = 0.9d;
+    private static final double DEFAULT_RTT_TOLERANCE = 2.0d;
+    private static final int DEFAULT_SHORT_WINDOW = 10;
+    private static final int DEFAULT_LONG_WINDOW = 200;
+
+    private boolean enabled = true;
+
+    /**
+     * true면 provider 대신 (provider, model) 단위로 한도를 따로 둡니다.
+     */
+    private boolean perModel = false;
+
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+
+    /**
+     * 오류나 지연 증가가 관측됐을 때 한도에 곱하는 비율(multiplicative decrease)입니다.
+     */
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+    /**
+     * 최근 지연(short RTT)이 기준 지연(long RTT)의 이 배수를 넘으면 혼잡으로 보고 한도를 줄입니다.
+     */
+    private double rttTolerance = DEFAULT_RTT_TOLERANCE;
+
+    /**
+     * 최근/기준 지연 지수이동평균의 표본 수 기준 창 크기입니다.
+     */
+    private int shortWindow = DEFAULT_SHORT_WINDOW;
+    private int longWindow = DEFAULT_LONG_WINDOW;
+
+    public int resolvedMinLimit() {
+        return minLimit > 0 ? minLimit : DEFAULT_MIN_LIMIT;
+    }
+
+    public int resolvedMaxLimit() {
+        return Math.max(resolvedMinLimit(), maxLimit > 0 ? maxLimit : DEFAULT_MAX_LIMIT);
+    }
+
+    public int resolvedInitialLimit() {
+        int initial = initialLimit > 0 ? initialLimit : DEFAULT_INITIAL_LIMIT;
+        return Math.max(resolvedMinLimit(), Math.min(resolvedMaxLimit(), initial));
+    }
+
+    public double resolvedBackoffRatio() {
+        return backoffRatio > 0d && backoffRatio < 1d ? backoffRatio : DEFAULT_BACKOFF_RATIO;
+    }
+
+    public double resolvedRttTolerance() {
+        return rttTolerance > 1d ? rttTolerance : DEFAULT_RTT_TOLERANCE;
+    }
+
+    public int resolvedShortWindow() {
+        return shortWindow > 0 ? shortWindow : DEFAULT_SHORT_WINDOW;
+    }
+
+    public int resolvedLongWindow() {
+        return Math.max(resolvedShortWindow(), longWindow > 0 ? longWindow : DEFAULT_LONG_WINDOW);
+    }
+}
@@ -0,0 +1,57 @@
+package com.llm_ops.demo.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 API (`/v1/chat/completions:batch`) 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.batch")
+@Getter
+@Setter
+public class GatewayBatchProperties {
+
+    private static final int DEFAULT_MAX_ITEMS = 100;
+    private static final int DEFAULT_MAX_CONCURRENCY = 16;
+    private static final int DEFAULT_MAX_CONCURRENCY_PER_PROVIDER = 8;
+    private static final int DEFAULT_MAX_WORKERS = 32;
+
+    /**
+     * 배치 하나에 담을 수 있는 최대 항목 수입니다.
+     */
+    private int maxItems = DEFAULT_MAX_ITEMS;
+
+    /**
+     * 배치 하나가 동시에 처리하는 최대 항목 수입니다.
+     */
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    /**
+     * 배치 하나가 같은 프로바이더로 동시에 보내는 최대 항목 수입니다.
+     */
+    private int maxConcurrencyPerProvider = DEFAULT_MAX_CONCURRENCY_PER_PROVIDER;
+
+    /**
+     * 모든 배치가 함께 쓰는 항목 처리 스레드(전용 실행기) 수입니다. 배치는 이 중 남은 자리만큼만 동시에 처리합니다.
+     */
+    private int maxWorkers = DEFAULT_MAX_WORKERS;
+
+    public int resolvedMaxItems() {
+        return maxItems > 0 ? maxItems : DEFAULT_MAX_ITEMS;
+    }
+
+    public int resolvedMaxConcurrency() {
+        return maxConcurrency > 0 ? maxConcurrency : DEFAULT_MAX_CONCURRENCY;
+    }
+
+    public int resolvedMaxConcurrencyPerProvider() {
+        return maxConcurrencyPerProvider > 0 ? maxConcurrencyPerProvider : DEFAULT_MAX_CONCURRENCY_PER_PROVIDER;
+    }
+
+    public int resolvedMaxWorkers() {
+        return maxWorkers > 0 ? maxWorkers : DEFAULT_MAX_WORKERS;
+    }
+}
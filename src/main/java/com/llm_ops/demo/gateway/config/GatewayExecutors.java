@@ -0,0 +1,84 @@
+package com.llm_ops.demo.gateway.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실행 모드(플랫폼 스레드 풀 / 가상 스레드)에 따라 LLM 호출용 실행기를 만드는 팩토리입니다.
+ * 실행 모드는 Spring Boot의 {@code spring.threads.virtual.enabled}를 따르며, Tomcat 요청 스레드와 같은 설정으로 전환됩니다.
+ */
+@Slf4j
+public final class GatewayExecutors {
+
+    private GatewayExecutors() {
+    }
+
+    /**
+     * 대기열이 가득 차면 제출한 스레드에서 직접 실행하는 실행기를 만듭니다.
+     */
+    public static ExecutorService create(
+            boolean virtualThreads,
+            String threadNamePrefix,
+            int maxThreads,
+            int queueCapacity
+    ) {
+        return create(virtualThreads, threadNamePrefix, maxThreads, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 대기열이 가득 찼을 때의 처리를 지정해 실행기를 만듭니다. 가상 스레드 모드에서는 대기열이 없으므로 쓰이지 않습니다.
+     */
+    public static ExecutorService create(
+            boolean virtualThreads,
+            String threadNamePrefix,
+            int maxThreads,
+            int queueCapacity,
+            RejectedExecutionHandler rejectedExecutionHandler
+    ) {
+        if (virtualThreads) {
+            // LLM 호출은 대부분 I/O 대기이므로 작업마다 가상 스레드를 쓰고, 동시성 상한은 풀 크기 대신 업스트림 정책에 맡깁니다.
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+        }
+        AtomicInteger threadSequence = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(threadNamePrefix + threadSequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(
+                maxThreads,
+                maxThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                threadFactory,
+                rejectedExecutionHandler
+        );
+    }
+
+    public static void shutdown(ExecutorService executor, String name) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("{} did not terminate within timeout", name);
+                }
+            }
+        } catch (InterruptedException exception) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
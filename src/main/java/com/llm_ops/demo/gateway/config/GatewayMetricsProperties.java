@@ -0,0 +1,27 @@
+package com.llm_ops.demo.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게이트웨이 지표(gateway_*) 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.metrics")
+@Getter
+@Setter
+public class GatewayMetricsProperties {
+
+    private static final int DEFAULT_MAX_MODELS_PER_PROVIDER = 50;
+
+    /**
+     * provider별로 model 태그에 그대로 남기는 최대 모델 수입니다. 넘는 모델은 {@code model="other"}로 합칩니다.
+     */
+    private int maxModelsPerProvider = DEFAULT_MAX_MODELS_PER_PROVIDER;
+
+    public int resolvedMaxModelsPerProvider() {
+        return maxModelsPerProvider > 0 ? maxModelsPerProvider : DEFAULT_MAX_MODELS_PER_PROVIDER;
+    }
+}
@@ -0,0 +1,52 @@
+package com.llm_ops.demo.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로바이더 호출 전 토큰 추정/컨텍스트 윈도우 검사(pre-flight) 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.preflight")
+@Getter
+@Setter
+public class GatewayPreflightProperties {
+
+    private static final int DEFAULT_OUTPUT_TOKENS = 1_024;
+    private static final int DEFAULT_MAX_CACHED_VERSIONS = 10_000;
+
+    public enum OverflowAction {
+        /** RAG 청크를 뒤에서부터 줄여 윈도우에 맞추고, 그래도 넘치면 거절합니다. */
+        TRIM_RAG,
+        /** 줄이지 않고 바로 거절합니다. */
+        REJECT
+    }
+
+    private boolean enabled = true;
+
+    private OverflowAction overflowAction = OverflowAction.TRIM_RAG;
+
+    /**
+     * 모델 설정에 maxTokens가 없을 때 출력용으로 남겨 두는 토큰 수입니다.
+     */
+    private int defaultOutputTokens = DEFAULT_OUTPUT_TOKENS;
+
+    /**
+     * 버전별 고정 텍스트 토큰 수를 보관하는 최대 개수입니다.
+     */
+    private int maxCachedVersions = DEFAULT_MAX_CACHED_VERSIONS;
+
+    public OverflowAction resolvedOverflowAction() {
+        return overflowAction != null ? overflowAction : OverflowAction.TRIM_RAG;
+    }
+
+    public int resolvedDefaultOutputTokens() {
+        return defaultOutputTokens > 0 ? defaultOutputTokens : DEFAULT_OUTPUT_TOKENS;
+    }
+
+    public int resolvedMaxCachedVersions() {
+        return maxCachedVersions > 0 ? maxCachedVersions : DEFAULT_MAX_CACHED_VERSIONS;
+    }
+}
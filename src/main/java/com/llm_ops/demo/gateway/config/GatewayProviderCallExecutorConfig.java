@@ -1,68 +1,110 @@
 package com.llm_ops.demo.gateway.config;
 
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
 import jakarta.annotation.PreDestroy;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-@Slf4j
+/**
+ * 게이트웨이 LLM 호출/스트리밍 실행기 설정입니다.
+ * {@code spring.threads.virtual.enabled=true}이면 작업마다 가상 스레드를 쓰고, 아니면 고정 크기 스레드 풀을 씁니다.
+ */
 @Configuration
 public class GatewayProviderCallExecutorConfig {
 
     private final GatewayReliabilityProperties reliabilityProperties;
+    private final GatewayBatchProperties batchProperties;
+    private final GatewayMetrics gatewayMetrics;
+    private final boolean virtualThreads;
     private ExecutorService providerCallExecutor;
+    private ExecutorService gatewayStreamExecutor;
+    private ExecutorService gatewayPipelineExecutor;
+    private ExecutorService gatewayBatchExecutor;
 
-    public GatewayProviderCallExecutorConfig(GatewayReliabilityProperties reliabilityProperties) {
+    public GatewayProviderCallExecutorConfig(
+            GatewayReliabilityProperties reliabilityProperties,
+            GatewayBatchProperties batchProperties,
+            GatewayMetrics gatewayMetrics,
+            Environment environment
+    ) {
         this.reliabilityProperties = reliabilityProperties;
+        this.batchProperties = batchProperties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
     }
 
     @Bean(name = "providerCallExecutor")
     public ExecutorService providerCallExecutor() {
-        int providerCallMaxThreads = reliabilityProperties.resolvedProviderCallMaxThreads();
-        int providerCallQueueCapacity = reliabilityProperties.resolvedProviderCallQueueCapacity();
-        AtomicInteger threadSequence = new AtomicInteger(1);
-        ThreadFactory threadFactory = runnable -> {
-            Thread thread = new Thread(runnable);
-            thread.setName("gateway-provider-call-" + threadSequence.getAndIncrement());
-            thread.setDaemon(true);
-            return thread;
-        };
-        BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>(providerCallQueueCapacity);
-        this.providerCallExecutor = new ThreadPoolExecutor(
-                providerCallMaxThreads,
-                providerCallMaxThreads,
-                0L,
-                TimeUnit.MILLISECONDS,
-                workQueue,
-                threadFactory,
-                new ThreadPoolExecutor.CallerRunsPolicy()
+        ExecutorService executor = GatewayExecutors.create(
+                virtualThreads,
+                "gateway-provider-call-",
+                reliabilityProperties.resolvedProviderCallMaxThreads(),
+                reliabilityProperties.resolvedProviderCallQueueCapacity()
         );
+        this.providerCallExecutor = gatewayMetrics.instrumentExecutor("provider_call", executor);
         return this.providerCallExecutor;
     }
 
+    /**
+     * SSE 스트리밍 요청의 파이프라인(첫 토큰 대기 + 청크 중계)을 실행하는 전용 실행기입니다.
+     * 플랫폼 스레드 모드에서 큐가 가득 차면 요청 스레드에서 실행되어, 스트리밍 대신 완료 후 일괄 전송으로 자연스럽게 저하됩니다.
+     */
+    @Bean(name = "gatewayStreamExecutor")
+    public ExecutorService gatewayStreamExecutor() {
+        ExecutorService executor = GatewayExecutors.create(
+                virtualThreads,
+                "gateway-stream-",
+                reliabilityProperties.resolvedStreamMaxThreads(),
+                reliabilityProperties.resolvedStreamQueueCapacity()
+        );
+        this.gatewayStreamExecutor = gatewayMetrics.instrumentExecutor("stream", executor);
+        return this.gatewayStreamExecutor;
+    }
+
+    /**
+     * 비동기 모드에서 일반 요청의 파이프라인(프롬프트/예산/RAG/호출/로그)을 실행하는 실행기입니다.
+     * Tomcat 요청 스레드와 분리되어 있어, 느린 프로바이더가 관리 API 요청 스레드를 점유하지 않습니다.
+     * 대기열이 가득 차면 요청 스레드에서 대신 실행하지 않고 {@link java.util.concurrent.RejectedExecutionException}으로 거절합니다.
+     */
+    @Bean(name = "gatewayPipelineExecutor")
+    public ExecutorService gatewayPipelineExecutor() {
+        ExecutorService executor = GatewayExecutors.create(
+                virtualThreads,
+                "gateway-pipeline-",
+                reliabilityProperties.resolvedPipelineMaxThreads(),
+                reliabilityProperties.resolvedPipelineQueueCapacity(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.gatewayPipelineExecutor = gatewayMetrics.instrumentExecutor("pipeline", executor);
+        return this.gatewayPipelineExecutor;
+    }
+
+    /**
+     * 배치 API 항목을 처리하는 전용 실행기입니다. 배치가 일반 요청의 파이프라인 실행기 자리를 차지하지 않게 분리합니다.
+     * 제출 수는 {@code GatewayChatBatchService}가 {@code gateway.batch.max-workers}로 제한하므로 대기열은 반납 직후의 겹침만 받습니다.
+     */
+    @Bean(name = "gatewayBatchExecutor")
+    public ExecutorService gatewayBatchExecutor() {
+        ExecutorService executor = GatewayExecutors.create(
+                virtualThreads,
+                "gateway-batch-",
+                batchProperties.resolvedMaxWorkers(),
+                batchProperties.resolvedMaxWorkers(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.gatewayBatchExecutor = gatewayMetrics.instrumentExecutor("batch", executor);
+        return this.gatewayBatchExecutor;
+    }
+
     @PreDestroy
     public void shutdownProviderCallExecutor() {
-        if (providerCallExecutor == null) {
-            return;
-        }
-        providerCallExecutor.shutdown();
-        try {
-            if (!providerCallExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
-                providerCallExecutor.shutdownNow();
-                if (!providerCallExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    log.warn("providerCallExecutor did not terminate within timeout");
-                }
-            }
-        } catch (InterruptedException exception) {
-            providerCallExecutor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        GatewayExecutors.shutdown(gatewayBatchExecutor, "gatewayBatchExecutor");
+        GatewayExecutors.shutdown(gatewayPipelineExecutor, "gatewayPipelineExecutor");
+        GatewayExecutors.shutdown(gatewayStreamExecutor, "gatewayStreamExecutor");
+        GatewayExecutors.shutdown(providerCallExecutor, "providerCallExecutor");
     }
 }
@@ -20,6 +20,13 @@ public class GatewayReliabilityProperties {
     private static final long DEFAULT_MIN_FAILOVER_BUDGET_MS = 1_200L;
     private static final int DEFAULT_PROVIDER_CALL_MAX_THREADS = 16;
     private static final int DEFAULT_PROVIDER_CALL_QUEUE_CAPACITY = 256;
+    private static final long DEFAULT_STREAM_TIMEOUT_MS = 300_000L;
+    private static final int DEFAULT_STREAM_MAX_THREADS = 64;
+    private static final int DEFAULT_STREAM_QUEUE_CAPACITY = 256;
+    private static final int DEFAULT_PIPELINE_MAX_THREADS = 64;
+    private static final int DEFAULT_PIPELINE_QUEUE_CAPACITY = 512;
+    private static final long DEFAULT_HEDGE_FALLBACK_DELAY_MS = 2_000L;
+    private static final long DEFAULT_HEDGE_MIN_DELAY_MS = 100L;
 
     private long requestTimeoutMs = DEFAULT_REQUEST_TIMEOUT_MS;
     private long retryBackoffMs = DEFAULT_RETRY_BACKOFF_MS;
@@ -27,6 +34,29 @@ public class GatewayReliabilityProperties {
     private long minFailoverBudgetMs = DEFAULT_MIN_FAILOVER_BUDGET_MS;
     private int providerCallMaxThreads = DEFAULT_PROVIDER_CALL_MAX_THREADS;
     private int providerCallQueueCapacity = DEFAULT_PROVIDER_CALL_QUEUE_CAPACITY;
+    /**
+     * 스트리밍 응답 전체(첫 토큰 이후 생성 완료까지)에 허용하는 최대 시간입니다.
+     * 첫 토큰까지는 requestTimeoutMs 기반 deadline이 그대로 적용됩니다.
+     */
+    private long streamTimeoutMs = DEFAULT_STREAM_TIMEOUT_MS;
+    private int streamMaxThreads = DEFAULT_STREAM_MAX_THREADS;
+    private int streamQueueCapacity = DEFAULT_STREAM_QUEUE_CAPACITY;
+    /**
+     * true이면 일반(비스트리밍) 요청을 Servlet 비동기 처리로 응답합니다.
+     * 요청 스레드는 인증만 수행하고 반환되며, 나머지 파이프라인은 전용 실행기에서 실행됩니다.
+     * 실행기의 스레드와 대기열이 모두 차면 요청 스레드에서 대신 실행하지 않고 503으로 거절합니다.
+     */
+    private boolean asyncPipelineEnabled = false;
+    private int pipelineMaxThreads = DEFAULT_PIPELINE_MAX_THREADS;
+    private int pipelineQueueCapacity = DEFAULT_PIPELINE_QUEUE_CAPACITY;
+    /**
+     * hedging p95 모드에서 provider 지연 표본이 부족할 때 사용하는 대기 시간입니다.
+     */
+    private long hedgeFallbackDelayMs = DEFAULT_HEDGE_FALLBACK_DELAY_MS;
+    /**
+     * hedging 대기 시간의 하한입니다. 너무 짧은 대기로 모든 요청이 두 번 호출되는 것을 막습니다.
+     */
+    private long hedgeMinDelayMs = DEFAULT_HEDGE_MIN_DELAY_MS;
 
     public long resolvedRequestTimeoutMs() {
         return requestTimeoutMs > 0 ? requestTimeoutMs : DEFAULT_REQUEST_TIMEOUT_MS;
@@ -51,4 +81,32 @@ public class GatewayReliabilityProperties {
     public int resolvedProviderCallQueueCapacity() {
         return providerCallQueueCapacity > 0 ? providerCallQueueCapacity : DEFAULT_PROVIDER_CALL_QUEUE_CAPACITY;
     }
+
+    public long resolvedStreamTimeoutMs() {
+        return streamTimeoutMs > 0 ? streamTimeoutMs : DEFAULT_STREAM_TIMEOUT_MS;
+    }
+
+    public int resolvedStreamMaxThreads() {
+        return streamMaxThreads > 0 ? streamMaxThreads : DEFAULT_STREAM_MAX_THREADS;
+    }
+
+    public int resolvedStreamQueueCapacity() {
+        return streamQueueCapacity > 0 ? streamQueueCapacity : DEFAULT_STREAM_QUEUE_CAPACITY;
+    }
+
+    public int resolvedPipelineMaxThreads() {
+        return pipelineMaxThreads > 0 ? pipelineMaxThreads : DEFAULT_PIPELINE_MAX_THREADS;
+    }
+
+    public int resolvedPipelineQueueCapacity() {
+        return pipelineQueueCapacity > 0 ? pipelineQueueCapacity : DEFAULT_PIPELINE_QUEUE_CAPACITY;
+    }
+
+    public long resolvedHedgeFallbackDelayMs() {
+        return hedgeFallbackDelayMs > 0 ? hedgeFallbackDelayMs : DEFAULT_HEDGE_FALLBACK_DELAY_MS;
+    }
+
+    public long resolvedHedgeMinDelayMs() {
+        return hedgeMinDelayMs > 0 ? hedgeMinDelayMs : DEFAULT_HEDGE_MIN_DELAY_MS;
+    }
 }
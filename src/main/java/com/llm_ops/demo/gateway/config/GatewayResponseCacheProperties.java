@@ -0,0 +1,91 @@
+package com.llm_ops.demo.gateway.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결정적(temperature=0) 요청에 대한 게이트웨이 응답 캐시 설정입니다.
+ * 기본값은 비활성이며, {@code enabled=true}와 함께 {@code all-workspaces} 또는 워크스페이스별 설정으로 opt-in 합니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+@Getter
+@Setter
+public class GatewayResponseCacheProperties {
+
+    private static final long DEFAULT_TTL_MS = 300_000L;
+    private static final int DEFAULT_MAX_ENTRIES = 1_000;
+    private static final long DEFAULT_MAX_BYTES = 8L * 1024 * 1024;
+
+    private boolean enabled = false;
+
+    /**
+     * true면 별도 설정이 없는 모든 워크스페이스에 기본 정책을 적용합니다.
+     */
+    private boolean allWorkspaces = false;
+
+    private long ttlMs = DEFAULT_TTL_MS;
+
+    /**
+     * 워크스페이스 하나가 보관할 수 있는 최대 응답 수입니다.
+     */
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    /**
+     * 워크스페이스 하나가 보관할 수 있는 응답 본문의 대략적인 최대 크기(byte)입니다.
+     */
+    private long maxBytes = DEFAULT_MAX_BYTES;
+
+    /**
+     * 워크스페이스 ID별 opt-in/opt-out 및 한도 재정의입니다.
+     */
+    private Map<Long, WorkspaceOverride> workspaces = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class WorkspaceOverride {
+        private Boolean enabled;
+        private Long ttlMs;
+        private Integer maxEntries;
+        private Long maxBytes;
+    }
+
+    /**
+     * 워크스페이스에 적용할 캐시 정책입니다. 캐시하지 않는 워크스페이스면 null을 반환합니다.
+     */
+    public Policy resolvePolicy(Long workspaceId) {
+        if (!enabled || workspaceId == null) {
+            return null;
+        }
+        WorkspaceOverride override = workspaces.get(workspaceId);
+        if (override == null) {
+            return allWorkspaces ? new Policy(resolvedTtlMs(), resolvedMaxEntries(), resolvedMaxBytes()) : null;
+        }
+        if (Boolean.FALSE.equals(override.getEnabled()) || (override.getEnabled() == null && !allWorkspaces)) {
+            return null;
+        }
+        return new Policy(
+                override.getTtlMs() != null && override.getTtlMs() > 0 ? override.getTtlMs() : resolvedTtlMs(),
+                override.getMaxEntries() != null && override.getMaxEntries() > 0 ? override.getMaxEntries() : resolvedMaxEntries(),
+                override.getMaxBytes() != null && override.getMaxBytes() > 0 ? override.getMaxBytes() : resolvedMaxBytes());
+    }
+
+    public long resolvedTtlMs() {
+        return ttlMs > 0 ? ttlMs : DEFAULT_TTL_MS;
+    }
+
+    public int resolvedMaxEntries() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    public long resolvedMaxBytes() {
+        return maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES;
+    }
+
+    public record Policy(long ttlMs, int maxEntries, long maxBytes) {
+    }
+}
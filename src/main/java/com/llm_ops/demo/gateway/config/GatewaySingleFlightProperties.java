@@ -0,0 +1,40 @@
+package com.llm_ops.demo.gateway.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 동일한 진행 중 요청을 하나의 프로바이더 호출로 합치는 single-flight 설정입니다.
+ * 합류한 요청은 먼저 들어온 요청과 같은 응답을 받으므로 기본값은 비활성이며,
+ * {@code enabled=true}와 함께 {@code all-workspaces} 또는 워크스페이스별 설정으로 opt-in 합니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.single-flight")
+@Getter
+@Setter
+public class GatewaySingleFlightProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * true면 별도 설정이 없는 모든 워크스페이스에 적용합니다.
+     */
+    private boolean allWorkspaces = false;
+
+    /**
+     * 워크스페이스 ID별 opt-in(true)/opt-out(false)입니다.
+     */
+    private Map<Long, Boolean> workspaces = new HashMap<>();
+
+    public boolean isEnabledFor(Long workspaceId) {
+        if (!enabled || workspaceId == null) {
+            return false;
+        }
+        Boolean override = workspaces.get(workspaceId);
+        return override != null ? override : allWorkspaces;
+    }
+}
@@ -0,0 +1,99 @@
+package com.llm_ops.demo.gateway.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게이트웨이 요청의 조직/API 키별 처리율(token bucket)과 동시 처리 수 한도 설정입니다.
+ * 각 값이 0 이하이면 해당 한도를 적용하지 않습니다. 기본값은 비활성이며 {@code enabled=true}로 opt-in 합니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.tenant-limit")
+@Getter
+@Setter
+public class GatewayTenantLimitProperties {
+
+    private static final long DEFAULT_IDLE_EVICTION_MS = 600_000L;
+
+    private boolean enabled = false;
+
+    /**
+     * 별도 설정이 없는 조직에 적용하는 기본 한도입니다.
+     */
+    private Limit organization = new Limit();
+
+    /**
+     * 별도 설정이 없는 API 키에 적용하는 기본 한도입니다.
+     */
+    private Limit apiKey = new Limit();
+
+    /**
+     * 조직 ID별 한도 재정의입니다. 지정하지 않은 항목은 기본 한도를 따릅니다.
+     */
+    private Map<Long, Limit> organizations = new HashMap<>();
+
+    /**
+     * API 키 ID별 한도 재정의입니다. 지정하지 않은 항목은 기본 한도를 따릅니다.
+     */
+    private Map<Long, Limit> apiKeys = new HashMap<>();
+
+    /**
+     * 이 시간 동안 요청이 없고 처리 중인 요청도 없는 카운터는 정리합니다.
+     */
+    private long idleEvictionMs = DEFAULT_IDLE_EVICTION_MS;
+
+    @Getter
+    @Setter
+    public static class Limit {
+        /** 초당 허용 요청 수(토큰 충전 속도) */
+        private Double requestsPerSecond;
+        /** 순간적으로 허용하는 최대 요청 수(버킷 크기). 없으면 초당 요청 수와 같습니다. */
+        private Integer burst;
+        /** 동시에 처리 중일 수 있는 최대 요청 수 */
+        private Integer maxInFlight;
+    }
+
+    public Policy resolveOrganization(Long organizationId) {
+        return resolve(organization, organizations.get(organizationId));
+    }
+
+    public Policy resolveApiKey(Long apiKeyId) {
+        return resolve(apiKey, apiKeys.get(apiKeyId));
+    }
+
+    public long resolvedIdleEvictionMs() {
+        return idleEvictionMs > 0 ? idleEvictionMs : DEFAULT_IDLE_EVICTION_MS;
+    }
+
+    private static Policy resolve(Limit defaults, Limit override) {
+        Double requestsPerSecond = pick(override != null ? override.getRequestsPerSecond() : null, defaults.getRequestsPerSecond());
+        Integer burst = pick(override != null ? override.getBurst() : null, defaults.getBurst());
+        Integer maxInFlight = pick(override != null ? override.getMaxInFlight() : null, defaults.getMaxInFlight());
+        double rate = requestsPerSecond != null && requestsPerSecond > 0 ? requestsPerSecond : 0d;
+        int capacity = burst != null && burst > 0 ? burst : (int) Math.max(1d, Math.ceil(rate));
+        return new Policy(rate, capacity, maxInFlight != null && maxInFlight > 0 ? maxInFlight : 0);
+    }
+
+    private static <T> T pick(T override, T fallback) {
+        return override != null ? override : fallback;
+    }
+
+    /**
+     * @param requestsPerSecond 0이면 처리율 한도 없음
+     * @param burst             버킷 크기
+     * @param maxInFlight       0이면 동시 처리 한도 없음
+     */
+    public record Policy(double requestsPerSecond, int burst, int maxInFlight) {
+        public boolean rateLimited() {
+            return requestsPerSecond > 0;
+        }
+
+        public boolean concurrencyLimited() {
+            return maxInFlight > 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.llm_ops.demo.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게이트웨이 프롬프트 릴리즈 스냅샷 캐시 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.prompt-snapshot")
+@Getter
+@Setter
+public class PromptSnapshotCacheProperties {
+
+    private static final long DEFAULT_TTL_MS = 30_000L;
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    /**
+     * 명시적 무효화가 누락되거나 다른 인스턴스에서 변경된 경우를 대비한 안전 TTL입니다. 0이면 캐시를 사용하지 않습니다.
+     */
+    private long ttlMs = DEFAULT_TTL_MS;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    public long resolvedTtlMs() {
+        return ttlMs >= 0 ? ttlMs : DEFAULT_TTL_MS;
+    }
+
+    public int resolvedMaxEntries() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+}
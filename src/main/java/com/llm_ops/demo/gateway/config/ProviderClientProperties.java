@@ -0,0 +1,45 @@
+package com.llm_ops.demo.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로바이더 클라이언트 재사용(풀링) 관련 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.provider-client")
+@Getter
+@Setter
+public class ProviderClientProperties {
+
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 600_000L;
+    private static final long DEFAULT_CLOSE_GRACE_MS = 330_000L;
+
+    /**
+     * (provider, credentialId, key fingerprint) 단위로 보관하는 클라이언트 최대 개수입니다.
+     */
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    /**
+     * 이 시간 동안 사용되지 않은 클라이언트는 정리 대상이 됩니다.
+     */
+    private long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+    /**
+     * 무효화/축출된 클라이언트를 실제로 닫기 전에 진행 중인 호출(스트리밍 포함)이 끝나기를 기다리는 시간입니다.
+     */
+    private long closeGraceMs = DEFAULT_CLOSE_GRACE_MS;
+
+    public int resolvedMaxEntries() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    public long resolvedIdleTimeoutMs() {
+        return idleTimeoutMs > 0 ? idleTimeoutMs : DEFAULT_IDLE_TIMEOUT_MS;
+    }
+
+    public long resolvedCloseGraceMs() {
+        return closeGraceMs >= 0 ? closeGraceMs : DEFAULT_CLOSE_GRACE_MS;
+    }
+}
@@ -1,8 +1,13 @@
 package com.llm_ops.demo.gateway.controller;
 
+import com.llm_ops.demo.gateway.config.GatewayReliabilityProperties;
+import com.llm_ops.demo.gateway.dto.GatewayChatBatchRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatBatchResponse;
 import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
-import com.llm_ops.demo.gateway.dto.GatewayChatResponse;
+import com.llm_ops.demo.gateway.service.GatewayChatAsyncService;
+import com.llm_ops.demo.gateway.service.GatewayChatBatchService;
 import com.llm_ops.demo.gateway.service.GatewayChatService;
+import com.llm_ops.demo.gateway.service.GatewayChatStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * 외부 서비스에 LLM 추론 기능을 제공하는 메인 게이트웨이 컨트롤러입니다.
@@ -22,19 +29,46 @@ import org.springframework.web.bind.annotation.RestController;
 public class GatewayChatController {
 
     private final GatewayChatService gatewayChatService;
+    private final GatewayChatStreamService gatewayChatStreamService;
+    private final GatewayChatAsyncService gatewayChatAsyncService;
+    private final GatewayChatBatchService gatewayChatBatchService;
+    private final GatewayReliabilityProperties gatewayReliabilityProperties;
 
     /**
      * 외부 시스템의 LLM 채팅 요청을 처리하는 엔드포인트입니다.
      *
      * @param apiKey  인증을 위한 API 키. {@code X-API-Key} 헤더에서 추출됩니다.
      * @param request 채팅 요청의 상세 정보 (워크스페이스 ID, 프롬프트 키, 변수 등)
-     * @return LLM의 답변 및 처리 결과
+     * @return LLM의 답변 및 처리 결과. {@code stream=true}이면 Server-Sent Events({@link SseEmitter})로 응답하고,
+     *         비동기 파이프라인이 켜져 있으면 {@link DeferredResult}로 응답합니다.
      */
     @PostMapping("/completions")
-    public ResponseEntity<GatewayChatResponse> chat(
+    public Object chat(
             @RequestHeader(name = "X-API-Key", required = false) String apiKey,
             @Valid @RequestBody GatewayChatRequest request
     ) {
+        // 반환 타입을 Object로 두어야 Spring MVC가 실제 반환값(SseEmitter/DeferredResult/ResponseEntity)에 맞는 핸들러를 고릅니다.
+        if (request.isStream()) {
+            return gatewayChatStreamService.stream(apiKey, request);
+        }
+        if (gatewayReliabilityProperties.isAsyncPipelineEnabled()) {
+            return gatewayChatAsyncService.chat(apiKey, request);
+        }
         return ResponseEntity.ok(gatewayChatService.chat(apiKey, request));
     }
+
+    /**
+     * 여러 채팅 요청을 한 번에 처리하는 배치 엔드포인트입니다.
+     *
+     * @param apiKey  인증을 위한 API 키. {@code X-API-Key} 헤더에서 추출됩니다.
+     * @param request 같은 워크스페이스에 속한 비스트리밍 채팅 요청 목록
+     * @return 요청 순서대로 정렬된 항목별 처리 결과. 일부 항목이 실패해도 200으로 응답합니다.
+     */
+    @PostMapping("/completions:batch")
+    public ResponseEntity<GatewayChatBatchResponse> chatBatch(
+            @RequestHeader(name = "X-API-Key", required = false) String apiKey,
+            @Valid @RequestBody GatewayChatBatchRequest request
+    ) {
+        return ResponseEntity.ok(gatewayChatBatchService.chat(apiKey, request));
+    }
 }
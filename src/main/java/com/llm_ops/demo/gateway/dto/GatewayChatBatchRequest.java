@@ -0,0 +1,17 @@
+package com.llm_ops.demo.gateway.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * 게이트웨이 배치 API (`/v1/chat/completions:batch`)의 요청 본문을 위한 DTO 레코드입니다.
+ *
+ * @param items 처리할 채팅 요청 목록. 모든 항목은 같은 워크스페이스에 속해야 하며 스트리밍은 지원하지 않습니다.
+ */
+public record GatewayChatBatchRequest(
+        @NotEmpty List<@Valid @NotNull GatewayChatRequest> items
+) {
+}
@@ -0,0 +1,39 @@
+package com.llm_ops.demo.gateway.dto;
+
+import java.util.List;
+
+/**
+ * 게이트웨이 배치 API (`/v1/chat/completions:batch`)의 응답 본문을 위한 DTO 레코드입니다.
+ * 결과는 요청 항목과 같은 순서이며, 항목별로 성공/실패가 따로 기록됩니다.
+ *
+ * @param results 항목별 처리 결과
+ */
+public record GatewayChatBatchResponse(
+        List<Item> results
+) {
+
+    /**
+     * @param index      요청 목록에서의 위치 (0부터)
+     * @param status     "success" 또는 "error"
+     * @param httpStatus 항목을 단건 API로 보냈을 때의 HTTP 상태 코드
+     * @param response   성공한 경우의 응답 (실패하면 null)
+     * @param errorCode  실패한 경우의 게이트웨이 에러 코드 (성공하면 null)
+     * @param message    실패한 경우의 에러 메시지 (성공하면 null)
+     */
+    public record Item(
+            int index,
+            String status,
+            int httpStatus,
+            GatewayChatResponse response,
+            String errorCode,
+            String message
+    ) {
+        public static Item success(int index, GatewayChatResponse response) {
+            return new Item(index, "success", 200, response, null, null);
+        }
+
+        public static Item error(int index, int httpStatus, String errorCode, String message) {
+            return new Item(index, "error", httpStatus, null, errorCode, message);
+        }
+    }
+}
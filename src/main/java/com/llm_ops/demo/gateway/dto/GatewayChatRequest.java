@@ -13,14 +13,24 @@ import java.util.Map;
  * @param variables   프롬프트 템플릿에 주입될 변수들의 맵 (예:
  *                    {{question}} -> "오늘 날씨 어때?")
  * @param ragEnabled  RAG 검색 활성화 여부 (기본값: false). true일 경우 사용자 질문으로 관련 문서를 검색하여 컨텍스트로 주입합니다.
+ * @param stream      스트리밍 응답 여부 (기본값: false). true일 경우 Server-Sent Events로 답변을 생성되는 대로 전달합니다.
  */
 public record GatewayChatRequest(
         @NotNull Long workspaceId,
         @NotBlank String promptKey,
         Map<String, @NotNull String> variables,
-        Boolean ragEnabled
+        Boolean ragEnabled,
+        Boolean stream
 ) {
+    public GatewayChatRequest(Long workspaceId, String promptKey, Map<String, String> variables, Boolean ragEnabled) {
+        this(workspaceId, promptKey, variables, ragEnabled, null);
+    }
+
     public boolean isRagEnabled() {
         return ragEnabled != null && ragEnabled;
     }
+
+    public boolean isStream() {
+        return stream != null && stream;
+    }
 }
@@ -0,0 +1,10 @@
+package com.llm_ops.demo.gateway.dto;
+
+/**
+ * 스트리밍 모드(`stream=true`)에서 `delta` 이벤트로 전송되는 답변 조각입니다.
+ * 스트림 종료 시에는 `done` 이벤트로 {@link GatewayChatResponse}가 전송됩니다.
+ *
+ * @param content 새로 생성된 텍스트 조각
+ */
+public record GatewayChatStreamDelta(String content) {
+}
@@ -1,16 +1,20 @@
 package com.llm_ops.demo.gateway.log.config;
 
 import java.util.concurrent.Executor;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
- * 비동기 로그 저장을 위한 설정 클래스입니다.
- * Gateway 요청 로그를 비동기로 저장하여 API 응답 시간에 영향을 주지 않도록 합니다.
+ * 비동기 작업 실행기 설정 클래스입니다.
+ * 요청 경로와 분리해 처리할 부가 작업(예: 프로바이더 키 검증)을 실행합니다. 요청 로그는 {@code RequestLogBatchWriter}가 따로 모아 저장합니다.
  * 테스트 환경에서는 비활성화됩니다.
+ * {@code spring.threads.virtual.enabled=true}이면 풀/큐 대신 작업마다 가상 스레드를 사용합니다.
  */
 @Configuration
 @EnableAsync
@@ -18,7 +22,12 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class AsyncConfig {
 
     @Bean(name = "logExecutor")
-    public Executor logExecutor() {
+    public Executor logExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("log-async-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -0,0 +1,59 @@
+package com.llm_ops.demo.gateway.log.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 요청 로그 저장 작업(큐 flush, spool 재저장, 끝나지 않은 로그 정리)과 파티션 관리를 실행하는 전용 스케줄러 설정 클래스입니다.
+ * <p>
+ * 기본 스케줄러는 스레드가 하나라서 평가 워커 polling처럼 오래 걸리는 작업이 돌면 그동안 로그 큐를 비우지 못하고
+ * 요청 스레드가 backpressure에 걸립니다. 그래서 로그 작업은 {@code @Scheduled(scheduler = "requestLogScheduler")}로
+ * 이 스케줄러에서 따로 실행합니다.
+ * <p>
+ * TaskScheduler 빈을 하나라도 등록하면 Spring Boot가 기본 스케줄러를 만들지 않으므로, 나머지 {@code @Scheduled} 작업이 쓰는
+ * {@code taskScheduler}도 {@code spring.task.scheduling.*} 설정을 따르는 builder로 직접 등록합니다.
+ * {@code spring.threads.virtual.enabled=true}이면 둘 다 가상 스레드를 사용합니다.
+ */
+@Configuration
+@Profile("!test")
+public class RequestLogSchedulingConfig {
+
+    // flush와 spool 재저장이 서로를 기다리지 않고, 파티션 관리처럼 오래 걸리는 정리 작업이 돌 때도 flush가 밀리지 않는 크기
+    private static final int REQUEST_LOG_SCHEDULER_POOL_SIZE = 4;
+
+    @Bean(name = "taskScheduler")
+    @Primary
+    public TaskScheduler taskScheduler(
+            Environment environment,
+            ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder,
+            SimpleAsyncTaskSchedulerBuilder simpleAsyncTaskSchedulerBuilder) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return simpleAsyncTaskSchedulerBuilder.virtualThreads(true).build();
+        }
+        return threadPoolTaskSchedulerBuilder.build();
+    }
+
+    @Bean(name = "requestLogScheduler")
+    public TaskScheduler requestLogScheduler(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setThreadNamePrefix("request-log-scheduler-");
+            scheduler.setVirtualThreads(true);
+            return scheduler;
+        }
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(REQUEST_LOG_SCHEDULER_POOL_SIZE);
+        scheduler.setThreadNamePrefix("request-log-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+}
@@ -0,0 +1,306 @@
+package com.llm_ops.demo.gateway.log.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 로그 저장 설정입니다.
+ * 요청 로그는 요청이 끝날 때 한 번만 만들어 큐에 넣고, 백그라운드 flush가 JDBC batch로 모아 INSERT 합니다.
+ * 큐가 넘치거나 DB에 쓸 수 없는 로그는 로컬 spool 파일에 두었다가 DB가 복구되면 다시 씁니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.request-log")
+@Getter
+@Setter
+public class RequestLogWriteProperties {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 200;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 200L;
+    private static final long DEFAULT_ENQUEUE_TIMEOUT_MS = 50L;
+    private static final long DEFAULT_PENDING_TIMEOUT_MS = 600_000L;
+    private static final long DEFAULT_PENDING_SWEEP_INTERVAL_MS = 60_000L;
+
+    /**
+     * false면 큐를 거치지 않고 요청 스레드에서 바로 INSERT 합니다.
+     * (@Transactional 통합 테스트처럼 요청 스레드의 트랜잭션에서 로그를 확인해야 할 때 사용)
+     */
+    private boolean asyncWriteEnabled = true;
+
+    /**
+     * 저장 대기 큐의 최대 로그 수입니다.
+     */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * 한 번의 JDBC batch로 INSERT 하는 최대 로그 수입니다.
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * 큐에 쌓인 로그를 DB에 반영하는 주기입니다. 비정상 종료 시 최대 큐에 남은 로그만큼 유실될 수 있습니다.
+     */
+    private long flushIntervalMs = DEFAULT_FLUSH_INTERVAL_MS;
+
+    /**
+     * 큐가 가득 찼을 때 요청 스레드가 자리가 나기를 기다리는 최대 시간입니다. 넘으면 spool에 씁니다. (spool 미사용 시 직접 INSERT)
+     */
+    private long enqueueTimeoutMs = DEFAULT_ENQUEUE_TIMEOUT_MS;
+
+    /**
+     * 시작만 하고 끝나지 않은 로그를 메모리에 두는 최대 시간입니다. 넘으면 IN_PROGRESS 상태 그대로 저장하고 메모리에서 뺍니다.
+     */
+    private long pendingTimeoutMs = DEFAULT_PENDING_TIMEOUT_MS;
+
+    /**
+     * 끝나지 않은 로그를 확인하는 주기입니다.
+     */
+    private long pendingSweepIntervalMs = DEFAULT_PENDING_SWEEP_INTERVAL_MS;
+
+    /**
+     * 큐가 넘치거나 DB에 쓸 수 없을 때 로그를 옮겨 두는 로컬 spool 파일 설정입니다.
+     */
+    private Spool spool = new Spool();
+
+    /**
+     * 압축 저장 이전에 쌓인 payload/검색 문서 본문(TEXT)을 압축 컬럼으로 옮기는 백필 설정입니다.
+     */
+    private PayloadBackfill payloadBackfill = new PayloadBackfill();
+
+    /**
+     * request_logs/retrieved_documents 파티션 생성과 보존 기간 설정입니다.
+     */
+    private Partition partition = new Partition();
+
+    /**
+     * 통계용 분/시/일 롤업(request_log_rollups) 설정입니다.
+     */
+    private Rollup rollup = new Rollup();
+
+    @Getter
+    @Setter
+    public static class Spool {
+
+        private static final String DEFAULT_DIRECTORY = System.getProperty("java.io.tmpdir") + "/llm-ops/request-log-spool";
+        private static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+        private static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+        private static final long DEFAULT_REPLAY_INTERVAL_MS = 1_000L;
+
+        /**
+         * false면 spool을 쓰지 않고, 큐가 넘치면 요청 스레드에서 직접 저장하며 DB 장애 중의 로그는 버립니다.
+         */
+        private boolean enabled = true;
+
+        /**
+         * spool 세그먼트 파일을 두는 디렉터리입니다. 재시작 후에도 남아 있어야 복구됩니다.
+         */
+        private String directory = DEFAULT_DIRECTORY;
+
+        /**
+         * 세그먼트 파일 하나의 크기(byte)입니다. 가득 차면 다음 세그먼트를 만듭니다.
+         */
+        private int segmentBytes = DEFAULT_SEGMENT_BYTES;
+
+        /**
+         * 아직 DB에 반영하지 못한 spool의 최대 크기(byte)입니다. 넘으면 더 이상 spool에 쓰지 않고 로그를 버립니다.
+         */
+        private long maxBytes = DEFAULT_MAX_BYTES;
+
+        /**
+         * spool에 쌓인 로그를 DB에 다시 쓰는 주기입니다.
+         */
+        private long replayIntervalMs = DEFAULT_REPLAY_INTERVAL_MS;
+
+        public String resolvedDirectory() {
+            return directory != null && !directory.isBlank() ? directory : DEFAULT_DIRECTORY;
+        }
+
+        public int resolvedSegmentBytes() {
+            return segmentBytes > 0 ? segmentBytes : DEFAULT_SEGMENT_BYTES;
+        }
+
+        public long resolvedMaxBytes() {
+            return maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES;
+        }
+
+        public long resolvedReplayIntervalMs() {
+            return replayIntervalMs > 0 ? replayIntervalMs : DEFAULT_REPLAY_INTERVAL_MS;
+        }
+    }
+
+    public int resolvedQueueCapacity() {
+        return queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+    }
+
+    public int resolvedBatchSize() {
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    public long resolvedFlushIntervalMs() {
+        return flushIntervalMs > 0 ? flushIntervalMs : DEFAULT_FLUSH_INTERVAL_MS;
+    }
+
+    public long resolvedEnqueueTimeoutMs() {
+        return enqueueTimeoutMs >= 0 ? enqueueTimeoutMs : DEFAULT_ENQUEUE_TIMEOUT_MS;
+    }
+
+    public long resolvedPendingTimeoutMs() {
+        return pendingTimeoutMs > 0 ? pendingTimeoutMs : DEFAULT_PENDING_TIMEOUT_MS;
+    }
+
+    public long resolvedPendingSweepIntervalMs() {
+        return pendingSweepIntervalMs > 0 ? pendingSweepIntervalMs : DEFAULT_PENDING_SWEEP_INTERVAL_MS;
+    }
+
+    @Getter
+    @Setter
+    public static class PayloadBackfill {
+
+        private static final int DEFAULT_BATCH_SIZE = 500;
+        private static final long DEFAULT_INTERVAL_MS = 1_000L;
+
+        /**
+         * false면 백필하지 않습니다. 옮기지 않은 행도 상세 조회에서는 TEXT 컬럼 값을 그대로 보여 줍니다.
+         */
+        private boolean enabled = true;
+
+        /**
+         * 한 트랜잭션에서 옮기는 최대 행 수입니다. (테이블별)
+         */
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * 백필 batch 사이의 간격입니다. 남은 행이 없으면 더 이상 조회하지 않습니다.
+         */
+        private long intervalMs = DEFAULT_INTERVAL_MS;
+
+        public int resolvedBatchSize() {
+            return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        }
+
+        public long resolvedIntervalMs() {
+            return intervalMs > 0 ? intervalMs : DEFAULT_INTERVAL_MS;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Partition {
+
+        private static final int DEFAULT_PREMAKE = 3;
+        private static final long DEFAULT_MAINTENANCE_INTERVAL_MS = 3_600_000L;
+        private static final int DEFAULT_RETENTION_DELETE_BATCH_SIZE = 5_000;
+
+        /**
+         * false면 파티션을 만들거나 지우지 않습니다. (PostgreSQL에서 파티션 테이블일 때만 동작)
+         */
+        private boolean enabled = true;
+
+        /**
+         * 파티션 하나가 담는 기간입니다. 바꾸면 이미 만든 파티션 다음 구간부터 새 단위로 만듭니다.
+         */
+        private Interval interval = Interval.MONTHLY;
+
+        /**
+         * 현재 구간 이후로 미리 만들어 둘 파티션 수입니다.
+         */
+        private int premake = DEFAULT_PREMAKE;
+
+        /**
+         * 기본 보존 기간(일)입니다. 0 이하면 지우지 않습니다.
+         */
+        private int retentionDays;
+
+        /**
+         * 조직별 보존 기간(일)입니다. (organizationId → 일수, 0 이하면 지우지 않음)
+         * 가장 긴 보존 기간이 지난 파티션은 통째로 지우고, 그보다 짧은 조직의 로그는 지난 만큼 나눠 DELETE 합니다.
+         */
+        private Map<Long, Integer> organizationRetentionDays = new HashMap<>();
+
+        /**
+         * 보존 기간이 지난 파티션을 DROP 할지, DETACH만 해서 별도 테이블로 남길지 정합니다.
+         */
+        private ExpiredAction expiredAction = ExpiredAction.DROP;
+
+        /**
+         * 조직별 보존 기간이 지난 로그를 한 트랜잭션에서 지우는 최대 행 수입니다.
+         */
+        private int retentionDeleteBatchSize = DEFAULT_RETENTION_DELETE_BATCH_SIZE;
+
+        /**
+         * 파티션 생성/보존 기간 정리 주기입니다.
+         */
+        private long maintenanceIntervalMs = DEFAULT_MAINTENANCE_INTERVAL_MS;
+
+        public Interval resolvedInterval() {
+            return interval != null ? interval : Interval.MONTHLY;
+        }
+
+        public int resolvedPremake() {
+            return premake >= 0 ? premake : DEFAULT_PREMAKE;
+        }
+
+        public ExpiredAction resolvedExpiredAction() {
+            return expiredAction != null ? expiredAction : ExpiredAction.DROP;
+        }
+
+        public int resolvedRetentionDeleteBatchSize() {
+            return retentionDeleteBatchSize > 0 ? retentionDeleteBatchSize : DEFAULT_RETENTION_DELETE_BATCH_SIZE;
+        }
+
+        public long resolvedMaintenanceIntervalMs() {
+            return maintenanceIntervalMs > 0 ? maintenanceIntervalMs : DEFAULT_MAINTENANCE_INTERVAL_MS;
+        }
+
+        public enum Interval {
+            DAILY,
+            MONTHLY
+        }
+
+        public enum ExpiredAction {
+            DROP,
+            DETACH
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Rollup {
+
+        private static final int DEFAULT_MINUTE_RETENTION_DAYS = 7;
+        private static final int DEFAULT_HOUR_RETENTION_DAYS = 90;
+        private static final long DEFAULT_CLEANUP_INTERVAL_MS = 3_600_000L;
+
+        /**
+         * 분 롤업 보존 기간(일)입니다. 이보다 오래된 기간의 앞뒤 끝은 시 롤업 경계로 넓혀 조회합니다.
+         */
+        private int minuteRetentionDays = DEFAULT_MINUTE_RETENTION_DAYS;
+
+        /**
+         * 시 롤업 보존 기간(일)입니다. 이보다 오래된 기간의 앞뒤 끝은 일 롤업 경계로 넓혀 조회합니다. 일 롤업은 지우지 않습니다.
+         */
+        private int hourRetentionDays = DEFAULT_HOUR_RETENTION_DAYS;
+
+        /**
+         * 보존 기간이 지난 분/시 롤업을 지우는 주기입니다.
+         */
+        private long cleanupIntervalMs = DEFAULT_CLEANUP_INTERVAL_MS;
+
+        public int resolvedMinuteRetentionDays() {
+            return minuteRetentionDays > 0 ? minuteRetentionDays : DEFAULT_MINUTE_RETENTION_DAYS;
+        }
+
+        public int resolvedHourRetentionDays() {
+            return Math.max(hourRetentionDays > 0 ? hourRetentionDays : DEFAULT_HOUR_RETENTION_DAYS,
+                    resolvedMinuteRetentionDays());
+        }
+
+        public long resolvedCleanupIntervalMs() {
+            return cleanupIntervalMs > 0 ? cleanupIntervalMs : DEFAULT_CLEANUP_INTERVAL_MS;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.llm_ops.demo.gateway.log.controller;
 
 import com.llm_ops.demo.auth.dto.response.ApiResponse;
 import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import com.llm_ops.demo.gateway.log.dto.RequestLogCursorResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogListResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
@@ -76,4 +77,38 @@ public class RequestLogController {
         RequestLogListResponse response = requestLogQueryService.search(workspaceId, condition, pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    /**
+     * 로그 목록 cursor 조회 (깊은 페이지도 일정한 비용)
+     * GET /api/v1/workspaces/{workspaceId}/logs/scroll
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<RequestLogCursorResponse>> scrollLogs(
+            @PathVariable Long workspaceId,
+            @AuthenticationPrincipal Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) RequestLogStatus status,
+            @RequestParam(required = false) Boolean failover,
+            @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String usedModel,
+            @RequestParam(required = false) Boolean ragEnabled,
+            @RequestParam(required = false) String promptKey,
+            @RequestParam(required = false) String traceId,
+            @RequestParam(required = false) String errorCode,
+            @RequestParam(required = false) String requestSource,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        workspaceAccessService.validateWorkspaceAccess(workspaceId, userId);
+
+        RequestLogSearchCondition condition = new RequestLogSearchCondition(
+                from, to, status, failover, provider, usedModel, ragEnabled, promptKey, traceId,
+                errorCode, requestSource);
+
+        RequestLogCursorResponse response = requestLogQueryService.scroll(
+                workspaceId, condition, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
@@ -0,0 +1,117 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 요청 로그 payload와 검색 문서 본문을 bytea 컬럼에 저장하기 위한 압축 형식입니다.
+ * <p>
+ * 첫 바이트가 형식을 나타냅니다.
+ * <ul>
+ *     <li>{@code 0}: 압축하지 않은 UTF-8 (짧아서 압축 이득이 없는 값)</li>
+ *     <li>{@code 1}: 게이트웨이 로그 JSON에서 자주 나오는 키를 미리 넣은 사전(v1)을 쓴 raw Deflate</li>
+ * </ul>
+ * 사전을 바꿀 때는 새 형식 번호를 추가하고, 기존 번호의 사전은 그대로 둬야 저장된 값을 읽을 수 있습니다.
+ */
+public final class CompressedText {
+
+    private static final byte FORMAT_RAW = 0;
+    private static final byte FORMAT_DEFLATE_DICTIONARY_V1 = 1;
+    private static final int MIN_COMPRESS_BYTES = 64;
+
+    private static final byte[] DICTIONARY_V1 = String.join("",
+            "{\"errorCode\":\"GW-REQ-", "\"status\":", "\"failReason\":\"", "\"type\":\"GATEWAY_FAILURE\"}",
+            "PROVIDER_ERROR", "TIMEOUT", "RATE_LIMITED", "BUDGET_EXCEEDED", "INTERNAL_ERROR",
+            "{\"workspaceId\":", "\"promptKey\":\"", "\"ragEnabled\":false", "\"ragEnabled\":true",
+            "\"variablesCount\":", "\"question\":\"", "\"},{\"", "\":\"", "\",\"", "\\n\\n", "\\n- ",
+            " the ", " and ", " of ", " to ", " in ", " is ", " for ", " that ", " with ",
+            "합니다. ", "입니다. ", "있습니다. ", "습니다.\n", "에 대한 ", "수 있", "하는 ", "에서 ", "으로 ")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private CompressedText() {
+    }
+
+    /**
+     * 문자열을 저장 형식으로 변환합니다. null이면 null을 반환합니다.
+     */
+    public static byte[] compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESS_BYTES) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                return withFormat(FORMAT_DEFLATE_DICTIONARY_V1, deflated, deflated.length);
+            }
+        }
+        return withFormat(FORMAT_RAW, raw, raw.length);
+    }
+
+    /**
+     * 저장 형식을 문자열로 되돌립니다. null이면 null을 반환합니다.
+     */
+    public static String decompress(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+        return switch (stored[0]) {
+            case FORMAT_RAW -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE_DICTIONARY_V1 -> new String(inflate(stored), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("알 수 없는 압축 형식입니다: " + stored[0]);
+        };
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY_V1);
+            inflater.setInput(stored, 1, stored.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("압축된 값이 잘렸습니다.");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("압축된 값을 풀 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] withFormat(byte format, byte[] body, int length) {
+        byte[] stored = new byte[length + 1];
+        stored[0] = format;
+        System.arraycopy(body, 0, stored, 1, length);
+        return stored;
+    }
+}
@@ -0,0 +1,22 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 문자열 필드를 {@link CompressedText} 형식의 bytea 컬럼에 저장합니다.
+ * 엔티티를 읽는 시점에 압축을 풀므로, 상세 조회에서만 읽는 엔티티에 사용합니다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return CompressedText.compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return CompressedText.decompress(dbData);
+    }
+}
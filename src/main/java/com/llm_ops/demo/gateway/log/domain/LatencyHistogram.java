@@ -0,0 +1,119 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import java.util.Arrays;
+
+/**
+ * 롤업 테이블에 저장하는 합칠 수 있는(mergeable) latency 분포입니다.
+ * <p>
+ * HDR histogram처럼 값 범위를 로그 단위로 나눈 고정 bucket의 건수 배열입니다. 두 분포는 bucket별 건수를 더하면 합쳐지므로
+ * 분/시/일 롤업 여러 개를 합친 뒤에도 p95/p99를 구할 수 있습니다.
+ * <ul>
+ *     <li>0~7ms는 1ms 단위, 그 이상은 2의 거듭제곱 구간마다 4개 bucket입니다. (bucket 폭이 값의 25% 이하)</li>
+ *     <li>2^25ms(약 9시간) 이상은 마지막 bucket에 모읍니다.</li>
+ *     <li>저장할 때는 마지막 0이 아닌 bucket까지만 남깁니다. (PostgreSQL BIGINT[])</li>
+ * </ul>
+ * bucket 계산은 V36의 {@code request_log_latency_bucket} 함수와 같아야 합니다.
+ */
+public final class LatencyHistogram {
+
+    static final int LINEAR_BUCKETS = 8;
+    static final int SUB_BUCKETS = 4;
+    static final int MAX_EXPONENT = 24;
+    public static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - 2) * SUB_BUCKETS;
+
+    private final long[] counts;
+
+    private LatencyHistogram(long[] counts) {
+        this.counts = counts;
+    }
+
+    public static LatencyHistogram empty() {
+        return new LatencyHistogram(new long[BUCKET_COUNT]);
+    }
+
+    /**
+     * 저장된 bucket 건수 배열로 분포를 만듭니다. null이나 빈 배열은 빈 분포입니다.
+     */
+    public static LatencyHistogram of(Long[] stored) {
+        LatencyHistogram histogram = empty();
+        if (stored != null) {
+            for (int i = 0; i < Math.min(stored.length, BUCKET_COUNT); i++) {
+                histogram.counts[i] = stored[i] != null ? stored[i] : 0L;
+            }
+        }
+        return histogram;
+    }
+
+    public void record(long latencyMs) {
+        counts[bucketIndex(latencyMs)]++;
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long totalCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * 마지막 0이 아닌 bucket까지의 건수 배열입니다.
+     */
+    public Long[] toStored() {
+        int length = BUCKET_COUNT;
+        while (length > 0 && counts[length - 1] == 0) {
+            length--;
+        }
+        Long[] stored = new Long[length];
+        for (int i = 0; i < length; i++) {
+            stored[i] = counts[i];
+        }
+        return stored;
+    }
+
+    /**
+     * nearest-rank 방식의 백분위 값(ms)입니다. 해당 bucket의 중간값을 반환하며, 기록이 없으면 0입니다.
+     *
+     * @param percentile 0~1 사이 값 (예: 0.95)
+     */
+    public int percentile(double percentile) {
+        long total = totalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (int) Math.round(bucketMidpoint(i));
+            }
+        }
+        return (int) Math.round(bucketMidpoint(BUCKET_COUNT - 1));
+    }
+
+    static int bucketIndex(long latencyMs) {
+        if (latencyMs < LINEAR_BUCKETS) {
+            return (int) Math.max(latencyMs, 0L);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(latencyMs);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) ((latencyMs >> (exponent - 2)) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (exponent - 3) * SUB_BUCKETS + subBucket;
+    }
+
+    static double bucketMidpoint(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int exponent = 3 + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - 2);
+        long lower = (SUB_BUCKETS + subBucket) * width;
+        return lower + (width - 1) / 2.0;
+    }
+}
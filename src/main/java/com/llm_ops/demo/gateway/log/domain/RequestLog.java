@@ -8,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -139,12 +140,47 @@ public class RequestLog {
     @Column(name = "rag_context_hash", length = 64)
     private String ragContextHash;
 
+    @Column(name = "ttft_ms")
+    private Integer ttftMs;
+
+    @Column(name = "output_tokens_per_second")
+    private Double outputTokensPerSecond;
+
+    @Column(name = "cache_hit", nullable = false)
+    private boolean cacheHit;
+
+    @Column(name = "coalesced", nullable = false)
+    private boolean coalesced;
+
+    @Column(name = "hedged", nullable = false)
+    private boolean hedged;
+
+    @Column(name = "hedge_delay_ms")
+    private Integer hedgeDelayMs;
+
+    @Column(name = "hedge_winner", length = 16)
+    private String hedgeWinner;
+
+    @Column(name = "hedge_loser_status", length = 16)
+    private String hedgeLoserStatus;
+
+    @Column(name = "hedge_loser_input_tokens")
+    private Integer hedgeLoserInputTokens;
+
+    @Column(name = "hedge_loser_output_tokens")
+    private Integer hedgeLoserOutputTokens;
+
+    @Column(name = "hedge_loser_estimated_cost", precision = 18, scale = 8)
+    private BigDecimal hedgeLoserEstimatedCost;
+
     // === 신규 필드: Payload & Source ===
 
-    @Column(name = "request_payload", columnDefinition = "TEXT")
+    // payload는 압축해 *_compressed 컬럼에 저장하며(RequestLogBatchWriter), 목록/검색 조회에서 읽지 않도록 매핑하지 않습니다.
+    // 상세 조회는 RequestLogPayload로 따로 읽습니다.
+    @Transient
     private String requestPayload;
 
-    @Column(name = "response_payload", columnDefinition = "TEXT")
+    @Transient
     private String responsePayload;
 
     @Column(name = "request_source", nullable = false, length = 16)
@@ -283,4 +319,34 @@ public class RequestLog {
         this.ragSimilarityThreshold = ragSimilarityThreshold;
     }
 
+    public void fillStreamMetrics(Integer ttftMs, Double outputTokensPerSecond) {
+        // 스트리밍 요청에서만 채워지며, 일반 요청은 null로 유지됩니다.
+        this.ttftMs = ttftMs;
+        this.outputTokensPerSecond = outputTokensPerSecond;
+    }
+
+    public void fillHedge(Integer hedgeDelayMs, String hedgeWinner) {
+        // 2차 경로를 병렬로 호출(hedging)한 요청만 채워집니다. 두 경로가 모두 실패하면 winner는 null입니다.
+        this.hedged = true;
+        this.hedgeDelayMs = hedgeDelayMs;
+        this.hedgeWinner = hedgeWinner;
+    }
+
+    public void fillHedgeLoser(String status, Integer inputTokens, Integer outputTokens, BigDecimal estimatedCost) {
+        // 승자가 정해진 hedging 요청만 채워집니다. 이 비용은 estimatedCost(승자)와 별도로 예산 사용량에 반영됩니다.
+        this.hedgeLoserStatus = status;
+        this.hedgeLoserInputTokens = inputTokens;
+        this.hedgeLoserOutputTokens = outputTokens;
+        this.hedgeLoserEstimatedCost = estimatedCost;
+    }
+
+    public void markCacheHit() {
+        // 응답 캐시 적중: 프로바이더를 호출하지 않았으므로 비용은 0으로 기록됩니다.
+        this.cacheHit = true;
+    }
+
+    public void markCoalesced() {
+        // single-flight 합류: 동일한 진행 중 요청의 응답을 공유했으므로 비용은 0으로 기록됩니다.
+        this.coalesced = true;
+    }
 }
@@ -0,0 +1,60 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * 요청 로그의 요청/응답 payload 읽기 전용 엔티티
+ * - request_logs 테이블의 payload 컬럼만 매핑해, 상세 조회에서만 읽고 압축을 풉니다.
+ * - {@link RequestLog}는 payload 컬럼을 매핑하지 않으므로 목록/검색 조회는 payload 바이트를 읽지 않습니다.
+ * - request_id와 created_at(파티션 키)을 함께 조건으로 주면 해당 기간 파티션 하나만 읽습니다.
+ */
+@Entity
+@Immutable
+@Table(name = "request_logs")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RequestLogPayload {
+
+    @Id
+    @Column(name = "request_id", nullable = false)
+    private UUID requestId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "request_payload_compressed", columnDefinition = "BYTEA")
+    private String requestPayload;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "response_payload_compressed", columnDefinition = "BYTEA")
+    private String responsePayload;
+
+    // 압축 저장 전에 쌓인 원문입니다. 백필이 끝나면 비어 있습니다.
+
+    @Column(name = "request_payload", columnDefinition = "TEXT")
+    private String legacyRequestPayload;
+
+    @Column(name = "response_payload", columnDefinition = "TEXT")
+    private String legacyResponsePayload;
+
+    public UUID getRequestId() {
+        return requestId;
+    }
+
+    public String getRequestPayload() {
+        return requestPayload != null ? requestPayload : legacyRequestPayload;
+    }
+
+    public String getResponsePayload() {
+        return responsePayload != null ? responsePayload : legacyResponsePayload;
+    }
+}
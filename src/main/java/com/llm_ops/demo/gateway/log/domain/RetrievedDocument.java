@@ -1,6 +1,7 @@
 package com.llm_ops.demo.gateway.log.domain;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -9,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -37,15 +39,28 @@ public class RetrievedDocument {
     @Column(name = "score")
     private Double score;
 
-    @Column(name = "content", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_compressed", columnDefinition = "BYTEA")
     private String content;
 
+    /**
+     * 압축 저장 전에 쌓인 본문입니다. 백필이 끝나면 비어 있습니다.
+     */
+    @Column(name = "content", columnDefinition = "TEXT", insertable = false, updatable = false)
+    private String legacyContent;
+
     @Column(name = "duration_ms")
     private Integer durationMs;
 
     @Column(name = "ranking", nullable = false)
     private Integer ranking;
 
+    /**
+     * 요청 로그의 created_at과 같은 값입니다. (파티션 키, 저장기가 직접 씀)
+     */
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
     public static RetrievedDocument create(
             RequestLog requestLog,
             String documentName,
@@ -62,4 +77,8 @@ public class RetrievedDocument {
         doc.ranking = ranking != null ? ranking : 0;
         return doc;
     }
+
+    public String getContent() {
+        return content != null ? content : legacyContent;
+    }
 }
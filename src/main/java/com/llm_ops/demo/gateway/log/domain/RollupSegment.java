@@ -0,0 +1,78 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 조회 기간의 일부를 한 가지 단위의 롤업으로 덮는 구간입니다. [{@code from}, {@code to})
+ *
+ * @param granularity 이 구간에서 읽을 롤업 단위
+ */
+public record RollupSegment(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+
+    /**
+     * 조회 기간 [{@code from}, {@code to}]을 겹치지 않는 롤업 구간으로 나눕니다.
+     * 온전한 하루는 일 롤업, 남은 앞뒤 부분의 온전한 시간은 시 롤업, 나머지는 분 롤업으로 읽습니다.
+     * <p>
+     * 분/시 롤업은 보존 기간이 짧으므로, 기간의 양 끝이 {@code minuteSince}/{@code hourSince}보다 오래됐으면
+     * 끝을 시/일 경계로 넓혀 남아 있는 롤업으로 읽습니다.
+     */
+    public static List<RollupSegment> cover(
+            LocalDateTime from,
+            LocalDateTime to,
+            LocalDateTime minuteSince,
+            LocalDateTime hourSince) {
+        LocalDateTime start = align(from, false, minuteSince, hourSince);
+        LocalDateTime end = align(to.plusNanos(1), true, minuteSince, hourSince);
+        List<RollupSegment> segments = new ArrayList<>();
+        if (!start.isBefore(end)) {
+            return segments;
+        }
+        LocalDateTime dayStart = RollupGranularity.DAY.ceil(start);
+        LocalDateTime dayEnd = RollupGranularity.DAY.floor(end);
+        if (dayStart.isBefore(dayEnd)) {
+            coverWithinDay(start, dayStart, segments);
+            segments.add(new RollupSegment(RollupGranularity.DAY, dayStart, dayEnd));
+            coverWithinDay(dayEnd, end, segments);
+        } else {
+            coverWithinDay(start, end, segments);
+        }
+        return segments;
+    }
+
+    /**
+     * 이 구간에서 읽는 롤업 행인지 여부입니다.
+     */
+    public boolean contains(RollupGranularity granularity, LocalDateTime bucketStart) {
+        return this.granularity == granularity && !bucketStart.isBefore(from) && bucketStart.isBefore(to);
+    }
+
+    private static void coverWithinDay(LocalDateTime from, LocalDateTime to, List<RollupSegment> segments) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        LocalDateTime hourStart = RollupGranularity.HOUR.ceil(from);
+        LocalDateTime hourEnd = RollupGranularity.HOUR.floor(to);
+        if (hourStart.isBefore(hourEnd)) {
+            addMinutes(from, hourStart, segments);
+            segments.add(new RollupSegment(RollupGranularity.HOUR, hourStart, hourEnd));
+            addMinutes(hourEnd, to, segments);
+        } else {
+            addMinutes(from, to, segments);
+        }
+    }
+
+    private static void addMinutes(LocalDateTime from, LocalDateTime to, List<RollupSegment> segments) {
+        if (from.isBefore(to)) {
+            segments.add(new RollupSegment(RollupGranularity.MINUTE, from, to));
+        }
+    }
+
+    private static LocalDateTime align(LocalDateTime time, boolean up, LocalDateTime minuteSince, LocalDateTime hourSince) {
+        RollupGranularity granularity = time.isBefore(hourSince)
+                ? RollupGranularity.DAY
+                : time.isBefore(minuteSince) ? RollupGranularity.HOUR : RollupGranularity.MINUTE;
+        return up ? granularity.ceil(time) : granularity.floor(time);
+    }
+}
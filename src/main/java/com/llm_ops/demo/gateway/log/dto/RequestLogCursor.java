@@ -0,0 +1,38 @@
+package com.llm_ops.demo.gateway.log.dto;
+
+import com.llm_ops.demo.global.error.BusinessException;
+import com.llm_ops.demo.global.error.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 로그 목록 cursor - 마지막으로 읽은 로그의 (createdAt, requestId)
+ * <p>
+ * 클라이언트에는 내용을 알 수 없는 문자열(base64url)로 전달하며, 다음 페이지는 이 위치 바로 다음 로그부터 읽습니다.
+ */
+public record RequestLogCursor(LocalDateTime createdAt, UUID requestId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + requestId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws BusinessException cursor 형식이 올바르지 않은 경우
+     */
+    public static RequestLogCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new RequestLogCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "cursor 형식이 올바르지 않습니다.");
+        }
+    }
+}
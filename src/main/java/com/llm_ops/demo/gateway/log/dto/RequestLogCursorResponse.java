@@ -0,0 +1,17 @@
+package com.llm_ops.demo.gateway.log.dto;
+
+import java.util.List;
+
+/**
+ * 로그 목록 cursor 조회 응답 DTO
+ *
+ * @param nextCursor       다음 페이지 cursor (마지막 페이지면 null)
+ * @param approximateTotal 조건에 맞는 로그의 근사 전체 건수 (요청하지 않았거나 구할 수 없으면 null)
+ */
+public record RequestLogCursorResponse(
+        List<RequestLogResponse> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long approximateTotal) {
+}
@@ -1,7 +1,9 @@
 package com.llm_ops.demo.gateway.log.dto;
 
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RequestLogPayload;
 import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import com.llm_ops.demo.gateway.log.dto.projection.RequestLogSummary;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -15,10 +17,16 @@ public record RequestLogResponse(
         RequestLogStatus status,
         Integer httpStatus,
         Integer latencyMs,
+        Integer ttftMs,
+        Double outputTokensPerSecond,
         String provider,
         String requestedModel,
         String usedModel,
         boolean isFailover,
+        boolean cacheHit,
+        boolean coalesced,
+        boolean hedged,
+        String hedgeWinner,
         Integer inputTokens,
         Integer outputTokens,
         Integer totalTokens,
@@ -36,41 +44,81 @@ public record RequestLogResponse(
         String requestSource,
         List<RetrievedDocumentResponse> retrievedDocuments) {
 
-    public static RequestLogResponse from(RequestLog log) {
-        return fromDetail(log);
-    }
-
     /**
-     * 상세 조회 응답 변환
+     * 상세 조회 응답 변환 (payload는 따로 읽어 압축을 푼 {@link RequestLogPayload}에서 채움)
      */
-    public static RequestLogResponse fromDetail(RequestLog log) {
+    public static RequestLogResponse fromDetail(RequestLog log, RequestLogPayload payload) {
         List<RetrievedDocumentResponse> docs = log.getRetrievedDocuments() != null
                 ? log.getRetrievedDocuments().stream()
                         .map(RetrievedDocumentResponse::from)
                         .toList()
                 : List.of();
 
-        return from(log, docs, true);
+        return from(log, docs, payload);
     }
 
     /**
-     * 목록 조회 응답 변환 (N+1 방지를 위해 retrievedDocuments는 비워서 응답)
+     * 목록 조회 응답 변환 (N+1 방지를 위해 retrievedDocuments는 비우고, payload는 읽지 않음)
      */
     public static RequestLogResponse fromSummary(RequestLog log) {
-        return from(log, List.of(), false);
+        return from(log, List.of(), null);
+    }
+
+    /**
+     * 목록 조회 응답 변환 (cursor 조회의 요약 projection)
+     */
+    public static RequestLogResponse fromSummary(RequestLogSummary summary) {
+        return new RequestLogResponse(
+                summary.requestId(),
+                summary.traceId(),
+                summary.status(),
+                summary.httpStatus(),
+                summary.latencyMs(),
+                summary.ttftMs(),
+                summary.outputTokensPerSecond(),
+                summary.provider(),
+                summary.requestedModel(),
+                summary.usedModel(),
+                summary.isFailover(),
+                summary.cacheHit(),
+                summary.coalesced(),
+                summary.hedged(),
+                summary.hedgeWinner(),
+                summary.inputTokens(),
+                summary.outputTokens(),
+                summary.totalTokens(),
+                summary.promptKey(),
+                summary.ragEnabled(),
+                summary.ragLatencyMs(),
+                summary.ragChunksCount(),
+                summary.errorCode(),
+                summary.errorMessage(),
+                summary.failReason(),
+                summary.createdAt(),
+                summary.finishedAt(),
+                null,
+                null,
+                summary.requestSource(),
+                List.of());
     }
 
-    private static RequestLogResponse from(RequestLog log, List<RetrievedDocumentResponse> docs, boolean includePayload) {
+    private static RequestLogResponse from(RequestLog log, List<RetrievedDocumentResponse> docs, RequestLogPayload payload) {
         return new RequestLogResponse(
                 log.getRequestId(),
                 log.getTraceId(),
                 log.getStatus(),
                 log.getHttpStatus(),
                 log.getLatencyMs(),
+                log.getTtftMs(),
+                log.getOutputTokensPerSecond(),
                 log.getProvider(),
                 log.getRequestedModel(),
                 log.getUsedModel(),
                 log.isFailover(),
+                log.isCacheHit(),
+                log.isCoalesced(),
+                log.isHedged(),
+                log.getHedgeWinner(),
                 log.getInputTokens(),
                 log.getOutputTokens(),
                 log.getTotalTokens(),
@@ -83,8 +131,8 @@ public record RequestLogResponse(
                 log.getFailReason(),
                 log.getCreatedAt(),
                 log.getFinishedAt(),
-                includePayload ? log.getRequestPayload() : null,
-                includePayload ? log.getResponsePayload() : null,
+                payload != null ? payload.getRequestPayload() : null,
+                payload != null ? payload.getResponsePayload() : null,
                 log.getRequestSource(),
                 docs);
     }
@@ -0,0 +1,20 @@
+package com.llm_ops.demo.gateway.log.dto.projection;
+
+import java.util.List;
+
+/**
+ * 대시보드 한 화면에 필요한 통계 집계 결과 묶음입니다.
+ *
+ * @param overview         현재 기간 개요
+ * @param previousOverview 이전 기간 개요 (변화율 계산용)
+ */
+public record RequestLogDashboardStats(
+        OverviewStatsProjection overview,
+        OverviewStatsProjection previousOverview,
+        List<TimeseriesDataProjection> timeseries,
+        List<ModelUsageProjection> modelUsage,
+        List<PromptUsageProjection> promptUsage,
+        List<ErrorDistributionProjection> errorDistribution,
+        RagQualityProjection ragQuality,
+        List<RagQualityTimeseriesProjection> ragQualityTimeseries) {
+}
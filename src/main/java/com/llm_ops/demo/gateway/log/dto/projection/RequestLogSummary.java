@@ -0,0 +1,39 @@
+package com.llm_ops.demo.gateway.log.dto.projection;
+
+import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 로그 목록 조회용 요약 (엔티티를 로딩하지 않고 목록에 필요한 컬럼만 읽음, payload/검색 문서 제외)
+ */
+public record RequestLogSummary(
+        UUID requestId,
+        String traceId,
+        RequestLogStatus status,
+        Integer httpStatus,
+        Integer latencyMs,
+        Integer ttftMs,
+        Double outputTokensPerSecond,
+        String provider,
+        String requestedModel,
+        String usedModel,
+        boolean isFailover,
+        boolean cacheHit,
+        boolean coalesced,
+        boolean hedged,
+        String hedgeWinner,
+        Integer inputTokens,
+        Integer outputTokens,
+        Integer totalTokens,
+        String promptKey,
+        boolean ragEnabled,
+        Integer ragLatencyMs,
+        Integer ragChunksCount,
+        String errorCode,
+        String errorMessage,
+        String failReason,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt,
+        String requestSource) {
+}
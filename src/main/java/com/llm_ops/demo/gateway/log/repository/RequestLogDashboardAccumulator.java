@@ -0,0 +1,248 @@
+package com.llm_ops.demo.gateway.log.repository;
+
+import static com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.average;
+import static com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.ratio;
+
+import com.llm_ops.demo.gateway.log.domain.LatencyHistogram;
+import com.llm_ops.demo.gateway.log.dto.projection.OverviewStatsProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RagQualityProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RagQualityTimeseriesProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RequestLogDashboardStats;
+import com.llm_ops.demo.gateway.log.dto.projection.TimeseriesDataProjection;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.ErrorDistribution;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.ModelUsage;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.OverviewStats;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.PromptUsage;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.RagQuality;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.RagQualityTimeseries;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository.TimeseriesData;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjuster;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * 롤업 행을 한 번 훑으면서 대시보드의 모든 패널 합계를 함께 쌓는 집계기입니다.
+ * <p>
+ * 패널별 합계는 SQL 집계와 같은 규칙(합계, 합/건수 평균, FAIL/BLOCKED = 에러)을 따르며,
+ * 목록 패널은 요청 수(에러 분포는 건수) 내림차순으로 정렬합니다.
+ */
+final class RequestLogDashboardAccumulator {
+
+    private final TemporalAdjuster timeseriesUnit;
+    private final Totals current = new Totals(true);
+    private final Totals previous = new Totals(true);
+    private final Map<LocalDate, Totals> timeseries = new TreeMap<>();
+    private final Map<ModelKey, Totals> models = new HashMap<>();
+    private final Map<PromptKey, Totals> prompts = new HashMap<>();
+    private final Map<ErrorKey, Totals> errors = new HashMap<>();
+    private final Map<LocalDate, Totals> ragDays = new TreeMap<>();
+
+    RequestLogDashboardAccumulator(TemporalAdjuster timeseriesUnit) {
+        this.timeseriesUnit = timeseriesUnit;
+    }
+
+    void addCurrent(Row row) {
+        current.add(row);
+        totals(timeseries, row.date().with(timeseriesUnit)).add(row);
+        totals(models, new ModelKey(row.provider(), row.usedModel())).add(row);
+        totals(prompts, new PromptKey(row.promptId(), row.promptKey())).add(row);
+        if (isError(row.status())) {
+            totals(errors, new ErrorKey(row.status(), row.errorCode(), row.failReason())).add(row);
+        }
+        if (row.ragCount() > 0) {
+            totals(ragDays, row.date()).add(row);
+        }
+    }
+
+    void addPrevious(Row row) {
+        previous.add(row);
+    }
+
+    RequestLogDashboardStats toStats() {
+        return new RequestLogDashboardStats(
+                current.toOverview(),
+                previous.toOverview(),
+                timeseries.entrySet().stream()
+                        .map(entry -> entry.getValue().toTimeseries(entry.getKey()))
+                        .toList(),
+                byRequestsDesc(models, (key, totals) -> new ModelUsage(
+                        key.provider(),
+                        key.usedModel(),
+                        totals.requestCount,
+                        totals.totalTokens,
+                        totals.estimatedCost,
+                        average(totals.latencySumMs, totals.latencyCount))),
+                byRequestsDesc(prompts, (key, totals) -> new PromptUsage(
+                        key.promptId(),
+                        key.promptKey(),
+                        totals.requestCount,
+                        totals.totalTokens,
+                        totals.estimatedCost)),
+                byRequestsDesc(errors, (key, totals) -> new ErrorDistribution(
+                        key.status(),
+                        key.errorCode(),
+                        key.failReason(),
+                        totals.requestCount)),
+                current.toRagQuality(),
+                ragDays.entrySet().stream()
+                        .map(entry -> entry.getValue().toRagQualityTimeseries(entry.getKey()))
+                        .toList());
+    }
+
+    private static <K, T> List<T> byRequestsDesc(Map<K, Totals> groups, BiFunction<K, Totals, T> mapper) {
+        return groups.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<K, Totals> entry) -> entry.getValue().requestCount).reversed())
+                .map(entry -> mapper.apply(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static <K> Totals totals(Map<K, Totals> groups, K key) {
+        return groups.computeIfAbsent(key, ignored -> new Totals(false));
+    }
+
+    private static boolean isError(String status) {
+        return "FAIL".equals(status) || "BLOCKED".equals(status);
+    }
+
+    /**
+     * (단위, bucket, 차원)별로 합친 롤업 행입니다. nullable 차원은 null로 되돌린 값입니다.
+     */
+    record Row(
+            LocalDate date,
+            Long promptId,
+            String promptKey,
+            String provider,
+            String usedModel,
+            String status,
+            String errorCode,
+            String failReason,
+            long requestCount,
+            long totalTokens,
+            BigDecimal estimatedCost,
+            long latencyCount,
+            long latencySumMs,
+            LatencyHistogram latencyHistogram,
+            long ragCount,
+            long ragHitCount,
+            long ragTruncatedCount,
+            long ragChunksSum,
+            double ragSimilaritySum,
+            long ragSimilarityCount,
+            long ragLatencySumMs,
+            long ragLatencyCount,
+            double ragScoreSum,
+            long ragScoreCount) {
+    }
+
+    private record ModelKey(String provider, String usedModel) {
+    }
+
+    private record PromptKey(Long promptId, String promptKey) {
+    }
+
+    private record ErrorKey(String status, String errorCode, String failReason) {
+    }
+
+    private static final class Totals {
+
+        long requestCount;
+        long successCount;
+        long errorCount;
+        long totalTokens;
+        BigDecimal estimatedCost = BigDecimal.ZERO;
+        long latencyCount;
+        long latencySumMs;
+        final LatencyHistogram latencyHistogram;
+        long ragCount;
+        long ragHitCount;
+        long ragTruncatedCount;
+        long ragChunksSum;
+        double ragSimilaritySum;
+        long ragSimilarityCount;
+        long ragLatencySumMs;
+        long ragLatencyCount;
+        double ragScoreSum;
+        long ragScoreCount;
+
+        /**
+         * @param withHistogram p95/p99가 필요한 합계(개요)만 latency 히스토그램을 합칩니다.
+         */
+        Totals(boolean withHistogram) {
+            this.latencyHistogram = withHistogram ? LatencyHistogram.empty() : null;
+        }
+
+        void add(Row row) {
+            requestCount += row.requestCount();
+            if ("SUCCESS".equals(row.status())) {
+                successCount += row.requestCount();
+            } else if (isError(row.status())) {
+                errorCount += row.requestCount();
+            }
+            totalTokens += row.totalTokens();
+            if (row.estimatedCost() != null) {
+                estimatedCost = estimatedCost.add(row.estimatedCost());
+            }
+            latencyCount += row.latencyCount();
+            latencySumMs += row.latencySumMs();
+            if (latencyHistogram != null) {
+                latencyHistogram.merge(row.latencyHistogram());
+            }
+            ragCount += row.ragCount();
+            ragHitCount += row.ragHitCount();
+            ragTruncatedCount += row.ragTruncatedCount();
+            ragChunksSum += row.ragChunksSum();
+            ragSimilaritySum += row.ragSimilaritySum();
+            ragSimilarityCount += row.ragSimilarityCount();
+            ragLatencySumMs += row.ragLatencySumMs();
+            ragLatencyCount += row.ragLatencyCount();
+            ragScoreSum += row.ragScoreSum();
+            ragScoreCount += row.ragScoreCount();
+        }
+
+        OverviewStatsProjection toOverview() {
+            Integer avgLatencyMs = average(latencySumMs, latencyCount);
+            return new OverviewStats(
+                    requestCount,
+                    successCount,
+                    errorCount,
+                    totalTokens,
+                    avgLatencyMs != null ? avgLatencyMs : 0,
+                    latencyHistogram.percentile(0.95),
+                    latencyHistogram.percentile(0.99),
+                    estimatedCost);
+        }
+
+        TimeseriesDataProjection toTimeseries(LocalDate date) {
+            return new TimeseriesData(date, requestCount, errorCount, totalTokens, estimatedCost);
+        }
+
+        RagQualityProjection toRagQuality() {
+            return new RagQuality(
+                    ragHitCount,
+                    ragCount,
+                    ratio(ragSimilaritySum, ragSimilarityCount),
+                    ragTruncatedCount,
+                    ragChunksSum,
+                    ratio(ragLatencySumMs, ragLatencyCount),
+                    ratio(ragScoreSum, ragScoreCount));
+        }
+
+        RagQualityTimeseriesProjection toRagQualityTimeseries(LocalDate date) {
+            return new RagQualityTimeseries(
+                    date,
+                    ragCount,
+                    ragHitCount,
+                    ratio(ragSimilaritySum, ragSimilarityCount),
+                    ragTruncatedCount,
+                    ragChunksSum,
+                    ratio(ragLatencySumMs, ragLatencyCount),
+                    ratio(ragScoreSum, ragScoreCount));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.llm_ops.demo.gateway.log.repository;
+
+import com.llm_ops.demo.gateway.log.domain.RequestLogPayload;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RequestLogPayloadRepository extends JpaRepository<RequestLogPayload, UUID> {
+
+    /**
+     * created_at(파티션 키)을 함께 걸어 해당 기간 파티션만 읽습니다.
+     */
+    Optional<RequestLogPayload> findByRequestIdAndCreatedAt(UUID requestId, LocalDateTime createdAt);
+}
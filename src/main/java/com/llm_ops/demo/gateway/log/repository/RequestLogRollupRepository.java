@@ -0,0 +1,595 @@
+package com.llm_ops.demo.gateway.log.repository;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.LatencyHistogram;
+import com.llm_ops.demo.gateway.log.domain.RollupGranularity;
+import com.llm_ops.demo.gateway.log.domain.RollupSegment;
+import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
+import com.llm_ops.demo.gateway.log.dto.projection.ErrorDistributionProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.ModelUsageProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.OverviewStatsProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.PromptUsageProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RagQualityProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RagQualityTimeseriesProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RequestLogDashboardStats;
+import com.llm_ops.demo.gateway.log.dto.projection.TimeseriesDataProjection;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjuster;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 요청 로그 롤업(request_log_rollups, V36)에서 통계를 읽는 저장소입니다.
+ * <p>
+ * 조회 기간을 {@link RollupSegment#cover}로 일/시/분 구간으로 나눠 필요한 롤업 행만 읽고 합칩니다.
+ * 분/시 롤업의 보존 기간보다 오래된 기간의 끝은 시/일 경계로 넓혀 읽습니다.
+ * 결과는 기존 request_logs 집계와 같은 projection으로 반환하며, nullable 차원의 기본값(0, '')은 null로 되돌립니다.
+ */
+@Repository
+public class RequestLogRollupRepository {
+
+    private static final String RAG_COLUMNS = """
+            COALESCE(SUM(rag_count), 0) AS rag_total_count,
+            COALESCE(SUM(rag_hit_count), 0) AS rag_hit_count,
+            COALESCE(SUM(rag_truncated_count), 0) AS truncated_count,
+            COALESCE(SUM(rag_chunks_sum), 0) AS total_chunks,
+            COALESCE(SUM(rag_similarity_sum), 0) AS rag_similarity_sum,
+            COALESCE(SUM(rag_similarity_count), 0) AS rag_similarity_count,
+            COALESCE(SUM(rag_latency_sum_ms), 0) AS rag_latency_sum_ms,
+            COALESCE(SUM(rag_latency_count), 0) AS rag_latency_count,
+            COALESCE(SUM(rag_score_sum), 0) AS rag_score_sum,
+            COALESCE(SUM(rag_score_count), 0) AS rag_score_count
+            """;
+
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    // 로그 목록(JPA) 조회가 LocalDateTime을 해석하는 time zone 설정
+    private static final String LOG_SEARCH_TIME_ZONE_PROPERTY = "spring.jpa.properties.hibernate.jdbc.time_zone";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RequestLogWriteProperties.Rollup properties;
+    private final Clock clock;
+    private final ZoneId logSearchZone;
+    private volatile Boolean supported;
+
+    @Autowired
+    public RequestLogRollupRepository(
+            JdbcTemplate jdbcTemplate, RequestLogWriteProperties properties, Environment environment) {
+        this(jdbcTemplate, properties, Clock.systemUTC(), logSearchZone(environment));
+    }
+
+    RequestLogRollupRepository(
+            JdbcTemplate jdbcTemplate, RequestLogWriteProperties properties, Clock clock, ZoneId logSearchZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getRollup();
+        this.clock = clock;
+        this.logSearchZone = logSearchZone;
+    }
+
+    /**
+     * 로그 목록 검색 조건의 from/to는 JPA가 request_logs.created_at을 읽고 쓰는 time zone 기준입니다.
+     * 설정이 없으면 Hibernate처럼 JVM 기본 time zone을 씁니다.
+     */
+    private static ZoneId logSearchZone(Environment environment) {
+        String zone = environment.getProperty(LOG_SEARCH_TIME_ZONE_PROPERTY);
+        return zone != null && !zone.isBlank() ? ZoneId.of(zone) : ZoneId.systemDefault();
+    }
+
+    /**
+     * Overview 통계 집계. p95/p99는 합친 latency 히스토그램에서 구합니다.
+     */
+    public OverviewStatsProjection getOverviewStats(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT
+                    COALESCE(SUM(request_count), 0) AS total_requests,
+                    COALESCE(SUM(request_count) FILTER (WHERE status = 'SUCCESS'), 0) AS success_count,
+                    COALESCE(SUM(request_count) FILTER (WHERE status IN ('FAIL', 'BLOCKED')), 0) AS error_count,
+                    COALESCE(SUM(total_tokens), 0) AS total_tokens,
+                    COALESCE(SUM(latency_count), 0) AS latency_count,
+                    COALESCE(SUM(latency_sum_ms), 0) AS latency_sum_ms,
+                    request_log_histogram_sum(latency_histogram) AS latency_histogram,
+                    COALESCE(SUM(estimated_cost), 0) AS total_cost
+                FROM request_log_rollups
+                WHERE %s
+                """.formatted(filter.where());
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            LatencyHistogram histogram = histogram(rs.getArray("latency_histogram"));
+            Integer avgLatencyMs = average(rs.getLong("latency_sum_ms"), rs.getLong("latency_count"));
+            return new OverviewStats(
+                    rs.getLong("total_requests"),
+                    rs.getLong("success_count"),
+                    rs.getLong("error_count"),
+                    rs.getLong("total_tokens"),
+                    avgLatencyMs != null ? avgLatencyMs : 0,
+                    histogram.percentile(0.95),
+                    histogram.percentile(0.99),
+                    rs.getBigDecimal("total_cost"));
+        }, filter.params());
+    }
+
+    /**
+     * 시계열 데이터 집계 - 일별 (Daily)
+     */
+    public List<TimeseriesDataProjection> getTimeseriesDataDaily(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        return getTimeseriesData("day", organizationId, workspaceId, from, to);
+    }
+
+    /**
+     * 시계열 데이터 집계 - 주별 (Weekly)
+     */
+    public List<TimeseriesDataProjection> getTimeseriesDataWeekly(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        return getTimeseriesData("week", organizationId, workspaceId, from, to);
+    }
+
+    /**
+     * 시계열 데이터 집계 - 월별 (Monthly)
+     */
+    public List<TimeseriesDataProjection> getTimeseriesDataMonthly(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        return getTimeseriesData("month", organizationId, workspaceId, from, to);
+    }
+
+    /**
+     * 모델별 사용량 집계
+     */
+    public List<ModelUsageProjection> getModelUsage(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT
+                    provider,
+                    used_model,
+                    SUM(request_count) AS requests,
+                    SUM(total_tokens) AS tokens,
+                    SUM(estimated_cost) AS cost,
+                    SUM(latency_count) AS latency_count,
+                    SUM(latency_sum_ms) AS latency_sum_ms
+                FROM request_log_rollups
+                WHERE %s
+                GROUP BY provider, used_model
+                ORDER BY requests DESC
+                """.formatted(filter.where());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ModelUsage(
+                emptyToNull(rs.getString("provider")),
+                emptyToNull(rs.getString("used_model")),
+                rs.getLong("requests"),
+                rs.getLong("tokens"),
+                rs.getBigDecimal("cost"),
+                average(rs.getLong("latency_sum_ms"), rs.getLong("latency_count"))), filter.params());
+    }
+
+    /**
+     * 프롬프트별 사용량 집계
+     */
+    public List<PromptUsageProjection> getPromptUsage(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT
+                    prompt_id,
+                    prompt_key,
+                    SUM(request_count) AS requests,
+                    SUM(total_tokens) AS tokens,
+                    SUM(estimated_cost) AS cost
+                FROM request_log_rollups
+                WHERE %s
+                GROUP BY prompt_id, prompt_key
+                ORDER BY requests DESC
+                """.formatted(filter.where());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            long promptId = rs.getLong("prompt_id");
+            return new PromptUsage(
+                    promptId != 0 ? promptId : null,
+                    emptyToNull(rs.getString("prompt_key")),
+                    rs.getLong("requests"),
+                    rs.getLong("tokens"),
+                    rs.getBigDecimal("cost"));
+        }, filter.params());
+    }
+
+    /**
+     * 에러 분포 집계 (status + error_code + fail_reason 3축)
+     */
+    public List<ErrorDistributionProjection> getErrorDistribution(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT status, error_code, fail_reason, SUM(request_count) AS count
+                FROM request_log_rollups
+                WHERE %s
+                  AND status IN ('FAIL', 'BLOCKED')
+                GROUP BY status, error_code, fail_reason
+                ORDER BY count DESC
+                """.formatted(filter.where());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ErrorDistribution(
+                rs.getString("status"),
+                emptyToNull(rs.getString("error_code")),
+                emptyToNull(rs.getString("fail_reason")),
+                rs.getLong("count")), filter.params());
+    }
+
+    /**
+     * RAG 품질 집계
+     */
+    public RagQualityProjection getRagQuality(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT %s
+                FROM request_log_rollups
+                WHERE rag_count > 0
+                  AND %s
+                """.formatted(RAG_COLUMNS, filter.where());
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> new RagQuality(
+                rs.getLong("rag_hit_count"),
+                rs.getLong("rag_total_count"),
+                ratio(rs.getDouble("rag_similarity_sum"), rs.getLong("rag_similarity_count")),
+                rs.getLong("truncated_count"),
+                rs.getLong("total_chunks"),
+                ratio(rs.getDouble("rag_latency_sum_ms"), rs.getLong("rag_latency_count")),
+                ratio(rs.getDouble("rag_score_sum"), rs.getLong("rag_score_count"))), filter.params());
+    }
+
+    /**
+     * RAG 품질 시계열 집계 (일별)
+     */
+    public List<RagQualityTimeseriesProjection> getRagQualityTimeseries(
+            Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT CAST(bucket_start AS date) AS date, %s
+                FROM request_log_rollups
+                WHERE rag_count > 0
+                  AND %s
+                GROUP BY CAST(bucket_start AS date)
+                ORDER BY date
+                """.formatted(RAG_COLUMNS, filter.where());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new RagQualityTimeseries(
+                rs.getObject("date", LocalDate.class),
+                rs.getLong("rag_total_count"),
+                rs.getLong("rag_hit_count"),
+                ratio(rs.getDouble("rag_similarity_sum"), rs.getLong("rag_similarity_count")),
+                rs.getLong("truncated_count"),
+                rs.getLong("total_chunks"),
+                ratio(rs.getDouble("rag_latency_sum_ms"), rs.getLong("rag_latency_count")),
+                ratio(rs.getDouble("rag_score_sum"), rs.getLong("rag_score_count"))), filter.params());
+    }
+
+    /**
+     * 대시보드의 모든 패널을 한 번의 롤업 스캔으로 집계합니다.
+     * 현재 기간과 이전 기간(overview 변화율용)을 덮는 롤업 행을 (단위, bucket, 차원)별로 한 번 읽으면서
+     * 각 패널의 합계에 더합니다.
+     *
+     * @param timeseriesUnit 시계열 bucket 날짜로 맞추는 규칙 (일/주/월)
+     */
+    public RequestLogDashboardStats getDashboardStats(
+            Long organizationId,
+            Long workspaceId,
+            TemporalAdjuster timeseriesUnit,
+            LocalDateTime from,
+            LocalDateTime to,
+            LocalDateTime previousFrom,
+            LocalDateTime previousTo) {
+        List<RollupSegment> current = cover(from, to);
+        List<RollupSegment> previous = cover(previousFrom, previousTo);
+        List<RollupSegment> segments = new ArrayList<>(current);
+        segments.addAll(previous);
+        Filter filter = filter(organizationId, workspaceId, segments);
+        String sql = """
+                SELECT
+                    granularity, bucket_start,
+                    prompt_id, prompt_key, provider, used_model, status, error_code, fail_reason,
+                    SUM(request_count) AS request_count,
+                    SUM(total_tokens) AS total_tokens,
+                    SUM(estimated_cost) AS estimated_cost,
+                    SUM(latency_count) AS latency_count,
+                    SUM(latency_sum_ms) AS latency_sum_ms,
+                    request_log_histogram_sum(latency_histogram) AS latency_histogram,
+                    %s
+                FROM request_log_rollups
+                WHERE %s
+                GROUP BY granularity, bucket_start,
+                    prompt_id, prompt_key, provider, used_model, status, error_code, fail_reason
+                """.formatted(RAG_COLUMNS, filter.where());
+
+        RequestLogDashboardAccumulator accumulator = new RequestLogDashboardAccumulator(timeseriesUnit);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            RollupGranularity granularity = RollupGranularity.valueOf(rs.getString("granularity"));
+            LocalDateTime bucketStart = rs.getObject("bucket_start", LocalDateTime.class);
+            boolean inCurrent = contains(current, granularity, bucketStart);
+            boolean inPrevious = contains(previous, granularity, bucketStart);
+            if (!inCurrent && !inPrevious) {
+                return;
+            }
+            long promptId = rs.getLong("prompt_id");
+            RequestLogDashboardAccumulator.Row row = new RequestLogDashboardAccumulator.Row(
+                    bucketStart.toLocalDate(),
+                    promptId != 0 ? promptId : null,
+                    emptyToNull(rs.getString("prompt_key")),
+                    emptyToNull(rs.getString("provider")),
+                    emptyToNull(rs.getString("used_model")),
+                    rs.getString("status"),
+                    emptyToNull(rs.getString("error_code")),
+                    emptyToNull(rs.getString("fail_reason")),
+                    rs.getLong("request_count"),
+                    rs.getLong("total_tokens"),
+                    rs.getBigDecimal("estimated_cost"),
+                    rs.getLong("latency_count"),
+                    rs.getLong("latency_sum_ms"),
+                    histogram(rs.getArray("latency_histogram")),
+                    rs.getLong("rag_total_count"),
+                    rs.getLong("rag_hit_count"),
+                    rs.getLong("truncated_count"),
+                    rs.getLong("total_chunks"),
+                    rs.getDouble("rag_similarity_sum"),
+                    rs.getLong("rag_similarity_count"),
+                    rs.getLong("rag_latency_sum_ms"),
+                    rs.getLong("rag_latency_count"),
+                    rs.getDouble("rag_score_sum"),
+                    rs.getLong("rag_score_count"));
+            if (inCurrent) {
+                accumulator.addCurrent(row);
+            }
+            if (inPrevious) {
+                accumulator.addPrevious(row);
+            }
+        }, filter.params());
+        return accumulator.toStats();
+    }
+
+    /**
+     * 로그 목록 검색 조건에 맞는 로그의 근사 전체 건수 (cursor 조회의 totalElements 대용)
+     * <p>
+     * 기간 끝을 롤업 bucket 경계로 맞춰 세므로 근사값입니다. 롤업에 없는 차원(traceId, failover, requestSource)으로
+     * 거르거나 PostgreSQL이 아니면 null을 반환합니다.
+     * 검색 조건의 from/to는 목록 조회와 같은 time zone으로 받아 UTC 롤업 bucket 기준으로 바꿔 셉니다.
+     */
+    public Long estimateLogCount(Long workspaceId, RequestLogSearchCondition condition) {
+        if (hasText(condition.traceId()) || condition.failover() != null || hasText(condition.requestSource())
+                || !isSupported()) {
+            return null;
+        }
+        LocalDateTime from = condition.from() != null ? toUtc(condition.from()) : HISTORY_START;
+        LocalDateTime to = condition.to() != null ? toUtc(condition.to()) : LocalDateTime.now(clock);
+
+        StringBuilder where = new StringBuilder("workspace_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(workspaceId);
+        appendSegments(where, params, cover(from, to));
+        if (condition.status() != null) {
+            where.append(" AND status = ?");
+            params.add(condition.status().name());
+        }
+        appendEquals(where, params, "provider", condition.provider());
+        appendEquals(where, params, "used_model", condition.usedModel());
+        appendEquals(where, params, "prompt_key", condition.promptKey());
+        appendEquals(where, params, "error_code", condition.errorCode());
+
+        String count = condition.ragEnabled() == null
+                ? "request_count"
+                : condition.ragEnabled() ? "rag_count" : "request_count - rag_count";
+        String sql = "SELECT COALESCE(SUM(%s), 0) FROM request_log_rollups WHERE %s".formatted(count, where);
+        return jdbcTemplate.queryForObject(sql, Long.class, params.toArray());
+    }
+
+    private LocalDateTime toUtc(LocalDateTime searchTime) {
+        return searchTime.atZone(logSearchZone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static void appendEquals(StringBuilder where, List<Object> params, String column, String value) {
+        if (hasText(value)) {
+            where.append(" AND ").append(column).append(" = ?");
+            params.add(value);
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private boolean isSupported() {
+        Boolean result = supported;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            supported = result;
+        }
+        return result;
+    }
+
+    private List<TimeseriesDataProjection> getTimeseriesData(
+            String unit, Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        Filter filter = filter(organizationId, workspaceId, from, to);
+        String sql = """
+                SELECT
+                    DATE_TRUNC('%1$s', bucket_start)::date AS date,
+                    SUM(request_count) AS requests,
+                    COALESCE(SUM(request_count) FILTER (WHERE status IN ('FAIL', 'BLOCKED')), 0) AS error_count,
+                    SUM(total_tokens) AS tokens,
+                    SUM(estimated_cost) AS cost
+                FROM request_log_rollups
+                WHERE %2$s
+                GROUP BY DATE_TRUNC('%1$s', bucket_start)
+                ORDER BY date
+                """.formatted(unit, filter.where());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new TimeseriesData(
+                rs.getObject("date", LocalDate.class),
+                rs.getLong("requests"),
+                rs.getLong("error_count"),
+                rs.getLong("tokens"),
+                rs.getBigDecimal("cost")), filter.params());
+    }
+
+    /**
+     * 조회 기간을 덮는 롤업 구간입니다.
+     * 삭제 작업과 경계가 겹치지 않도록 분/시 롤업은 보존 기간보다 한 bucket 안쪽까지만 읽습니다.
+     */
+    private List<RollupSegment> cover(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return RollupSegment.cover(
+                from,
+                to,
+                now.minusDays(properties.resolvedMinuteRetentionDays()).plusMinutes(1),
+                now.minusDays(properties.resolvedHourRetentionDays()).plusHours(1));
+    }
+
+    private Filter filter(Long organizationId, Long workspaceId, LocalDateTime from, LocalDateTime to) {
+        return filter(organizationId, workspaceId, cover(from, to));
+    }
+
+    /**
+     * 조직/워크스페이스 조건과 롤업 구간 조건입니다.
+     */
+    private static Filter filter(Long organizationId, Long workspaceId, List<RollupSegment> segments) {
+        StringBuilder where = new StringBuilder("organization_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(organizationId);
+        if (workspaceId != null) {
+            where.append(" AND workspace_id = ?");
+            params.add(workspaceId);
+        }
+        appendSegments(where, params, segments);
+        return new Filter(where.toString(), params.toArray());
+    }
+
+    private static void appendSegments(StringBuilder where, List<Object> params, List<RollupSegment> segments) {
+        if (segments.isEmpty()) {
+            where.append(" AND FALSE");
+        } else {
+            where.append(" AND (");
+            for (int i = 0; i < segments.size(); i++) {
+                RollupSegment segment = segments.get(i);
+                if (i > 0) {
+                    where.append(" OR ");
+                }
+                where.append("(granularity = ? AND bucket_start >= ? AND bucket_start < ?)");
+                params.add(segment.granularity().name());
+                params.add(segment.from());
+                params.add(segment.to());
+            }
+            where.append(')');
+        }
+    }
+
+    private static LatencyHistogram histogram(Array array) throws SQLException {
+        if (array == null) {
+            return LatencyHistogram.empty();
+        }
+        Object[] values = (Object[]) array.getArray();
+        Long[] counts = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            counts[i] = values[i] != null ? ((Number) values[i]).longValue() : 0L;
+        }
+        return LatencyHistogram.of(counts);
+    }
+
+    private static boolean contains(List<RollupSegment> segments, RollupGranularity granularity, LocalDateTime bucketStart) {
+        return segments.stream().anyMatch(segment -> segment.contains(granularity, bucketStart));
+    }
+
+    static Integer average(long sum, long count) {
+        return count > 0 ? (int) Math.round((double) sum / count) : null;
+    }
+
+    static BigDecimal ratio(double sum, long count) {
+        return count > 0 ? BigDecimal.valueOf(sum / count).round(MathContext.DECIMAL64) : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private record Filter(String where, Object[] params) {
+    }
+
+    @Value
+    static class OverviewStats implements OverviewStatsProjection {
+        Long totalRequests;
+        Long successCount;
+        Long errorCount;
+        Long totalTokens;
+        Integer avgLatencyMs;
+        Integer p95LatencyMs;
+        Integer p99LatencyMs;
+        BigDecimal totalCost;
+    }
+
+    @Value
+    static class TimeseriesData implements TimeseriesDataProjection {
+        LocalDate date;
+        Long requests;
+        Long errorCount;
+        Long tokens;
+        BigDecimal cost;
+    }
+
+    @Value
+    static class ModelUsage implements ModelUsageProjection {
+        String provider;
+        String modelName;
+        Long requests;
+        Long tokens;
+        BigDecimal cost;
+        Integer avgLatencyMs;
+    }
+
+    @Value
+    static class PromptUsage implements PromptUsageProjection {
+        Long promptId;
+        String promptKey;
+        Long requests;
+        Long tokens;
+        BigDecimal cost;
+    }
+
+    @Value
+    static class ErrorDistribution implements ErrorDistributionProjection {
+        String status;
+        String errorCode;
+        String failReason;
+        Long count;
+    }
+
+    @Value
+    static class RagQuality implements RagQualityProjection {
+        Long ragHitCount;
+        Long ragTotalCount;
+        BigDecimal avgSimilarityThreshold;
+        Long truncatedCount;
+        Long totalChunks;
+        BigDecimal avgRagLatencyMs;
+        BigDecimal avgRetrievedScore;
+    }
+
+    @Value
+    static class RagQualityTimeseries implements RagQualityTimeseriesProjection {
+        LocalDate date;
+        Long ragTotalCount;
+        Long ragHitCount;
+        BigDecimal avgSimilarityThreshold;
+        Long truncatedCount;
+        Long totalChunks;
+        BigDecimal avgRagLatencyMs;
+        BigDecimal avgRetrievedScore;
+    }
+}
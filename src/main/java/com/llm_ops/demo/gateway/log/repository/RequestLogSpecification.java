@@ -1,6 +1,7 @@
 package com.llm_ops.demo.gateway.log.repository;
 
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.dto.RequestLogCursor;
 import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
@@ -79,4 +80,18 @@ public class RequestLogSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * keyset 조건 - (createdAt DESC, requestId DESC) 순서에서 cursor 다음 로그
+     * createdAt 범위 조건을 함께 두어 (workspace_id, ..., created_at, request_id) 인덱스를 cursor 위치부터 읽게 합니다.
+     */
+    public static Specification<RequestLog> after(RequestLogCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), cursor.createdAt()),
+                                cb.lessThan(root.get("requestId"), cursor.requestId()))));
+    }
 }
@@ -0,0 +1,79 @@
+package com.llm_ops.demo.gateway.log.repository;
+
+import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.dto.RequestLogCursor;
+import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
+import com.llm_ops.demo.gateway.log.dto.projection.RequestLogSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 로그 목록 keyset(cursor) 조회 저장소
+ * <p>
+ * {@link RequestLogSpecification}의 검색 조건에 cursor 조건을 더해 (createdAt DESC, requestId DESC) 순서로 LIMIT 만큼만 읽습니다.
+ * OFFSET과 count 쿼리가 없어 페이지 깊이와 관계없이 한 페이지를 읽는 비용이 같고,
+ * 엔티티 대신 목록에 필요한 컬럼만 {@link RequestLogSummary}로 읽습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RequestLogSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param after cursor (첫 페이지면 null)
+     * @param limit 최대 조회 건수
+     */
+    public List<RequestLogSummary> findPage(
+            Long workspaceId, RequestLogSearchCondition condition, RequestLogCursor after, int limit) {
+        Specification<RequestLog> specification = RequestLogSpecification.searchByCondition(workspaceId, condition);
+        if (after != null) {
+            specification = specification.and(RequestLogSpecification.after(after));
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RequestLogSummary> query = cb.createQuery(RequestLogSummary.class);
+        Root<RequestLog> root = query.from(RequestLog.class);
+        query.select(cb.construct(RequestLogSummary.class,
+                        root.get("requestId"),
+                        root.get("traceId"),
+                        root.get("status"),
+                        root.get("httpStatus"),
+                        root.get("latencyMs"),
+                        root.get("ttftMs"),
+                        root.get("outputTokensPerSecond"),
+                        root.get("provider"),
+                        root.get("requestedModel"),
+                        root.get("usedModel"),
+                        root.get("isFailover"),
+                        root.get("cacheHit"),
+                        root.get("coalesced"),
+                        root.get("hedged"),
+                        root.get("hedgeWinner"),
+                        root.get("inputTokens"),
+                        root.get("outputTokens"),
+                        root.get("totalTokens"),
+                        root.get("promptKey"),
+                        root.get("ragEnabled"),
+                        root.get("ragLatencyMs"),
+                        root.get("ragChunksCount"),
+                        root.get("errorCode"),
+                        root.get("errorMessage"),
+                        root.get("failReason"),
+                        root.get("createdAt"),
+                        root.get("finishedAt"),
+                        root.get("requestSource")))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("requestId")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
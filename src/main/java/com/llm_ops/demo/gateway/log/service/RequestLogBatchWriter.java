@@ -0,0 +1,556 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.CompressedText;
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 완료된 요청 로그를 bounded 큐에 모았다가 JDBC batch INSERT로 저장하는 write-behind 저장기입니다.
+ * <p>
+ * 요청 스레드는 큐에 넣기만 하고, 전용 스케줄러(requestLogScheduler)가 flush 주기마다 최대 {@code batch-size}건씩 꺼내 request_logs와
+ * retrieved_documents를 각각 batch 하나로 한 트랜잭션에서 INSERT 하고, 같은 트랜잭션에서 통계 롤업에도 더합니다.
+ * 요청/응답 payload와 검색 문서 본문은 이 flush 스레드에서 {@link CompressedText}로 압축해 bytea 컬럼에 씁니다.
+ * <ul>
+ *     <li>큐가 가득 차면 요청 스레드가 {@code enqueue-timeout-ms}까지 기다리고(backpressure), 그래도 자리가 없으면 로컬 spool에 씁니다.</li>
+ *     <li>DB에 연결할 수 없는 등 일시적인 오류로 실패한 로그도 spool에 옮기고, {@code spool.replay-interval-ms}마다 다시 씁니다.</li>
+ *     <li>그 밖의 이유로 batch가 실패하면 행마다 다시 저장해 문제가 있는 행만 버립니다.</li>
+ *     <li>애플리케이션 종료 시 큐에 남은 로그를 마지막으로 flush합니다.</li>
+ * </ul>
+ * spool은 재시작 후 처음부터 다시 읽을 수 있으므로, spool에서 다시 쓸 때는 (request_id, created_at) 기준으로 이미 있는 로그를 건너뛰고,
+ * RETURNING으로 돌려받은 새로 쓴 로그만 롤업에 더합니다.
+ * 검색 문서의 created_at은 요청 로그와 같은 값으로 써서, 같은 기간 파티션에 함께 들어가고 함께 정리되게 합니다.
+ */
+@Slf4j
+@Component
+public class RequestLogBatchWriter {
+
+    private static final String REQUEST_LOG_COLUMNS = """
+            request_id, trace_id, created_at, finished_at, latency_ms,
+            organization_id, workspace_id, api_key_id, api_key_prefix,
+            request_path, http_method, http_status,
+            status, error_code, error_message, fail_reason,
+            prompt_key, prompt_id, prompt_version_id,
+            requested_model, used_model, provider, is_failover,
+            input_tokens, output_tokens, total_tokens,
+            estimated_cost, currency, pricing_version,
+            rag_enabled, rag_top_k, rag_similarity_threshold, rag_latency_ms,
+            rag_chunks_count, rag_context_chars, rag_context_truncated, rag_context_hash,
+            ttft_ms, output_tokens_per_second,
+            cache_hit, coalesced, hedged, hedge_delay_ms, hedge_winner,
+            hedge_loser_status, hedge_loser_input_tokens, hedge_loser_output_tokens, hedge_loser_estimated_cost,
+            request_payload_compressed, response_payload_compressed, request_source
+        """;
+
+    private static final String REQUEST_LOG_PLACEHOLDERS = """
+            ?, ?, ?, ?, ?,
+            ?, ?, ?, ?,
+            ?, ?, ?,
+            ?, ?, ?, ?,
+            ?, ?, ?,
+            ?, ?, ?, ?,
+            ?, ?, ?,
+            ?, ?, ?,
+            ?, ?, ?, ?,
+            ?, ?, ?, ?,
+            ?, ?,
+            ?, ?, ?, ?, ?,
+            ?, ?, ?, ?,
+            ?, ?, ?
+        """;
+
+    private static final String INSERT_REQUEST_LOG_SQL =
+        "INSERT INTO request_logs (" + REQUEST_LOG_COLUMNS + ") VALUES (" + REQUEST_LOG_PLACEHOLDERS + ")";
+
+    private static final String POSTGRES_REPLAY_REQUEST_LOG_SUFFIX =
+        " ON CONFLICT (request_id, created_at) DO NOTHING RETURNING request_id";
+
+    // PostgreSQL 바인드 파라미터 상한(65535)을 넘지 않도록 다중 행 INSERT 한 번에 넣는 로그 수
+    private static final int REPLAY_CHUNK_SIZE = 500;
+
+    private static final String MERGE_REPLAY_REQUEST_LOG_SQL =
+        "MERGE INTO request_logs (" + REQUEST_LOG_COLUMNS + ") KEY (request_id) VALUES (" + REQUEST_LOG_PLACEHOLDERS + ")";
+
+    private static final String INSERT_RETRIEVED_DOCUMENT_SQL = """
+        INSERT INTO retrieved_documents (request_id, document_name, score, content_compressed, duration_ms, ranking, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String DELETE_RETRIEVED_DOCUMENTS_SQL = """
+        DELETE FROM retrieved_documents WHERE request_id = ? AND created_at = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestLogWriteProperties properties;
+    private final RequestLogSpool spool;
+    private final RequestLogRollupWriter rollupWriter;
+    private final GatewayMetrics gatewayMetrics;
+    private final ArrayBlockingQueue<RequestLogRow> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantLock replayLock = new ReentrantLock();
+    private volatile Boolean postgres;
+
+    @Autowired
+    public RequestLogBatchWriter(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        RequestLogWriteProperties properties,
+        RequestLogSpool spool,
+        RequestLogRollupWriter rollupWriter,
+        GatewayMetrics gatewayMetrics
+    ) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), properties, spool, rollupWriter, gatewayMetrics);
+    }
+
+    RequestLogBatchWriter(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        RequestLogWriteProperties properties,
+        RequestLogSpool spool,
+        RequestLogRollupWriter rollupWriter,
+        GatewayMetrics gatewayMetrics
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.spool = spool;
+        this.rollupWriter = rollupWriter;
+        this.gatewayMetrics = gatewayMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.resolvedQueueCapacity());
+        gatewayMetrics.registerRequestLogQueueGauge(queue::size);
+    }
+
+    /**
+     * 완료된 요청 로그를 저장 대기 큐에 넣습니다.
+     */
+    public void submit(RequestLogRow row) {
+        if (!properties.isAsyncWriteEnabled()) {
+            gatewayMetrics.incrementRequestLogEnqueue("direct");
+            write(List.of(row));
+            return;
+        }
+        if (queue.offer(row)) {
+            gatewayMetrics.incrementRequestLogEnqueue("queued");
+            return;
+        }
+        if (offerWithinTimeout(row)) {
+            gatewayMetrics.incrementRequestLogEnqueue("backpressure");
+            return;
+        }
+        gatewayMetrics.incrementRequestLogEnqueue("overflow");
+        if (spool.append(row)) {
+            gatewayMetrics.incrementRequestLogRows("spooled", 1);
+            return;
+        }
+        write(List.of(row));
+    }
+
+    /**
+     * 큐에 쌓인 로그를 모두 저장하고, 저장한 행 수를 반환합니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.request-log.flush-interval-ms:200}", scheduler = "requestLogScheduler")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int batchSize = properties.resolvedBatchSize();
+            List<RequestLogRow> batch = new ArrayList<>(batchSize);
+            int written = 0;
+            while (queue.drainTo(batch, batchSize) > 0) {
+                written += write(batch);
+                batch.clear();
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * spool에 쌓인 로그를 DB에 다시 쓰고, 다시 쓴 행 수를 반환합니다.
+     * DB에 여전히 쓸 수 없으면 남은 로그를 spool에 둔 채 다음 주기에 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.request-log.spool.replay-interval-ms:1000}", scheduler = "requestLogScheduler")
+    public int replaySpool() {
+        if (!spool.isEnabled() || !replayLock.tryLock()) {
+            return 0;
+        }
+        try {
+            spool.sync();
+            int replayed = 0;
+            while (true) {
+                RequestLogSpool.Batch batch = spool.read(properties.resolvedBatchSize());
+                if (batch.isEmpty()) {
+                    return replayed;
+                }
+                if (!batch.rows().isEmpty() && !replay(batch.rows())) {
+                    return replayed;
+                }
+                spool.acknowledge(batch);
+                replayed += batch.rows().size();
+            }
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    private boolean offerWithinTimeout(RequestLogRow row) {
+        try {
+            return queue.offer(row, properties.resolvedEnqueueTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int write(List<RequestLogRow> batch) {
+        long startedAtNanos = System.nanoTime();
+        try {
+            insert(batch, false);
+            gatewayMetrics.recordRequestLogFlush(batch.size(), System.nanoTime() - startedAtNanos);
+            gatewayMetrics.incrementRequestLogRows("written", batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (isDatabaseUnavailable(e)) {
+                spoolOrDrop(batch, e);
+                return 0;
+            }
+            if (batch.size() == 1) {
+                dropped(batch.get(0), e);
+                return 0;
+            }
+            log.warn("요청 로그 batch 저장 실패: {}건을 한 건씩 다시 저장합니다.", batch.size(), e);
+        }
+        int written = 0;
+        for (RequestLogRow row : batch) {
+            try {
+                insert(List.of(row), false);
+                written++;
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    spoolOrDrop(List.of(row), e);
+                } else {
+                    dropped(row, e);
+                }
+            }
+        }
+        gatewayMetrics.incrementRequestLogRows("written", written);
+        return written;
+    }
+
+    /**
+     * spool에서 읽은 로그를 다시 씁니다. DB에 쓸 수 없어 다음 주기로 미뤄야 하면 false를 반환합니다.
+     */
+    private boolean replay(List<RequestLogRow> rows) {
+        try {
+            insert(rows, true);
+            gatewayMetrics.incrementRequestLogRows("written", rows.size());
+            return true;
+        } catch (RuntimeException e) {
+            if (isDatabaseUnavailable(e)) {
+                log.warn("DB에 쓸 수 없어 spool의 요청 로그 {}건을 다음 주기에 다시 씁니다.", spool.pendingRecords(), e);
+                return false;
+            }
+            log.warn("spool 로그 batch 재저장 실패: {}건을 한 건씩 다시 저장합니다.", rows.size(), e);
+        }
+        int written = 0;
+        for (RequestLogRow row : rows) {
+            try {
+                insert(List.of(row), true);
+                written++;
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    gatewayMetrics.incrementRequestLogRows("written", written);
+                    return false;
+                }
+                dropped(row, e);
+            }
+        }
+        gatewayMetrics.incrementRequestLogRows("written", written);
+        return true;
+    }
+
+    private void spoolOrDrop(List<RequestLogRow> rows, RuntimeException cause) {
+        int spooled = 0;
+        for (RequestLogRow row : rows) {
+            if (spool.append(row)) {
+                spooled++;
+            } else {
+                dropped(row, cause);
+            }
+        }
+        if (spooled > 0) {
+            gatewayMetrics.incrementRequestLogRows("spooled", spooled);
+            log.warn("DB에 쓸 수 없어 요청 로그 {}건을 spool에 옮겼습니다.", spooled, cause);
+        }
+    }
+
+    private void dropped(RequestLogRow row, RuntimeException e) {
+        gatewayMetrics.incrementRequestLogRows("failed", 1);
+        log.error("로그 저장 실패: requestId={}", row.requestId(), e);
+    }
+
+    /**
+     * 연결 실패, 타임아웃, 락 충돌처럼 다시 시도하면 성공할 수 있는 오류인지 판단합니다.
+     */
+    private static boolean isDatabaseUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof CannotCreateTransactionException;
+    }
+
+    private void insert(List<RequestLogRow> rows, boolean replay) {
+        List<DocumentBinding> documents = new ArrayList<>();
+        List<RequestLogRow> rowsWithDocuments = new ArrayList<>();
+        for (RequestLogRow row : rows) {
+            if (row.documents().isEmpty()) {
+                continue;
+            }
+            rowsWithDocuments.add(row);
+            for (RequestLogRow.DocumentRow document : row.documents()) {
+                documents.add(new DocumentBinding(row.requestId(), row.createdAt(), document));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<RequestLogRow> inserted;
+            if (replay) {
+                inserted = replayRequestLogs(rows);
+            } else {
+                jdbcTemplate.batchUpdate(INSERT_REQUEST_LOG_SQL, rows, rows.size(), RequestLogBatchWriter::bindRequestLog);
+                inserted = rows;
+            }
+            if (!documents.isEmpty()) {
+                if (replay) {
+                    // 이미 저장된 로그를 다시 쓰는 경우 검색 문서가 중복되지 않도록 지우고 다시 넣습니다.
+                    jdbcTemplate.batchUpdate(DELETE_RETRIEVED_DOCUMENTS_SQL, rowsWithDocuments, rowsWithDocuments.size(),
+                            (ps, row) -> {
+                                ps.setObject(1, row.requestId());
+                                setTimestamp(ps, 2, row.createdAt());
+                            });
+                }
+                jdbcTemplate.batchUpdate(INSERT_RETRIEVED_DOCUMENT_SQL, documents, documents.size(),
+                        RequestLogBatchWriter::bindRetrievedDocument);
+            }
+            rollupWriter.write(inserted);
+        });
+    }
+
+    /**
+     * spool의 로그를 멱등하게 다시 쓰고, 이미 있어서 건너뛴 로그를 뺀 새로 쓴 로그만 돌려줘 롤업에 두 번 더하지 않게 합니다.
+     * PostgreSQL에서는 다중 행 INSERT의 RETURNING으로 실제로 들어간 request_id를 받습니다.
+     * 그 밖의 DB(테스트 H2)는 MERGE로 덮어쓰며, 롤업을 쓰지 않으므로 모든 로그를 그대로 돌려줍니다.
+     */
+    private List<RequestLogRow> replayRequestLogs(List<RequestLogRow> rows) {
+        if (!isPostgres()) {
+            jdbcTemplate.batchUpdate(MERGE_REPLAY_REQUEST_LOG_SQL, rows, rows.size(), RequestLogBatchWriter::bindRequestLog);
+            return rows;
+        }
+        Set<UUID> insertedIds = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += REPLAY_CHUNK_SIZE) {
+            List<RequestLogRow> chunk = rows.subList(from, Math.min(rows.size(), from + REPLAY_CHUNK_SIZE));
+            insertedIds.addAll(jdbcTemplate.query(postgresReplaySql(chunk.size()),
+                    ps -> {
+                        int index = 1;
+                        for (RequestLogRow row : chunk) {
+                            index = bindRequestLogAt(ps, row, index);
+                        }
+                    },
+                    (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return rows.stream()
+                .filter(row -> insertedIds.contains(row.requestId()))
+                .toList();
+    }
+
+    private static String postgresReplaySql(int rowCount) {
+        return "INSERT INTO request_logs (" + REQUEST_LOG_COLUMNS + ") VALUES "
+            + String.join(", ", Collections.nCopies(rowCount, "(" + REQUEST_LOG_PLACEHOLDERS + ")"))
+            + POSTGRES_REPLAY_REQUEST_LOG_SUFFIX;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = result;
+        }
+        return result;
+    }
+
+    private record DocumentBinding(UUID requestId, LocalDateTime createdAt, RequestLogRow.DocumentRow document) {
+    }
+
+    private static void bindRequestLog(PreparedStatement ps, RequestLogRow row) throws SQLException {
+        bindRequestLogAt(ps, row, 1);
+    }
+
+    /**
+     * {@code start}번 파라미터부터 로그 한 건을 바인딩하고, 다음 로그가 시작할 파라미터 번호를 돌려줍니다.
+     */
+    private static int bindRequestLogAt(PreparedStatement ps, RequestLogRow row, int start) throws SQLException {
+        int i = start;
+        ps.setObject(i++, row.requestId());
+        ps.setString(i++, row.traceId());
+        setTimestamp(ps, i++, row.createdAt());
+        setTimestamp(ps, i++, row.finishedAt());
+        setInteger(ps, i++, row.latencyMs());
+        ps.setLong(i++, row.organizationId());
+        ps.setLong(i++, row.workspaceId());
+        setLong(ps, i++, row.apiKeyId());
+        ps.setString(i++, row.apiKeyPrefix());
+        ps.setString(i++, row.requestPath());
+        ps.setString(i++, row.httpMethod());
+        setInteger(ps, i++, row.httpStatus());
+        ps.setString(i++, row.status());
+        ps.setString(i++, row.errorCode());
+        ps.setString(i++, row.errorMessage());
+        ps.setString(i++, row.failReason());
+        ps.setString(i++, row.promptKey());
+        setLong(ps, i++, row.promptId());
+        setLong(ps, i++, row.promptVersionId());
+        ps.setString(i++, row.requestedModel());
+        ps.setString(i++, row.usedModel());
+        ps.setString(i++, row.provider());
+        ps.setBoolean(i++, row.failover());
+        setInteger(ps, i++, row.inputTokens());
+        setInteger(ps, i++, row.outputTokens());
+        setInteger(ps, i++, row.totalTokens());
+        setDecimal(ps, i++, row.estimatedCost());
+        ps.setString(i++, row.currency());
+        ps.setString(i++, row.pricingVersion());
+        ps.setBoolean(i++, row.ragEnabled());
+        setInteger(ps, i++, row.ragTopK());
+        setDouble(ps, i++, row.ragSimilarityThreshold());
+        setInteger(ps, i++, row.ragLatencyMs());
+        setInteger(ps, i++, row.ragChunksCount());
+        setInteger(ps, i++, row.ragContextChars());
+        setBoolean(ps, i++, row.ragContextTruncated());
+        ps.setString(i++, row.ragContextHash());
+        setInteger(ps, i++, row.ttftMs());
+        setDouble(ps, i++, row.outputTokensPerSecond());
+        ps.setBoolean(i++, row.cacheHit());
+        ps.setBoolean(i++, row.coalesced());
+        ps.setBoolean(i++, row.hedged());
+        setInteger(ps, i++, row.hedgeDelayMs());
+        ps.setString(i++, row.hedgeWinner());
+        ps.setString(i++, row.hedgeLoserStatus());
+        setInteger(ps, i++, row.hedgeLoserInputTokens());
+        setInteger(ps, i++, row.hedgeLoserOutputTokens());
+        setDecimal(ps, i++, row.hedgeLoserEstimatedCost());
+        setBytes(ps, i++, CompressedText.compress(row.requestPayload()));
+        setBytes(ps, i++, CompressedText.compress(row.responsePayload()));
+        ps.setString(i++, row.requestSource());
+        return i;
+    }
+
+    private static void bindRetrievedDocument(PreparedStatement ps, DocumentBinding binding) throws SQLException {
+        RequestLogRow.DocumentRow document = binding.document();
+        ps.setObject(1, binding.requestId());
+        ps.setString(2, document.documentName());
+        setDouble(ps, 3, document.score());
+        setBytes(ps, 4, CompressedText.compress(document.content()));
+        setInteger(ps, 5, document.durationMs());
+        ps.setInt(6, document.ranking());
+        setTimestamp(ps, 7, binding.createdAt());
+    }
+
+    // null 파라미터의 타입을 명시해 드라이버가 파라미터 메타데이터를 조회하지 않게 합니다.
+
+    /**
+     * 로그 시각은 UTC 기준 LocalDateTime이므로, 세션 time zone에 따라 해석되지 않게 UTC offset을 붙여 씁니다.
+     */
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            ps.setObject(index, value.atOffset(ZoneOffset.UTC));
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+
+    private static void setBoolean(PreparedStatement ps, int index, Boolean value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BOOLEAN);
+        } else {
+            ps.setBoolean(index, value);
+        }
+    }
+
+    private static void setBytes(PreparedStatement ps, int index, byte[] value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BINARY);
+        } else {
+            ps.setBytes(index, value);
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties.Partition.ExpiredAction;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties.Partition.Interval;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * request_logs / retrieved_documents의 created_at 기간 파티션(V35)을 관리합니다.
+ * <p>
+ * 주기마다 테이블별로 다음을 수행합니다.
+ * <ul>
+ *     <li>현재 구간부터 {@code premake}개 뒤 구간까지 파티션을 미리 만듭니다. 마지막 파티션의 끝에서 이어 만들므로
+ *     {@code interval}을 바꿔도 구간이 겹치지 않습니다.</li>
+ *     <li>가장 긴 보존 기간보다 오래된 파티션은 통째로 DROP(또는 DETACH) 합니다. 행을 지우지 않는 메타데이터 작업입니다.</li>
+ *     <li>그보다 보존 기간이 짧은 조직의 로그는 {@code retention-delete-batch-size}건씩 나눠 DELETE 합니다.</li>
+ *     <li>default 파티션에 들어간 로그는 새 파티션을 만들 때 그 파티션으로 옮기고,
+ *     남은 로그 중 가장 긴 보존 기간이 지난 로그는 배치로 DELETE 합니다.</li>
+ * </ul>
+ * PostgreSQL에서 request_logs가 파티션 테이블일 때만 동작합니다. 여러 인스턴스가 동시에 DDL을 실행하지 않도록
+ * 트랜잭션마다 advisory lock을 잡고, 잡지 못한 인스턴스는 이번 주기를 건너뜁니다.
+ */
+@Slf4j
+@Component
+public class RequestLogPartitionManager {
+
+    static final String REQUEST_LOGS = "request_logs";
+    static final String RETRIEVED_DOCUMENTS = "retrieved_documents";
+    private static final List<String> TABLES = List.of(REQUEST_LOGS, RETRIEVED_DOCUMENTS);
+
+    private static final String PARTITIONED_SQL = """
+        SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))
+        """;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('request_logs_partition_maintenance'))";
+
+    private static final String LIST_PARTITIONS_SQL = """
+        SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = to_regclass(?)
+        """;
+
+    private static final String DELETE_ORGANIZATION_SQL = """
+        WITH expired AS (
+            SELECT request_id, created_at FROM request_logs
+            WHERE organization_id = ? AND created_at < ?
+            LIMIT ?
+        ), deleted_documents AS (
+            DELETE FROM retrieved_documents d USING expired e WHERE d.request_id = e.request_id
+        )
+        DELETE FROM request_logs r USING expired e
+        WHERE r.request_id = e.request_id AND r.created_at = e.created_at
+        """;
+
+    private static final String DELETE_OTHER_ORGANIZATIONS_SQL = """
+        WITH expired AS (
+            SELECT request_id, created_at FROM request_logs
+            WHERE NOT (organization_id = ANY (?)) AND created_at < ?
+            LIMIT ?
+        ), deleted_documents AS (
+            DELETE FROM retrieved_documents d USING expired e WHERE d.request_id = e.request_id
+        )
+        DELETE FROM request_logs r USING expired e
+        WHERE r.request_id = e.request_id AND r.created_at = e.created_at
+        """;
+
+    private static final String DEFAULT_HAS_ROWS_SQL = "SELECT EXISTS (SELECT 1 FROM %s WHERE created_at >= ? AND created_at < ?)";
+
+    private static final String MOVE_FROM_DEFAULT_SQL = """
+        WITH moved AS (
+            DELETE FROM %s WHERE created_at >= ? AND created_at < ? RETURNING *
+        )
+        INSERT INTO %s SELECT * FROM moved
+        """;
+
+    private static final String DELETE_EXPIRED_DEFAULT_SQL = """
+        DELETE FROM %1$s WHERE ctid IN (
+            SELECT ctid FROM %1$s WHERE created_at < ? LIMIT ?
+        )
+        """;
+
+    // SET LOCAL TIME ZONE 'UTC' 상태에서 pg_get_expr이 돌려주는 "FOR VALUES FROM (...) TO ('2026-12-01 00:00:00+00')"의 상한
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private static final DateTimeFormatter BOUND_PARSER = new DateTimeFormatterBuilder()
+        .appendPattern("yyyy-MM-dd HH:mm:ss")
+        .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd()
+        .appendOffset("+HH:mm", "+00")
+        .toFormatter();
+
+    private static final DateTimeFormatter BOUND_LITERAL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ssxxx");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestLogWriteProperties.Partition properties;
+    private final Clock clock;
+    private volatile Boolean partitioned;
+
+    @Autowired
+    public RequestLogPartitionManager(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        RequestLogWriteProperties properties
+    ) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), properties, Clock.systemUTC());
+    }
+
+    RequestLogPartitionManager(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        RequestLogWriteProperties properties,
+        Clock clock
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getPartition();
+        this.clock = clock;
+    }
+
+    /**
+     * 파티션을 만들고 보존 기간이 지난 파티션/로그를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.request-log.partition.maintenance-interval-ms:3600000}",
+        scheduler = "requestLogScheduler")
+    public void maintain() {
+        if (!properties.isEnabled() || !isPartitioned()) {
+            return;
+        }
+        Instant now = clock.instant();
+        Integer dropRetentionDays = dropRetentionDays(properties);
+        for (String table : TABLES) {
+            try {
+                if (dropRetentionDays != null) {
+                    Instant cutoff = now.minus(Duration.ofDays(dropRetentionDays));
+                    expirePartitions(table, cutoff);
+                    expireDefaultPartition(table, cutoff);
+                }
+                createPartitions(table, now);
+            } catch (DataAccessException e) {
+                log.error("요청 로그 파티션 관리 실패: table={}", table, e);
+            }
+        }
+        deleteExpiredOrganizations(now, dropRetentionDays);
+    }
+
+    private boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product)
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(PARTITIONED_SQL, Boolean.class, REQUEST_LOGS));
+            if (!result) {
+                log.info("request_logs가 파티션 테이블이 아니어서 파티션 관리를 건너뜁니다.");
+            }
+            partitioned = result;
+        }
+        return result;
+    }
+
+    private void createPartitions(String table, Instant now) {
+        List<PartitionInfo> partitions = listPartitions(table);
+        if (partitions == null || partitions.stream().anyMatch(PartitionInfo::unbounded)) {
+            return;
+        }
+        String defaultPartition = defaultPartitionName(partitions);
+        Instant lastUpperBound = partitions.stream()
+            .map(PartitionInfo::upperBound)
+            .filter(Objects::nonNull)
+            .max(Instant::compareTo)
+            .orElse(null);
+        for (PartitionRange range : plan(lastUpperBound, now, properties.resolvedInterval(), properties.resolvedPremake())) {
+            String name = partitionName(table, range.from());
+            try {
+                if (Boolean.TRUE.equals(inLockedTransaction(() -> createPartition(table, defaultPartition, name, range)))) {
+                    log.info("요청 로그 파티션 생성: {} [{}, {})", name, range.from(), range.to());
+                }
+            } catch (DataAccessException e) {
+                // 이 구간이 없으면 이후 로그가 계속 default 파티션에 쌓이므로, 다음 구간으로 넘어가지 않고 경보를 남깁니다.
+                log.error("요청 로그 파티션 생성 실패, default 파티션에 로그가 쌓입니다: {} [{}, {})",
+                    name, range.from(), range.to(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 파티션 하나를 만듭니다. default 파티션에 이미 이 구간의 로그가 있으면 PARTITION OF로 만들 수 없으므로,
+     * 같은 트랜잭션에서 빈 테이블을 만들어 로그를 옮긴 뒤 ATTACH 합니다.
+     */
+    private void createPartition(String table, String defaultPartition, String name, PartitionRange range) {
+        OffsetDateTime from = range.from().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = range.to().atOffset(ZoneOffset.UTC);
+        String bounds = " FOR VALUES FROM ('" + literal(range.from()) + "') TO ('" + literal(range.to()) + "')";
+        boolean hasDefaultRows = defaultPartition != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            DEFAULT_HAS_ROWS_SQL.formatted(quote(defaultPartition)), Boolean.class, from, to));
+        if (!hasDefaultRows) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + quote(name) + " PARTITION OF " + quote(table) + bounds);
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + quote(name)
+            + " (LIKE " + quote(table) + " INCLUDING DEFAULTS INCLUDING STORAGE)");
+        int moved = jdbcTemplate.update(
+            MOVE_FROM_DEFAULT_SQL.formatted(quote(defaultPartition), quote(name)), from, to);
+        jdbcTemplate.execute("ALTER TABLE " + quote(table) + " ATTACH PARTITION " + quote(name) + bounds);
+        log.warn("default 파티션의 요청 로그를 새 파티션으로 옮김: {} -> {}, {}건", defaultPartition, name, moved);
+    }
+
+    private void expirePartitions(String table, Instant cutoff) {
+        List<PartitionInfo> partitions = listPartitions(table);
+        if (partitions == null) {
+            return;
+        }
+        ExpiredAction action = properties.resolvedExpiredAction();
+        for (PartitionInfo partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            String sql = action == ExpiredAction.DETACH
+                ? "ALTER TABLE " + quote(table) + " DETACH PARTITION " + quote(partition.name())
+                : "DROP TABLE IF EXISTS " + quote(partition.name());
+            if (Boolean.TRUE.equals(inLockedTransaction(() -> jdbcTemplate.execute(sql)))) {
+                log.info("보존 기간이 지난 요청 로그 파티션 {}: {} (< {})", action, partition.name(), partition.upperBound());
+            }
+        }
+    }
+
+    /**
+     * default 파티션에 남은 로그 중 cutoff보다 오래된 로그를 배치로 지웁니다. default 파티션은 상한이 없어
+     * 파티션 정리 대상이 되지 않으므로, 지우지 않으면 보존 기간과 관계없이 계속 남습니다.
+     */
+    private void expireDefaultPartition(String table, Instant cutoff) {
+        List<PartitionInfo> partitions = listPartitions(table);
+        String defaultPartition = partitions != null ? defaultPartitionName(partitions) : null;
+        if (defaultPartition == null) {
+            return;
+        }
+        String sql = DELETE_EXPIRED_DEFAULT_SQL.formatted(quote(defaultPartition));
+        OffsetDateTime cutoffParam = cutoff.atOffset(ZoneOffset.UTC);
+        int batchSize = properties.resolvedRetentionDeleteBatchSize();
+        int deleted = 0;
+        int rows;
+        do {
+            Integer result = transactionTemplate.execute(status -> jdbcTemplate.update(sql, cutoffParam, batchSize));
+            rows = result != null ? result : 0;
+            deleted += rows;
+        } while (rows >= batchSize);
+        if (deleted > 0) {
+            log.info("보존 기간이 지난 default 파티션 로그 삭제: {}, {}건 (< {})", defaultPartition, deleted, cutoff);
+        }
+    }
+
+    private static String defaultPartitionName(List<PartitionInfo> partitions) {
+        return partitions.stream()
+            .filter(PartitionInfo::defaultPartition)
+            .map(PartitionInfo::name)
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * 파티션 목록을 읽습니다. 다른 인스턴스가 관리 중이면 null을 반환합니다.
+     */
+    private List<PartitionInfo> listPartitions(String table) {
+        return transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+                return null;
+            }
+            jdbcTemplate.execute("SET LOCAL TIME ZONE 'UTC'");
+            return jdbcTemplate.query(LIST_PARTITIONS_SQL,
+                (rs, rowNum) -> parsePartition(rs.getString("name"), rs.getString("bound")),
+                table);
+        });
+    }
+
+    private Boolean inLockedTransaction(Runnable ddl) {
+        return transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class))) {
+                return false;
+            }
+            ddl.run();
+            return true;
+        });
+    }
+
+    private void deleteExpiredOrganizations(Instant now, Integer dropRetentionDays) {
+        int batchSize = properties.resolvedRetentionDeleteBatchSize();
+        Map<Long, Integer> organizationRetentionDays = properties.getOrganizationRetentionDays();
+        for (Map.Entry<Long, Integer> target : deleteTargets(properties, dropRetentionDays).entrySet()) {
+            OffsetDateTime cutoff = now.minus(Duration.ofDays(target.getValue())).atOffset(ZoneOffset.UTC);
+            Long organizationId = target.getKey();
+            Object organizationParam = organizationId != null
+                ? organizationId
+                : organizationRetentionDays.keySet().toArray(new Long[0]);
+            String sql = organizationId != null ? DELETE_ORGANIZATION_SQL : DELETE_OTHER_ORGANIZATIONS_SQL;
+            try {
+                int deleted = 0;
+                int rows;
+                do {
+                    Integer result = transactionTemplate.execute(status ->
+                        jdbcTemplate.update(sql, organizationParam, cutoff, batchSize));
+                    rows = result != null ? result : 0;
+                    deleted += rows;
+                } while (rows >= batchSize);
+                if (deleted > 0) {
+                    log.info("보존 기간이 지난 요청 로그 삭제: organizationId={}, {}건 (< {})",
+                        organizationId != null ? organizationId : "default", deleted, cutoff);
+                }
+            } catch (DataAccessException e) {
+                log.error("보존 기간이 지난 요청 로그 삭제 실패: organizationId={}", organizationId, e);
+            }
+        }
+    }
+
+    /**
+     * 파티션을 통째로 정리할 보존 기간(일)입니다. 모든 조직의 보존 기간 중 가장 긴 값이며,
+     * 한 곳이라도 보존 기간이 없으면(0 이하) 파티션을 정리하지 않도록 null을 반환합니다.
+     */
+    static Integer dropRetentionDays(RequestLogWriteProperties.Partition properties) {
+        int max = properties.getRetentionDays();
+        if (max <= 0) {
+            return null;
+        }
+        for (Integer days : properties.getOrganizationRetentionDays().values()) {
+            if (days == null || days <= 0) {
+                return null;
+            }
+            max = Math.max(max, days);
+        }
+        return max;
+    }
+
+    /**
+     * 파티션 정리보다 먼저 지워야 하는 조직별 보존 기간(일)입니다. 키가 null이면 조직별 설정이 없는 나머지 조직입니다.
+     */
+    static Map<Long, Integer> deleteTargets(RequestLogWriteProperties.Partition properties, Integer dropRetentionDays) {
+        Map<Long, Integer> targets = new LinkedHashMap<>();
+        properties.getOrganizationRetentionDays().forEach((organizationId, days) -> {
+            if (days != null && days > 0 && (dropRetentionDays == null || days < dropRetentionDays)) {
+                targets.put(organizationId, days);
+            }
+        });
+        int defaultDays = properties.getRetentionDays();
+        if (defaultDays > 0 && (dropRetentionDays == null || defaultDays < dropRetentionDays)) {
+            targets.put(null, defaultDays);
+        }
+        return targets;
+    }
+
+    /**
+     * 만들어야 하는 파티션 구간을 계산합니다. 마지막 파티션 끝에서 이어 현재 구간 + {@code premake}개 구간까지이며,
+     * 마지막 파티션이 현재 구간보다 오래됐으면 빈 구간은 default 파티션에 맡기고 현재 구간부터 만듭니다.
+     */
+    static List<PartitionRange> plan(Instant lastUpperBound, Instant now, Interval interval, int premake) {
+        Instant current = intervalStart(now, interval);
+        Instant end = current;
+        for (int i = 0; i <= premake; i++) {
+            end = nextBoundary(end, interval);
+        }
+        Instant from = lastUpperBound == null || lastUpperBound.isBefore(current) ? current : lastUpperBound;
+        List<PartitionRange> ranges = new ArrayList<>();
+        while (from.isBefore(end)) {
+            Instant to = nextBoundary(from, interval);
+            ranges.add(new PartitionRange(from, to));
+            from = to;
+        }
+        return ranges;
+    }
+
+    static Instant intervalStart(Instant instant, Interval interval) {
+        LocalDate date = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+        LocalDate start = interval == Interval.DAILY ? date : date.withDayOfMonth(1);
+        return start.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    static Instant nextBoundary(Instant from, Interval interval) {
+        LocalDate start = LocalDate.ofInstant(intervalStart(from, interval), ZoneOffset.UTC);
+        LocalDate next = interval == Interval.DAILY ? start.plusDays(1) : start.plusMonths(1);
+        return next.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    static String partitionName(String table, Instant from) {
+        return table + "_p" + PARTITION_SUFFIX.format(from.atOffset(ZoneOffset.UTC));
+    }
+
+    static PartitionInfo parsePartition(String name, String bound) {
+        if (bound == null || "DEFAULT".equals(bound)) {
+            return new PartitionInfo(name, null, false, true);
+        }
+        Matcher matcher = UPPER_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            // TO (MAXVALUE): 끝이 열린 파티션은 정리하지 않고, 뒤에 파티션을 만들 수도 없습니다.
+            return new PartitionInfo(name, null, true, false);
+        }
+        return new PartitionInfo(name, OffsetDateTime.parse(matcher.group(1), BOUND_PARSER).toInstant(), false, false);
+    }
+
+    private static String literal(Instant instant) {
+        return BOUND_LITERAL.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    record PartitionRange(Instant from, Instant to) {
+    }
+
+    /**
+     * @param upperBound 파티션 상한 (default 파티션과 끝이 열린 파티션은 null)
+     * @param unbounded  상한이 MAXVALUE인 파티션 여부
+     * @param defaultPartition default 파티션 여부
+     */
+    record PartitionInfo(String name, Instant upperBound, boolean unbounded, boolean defaultPartition) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.CompressedText;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 압축 저장(V34) 이전에 쌓인 요청/응답 payload와 검색 문서 본문을 압축 컬럼으로 옮기는 백필 작업입니다.
+ * <p>
+ * 주기마다 테이블별로 최대 {@code batch-size}건을 읽어 압축 컬럼에 쓰고 TEXT 컬럼은 NULL로 비웁니다.
+ * 새 로그는 TEXT 컬럼에 쓰지 않으므로, 옮길 행이 없으면 이후로는 조회하지 않습니다.
+ * UPDATE에는 읽은 행의 created_at을 함께 넘겨, 파티션 테이블(V35)에서 해당 파티션만 찾도록 합니다.
+ */
+@Slf4j
+@Component
+public class RequestLogPayloadBackfillJob {
+
+    private static final String SELECT_REQUEST_LOGS_SQL = """
+        SELECT request_id, created_at, request_payload, response_payload
+        FROM request_logs
+        WHERE request_payload IS NOT NULL OR response_payload IS NOT NULL
+        LIMIT ?
+        """;
+
+    private static final String UPDATE_REQUEST_LOG_SQL = """
+        UPDATE request_logs
+        SET request_payload_compressed = COALESCE(request_payload_compressed, ?),
+            response_payload_compressed = COALESCE(response_payload_compressed, ?),
+            request_payload = NULL,
+            response_payload = NULL
+        WHERE request_id = ? AND created_at = ?
+        """;
+
+    private static final String SELECT_RETRIEVED_DOCUMENTS_SQL = """
+        SELECT id, created_at, content
+        FROM retrieved_documents
+        WHERE content IS NOT NULL
+        LIMIT ?
+        """;
+
+    private static final String UPDATE_RETRIEVED_DOCUMENT_SQL = """
+        UPDATE retrieved_documents
+        SET content_compressed = COALESCE(content_compressed, ?),
+            content = NULL
+        WHERE id = ? AND created_at = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestLogWriteProperties.PayloadBackfill properties;
+    private volatile boolean completed;
+
+    @Autowired
+    public RequestLogPayloadBackfillJob(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        RequestLogWriteProperties properties
+    ) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), properties);
+    }
+
+    RequestLogPayloadBackfillJob(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        RequestLogWriteProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getPayloadBackfill();
+    }
+
+    /**
+     * 한 batch를 옮기고, 옮긴 행 수를 반환합니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.request-log.payload-backfill.interval-ms:1000}",
+        scheduler = "requestLogScheduler")
+    public int backfill() {
+        if (!properties.isEnabled() || completed) {
+            return 0;
+        }
+        int batchSize = properties.resolvedBatchSize();
+        Integer migrated = transactionTemplate.execute(status ->
+            backfillRequestLogs(batchSize) + backfillRetrievedDocuments(batchSize));
+        int rows = migrated != null ? migrated : 0;
+        if (rows == 0) {
+            completed = true;
+            log.info("요청 로그 payload 압축 백필 완료");
+        } else {
+            log.debug("요청 로그 payload 압축 백필: {}건", rows);
+        }
+        return rows;
+    }
+
+    private int backfillRequestLogs(int batchSize) {
+        List<LegacyRequestLogPayload> rows = jdbcTemplate.query(SELECT_REQUEST_LOGS_SQL,
+            (rs, rowNum) -> new LegacyRequestLogPayload(
+                rs.getObject("request_id", UUID.class),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getString("request_payload"),
+                rs.getString("response_payload")),
+            batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_REQUEST_LOG_SQL, rows, rows.size(), (ps, row) -> {
+            setBytes(ps, 1, CompressedText.compress(row.requestPayload()));
+            setBytes(ps, 2, CompressedText.compress(row.responsePayload()));
+            ps.setObject(3, row.requestId());
+            ps.setObject(4, row.createdAt());
+        });
+        return rows.size();
+    }
+
+    private int backfillRetrievedDocuments(int batchSize) {
+        List<LegacyDocumentContent> rows = jdbcTemplate.query(SELECT_RETRIEVED_DOCUMENTS_SQL,
+            (rs, rowNum) -> new LegacyDocumentContent(
+                rs.getLong("id"),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getString("content")),
+            batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_RETRIEVED_DOCUMENT_SQL, rows, rows.size(), (ps, row) -> {
+            setBytes(ps, 1, CompressedText.compress(row.content()));
+            ps.setLong(2, row.id());
+            ps.setObject(3, row.createdAt());
+        });
+        return rows.size();
+    }
+
+    private static void setBytes(PreparedStatement ps, int index, byte[] value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BINARY);
+        } else {
+            ps.setBytes(index, value);
+        }
+    }
+
+    private record LegacyRequestLogPayload(
+        UUID requestId, OffsetDateTime createdAt, String requestPayload, String responsePayload) {
+    }
+
+    private record LegacyDocumentContent(long id, OffsetDateTime createdAt, String content) {
+    }
+}
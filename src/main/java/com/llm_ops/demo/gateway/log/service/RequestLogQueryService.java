@@ -1,13 +1,21 @@
 package com.llm_ops.demo.gateway.log.service;
 
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RequestLogPayload;
+import com.llm_ops.demo.gateway.log.dto.RequestLogCursor;
+import com.llm_ops.demo.gateway.log.dto.RequestLogCursorResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogListResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
+import com.llm_ops.demo.gateway.log.dto.projection.RequestLogSummary;
+import com.llm_ops.demo.gateway.log.repository.RequestLogPayloadRepository;
 import com.llm_ops.demo.gateway.log.repository.RequestLogRepository;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository;
 import com.llm_ops.demo.gateway.log.repository.RequestLogSpecification;
+import com.llm_ops.demo.gateway.log.repository.RequestLogSummaryRepository;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,19 +30,27 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class RequestLogQueryService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final RequestLogRepository requestLogRepository;
+    private final RequestLogPayloadRepository requestLogPayloadRepository;
+    private final RequestLogSummaryRepository requestLogSummaryRepository;
+    private final RequestLogRollupRepository requestLogRollupRepository;
 
     /**
-     * 단건 조회 - traceId로 조회
+     * 단건 조회 - traceId로 조회 (상세 조회에서만 payload를 읽어 압축을 풂)
      */
     public RequestLogResponse findByTraceId(Long workspaceId, String traceId) {
         RequestLog log = requestLogRepository.findByWorkspaceIdAndTraceId(workspaceId, traceId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND));
-        return RequestLogResponse.fromDetail(log);
+        RequestLogPayload payload = requestLogPayloadRepository
+                .findByRequestIdAndCreatedAt(log.getRequestId(), log.getCreatedAt())
+                .orElse(null);
+        return RequestLogResponse.fromDetail(log, payload);
     }
 
     /**
-     * 목록 조회 - 검색 조건 + 페이징
+     * 목록 조회 - 검색 조건 + 페이징 (OFFSET + count, 깊은 페이지는 {@link #scroll} 사용)
      */
     public RequestLogListResponse search(Long workspaceId, RequestLogSearchCondition condition, Pageable pageable) {
         RequestLogSearchCondition safeCondition = condition != null ? condition : RequestLogSearchCondition.empty();
@@ -44,4 +60,41 @@ public class RequestLogQueryService {
         Page<RequestLogResponse> responsePage = page.map(RequestLogResponse::fromSummary);
         return RequestLogListResponse.from(responsePage);
     }
+
+    /**
+     * 목록 조회 - 검색 조건 + cursor 페이징
+     * (createdAt DESC, requestId DESC) 순서로 cursor 다음 로그부터 size 건을 읽으며, 한 건 더 읽어 다음 페이지 여부를 판단합니다.
+     *
+     * @param cursor       이전 응답의 nextCursor (첫 페이지면 null)
+     * @param includeTotal true면 롤업 기반 근사 전체 건수를 함께 반환
+     */
+    public RequestLogCursorResponse scroll(
+            Long workspaceId,
+            RequestLogSearchCondition condition,
+            String cursor,
+            int size,
+            boolean includeTotal) {
+        RequestLogSearchCondition safeCondition = condition != null ? condition : RequestLogSearchCondition.empty();
+        RequestLogCursor after = cursor != null && !cursor.isBlank() ? RequestLogCursor.decode(cursor) : null;
+        int pageSize = Math.min(Math.max(size, 1), MAX_SCROLL_SIZE);
+
+        List<RequestLogSummary> rows = requestLogSummaryRepository.findPage(workspaceId, safeCondition, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<RequestLogSummary> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            RequestLogSummary last = page.get(page.size() - 1);
+            nextCursor = new RequestLogCursor(last.createdAt(), last.requestId()).encode();
+        }
+        Long approximateTotal = includeTotal
+                ? requestLogRollupRepository.estimateLogCount(workspaceId, safeCondition)
+                : null;
+
+        return new RequestLogCursorResponse(
+                page.stream().map(RequestLogResponse::fromSummary).toList(),
+                pageSize,
+                hasNext,
+                nextCursor,
+                approximateTotal);
+    }
 }
@@ -0,0 +1,281 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.LatencyHistogram;
+import com.llm_ops.demo.gateway.log.domain.RollupGranularity;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장하는 요청 로그를 분/시/일 롤업(request_log_rollups)에 더하는 저장기입니다. (V36)
+ * <p>
+ * {@link RequestLogBatchWriter}가 로그를 INSERT 하는 트랜잭션 안에서 호출합니다. batch의 로그를
+ * (단위, bucket, 차원)별로 메모리에서 먼저 합친 뒤 키 순서대로 UPSERT 하므로, 롤업 행 수만큼만 쓰고
+ * 여러 인스턴스가 같은 롤업 행을 갱신해도 교착 상태에 빠지지 않습니다.
+ * <p>
+ * latency 히스토그램은 DB 함수로 합치므로 PostgreSQL에서만 동작하고, 다른 DB(테스트 H2)에서는 아무것도 하지 않습니다.
+ */
+@Slf4j
+@Component
+public class RequestLogRollupWriter {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO request_log_rollups (
+            granularity, bucket_start,
+            organization_id, workspace_id, prompt_id, prompt_key, provider, used_model, status, error_code, fail_reason,
+            request_count, total_tokens, estimated_cost,
+            latency_count, latency_sum_ms, latency_histogram,
+            rag_count, rag_hit_count, rag_truncated_count, rag_chunks_sum,
+            rag_similarity_sum, rag_similarity_count, rag_latency_sum_ms, rag_latency_count,
+            rag_score_sum, rag_score_count, updated_at
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
+        ON CONFLICT (organization_id, granularity, bucket_start, workspace_id, prompt_id, prompt_key,
+                     provider, used_model, status, error_code, fail_reason) DO UPDATE SET
+            request_count = request_log_rollups.request_count + EXCLUDED.request_count,
+            total_tokens = request_log_rollups.total_tokens + EXCLUDED.total_tokens,
+            estimated_cost = request_log_rollups.estimated_cost + EXCLUDED.estimated_cost,
+            latency_count = request_log_rollups.latency_count + EXCLUDED.latency_count,
+            latency_sum_ms = request_log_rollups.latency_sum_ms + EXCLUDED.latency_sum_ms,
+            latency_histogram = request_log_histogram_merge(request_log_rollups.latency_histogram, EXCLUDED.latency_histogram),
+            rag_count = request_log_rollups.rag_count + EXCLUDED.rag_count,
+            rag_hit_count = request_log_rollups.rag_hit_count + EXCLUDED.rag_hit_count,
+            rag_truncated_count = request_log_rollups.rag_truncated_count + EXCLUDED.rag_truncated_count,
+            rag_chunks_sum = request_log_rollups.rag_chunks_sum + EXCLUDED.rag_chunks_sum,
+            rag_similarity_sum = request_log_rollups.rag_similarity_sum + EXCLUDED.rag_similarity_sum,
+            rag_similarity_count = request_log_rollups.rag_similarity_count + EXCLUDED.rag_similarity_count,
+            rag_latency_sum_ms = request_log_rollups.rag_latency_sum_ms + EXCLUDED.rag_latency_sum_ms,
+            rag_latency_count = request_log_rollups.rag_latency_count + EXCLUDED.rag_latency_count,
+            rag_score_sum = request_log_rollups.rag_score_sum + EXCLUDED.rag_score_sum,
+            rag_score_count = request_log_rollups.rag_score_count + EXCLUDED.rag_score_count,
+            updated_at = NOW()
+        """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+        DELETE FROM request_log_rollups WHERE granularity = ? AND bucket_start < ?
+        """;
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+        .comparing(RollupKey::organizationId)
+        .thenComparing(RollupKey::granularity)
+        .thenComparing(RollupKey::bucketStart)
+        .thenComparing(RollupKey::workspaceId)
+        .thenComparing(RollupKey::promptId)
+        .thenComparing(RollupKey::promptKey)
+        .thenComparing(RollupKey::provider)
+        .thenComparing(RollupKey::usedModel)
+        .thenComparing(RollupKey::status)
+        .thenComparing(RollupKey::errorCode)
+        .thenComparing(RollupKey::failReason);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RequestLogWriteProperties.Rollup properties;
+    private final Clock clock;
+    private volatile Boolean supported;
+
+    @Autowired
+    public RequestLogRollupWriter(JdbcTemplate jdbcTemplate, RequestLogWriteProperties properties) {
+        this(jdbcTemplate, properties, Clock.systemUTC());
+    }
+
+    RequestLogRollupWriter(JdbcTemplate jdbcTemplate, RequestLogWriteProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getRollup();
+        this.clock = clock;
+    }
+
+    /**
+     * 로그를 롤업에 더합니다. 호출하는 쪽의 트랜잭션 안에서 실행됩니다.
+     */
+    void write(List<RequestLogRow> rows) {
+        if (rows.isEmpty() || !isSupported()) {
+            return;
+        }
+        List<Map.Entry<RollupKey, RollupValue>> rollups = new ArrayList<>(aggregate(rows).entrySet());
+        rollups.sort(Map.Entry.comparingByKey(KEY_ORDER));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rollups, rollups.size(),
+            (ps, rollup) -> bind(ps, rollup.getKey(), rollup.getValue()));
+    }
+
+    /**
+     * 보존 기간이 지난 분/시 롤업을 지웁니다. 일 롤업은 지우지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.request-log.rollup.cleanup-interval-ms:3600000}",
+        scheduler = "requestLogScheduler")
+    public void deleteExpired() {
+        if (!isSupported()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        int minutes = jdbcTemplate.update(DELETE_EXPIRED_SQL, RollupGranularity.MINUTE.name(),
+            now.minusDays(properties.resolvedMinuteRetentionDays()));
+        int hours = jdbcTemplate.update(DELETE_EXPIRED_SQL, RollupGranularity.HOUR.name(),
+            now.minusDays(properties.resolvedHourRetentionDays()));
+        if (minutes + hours > 0) {
+            log.info("보존 기간이 지난 요청 로그 롤업 삭제: 분 {}건, 시 {}건", minutes, hours);
+        }
+    }
+
+    static Map<RollupKey, RollupValue> aggregate(List<RequestLogRow> rows) {
+        Map<RollupKey, RollupValue> rollups = new HashMap<>();
+        for (RequestLogRow row : rows) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                rollups.computeIfAbsent(RollupKey.of(granularity, row), ignored -> new RollupValue()).add(row);
+            }
+        }
+        return rollups;
+    }
+
+    private boolean isSupported() {
+        Boolean result = supported;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            supported = result;
+        }
+        return result;
+    }
+
+    private static void bind(PreparedStatement ps, RollupKey key, RollupValue value) throws SQLException {
+        int i = 1;
+        ps.setString(i++, key.granularity().name());
+        ps.setObject(i++, key.bucketStart());
+        ps.setLong(i++, key.organizationId());
+        ps.setLong(i++, key.workspaceId());
+        ps.setLong(i++, key.promptId());
+        ps.setString(i++, key.promptKey());
+        ps.setString(i++, key.provider());
+        ps.setString(i++, key.usedModel());
+        ps.setString(i++, key.status());
+        ps.setString(i++, key.errorCode());
+        ps.setString(i++, key.failReason());
+        ps.setLong(i++, value.requestCount);
+        ps.setLong(i++, value.totalTokens);
+        ps.setBigDecimal(i++, value.estimatedCost);
+        ps.setLong(i++, value.latencyCount);
+        ps.setLong(i++, value.latencySumMs);
+        ps.setArray(i++, ps.getConnection().createArrayOf("bigint", value.latencyHistogram.toStored()));
+        ps.setLong(i++, value.ragCount);
+        ps.setLong(i++, value.ragHitCount);
+        ps.setLong(i++, value.ragTruncatedCount);
+        ps.setLong(i++, value.ragChunksSum);
+        ps.setDouble(i++, value.ragSimilaritySum);
+        ps.setLong(i++, value.ragSimilarityCount);
+        ps.setLong(i++, value.ragLatencySumMs);
+        ps.setLong(i++, value.ragLatencyCount);
+        ps.setDouble(i++, value.ragScoreSum);
+        ps.setLong(i, value.ragScoreCount);
+    }
+
+    /**
+     * 롤업 행의 키입니다. nullable 차원은 DB와 같은 기본값(0, '')으로 바꿔 둡니다.
+     */
+    record RollupKey(
+        RollupGranularity granularity,
+        LocalDateTime bucketStart,
+        long organizationId,
+        long workspaceId,
+        long promptId,
+        String promptKey,
+        String provider,
+        String usedModel,
+        String status,
+        String errorCode,
+        String failReason) {
+
+        static RollupKey of(RollupGranularity granularity, RequestLogRow row) {
+            return new RollupKey(
+                granularity,
+                granularity.floor(row.createdAt()),
+                row.organizationId(),
+                row.workspaceId(),
+                row.promptId() != null ? row.promptId() : 0L,
+                nullToEmpty(row.promptKey()),
+                nullToEmpty(row.provider()),
+                nullToEmpty(row.usedModel()),
+                row.status(),
+                nullToEmpty(row.errorCode()),
+                nullToEmpty(row.failReason()));
+        }
+
+        private static String nullToEmpty(String value) {
+            return value != null ? value : "";
+        }
+    }
+
+    static final class RollupValue {
+
+        long requestCount;
+        long totalTokens;
+        BigDecimal estimatedCost = BigDecimal.ZERO;
+        long latencyCount;
+        long latencySumMs;
+        final LatencyHistogram latencyHistogram = LatencyHistogram.empty();
+        long ragCount;
+        long ragHitCount;
+        long ragTruncatedCount;
+        long ragChunksSum;
+        double ragSimilaritySum;
+        long ragSimilarityCount;
+        long ragLatencySumMs;
+        long ragLatencyCount;
+        double ragScoreSum;
+        long ragScoreCount;
+
+        void add(RequestLogRow row) {
+            requestCount++;
+            if (row.totalTokens() != null) {
+                totalTokens += row.totalTokens();
+            }
+            if (row.estimatedCost() != null) {
+                estimatedCost = estimatedCost.add(row.estimatedCost());
+            }
+            if (row.latencyMs() != null) {
+                latencyCount++;
+                latencySumMs += row.latencyMs();
+                latencyHistogram.record(row.latencyMs());
+            }
+            if (!row.ragEnabled()) {
+                return;
+            }
+            ragCount++;
+            if (row.ragChunksCount() != null) {
+                ragChunksSum += row.ragChunksCount();
+                if (row.ragChunksCount() > 0) {
+                    ragHitCount++;
+                }
+            }
+            if (Boolean.TRUE.equals(row.ragContextTruncated())) {
+                ragTruncatedCount++;
+            }
+            if (row.ragSimilarityThreshold() != null) {
+                ragSimilaritySum += row.ragSimilarityThreshold();
+                ragSimilarityCount++;
+            }
+            if (row.ragLatencyMs() != null) {
+                ragLatencySumMs += row.ragLatencyMs();
+                ragLatencyCount++;
+            }
+            for (RequestLogRow.DocumentRow document : row.documents()) {
+                if (document.score() != null) {
+                    ragScoreSum += document.score();
+                    ragScoreCount++;
+                }
+            }
+        }
+    }
+}
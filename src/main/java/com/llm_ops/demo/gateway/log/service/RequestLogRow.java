@@ -0,0 +1,140 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RetrievedDocument;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 저장할 request_logs 한 행과 그 요청의 retrieved_documents입니다.
+ * 저장 큐와 로컬 spool 파일에 이 형태로 넣으며, spool에는 JSON으로 직렬화합니다.
+ *
+ * @param createdAt 요청 시작 시각
+ */
+record RequestLogRow(
+        UUID requestId,
+        String traceId,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt,
+        Integer latencyMs,
+        Long organizationId,
+        Long workspaceId,
+        Long apiKeyId,
+        String apiKeyPrefix,
+        String requestPath,
+        String httpMethod,
+        Integer httpStatus,
+        String status,
+        String errorCode,
+        String errorMessage,
+        String failReason,
+        String promptKey,
+        Long promptId,
+        Long promptVersionId,
+        String requestedModel,
+        String usedModel,
+        String provider,
+        boolean failover,
+        Integer inputTokens,
+        Integer outputTokens,
+        Integer totalTokens,
+        BigDecimal estimatedCost,
+        String currency,
+        String pricingVersion,
+        boolean ragEnabled,
+        Integer ragTopK,
+        Double ragSimilarityThreshold,
+        Integer ragLatencyMs,
+        Integer ragChunksCount,
+        Integer ragContextChars,
+        Boolean ragContextTruncated,
+        String ragContextHash,
+        Integer ttftMs,
+        Double outputTokensPerSecond,
+        boolean cacheHit,
+        boolean coalesced,
+        boolean hedged,
+        Integer hedgeDelayMs,
+        String hedgeWinner,
+        String hedgeLoserStatus,
+        Integer hedgeLoserInputTokens,
+        Integer hedgeLoserOutputTokens,
+        BigDecimal hedgeLoserEstimatedCost,
+        String requestPayload,
+        String responsePayload,
+        String requestSource,
+        List<DocumentRow> documents) {
+
+    static RequestLogRow from(RequestLog requestLog, LocalDateTime createdAt) {
+        List<DocumentRow> documents = requestLog.getRetrievedDocuments().stream()
+                .map(DocumentRow::from)
+                .toList();
+        return new RequestLogRow(
+                requestLog.getRequestId(),
+                requestLog.getTraceId(),
+                createdAt,
+                requestLog.getFinishedAt(),
+                requestLog.getLatencyMs(),
+                requestLog.getOrganizationId(),
+                requestLog.getWorkspaceId(),
+                requestLog.getApiKeyId(),
+                requestLog.getApiKeyPrefix(),
+                requestLog.getRequestPath(),
+                requestLog.getHttpMethod(),
+                requestLog.getHttpStatus(),
+                requestLog.getStatus().name(),
+                requestLog.getErrorCode(),
+                requestLog.getErrorMessage(),
+                requestLog.getFailReason(),
+                requestLog.getPromptKey(),
+                requestLog.getPromptId(),
+                requestLog.getPromptVersionId(),
+                requestLog.getRequestedModel(),
+                requestLog.getUsedModel(),
+                requestLog.getProvider(),
+                requestLog.isFailover(),
+                requestLog.getInputTokens(),
+                requestLog.getOutputTokens(),
+                requestLog.getTotalTokens(),
+                requestLog.getEstimatedCost(),
+                requestLog.getCurrency(),
+                requestLog.getPricingVersion(),
+                requestLog.isRagEnabled(),
+                requestLog.getRagTopK(),
+                requestLog.getRagSimilarityThreshold(),
+                requestLog.getRagLatencyMs(),
+                requestLog.getRagChunksCount(),
+                requestLog.getRagContextChars(),
+                requestLog.getRagContextTruncated(),
+                requestLog.getRagContextHash(),
+                requestLog.getTtftMs(),
+                requestLog.getOutputTokensPerSecond(),
+                requestLog.isCacheHit(),
+                requestLog.isCoalesced(),
+                requestLog.isHedged(),
+                requestLog.getHedgeDelayMs(),
+                requestLog.getHedgeWinner(),
+                requestLog.getHedgeLoserStatus(),
+                requestLog.getHedgeLoserInputTokens(),
+                requestLog.getHedgeLoserOutputTokens(),
+                requestLog.getHedgeLoserEstimatedCost(),
+                requestLog.getRequestPayload(),
+                requestLog.getResponsePayload(),
+                requestLog.getRequestSource(),
+                documents);
+    }
+
+    record DocumentRow(String documentName, Double score, String content, Integer durationMs, int ranking) {
+
+        static DocumentRow from(RetrievedDocument document) {
+            return new DocumentRow(
+                    document.getDocumentName(),
+                    document.getScore(),
+                    document.getContent(),
+                    document.getDurationMs(),
+                    document.getRanking());
+        }
+    }
+}
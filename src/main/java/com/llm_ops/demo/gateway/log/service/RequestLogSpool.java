@@ -0,0 +1,396 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * DB에 바로 쓰지 못한 요청 로그를 옮겨 두는 append-only 로컬 spool입니다.
+ * <p>
+ * 고정 크기 세그먼트 파일을 메모리 매핑해 레코드를 이어 붙이고, 세그먼트가 가득 차면 디스크에 반영(force)한 뒤 다음 세그먼트를 만듭니다.
+ * 레코드는 {@code [payload 길이][payload CRC32C][spool에 쓴 시각(epoch ms)][payload(JSON)]} 형식이며,
+ * 비정상 종료로 끝이 잘린 레코드는 재시작 시 CRC로 걸러 냅니다.
+ * <p>
+ * 읽은 위치는 메모리에만 두므로 재시작하면 남아 있는 세그먼트를 처음부터 다시 읽습니다.
+ * 따라서 spool을 DB에 다시 쓰는 쪽은 request_id 기준으로 멱등하게 저장해야 합니다.
+ */
+@Slf4j
+@Component
+public class RequestLogSpool {
+
+    private static final String SEGMENT_PREFIX = "request-log-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final int LENGTH_OFFSET = 0;
+    private static final int CRC_OFFSET = Integer.BYTES;
+    private static final int APPENDED_AT_OFFSET = Integer.BYTES * 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    private final GatewayMetrics gatewayMetrics;
+    private final Clock clock;
+
+    // 아래 상태는 모두 this로 동기화합니다.
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private long pendingRecords;
+    private long pendingBytes;
+
+    @Autowired
+    public RequestLogSpool(RequestLogWriteProperties properties, ObjectMapper objectMapper, GatewayMetrics gatewayMetrics) {
+        this(properties, objectMapper, gatewayMetrics, Clock.systemUTC());
+    }
+
+    RequestLogSpool(RequestLogWriteProperties properties, ObjectMapper objectMapper, GatewayMetrics gatewayMetrics, Clock clock) {
+        RequestLogWriteProperties.Spool spool = properties.getSpool();
+        this.enabled = spool.isEnabled();
+        this.directory = Paths.get(spool.resolvedDirectory());
+        this.segmentBytes = spool.resolvedSegmentBytes();
+        this.maxBytes = spool.resolvedMaxBytes();
+        this.objectMapper = objectMapper;
+        this.gatewayMetrics = gatewayMetrics;
+        this.clock = clock;
+        if (enabled) {
+            recover();
+        }
+        gatewayMetrics.registerRequestLogSpoolGauges(this::pendingRecords, this::pendingBytes, this::lagSeconds);
+    }
+
+    /**
+     * spool에서 읽어 온 레코드 묶음입니다. DB에 반영한 뒤 {@link #acknowledge(Batch)}로 spool에서 뺍니다.
+     *
+     * @param records 읽은 레코드 수 (읽을 수 없어 버린 레코드 포함)
+     * @param corrupted 읽을 수 없어 버린 레코드 수
+     */
+    record Batch(Segment segment, int endPosition, int records, int bytes, int corrupted, List<RequestLogRow> rows) {
+
+        private static final Batch EMPTY = new Batch(null, 0, 0, 0, 0, List.of());
+
+        boolean isEmpty() {
+            return records == 0;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청 로그를 spool 끝에 씁니다. spool을 쓰지 않거나, 가득 찼거나, 파일에 쓸 수 없으면 false를 반환합니다.
+     */
+    public boolean append(RequestLogRow row) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(row);
+        } catch (IOException e) {
+            log.error("요청 로그를 spool 레코드로 변환하지 못했습니다: requestId={}", row.requestId(), e);
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int recordBytes = HEADER_BYTES + payload.length;
+        synchronized (this) {
+            if (recordBytes > segmentBytes || pendingBytes + recordBytes > maxBytes) {
+                gatewayMetrics.incrementRequestLogSpool("rejected", 1);
+                log.error("spool 한도를 넘어 요청 로그를 버립니다: requestId={}, pendingBytes={}", row.requestId(), pendingBytes);
+                return false;
+            }
+            Segment segment;
+            try {
+                segment = writableSegment(recordBytes);
+            } catch (IOException e) {
+                log.error("spool 세그먼트를 만들지 못했습니다: directory={}", directory, e);
+                return false;
+            }
+            // 길이를 마지막에 써서, 끝까지 쓰지 못한 레코드는 길이 0 또는 CRC 불일치로 보이게 합니다.
+            int position = segment.writePosition;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putLong(position + APPENDED_AT_OFFSET, clock.millis());
+            buffer.putInt(position + CRC_OFFSET, (int) crc.getValue());
+            buffer.putInt(position + LENGTH_OFFSET, payload.length);
+            segment.writePosition = position + recordBytes;
+            segment.dirty = true;
+            pendingRecords++;
+            pendingBytes += recordBytes;
+        }
+        gatewayMetrics.incrementRequestLogSpool("appended", 1);
+        return true;
+    }
+
+    /**
+     * 가장 오래된 세그먼트에서 아직 DB에 반영하지 않은 레코드를 최대 {@code maxRecords}건 읽습니다.
+     * 읽기만 하고 spool에서 빼지는 않습니다.
+     */
+    public Batch read(int maxRecords) {
+        Segment segment;
+        int from;
+        int limit;
+        synchronized (this) {
+            segment = headSegment();
+            if (segment == null) {
+                return Batch.EMPTY;
+            }
+            from = segment.readPosition;
+            limit = segment.writePosition;
+        }
+        List<RequestLogRow> rows = new ArrayList<>();
+        int position = from;
+        int records = 0;
+        int corrupted = 0;
+        while (position < limit && records < maxRecords) {
+            int length = segment.buffer.getInt(position + LENGTH_OFFSET);
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_BYTES, payload);
+            position += HEADER_BYTES + length;
+            records++;
+            try {
+                rows.add(objectMapper.readValue(payload, RequestLogRow.class));
+            } catch (IOException e) {
+                corrupted++;
+                log.error("spool 레코드를 읽을 수 없어 버립니다: segment={}", segment.path, e);
+            }
+        }
+        return new Batch(segment, position, records, position - from, corrupted, rows);
+    }
+
+    /**
+     * DB에 반영한 묶음을 spool에서 뺍니다. 다 읽은 세그먼트는 지웁니다.
+     */
+    public void acknowledge(Batch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            Segment segment = batch.segment();
+            segment.readPosition = batch.endPosition();
+            pendingRecords -= batch.records();
+            pendingBytes -= batch.bytes();
+            headSegment();
+        }
+        gatewayMetrics.incrementRequestLogSpool("replayed", batch.rows().size());
+        if (batch.corrupted() > 0) {
+            gatewayMetrics.incrementRequestLogSpool("corrupted", batch.corrupted());
+        }
+    }
+
+    /**
+     * 쓰기 중인 세그먼트의 변경 내용을 디스크에 반영합니다.
+     * 매핑된 페이지는 프로세스가 죽어도 OS가 기록하므로, 이 호출은 OS/호스트 장애에 대비하는 용도입니다.
+     */
+    public void sync() {
+        Segment segment;
+        synchronized (this) {
+            segment = segments.peekLast();
+            if (segment == null || !segment.dirty) {
+                return;
+            }
+            segment.dirty = false;
+        }
+        segment.buffer.force();
+    }
+
+    public synchronized long pendingRecords() {
+        return pendingRecords;
+    }
+
+    public synchronized long pendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * 가장 오래된 미반영 레코드가 spool에 들어간 뒤 지난 시간(초)입니다. 비어 있으면 0입니다.
+     */
+    public synchronized double lagSeconds() {
+        for (Segment segment : segments) {
+            if (segment.readPosition < segment.writePosition) {
+                long appendedAtMs = segment.buffer.getLong(segment.readPosition + APPENDED_AT_OFFSET);
+                return Math.max(0L, clock.millis() - appendedAtMs) / 1000.0;
+            }
+        }
+        return 0.0;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        for (Segment segment : segments) {
+            if (segment.dirty) {
+                segment.buffer.force();
+            }
+            closeQuietly(segment);
+        }
+        segments.clear();
+    }
+
+    /**
+     * 다 읽은 세그먼트를 앞에서부터 지우고, 남은 가장 오래된 세그먼트를 반환합니다.
+     * 쓰기 중인 세그먼트는 다 읽었어도 남겨 둡니다.
+     */
+    private Segment headSegment() {
+        Segment head = segments.peekFirst();
+        while (head != null && head.sealed && head.readPosition >= head.writePosition) {
+            segments.pollFirst();
+            closeQuietly(head);
+            try {
+                Files.deleteIfExists(head.path);
+            } catch (IOException e) {
+                log.warn("다 읽은 spool 세그먼트를 지우지 못했습니다: {}", head.path, e);
+            }
+            head = segments.peekFirst();
+        }
+        return head;
+    }
+
+    private Segment writableSegment(int recordBytes) throws IOException {
+        Segment active = segments.peekLast();
+        if (active != null && !active.sealed) {
+            if (active.buffer.capacity() - active.writePosition >= recordBytes) {
+                return active;
+            }
+            active.buffer.force();
+            active.dirty = false;
+            active.sealed = true;
+        }
+        Files.createDirectories(directory);
+        long sequence = nextSequence++;
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%020d", sequence) + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment created = new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        segments.addLast(created);
+        return created;
+    }
+
+    /**
+     * 이전 실행에서 남은 세그먼트를 읽을 수 있는 레코드 끝까지 확인해 spool에 다시 올립니다.
+     * 남은 세그먼트에는 더 쓰지 않고, 새 로그는 새 세그먼트에 씁니다.
+     */
+    private void recover() {
+        List<Path> files;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(RequestLogSpool::isSegment)
+                        .sorted(Comparator.comparingLong(RequestLogSpool::sequenceOf))
+                        .toList();
+            }
+        } catch (IOException e) {
+            log.error("spool 디렉터리를 읽지 못했습니다: directory={}", directory, e);
+            return;
+        }
+        for (Path file : files) {
+            nextSequence = Math.max(nextSequence, sequenceOf(file) + 1);
+            try {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                long size = channel.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                    channel.close();
+                    Files.delete(file);
+                    continue;
+                }
+                Segment segment = new Segment(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+                segment.sealed = true;
+                scan(segment);
+                if (segment.writePosition == 0) {
+                    closeQuietly(segment);
+                    Files.delete(file);
+                    continue;
+                }
+                segments.addLast(segment);
+            } catch (IOException e) {
+                log.error("spool 세그먼트를 열지 못했습니다: {}", file, e);
+            }
+        }
+        if (pendingRecords > 0) {
+            log.warn("이전 실행에서 DB에 반영하지 못한 요청 로그 {}건을 spool에서 복구했습니다.", pendingRecords);
+        }
+    }
+
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int capacity = buffer.capacity();
+        int position = 0;
+        while (position + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(position + LENGTH_OFFSET);
+            if (length <= 0 || length > capacity - position - HEADER_BYTES) {
+                break;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(position + HEADER_BYTES, length));
+            if ((int) crc.getValue() != buffer.getInt(position + CRC_OFFSET)) {
+                log.warn("spool 세그먼트 끝의 잘린 레코드를 무시합니다: segment={}, position={}", segment.path, position);
+                break;
+            }
+            position += HEADER_BYTES + length;
+            pendingRecords++;
+        }
+        segment.writePosition = position;
+        pendingBytes += position;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX) && sequenceOf(path) >= 0;
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1L;
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("spool 세그먼트를 닫지 못했습니다: {}", segment.path, e);
+        }
+    }
+
+    /**
+     * 메모리 매핑한 세그먼트 파일 하나입니다. 위치 필드는 {@link RequestLogSpool}의 락 안에서만 바꿉니다.
+     */
+    static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+        private boolean sealed;
+        private boolean dirty;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
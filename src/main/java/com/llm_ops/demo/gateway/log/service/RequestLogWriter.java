@@ -1,37 +1,73 @@
 package com.llm_ops.demo.gateway.log.service;
 
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
-import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
 import com.llm_ops.demo.gateway.log.domain.RetrievedDocument;
-import com.llm_ops.demo.gateway.log.repository.RequestLogRepository;
+import jakarta.annotation.PreDestroy;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 요청 로그를 요청이 진행되는 동안 메모리에서 만들고, 끝날 때 한 번만 저장합니다.
+ * <p>
+ * {@link #start}는 DB에 쓰지 않고 메모리에 로그를 등록하며, markSuccess/markFail/markBlocked가 최종 값을 채운 뒤
+ * {@link RequestLogBatchWriter}에 넘겨 request_logs와 retrieved_documents를 batch INSERT 하게 합니다.
+ * 끝나지 않고 {@code gateway.request-log.pending-timeout-ms}를 넘긴 로그는 IN_PROGRESS 상태로 저장합니다.
+ */
 @Slf4j
 @Service
 public class RequestLogWriter {
 
-        private final RequestLogRepository requestLogRepository;
+        private final RequestLogBatchWriter batchWriter;
+        private final RequestLogWriteProperties properties;
+        private final LongSupplier nanoClock;
         private final Clock clock = Clock.systemUTC();
+        private final ConcurrentHashMap<UUID, PendingLog> pending = new ConcurrentHashMap<>();
 
-        public RequestLogWriter(RequestLogRepository requestLogRepository) {
-                this.requestLogRepository = requestLogRepository;
+        @Autowired
+        public RequestLogWriter(RequestLogBatchWriter batchWriter, RequestLogWriteProperties properties) {
+                this(batchWriter, properties, System::nanoTime);
+        }
+
+        RequestLogWriter(RequestLogBatchWriter batchWriter, RequestLogWriteProperties properties, LongSupplier nanoClock) {
+                this.batchWriter = batchWriter;
+                this.properties = properties;
+                this.nanoClock = nanoClock;
         }
 
         /**
-         * 로그 시작을 동기로 저장합니다.
-         * requestId를 반환해야 하므로 동기로 유지합니다.
+         * 로그를 메모리에 시작합니다. DB에는 요청이 끝날 때 한 번만 저장합니다.
+         * 시작/종료 시각은 통계 롤업 bucket과 같은 UTC 기준으로 기록합니다.
          */
-        @Transactional
         public UUID start(StartRequest request) {
+                RequestLog requestLog = toStartedLog(request);
+                pending.put(requestLog.getRequestId(),
+                                new PendingLog(requestLog, LocalDateTime.now(clock), nanoClock.getAsLong()));
+                return requestLog.getRequestId();
+        }
+
+        /**
+         * 배치 요청의 시작 로그를 함께 등록합니다. 반환 순서는 입력 순서와 같습니다.
+         */
+        public List<UUID> startAll(List<StartRequest> requests) {
+                return requests.stream()
+                                .map(this::start)
+                                .toList();
+        }
+
+        private static RequestLog toStartedLog(StartRequest request) {
                 UUID requestId = request.requestId() != null ? request.requestId() : UUID.randomUUID();
-                RequestLog requestLog = RequestLog.loggingStart(
+                return RequestLog.loggingStart(
                                 requestId,
                                 request.traceId(),
                                 request.organizationId(),
@@ -44,23 +80,18 @@ public class RequestLogWriter {
                                 request.ragEnabled(),
                                 request.requestPayload(),
                                 request.requestSource());
-                requestLogRepository.save(requestLog);
-                return requestId;
         }
 
         /**
-         * 성공 로그를 비동기로 업데이트합니다.
-         * API 응답 시간에 영향을 주지 않도록 별도 스레드에서 처리합니다.
+         * 성공 로그를 완성해 저장 큐에 넘깁니다.
          */
-        @Async("logExecutor")
-        @Transactional
         public void markSuccess(UUID requestId, SuccessUpdate update) {
+                PendingLog pendingLog = takePending(requestId);
+                if (pendingLog == null) {
+                        return;
+                }
                 try {
-                        RequestLog requestLog = requestLogRepository.findById(requestId).orElse(null);
-                        if (requestLog == null) {
-                                log.error("RequestLog를 찾을 수 없음: requestId={}", requestId);
-                                return;
-                        }
+                        RequestLog requestLog = pendingLog.requestLog();
                         requestLog.fillPromptInfo(update.promptId(), update.promptVersionId());
                         requestLog.fillModelUsage(
                                         update.provider(),
@@ -80,33 +111,33 @@ public class RequestLogWriter {
                                         update.ragContextHash(),
                                         update.ragTopK(),
                                         update.ragSimilarityThreshold());
-
-                        RequestLogStatus previousStatus = requestLog.getStatus();
+                        requestLog.fillStreamMetrics(update.ttftMs(), update.outputTokensPerSecond());
+                        if (update.cacheHit()) {
+                                requestLog.markCacheHit();
+                        }
+                        if (update.coalesced()) {
+                                requestLog.markCoalesced();
+                        }
+                        fillHedge(requestLog, update.hedge());
                         requestLog.markSuccess(LocalDateTime.now(clock), update.httpStatus(), update.latencyMs(),
                                         update.failReason(), update.responsePayload());
-
-                        // 상태 전이가 실제로 일어난 경우에만 RetrievedDocument를 저장합니다.
-                        if (hasTransitionedTo(previousStatus, requestLog.getStatus(), RequestLogStatus.SUCCESS)) {
-                                saveRetrievedDocuments(requestLog, update.retrievedDocuments());
-                        }
+                        addRetrievedDocuments(requestLog, update.retrievedDocuments());
+                        submit(pendingLog);
                 } catch (Exception e) {
                         log.error("로그 성공 기록 실패: requestId={}", requestId, e);
                 }
         }
 
         /**
-         * 실패 로그를 비동기로 업데이트합니다.
-         * API 응답 시간에 영향을 주지 않도록 별도 스레드에서 처리합니다.
+         * 실패 로그를 완성해 저장 큐에 넘깁니다.
          */
-        @Async("logExecutor")
-        @Transactional
         public void markFail(UUID requestId, FailUpdate update) {
+                PendingLog pendingLog = takePending(requestId);
+                if (pendingLog == null) {
+                        return;
+                }
                 try {
-                        RequestLog requestLog = requestLogRepository.findById(requestId).orElse(null);
-                        if (requestLog == null) {
-                                log.error("RequestLog를 찾을 수 없음: requestId={}", requestId);
-                                return;
-                        }
+                        RequestLog requestLog = pendingLog.requestLog();
                         requestLog.fillPromptInfo(update.promptId(), update.promptVersionId());
                         requestLog.fillModelUsage(
                                         update.provider(),
@@ -126,8 +157,7 @@ public class RequestLogWriter {
                                         update.ragContextHash(),
                                         update.ragTopK(),
                                         update.ragSimilarityThreshold());
-
-                        RequestLogStatus previousStatus = requestLog.getStatus();
+                        fillHedge(requestLog, update.hedge());
                         requestLog.markFail(
                                         LocalDateTime.now(clock),
                                         update.httpStatus(),
@@ -136,29 +166,24 @@ public class RequestLogWriter {
                                         update.errorMessage(),
                                         update.failReason(),
                                         update.responsePayload());
-
-                        // 상태 전이가 실제로 일어난 경우에만 RetrievedDocument를 저장합니다.
-                        if (hasTransitionedTo(previousStatus, requestLog.getStatus(), RequestLogStatus.FAIL)) {
-                                saveRetrievedDocuments(requestLog, update.retrievedDocuments());
-                        }
+                        addRetrievedDocuments(requestLog, update.retrievedDocuments());
+                        submit(pendingLog);
                 } catch (Exception e) {
                         log.error("로그 실패 기록 실패: requestId={}", requestId, e);
                 }
         }
 
         /**
-         * 차단 로그를 비동기로 업데이트합니다.
+         * 차단 로그를 완성해 저장 큐에 넘깁니다.
          * (예: 예산 초과 등)
          */
-        @Async("logExecutor")
-        @Transactional
         public void markBlocked(UUID requestId, BlockUpdate update) {
+                PendingLog pendingLog = takePending(requestId);
+                if (pendingLog == null) {
+                        return;
+                }
                 try {
-                        RequestLog requestLog = requestLogRepository.findById(requestId).orElse(null);
-                        if (requestLog == null) {
-                                log.error("RequestLog를 찾을 수 없음: requestId={}", requestId);
-                                return;
-                        }
+                        RequestLog requestLog = pendingLog.requestLog();
                         requestLog.fillPromptInfo(update.promptId(), update.promptVersionId());
                         requestLog.fillModelUsage(
                                         update.provider(),
@@ -178,8 +203,6 @@ public class RequestLogWriter {
                                         update.ragContextHash(),
                                         update.ragTopK(),
                                         update.ragSimilarityThreshold());
-
-                        RequestLogStatus previousStatus = requestLog.getStatus();
                         requestLog.markBlocked(
                                         LocalDateTime.now(clock),
                                         update.httpStatus(),
@@ -188,20 +211,67 @@ public class RequestLogWriter {
                                         update.errorMessage(),
                                         update.failReason(),
                                         update.responsePayload());
-
-                        // 상태 전이가 실제로 일어난 경우에만 RetrievedDocument를 저장합니다.
-                        if (hasTransitionedTo(previousStatus, requestLog.getStatus(), RequestLogStatus.BLOCKED)) {
-                                saveRetrievedDocuments(requestLog, update.retrievedDocuments());
-                        }
+                        addRetrievedDocuments(requestLog, update.retrievedDocuments());
+                        submit(pendingLog);
                 } catch (Exception e) {
                         log.error("로그 차단 기록 실패: requestId={}", requestId, e);
                 }
         }
 
         /**
-         * RAG 검색 결과 문서를 RequestLog에 연결하여 저장합니다.
+         * 시작한 뒤 {@code pending-timeout-ms}가 지나도록 끝나지 않은 로그를 IN_PROGRESS 상태로 저장하고 메모리에서 뺍니다.
+         * 저장한 로그 수를 반환합니다.
          */
-        private void saveRetrievedDocuments(RequestLog requestLog, List<RetrievedDocumentInfo> documents) {
+        @Scheduled(fixedDelayString = "${gateway.request-log.pending-sweep-interval-ms:60000}", scheduler = "requestLogScheduler")
+        public int flushAbandoned() {
+                long now = nanoClock.getAsLong();
+                long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.resolvedPendingTimeoutMs());
+                int flushed = 0;
+                for (Map.Entry<UUID, PendingLog> entry : pending.entrySet()) {
+                        PendingLog pendingLog = entry.getValue();
+                        if (now - pendingLog.startedAtNanos() >= timeoutNanos && pending.remove(entry.getKey(), pendingLog)) {
+                                submit(pendingLog);
+                                flushed++;
+                        }
+                }
+                if (flushed > 0) {
+                        log.warn("끝나지 않은 요청 로그 {}건을 IN_PROGRESS 상태로 저장했습니다.", flushed);
+                }
+                return flushed;
+        }
+
+        /**
+         * 종료 시 아직 끝나지 않은 요청의 로그를 IN_PROGRESS 상태로 저장합니다.
+         */
+        @PreDestroy
+        public void shutdown() {
+                pending.forEach((requestId, pendingLog) -> {
+                        if (pending.remove(requestId, pendingLog)) {
+                                submit(pendingLog);
+                        }
+                });
+        }
+
+        public int pendingCount() {
+                return pending.size();
+        }
+
+        private PendingLog takePending(UUID requestId) {
+                PendingLog pendingLog = pending.remove(requestId);
+                if (pendingLog == null) {
+                        log.error("RequestLog를 찾을 수 없음: requestId={}", requestId);
+                }
+                return pendingLog;
+        }
+
+        private void submit(PendingLog pendingLog) {
+                batchWriter.submit(RequestLogRow.from(pendingLog.requestLog(), pendingLog.createdAt()));
+        }
+
+        /**
+         * RAG 검색 결과 문서를 RequestLog에 연결합니다. 저장은 로그 행과 함께 batch로 합니다.
+         */
+        private static void addRetrievedDocuments(RequestLog requestLog, List<RetrievedDocumentInfo> documents) {
                 if (documents == null || documents.isEmpty()) {
                         return;
                 }
@@ -217,11 +287,21 @@ public class RequestLogWriter {
                 requestLog.addRetrievedDocuments(entities);
         }
 
-        private static boolean hasTransitionedTo(
-                        RequestLogStatus before,
-                        RequestLogStatus after,
-                        RequestLogStatus target) {
-                return before != target && after == target;
+        private static void fillHedge(RequestLog requestLog, HedgeInfo hedge) {
+                if (hedge != null) {
+                        requestLog.fillHedge(hedge.delayMs(), hedge.winner());
+                        requestLog.fillHedgeLoser(hedge.loserStatus(), hedge.loserInputTokens(),
+                                        hedge.loserOutputTokens(), hedge.loserEstimatedCost());
+                }
+        }
+
+        /**
+         * 메모리에서 진행 중인 요청 로그입니다.
+         *
+         * @param createdAt      요청 시작 시각, UTC (request_logs.created_at)
+         * @param startedAtNanos 끝나지 않은 로그를 정리할 때 쓰는 시작 시점
+         */
+        private record PendingLog(RequestLog requestLog, LocalDateTime createdAt, long startedAtNanos) {
         }
 
         // ===== Inner Records =====
@@ -264,7 +344,82 @@ public class RequestLogWriter {
                         Double ragSimilarityThreshold,
                         String failReason,
                         String responsePayload,
-                        List<RetrievedDocumentInfo> retrievedDocuments) {
+                        List<RetrievedDocumentInfo> retrievedDocuments,
+                        Integer ttftMs,
+                        Double outputTokensPerSecond,
+                        boolean cacheHit,
+                        boolean coalesced,
+                        HedgeInfo hedge) {
+
+                /**
+                 * 캐시 적중/single-flight 합류/hedging이 아닌 요청용 생성자입니다.
+                 */
+                public SuccessUpdate(
+                                Integer httpStatus,
+                                Integer latencyMs,
+                                Long promptId,
+                                Long promptVersionId,
+                                String provider,
+                                String requestedModel,
+                                String usedModel,
+                                boolean isFailover,
+                                Integer inputTokens,
+                                Integer outputTokens,
+                                Integer totalTokens,
+                                java.math.BigDecimal estimatedCost,
+                                String pricingVersion,
+                                Integer ragLatencyMs,
+                                Integer ragChunksCount,
+                                Integer ragContextChars,
+                                Boolean ragContextTruncated,
+                                String ragContextHash,
+                                Integer ragTopK,
+                                Double ragSimilarityThreshold,
+                                String failReason,
+                                String responsePayload,
+                                List<RetrievedDocumentInfo> retrievedDocuments,
+                                Integer ttftMs,
+                                Double outputTokensPerSecond) {
+                        this(httpStatus, latencyMs, promptId, promptVersionId, provider, requestedModel, usedModel,
+                                        isFailover, inputTokens, outputTokens, totalTokens, estimatedCost, pricingVersion,
+                                        ragLatencyMs, ragChunksCount, ragContextChars, ragContextTruncated, ragContextHash,
+                                        ragTopK, ragSimilarityThreshold, failReason, responsePayload, retrievedDocuments,
+                                        ttftMs, outputTokensPerSecond, false, false, null);
+                }
+
+                /**
+                 * 스트리밍 지표가 없는 일반(비스트리밍) 요청용 생성자입니다.
+                 */
+                public SuccessUpdate(
+                                Integer httpStatus,
+                                Integer latencyMs,
+                                Long promptId,
+                                Long promptVersionId,
+                                String provider,
+                                String requestedModel,
+                                String usedModel,
+                                boolean isFailover,
+                                Integer inputTokens,
+                                Integer outputTokens,
+                                Integer totalTokens,
+                                java.math.BigDecimal estimatedCost,
+                                String pricingVersion,
+                                Integer ragLatencyMs,
+                                Integer ragChunksCount,
+                                Integer ragContextChars,
+                                Boolean ragContextTruncated,
+                                String ragContextHash,
+                                Integer ragTopK,
+                                Double ragSimilarityThreshold,
+                                String failReason,
+                                String responsePayload,
+                                List<RetrievedDocumentInfo> retrievedDocuments) {
+                        this(httpStatus, latencyMs, promptId, promptVersionId, provider, requestedModel, usedModel,
+                                        isFailover, inputTokens, outputTokens, totalTokens, estimatedCost, pricingVersion,
+                                        ragLatencyMs, ragChunksCount, ragContextChars, ragContextTruncated, ragContextHash,
+                                        ragTopK, ragSimilarityThreshold, failReason, responsePayload, retrievedDocuments,
+                                        null, null, false, false, null);
+                }
         }
 
         public record FailUpdate(
@@ -292,7 +447,44 @@ public class RequestLogWriter {
                         Integer ragTopK,
                         Double ragSimilarityThreshold,
                         String responsePayload,
-                        List<RetrievedDocumentInfo> retrievedDocuments) {
+                        List<RetrievedDocumentInfo> retrievedDocuments,
+                        HedgeInfo hedge) {
+
+                /**
+                 * hedging이 없는 요청용 생성자입니다.
+                 */
+                public FailUpdate(
+                                Integer httpStatus,
+                                Integer latencyMs,
+                                Long promptId,
+                                Long promptVersionId,
+                                String provider,
+                                String requestedModel,
+                                String usedModel,
+                                boolean isFailover,
+                                Integer inputTokens,
+                                Integer outputTokens,
+                                Integer totalTokens,
+                                java.math.BigDecimal estimatedCost,
+                                String pricingVersion,
+                                String errorCode,
+                                String errorMessage,
+                                String failReason,
+                                Integer ragLatencyMs,
+                                Integer ragChunksCount,
+                                Integer ragContextChars,
+                                Boolean ragContextTruncated,
+                                String ragContextHash,
+                                Integer ragTopK,
+                                Double ragSimilarityThreshold,
+                                String responsePayload,
+                                List<RetrievedDocumentInfo> retrievedDocuments) {
+                        this(httpStatus, latencyMs, promptId, promptVersionId, provider, requestedModel, usedModel,
+                                        isFailover, inputTokens, outputTokens, totalTokens, estimatedCost, pricingVersion,
+                                        errorCode, errorMessage, failReason, ragLatencyMs, ragChunksCount, ragContextChars,
+                                        ragContextTruncated, ragContextHash, ragTopK, ragSimilarityThreshold, responsePayload,
+                                        retrievedDocuments, null);
+                }
         }
 
         public record BlockUpdate(
@@ -323,6 +515,38 @@ public class RequestLogWriter {
                         List<RetrievedDocumentInfo> retrievedDocuments) {
         }
 
+        /**
+         * hedging(2차 경로 병렬 호출) 기록입니다.
+         *
+         * @param delayMs            2차 경로를 호출하기까지 기다린 시간
+         * @param winner             먼저 성공한 경로(primary/secondary), 모두 실패하면 null
+         * @param loserStatus        채택되지 않은 경로의 결과(completed/cancelled/failed), 승자가 없으면 null
+         * @param loserInputTokens   채택되지 않은 경로의 입력 토큰 (cancelled면 추정치)
+         * @param loserOutputTokens  채택되지 않은 경로의 출력 토큰 (completed일 때만)
+         * @param loserEstimatedCost 채택되지 않은 경로의 예상 비용 (예산 사용량에도 같은 값을 반영)
+         */
+        public record HedgeInfo(
+                        Integer delayMs,
+                        String winner,
+                        String loserStatus,
+                        Integer loserInputTokens,
+                        Integer loserOutputTokens,
+                        java.math.BigDecimal loserEstimatedCost) {
+
+                public HedgeInfo(Integer delayMs, String winner) {
+                        this(delayMs, winner, null, null, null, null);
+                }
+
+                public HedgeInfo withLoser(
+                                String loserStatus,
+                                Integer loserInputTokens,
+                                Integer loserOutputTokens,
+                                java.math.BigDecimal loserEstimatedCost) {
+                        return new HedgeInfo(delayMs, winner, loserStatus, loserInputTokens, loserOutputTokens,
+                                        loserEstimatedCost);
+                }
+        }
+
         /**
          * RAG 검색 결과 문서 정보를 전달하기 위한 DTO
          */
@@ -0,0 +1,55 @@
+package com.llm_ops.demo.gateway.pricing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 모델별 컨텍스트 윈도우(입력 + 출력 최대 토큰 수)
+ * 모델명 정규화는 {@link ModelPricing}과 같은 규칙을 사용합니다.
+ */
+public class ModelContextWindow {
+
+    private static final Map<String, Integer> CONTEXT_WINDOW_TABLE = new HashMap<>();
+
+    static {
+        // OpenAI
+        CONTEXT_WINDOW_TABLE.put("gpt-5.2",       400_000);
+        CONTEXT_WINDOW_TABLE.put("gpt-4.1",       1_047_576);
+        CONTEXT_WINDOW_TABLE.put("gpt-4.1-mini",  1_047_576);
+        CONTEXT_WINDOW_TABLE.put("gpt-4.1-nano",  1_047_576);
+        CONTEXT_WINDOW_TABLE.put("o3",            200_000);
+        CONTEXT_WINDOW_TABLE.put("o4-mini",       200_000);
+        CONTEXT_WINDOW_TABLE.put("gpt-4o",        128_000);
+        CONTEXT_WINDOW_TABLE.put("gpt-4o-mini",   128_000);
+        CONTEXT_WINDOW_TABLE.put("gpt-4",         8_192);
+        CONTEXT_WINDOW_TABLE.put("gpt-3.5-turbo", 16_385);
+
+        // Anthropic
+        CONTEXT_WINDOW_TABLE.put("claude-opus-4-6",   200_000);
+        CONTEXT_WINDOW_TABLE.put("claude-sonnet-4-6", 200_000);
+        CONTEXT_WINDOW_TABLE.put("claude-haiku-4-5",  200_000);
+        CONTEXT_WINDOW_TABLE.put("claude-3-5-sonnet", 200_000);
+        CONTEXT_WINDOW_TABLE.put("claude-3-5-haiku",  200_000);
+        CONTEXT_WINDOW_TABLE.put("claude-3-opus",     200_000);
+        CONTEXT_WINDOW_TABLE.put("claude-3-haiku",    200_000);
+
+        // Google
+        CONTEXT_WINDOW_TABLE.put("gemini-2.5-pro",        1_048_576);
+        CONTEXT_WINDOW_TABLE.put("gemini-2.5-flash",      1_048_576);
+        CONTEXT_WINDOW_TABLE.put("gemini-2.5-flash-lite", 1_048_576);
+        CONTEXT_WINDOW_TABLE.put("gemini-2.0-flash",      1_048_576);
+    }
+
+    private ModelContextWindow() {
+    }
+
+    /**
+     * 모델의 컨텍스트 윈도우(토큰)를 반환합니다. 알 수 없는 모델이면 null입니다.
+     */
+    public static Integer tokensOf(String modelName) {
+        if (modelName == null || modelName.isBlank()) {
+            return null;
+        }
+        return CONTEXT_WINDOW_TABLE.get(ModelPricing.normalizeModelName(modelName));
+    }
+}
@@ -147,7 +147,7 @@ public class ModelPricing {
      * 모델명 정규화
      * 예: "gpt-4o-2024-05-13" -> "gpt-4o"
      */
-    private static String normalizeModelName(String modelName) {
+    static String normalizeModelName(String modelName) {
         if (modelName == null) {
             return "";
         }
@@ -0,0 +1,102 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayReliabilityProperties;
+import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatResponse;
+import com.llm_ops.demo.global.error.GatewayException;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 일반(비스트리밍) 요청을 Servlet 비동기 처리로 응답합니다.
+ * 요청 스레드는 인증 후 바로 반환되고, 파이프라인은 {@code gatewayPipelineExecutor}에서 실행된 뒤
+ * {@link DeferredResult}로 결과를 돌려줍니다. 전체 응답 시간 한도는 요청 스레드를 붙잡지 않고 컨테이너의 비동기 타임아웃으로 처리합니다.
+ * 실행기가 가득 차면 요청 스레드에서 대신 실행하지 않고 {@code GW-GW-OVERLOADED}(503)로 바로 거절합니다.
+ * 비동기 타임아웃이 나면 504로 응답하면서 파이프라인을 취소합니다. 아직 시작하지 않았으면 실행하지 않고,
+ * 실행 중이면 인터럽트하며, 테넌트 permit은 파이프라인이 끝날 때(시작하지 않았으면 타임아웃 시점에) 반환합니다.
+ */
+@Service
+public class GatewayChatAsyncService {
+
+    private static final long DEFERRED_RESULT_GRACE_MS = 5_000L;
+    private static final GatewayFailureClassifier FAILURE_CLASSIFIER = new GatewayFailureClassifier();
+
+    private final GatewayChatService gatewayChatService;
+    private final GatewayReliabilityProperties gatewayReliabilityProperties;
+    private final ExecutorService gatewayPipelineExecutor;
+    private final GatewayTenantLimiter gatewayTenantLimiter;
+
+    public GatewayChatAsyncService(
+            GatewayChatService gatewayChatService,
+            GatewayReliabilityProperties gatewayReliabilityProperties,
+            @Qualifier("gatewayPipelineExecutor") ExecutorService gatewayPipelineExecutor,
+            GatewayTenantLimiter gatewayTenantLimiter) {
+        this.gatewayChatService = gatewayChatService;
+        this.gatewayReliabilityProperties = gatewayReliabilityProperties;
+        this.gatewayPipelineExecutor = gatewayPipelineExecutor;
+        this.gatewayTenantLimiter = gatewayTenantLimiter;
+    }
+
+    public DeferredResult<ResponseEntity<GatewayChatResponse>> chat(String apiKey, GatewayChatRequest request) {
+        // 인증 실패와 테넌트 한도 초과는 비동기 처리를 시작하기 전에 일반 JSON 에러(401/429)로 응답합니다.
+        OrganizationApiKeyAuthService.AuthResult authResult = gatewayChatService.authenticate(apiKey);
+        GatewayTenantLimiter.Permit permit = gatewayTenantLimiter.acquire(authResult);
+
+        long timeoutMs = gatewayReliabilityProperties.resolvedRequestTimeoutMs() + DEFERRED_RESULT_GRACE_MS;
+        DeferredResult<ResponseEntity<GatewayChatResponse>> deferredResult = new DeferredResult<>(timeoutMs);
+
+        // 파이프라인과 타임아웃 중 먼저 차지한 쪽이 permit 반환을 맡습니다.
+        AtomicBoolean claimed = new AtomicBoolean(false);
+        Future<?> pipeline;
+        try {
+            pipeline = gatewayPipelineExecutor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    deferredResult.setResult(ResponseEntity.ok(gatewayChatService.chat(authResult, request)));
+                } catch (RuntimeException | Error e) {
+                    deferredResult.setErrorResult(e);
+                } finally {
+                    permit.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permit.close();
+            throw overloadedException();
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        deferredResult.onTimeout(() -> {
+            deferredResult.setErrorResult(requestTimeoutException());
+            if (claimed.compareAndSet(false, true)) {
+                permit.close();
+            }
+            pipeline.cancel(true);
+        });
+        return deferredResult;
+    }
+
+    private static GatewayException requestTimeoutException() {
+        GatewayFailureClassifier.GatewayFailure failure = FAILURE_CLASSIFIER.requestDeadlineExhaustedFailure();
+        return new GatewayException(failure.errorCode(), HttpStatus.GATEWAY_TIMEOUT, failure.errorMessage(), null);
+    }
+
+    private static GatewayException overloadedException() {
+        return new GatewayException(
+                GatewayFailureClassifier.OVERLOADED_ERROR_CODE,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "게이트웨이 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.",
+                null);
+    }
+}
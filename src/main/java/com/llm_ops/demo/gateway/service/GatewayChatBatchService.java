@@ -0,0 +1,207 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayBatchProperties;
+import com.llm_ops.demo.gateway.dto.GatewayChatBatchRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatBatchResponse;
+import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
+import com.llm_ops.demo.gateway.log.service.RequestLogWriter;
+import com.llm_ops.demo.global.error.BusinessException;
+import com.llm_ops.demo.global.error.ErrorCode;
+import com.llm_ops.demo.global.error.GatewayException;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 채팅 요청을 한 번의 HTTP 호출로 처리하는 배치 API입니다.
+ * <p>
+ * 인증, 테넌트 한도 확인, 프롬프트 해석은 배치당 한 번만 하고 요청 로그 시작 행은 한 트랜잭션으로 저장합니다.
+ * 항목은 프로바이더별로 묶어 배치 전용 실행기({@code gatewayBatchExecutor})에서 동시에 처리하되,
+ * 배치 전체({@code max-concurrency})와 프로바이더별({@code max-concurrency-per-provider}) 동시 처리 수를 넘지 않습니다.
+ * 모든 배치가 함께 쓰는 처리 자리({@code max-workers})가 프로바이더 그룹 수보다 적게 남았으면 대기하지 않고 503으로 거절합니다.
+ * 항목 하나의 실패는 배치 전체를 실패시키지 않으며, 결과는 요청 순서대로 항목별 상태와 함께 반환합니다.
+ */
+@Slf4j
+@Service
+public class GatewayChatBatchService {
+
+    static final String GATEWAY_BATCH_PATH = "/v1/chat/completions:batch";
+    private static final String UNRESOLVED_GROUP = "unresolved";
+
+    private final GatewayChatService gatewayChatService;
+    private final GatewayBatchProperties properties;
+    private final RequestLogWriter requestLogWriter;
+    private final GatewayTenantLimiter gatewayTenantLimiter;
+    private final ExecutorService gatewayBatchExecutor;
+    private final Semaphore workerSlots;
+
+    public GatewayChatBatchService(
+            GatewayChatService gatewayChatService,
+            GatewayBatchProperties properties,
+            RequestLogWriter requestLogWriter,
+            GatewayTenantLimiter gatewayTenantLimiter,
+            @Qualifier("gatewayBatchExecutor") ExecutorService gatewayBatchExecutor) {
+        this.gatewayChatService = gatewayChatService;
+        this.properties = properties;
+        this.requestLogWriter = requestLogWriter;
+        this.gatewayTenantLimiter = gatewayTenantLimiter;
+        this.gatewayBatchExecutor = gatewayBatchExecutor;
+        this.workerSlots = new Semaphore(properties.resolvedMaxWorkers());
+    }
+
+    public GatewayChatBatchResponse chat(String apiKey, GatewayChatBatchRequest request) {
+        List<GatewayChatRequest> items = request.items();
+        validate(items);
+        OrganizationApiKeyAuthService.AuthResult authResult = gatewayChatService.authenticate(apiKey);
+        try (GatewayTenantLimiter.Permit ignored = gatewayTenantLimiter.acquire(authResult, items.size())) {
+            return new GatewayChatBatchResponse(execute(authResult, items));
+        }
+    }
+
+    private void validate(List<GatewayChatRequest> items) {
+        if (items.size() > properties.resolvedMaxItems()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE,
+                    "배치 항목은 최대 " + properties.resolvedMaxItems() + "개까지 보낼 수 있습니다.");
+        }
+        Long workspaceId = items.get(0).workspaceId();
+        for (GatewayChatRequest item : items) {
+            if (!Objects.equals(workspaceId, item.workspaceId())) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "배치 항목은 모두 같은 워크스페이스에 속해야 합니다.");
+            }
+            if (item.isStream()) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "배치 항목은 스트리밍을 지원하지 않습니다.");
+            }
+        }
+    }
+
+    private List<GatewayChatBatchResponse.Item> execute(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            List<GatewayChatRequest> items
+    ) {
+        // 프롬프트 키마다 한 번만 해석해 스냅샷 캐시를 채우고, 항목을 프로바이더별로 묶습니다.
+        Map<String, String> groupByPromptKey = new HashMap<>();
+        Map<String, List<Integer>> indicesByGroup = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            GatewayChatRequest item = items.get(i);
+            String group = groupByPromptKey.computeIfAbsent(item.promptKey(),
+                    promptKey -> providerGroupOf(authResult, item.workspaceId(), promptKey));
+            indicesByGroup.computeIfAbsent(group, ignored -> new ArrayList<>()).add(i);
+        }
+
+        int[] groupSizes = indicesByGroup.values().stream().mapToInt(List::size).toArray();
+        int wanted = Arrays.stream(allocateWorkers(groupSizes)).sum();
+        int granted = acquireWorkerSlots(Math.min(groupSizes.length, wanted), wanted);
+        try {
+            List<RequestLogWriter.StartRequest> startedLogs = items.stream()
+                    .map(item -> gatewayChatService.newStartRequest(authResult, item, GATEWAY_BATCH_PATH))
+                    .toList();
+            requestLogWriter.startAll(startedLogs);
+
+            GatewayChatBatchResponse.Item[] results = new GatewayChatBatchResponse.Item[items.size()];
+            int[] workerCounts = allocateWorkers(groupSizes, granted);
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            int groupIndex = 0;
+            for (List<Integer> indices : indicesByGroup.values()) {
+                AtomicInteger cursor = new AtomicInteger();
+                for (int w = 0; w < workerCounts[groupIndex]; w++) {
+                    workers.add(CompletableFuture.runAsync(() -> {
+                        int next;
+                        while ((next = cursor.getAndIncrement()) < indices.size()) {
+                            int index = indices.get(next);
+                            results[index] = runItem(authResult, index, items.get(index), startedLogs.get(index));
+                        }
+                    }, gatewayBatchExecutor));
+                }
+                groupIndex++;
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+            return Arrays.asList(results);
+        } finally {
+            workerSlots.release(granted);
+        }
+    }
+
+    /**
+     * 모든 배치가 함께 쓰는 처리 자리를 남은 만큼(최대 {@code wanted}) 점유합니다.
+     * {@code required}만큼도 남지 않았으면 대기하지 않고 503으로 거절합니다.
+     */
+    private int acquireWorkerSlots(int required, int wanted) {
+        for (int slots = wanted; slots >= required; slots--) {
+            if (workerSlots.tryAcquire(slots)) {
+                return slots;
+            }
+        }
+        throw new GatewayException(
+                GatewayFailureClassifier.OVERLOADED_ERROR_CODE,
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "배치 처리 자리가 모두 사용 중입니다. 잠시 후 다시 시도해주세요.",
+                null);
+    }
+
+    /**
+     * 배치 동시 처리 수를 프로바이더 그룹에 하나씩 번갈아 배분합니다. 그룹마다 항목 수와 프로바이더별 한도를 넘지 않습니다.
+     */
+    int[] allocateWorkers(int[] groupSizes) {
+        return allocateWorkers(groupSizes, properties.resolvedMaxConcurrency());
+    }
+
+    private int[] allocateWorkers(int[] groupSizes, int maxWorkers) {
+        int perProvider = properties.resolvedMaxConcurrencyPerProvider();
+        int remaining = Math.min(maxWorkers, properties.resolvedMaxConcurrency());
+        int[] counts = new int[groupSizes.length];
+        boolean assigned = true;
+        while (remaining > 0 && assigned) {
+            assigned = false;
+            for (int i = 0; i < groupSizes.length && remaining > 0; i++) {
+                if (counts[i] < Math.min(perProvider, groupSizes[i])) {
+                    counts[i]++;
+                    remaining--;
+                    assigned = true;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private String providerGroupOf(OrganizationApiKeyAuthService.AuthResult authResult, Long workspaceId, String promptKey) {
+        try {
+            ProviderType provider = gatewayChatService.resolveReleaseSnapshot(authResult.organizationId(), workspaceId, promptKey).provider();
+            return provider != null ? provider.name().toLowerCase() : UNRESOLVED_GROUP;
+        } catch (RuntimeException e) {
+            // 해석 실패는 항목 처리 단계에서 같은 오류로 실패하고 요청 로그에 기록됩니다.
+            return UNRESOLVED_GROUP;
+        }
+    }
+
+    private GatewayChatBatchResponse.Item runItem(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            int index,
+            GatewayChatRequest item,
+            RequestLogWriter.StartRequest startedLog
+    ) {
+        try {
+            return GatewayChatBatchResponse.Item.success(index, gatewayChatService.chat(authResult, item, startedLog));
+        } catch (GatewayException e) {
+            return GatewayChatBatchResponse.Item.error(index, e.getStatus().value(), e.getCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("배치 항목 처리 실패: traceId={}", startedLog.traceId(), e);
+            return GatewayChatBatchResponse.Item.error(
+                    index, HttpStatus.INTERNAL_SERVER_ERROR.value(), "GW-GW-INTERNAL_ERROR", "배치 항목 처리 중 오류가 발생했습니다.");
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.llm_ops.demo.prompt.domain.PromptStatus;
 import com.llm_ops.demo.prompt.domain.PromptVersion;
 import com.llm_ops.demo.prompt.repository.PromptReleaseRepository;
 import com.llm_ops.demo.prompt.repository.PromptRepository;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
 import com.llm_ops.demo.rag.dto.RagSearchResponse;
 import com.llm_ops.demo.rag.service.RagContextBuilder;
 import com.llm_ops.demo.rag.service.RagSearchService;
@@ -34,6 +35,7 @@ import com.llm_ops.demo.workspace.domain.Workspace;
 import com.llm_ops.demo.workspace.domain.WorkspaceStatus;
 import com.llm_ops.demo.workspace.repository.WorkspaceRepository;
 import com.llm_ops.demo.workspace.service.WorkspaceRagSettingsService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -49,12 +51,17 @@ import java.time.YearMonth;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 게이트웨이의 핵심 비즈니스 로직을 처리하는 서비스 클래스입니다.
@@ -68,11 +75,11 @@ public class GatewayChatService {
     private static final ObjectMapper LOG_PAYLOAD_MAPPER = new ObjectMapper();
     private static final long FAILOVER_GUARD_BUFFER_MS = 100L;
     private static final GatewayFailureClassifier FAILURE_CLASSIFIER = new GatewayFailureClassifier();
-    private static final String RAG_CONTEXT_PREFIX = """
+    static final String RAG_CONTEXT_PREFIX = """
             다음은 질문과 관련된 참고 문서입니다:
 
             """;
-    private static final String RAG_CONTEXT_SUFFIX = """
+    static final String RAG_CONTEXT_SUFFIX = """
 
             위 문서를 참고하여 다음 질문에 답변해주세요:
 
@@ -94,6 +101,12 @@ public class GatewayChatService {
     private final ExecutorService providerCallExecutor;
     private final GatewayMetrics gatewayMetrics;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final PromptReleaseSnapshotCache promptReleaseSnapshotCache;
+    private final GatewayResponseCache gatewayResponseCache;
+    private final GatewayPreflightService gatewayPreflightService;
+    private final GatewayTenantLimiter gatewayTenantLimiter;
+    private final ProviderConcurrencyLimiter providerConcurrencyLimiter;
+    private final GatewaySingleFlight gatewaySingleFlight;
 
     public GatewayChatService(
             OrganizationApiKeyAuthService organizationApiKeyAuthService,
@@ -111,7 +124,13 @@ public class GatewayChatService {
             BudgetUsageService budgetUsageService,
             @Qualifier("providerCallExecutor") ExecutorService providerCallExecutor,
             GatewayMetrics gatewayMetrics,
-            CircuitBreakerRegistry circuitBreakerRegistry) {
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            PromptReleaseSnapshotCache promptReleaseSnapshotCache,
+            GatewayResponseCache gatewayResponseCache,
+            GatewayPreflightService gatewayPreflightService,
+            GatewayTenantLimiter gatewayTenantLimiter,
+            ProviderConcurrencyLimiter providerConcurrencyLimiter,
+            GatewaySingleFlight gatewaySingleFlight) {
         this.organizationApiKeyAuthService = organizationApiKeyAuthService;
         this.gatewayReliabilityProperties = gatewayReliabilityProperties;
         this.providerCredentialService = providerCredentialService;
@@ -128,6 +147,12 @@ public class GatewayChatService {
         this.providerCallExecutor = providerCallExecutor;
         this.gatewayMetrics = gatewayMetrics;
         this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.promptReleaseSnapshotCache = promptReleaseSnapshotCache;
+        this.gatewayResponseCache = gatewayResponseCache;
+        this.gatewayPreflightService = gatewayPreflightService;
+        this.gatewayTenantLimiter = gatewayTenantLimiter;
+        this.providerConcurrencyLimiter = providerConcurrencyLimiter;
+        this.gatewaySingleFlight = gatewaySingleFlight;
     }
 
     /**
@@ -138,26 +163,100 @@ public class GatewayChatService {
      * @return LLM의 답변 및 관련 메타데이터가 포함된 응답 DTO
      */
     public GatewayChatResponse chat(String apiKey, GatewayChatRequest request) {
-        OrganizationApiKeyAuthService.AuthResult authResult = organizationApiKeyAuthService.resolveAuthResult(apiKey);
-        Long organizationId = authResult.organizationId();
+        OrganizationApiKeyAuthService.AuthResult authResult = authenticate(apiKey);
+        try (GatewayTenantLimiter.Permit ignored = gatewayTenantLimiter.acquire(authResult)) {
+            return execute(authResult, request, null, null);
+        }
+    }
 
-        long startedAtNanos = System.nanoTime();
-        long deadlineNanos = startedAtNanos + TimeUnit.MILLISECONDS.toNanos(gatewayReliabilityProperties.resolvedRequestTimeoutMs());
+    /**
+     * 이미 인증된 요청을 처리합니다. 비동기 파이프라인은 요청 스레드에서 인증만 마친 뒤 이 메서드를 별도 실행기에서 호출합니다.
+     *
+     * @param authResult {@link #authenticate(String)}로 검증된 인증 결과
+     * @param request    게이트웨이 채팅 요청 DTO
+     * @return LLM의 답변 및 관련 메타데이터가 포함된 응답 DTO
+     */
+    public GatewayChatResponse chat(OrganizationApiKeyAuthService.AuthResult authResult, GatewayChatRequest request) {
+        return execute(authResult, request, null, null);
+    }
 
-        String traceId = UUID.randomUUID().toString();
-        UUID requestId = requestLogWriter.start(new RequestLogWriter.StartRequest(
-                null,
-                traceId,
-                organizationId,
+    /**
+     * 배치 요청의 항목 하나를 처리합니다. 요청 로그는 {@link RequestLogWriter#startAll(List)}로 배치 단위로 먼저 시작해 둔 것을 씁니다.
+     *
+     * @param startedLog {@link #newStartRequest(OrganizationApiKeyAuthService.AuthResult, GatewayChatRequest, String)}로 만들어 시작한 로그
+     */
+    GatewayChatResponse chat(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            GatewayChatRequest request,
+            RequestLogWriter.StartRequest startedLog
+    ) {
+        return execute(authResult, request, null, Objects.requireNonNull(startedLog, "startedLog는 필수입니다"));
+    }
+
+    /**
+     * 요청 로그 시작 레코드를 만듭니다. requestId와 traceId는 여기서 발급합니다.
+     */
+    RequestLogWriter.StartRequest newStartRequest(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            GatewayChatRequest request,
+            String requestPath
+    ) {
+        return new RequestLogWriter.StartRequest(
+                UUID.randomUUID(),
+                UUID.randomUUID().toString(),
+                authResult.organizationId(),
                 request.workspaceId(),
                 authResult.apiKeyId(),
                 authResult.apiKeyPrefix(),
-                GATEWAY_CHAT_COMPLETIONS_PATH,
+                requestPath,
                 GATEWAY_HTTP_METHOD,
                 request.promptKey(),
                 request.isRagEnabled(),
                 toRequestPayloadJson(request),
-                "GATEWAY"));
+                "GATEWAY");
+    }
+
+    /**
+     * API 키를 검증합니다. 스트리밍 요청은 SSE 응답을 열기 전에 이 단계를 먼저 통과해야 합니다.
+     */
+    public OrganizationApiKeyAuthService.AuthResult authenticate(String apiKey) {
+        return organizationApiKeyAuthService.resolveAuthResult(apiKey);
+    }
+
+    /**
+     * 스트리밍 모드로 요청을 처리합니다. 첫 토큰이 도착하기 전까지는 일반 요청과 동일한
+     * deadline/retry/failover 규칙을 따르고, 경로가 확정된 뒤 생성되는 텍스트를 sink로 흘려보냅니다.
+     *
+     * @param authResult {@link #authenticate(String)}로 검증된 인증 결과
+     * @param request    게이트웨이 채팅 요청 DTO
+     * @param sink       텍스트 조각을 받을 출력 채널
+     * @return 스트림 종료 후 집계된 응답(사용량/비용 포함)
+     */
+    public GatewayChatResponse chatStream(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            GatewayChatRequest request,
+            GatewayChatStreamSink sink
+    ) {
+        return execute(authResult, request, Objects.requireNonNull(sink, "sink는 필수입니다"), null);
+    }
+
+    private GatewayChatResponse execute(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            GatewayChatRequest request,
+            @Nullable GatewayChatStreamSink streamSink,
+            @Nullable RequestLogWriter.StartRequest startedLog
+    ) {
+        Long organizationId = authResult.organizationId();
+        boolean streaming = streamSink != null;
+
+        long startedAtNanos = System.nanoTime();
+        long deadlineNanos = startedAtNanos + TimeUnit.MILLISECONDS.toNanos(gatewayReliabilityProperties.resolvedRequestTimeoutMs());
+
+        RequestLogWriter.StartRequest startRequest = startedLog != null
+                ? startedLog
+                : newStartRequest(authResult, request, GATEWAY_CHAT_COMPLETIONS_PATH);
+        String traceId = startRequest.traceId();
+        UUID requestId = startedLog != null ? startedLog.requestId() : requestLogWriter.start(startRequest);
 
         Integer ragLatencyMs = null;
         Integer ragChunksCount = null;
@@ -181,23 +280,24 @@ public class GatewayChatService {
         boolean ragEnabledEffective = request.isRagEnabled();
         long providerCallStartNanos = 0;
         long providerCallEndNanos = 0;
+        GatewayFailureClassifier.GatewayFailure streamFailure = null;
+        RequestLogWriter.HedgeInfo hedgeInfo = null;
+        GatewaySingleFlight.Flight flight = null;
 
         try {
-            Workspace workspace = findWorkspace(organizationId, request.workspaceId());
-            ActiveVersionResolution resolution = resolveActiveVersion(workspace, request.promptKey());
-            PromptVersion activeVersion = resolution.version();
-            ModelConfigOverride versionModelConfig = ModelConfigOverride.from(activeVersion.getModelConfig());
-            promptId = resolution.promptId();
-            promptVersionId = resolution.promptVersionId();
-
-            String userPrompt = renderPrompt(resolveUserTemplate(activeVersion, request.promptKey()),
-                    request.variables());
-            String systemPrompt = renderOptionalTemplate(activeVersion.getSystemPrompt(), request.variables());
-
-            ProviderType providerType = activeVersion.getProvider();
-            String requestedModel = activeVersion.getModel();
-            ProviderType secondaryProvider = activeVersion.getSecondaryProvider();
-            String secondaryModel = activeVersion.getSecondaryModel();
+            PromptReleaseSnapshot snapshot = resolveReleaseSnapshot(organizationId, request.workspaceId(), request.promptKey());
+            Long workspaceId = snapshot.workspaceId();
+            ModelConfigOverride versionModelConfig = snapshot.modelConfig();
+            promptId = snapshot.promptId();
+            promptVersionId = snapshot.promptVersionId();
+
+            String userPrompt = snapshot.userTemplate().render(request.variables());
+            String systemPrompt = snapshot.systemPrompt() != null ? snapshot.systemPrompt().render(request.variables()) : null;
+
+            ProviderType providerType = snapshot.provider();
+            String requestedModel = snapshot.model();
+            ProviderType secondaryProvider = snapshot.secondaryProvider();
+            String secondaryModel = snapshot.secondaryModel();
             usedProvider = providerType;
             usedRequestedModel = requestedModel;
 
@@ -207,7 +307,7 @@ public class GatewayChatService {
             Integer maxOutputTokensOverride = null;
             long wsBudgetStartNanos = System.nanoTime();
             BudgetDecision wsDecision = budgetGuardrailService.evaluateWorkspaceDegrade(
-                    workspace.getId(),
+                    workspaceId,
                     providerType != null ? providerType.getValue() : null
             );
             gatewayMetrics.recordBudgetEval("workspace", System.nanoTime() - wsBudgetStartNanos);
@@ -228,6 +328,9 @@ public class GatewayChatService {
             String requestedModelEffective = (modelOverride != null ? modelOverride : requestedModel);
             usedRequestedModel = requestedModelEffective;
 
+            RagSearchResponse ragResponse = null;
+            RagContextBuilder.RagContextResult ragContext = null;
+            int ragMaxContextChars = 0;
             if (ragEnabledEffective) {
                 ragChunksCount = 0;
                 ragContextChars = 0;
@@ -236,11 +339,11 @@ public class GatewayChatService {
 
                 if (ragSearchService != null) {
                     WorkspaceRagSettingsService.RagRuntimeSettings ragSettings =
-                            workspaceRagSettingsService.resolveRuntimeSettings(workspace.getId());
+                            workspaceRagSettingsService.resolveRuntimeSettings(workspaceId);
                     ragTopK = ragSettings.topK();
                     ragSimilarityThreshold = ragSettings.similarityThreshold();
                     long ragStartedAtNanos = System.nanoTime();
-                    RagSearchResponse ragResponse = ragSearchService.search(
+                    ragResponse = ragSearchService.search(
                             request.workspaceId(),
                             resolveRagQuery(userPrompt, request.variables()),
                             new RagSearchOptions(
@@ -256,40 +359,203 @@ public class GatewayChatService {
                     gatewayMetrics.recordRagSearch(ragSettings.hybridEnabled(), ragElapsedNanos);
 
                     if (ragResponse.chunks() != null && !ragResponse.chunks().isEmpty()) {
-                        RagContextBuilder.RagContextResult result = ragContextBuilder.build(
+                        ragMaxContextChars = ragSettings.maxContextChars();
+                        ragContext = ragContextBuilder.build(
                                 ragResponse.chunks(),
                                 ragSettings.maxChunks(),
-                                ragSettings.maxContextChars()
+                                ragMaxContextChars
                         );
-                        ragChunksCount = result.chunksIncluded();
-                        gatewayMetrics.recordRagChunks(ragChunksCount);
-                        ragContextChars = result.contextChars();
-                        ragContextTruncated = result.truncated();
-                        ragContextHash = sha256HexOrNull(result.context());
-                        retrievedDocumentInfos = toRetrievedDocumentInfos(ragResponse, result.chunksIncluded());
-                        userPrompt = RAG_CONTEXT_PREFIX + result.context() + RAG_CONTEXT_SUFFIX + userPrompt;
                     }
                 }
             }
 
+            // Pre-flight: 토큰 수를 추정해 컨텍스트 윈도우를 넘으면 RAG 청크를 줄이거나 프로바이더 호출 전에 거절합니다.
+            ModelConfigOverride primaryModelConfig = buildEffectiveModelConfig(versionModelConfig, maxOutputTokensOverride);
+            GatewayPreflightService.PreflightResult preflight = gatewayPreflightService.evaluate(
+                    promptVersionId,
+                    requestedModelEffective,
+                    snapshot.userTemplate(),
+                    snapshot.systemPrompt(),
+                    request.variables(),
+                    primaryModelConfig != null ? primaryModelConfig.maxTokens() : null,
+                    ragContext,
+                    ragResponse != null ? ragResponse.chunks() : null,
+                    ragMaxContextChars);
+            RagContextBuilder.RagContextResult admittedRagContext = preflight.ragContext();
+            if (admittedRagContext != null) {
+                ragChunksCount = admittedRagContext.chunksIncluded();
+                gatewayMetrics.recordRagChunks(ragChunksCount);
+                ragContextChars = admittedRagContext.contextChars();
+                ragContextTruncated = admittedRagContext.truncated() || preflight.ragTrimmed();
+                ragContextHash = sha256HexOrNull(admittedRagContext.context());
+                retrievedDocumentInfos = toRetrievedDocumentInfos(ragResponse, admittedRagContext.chunksIncluded());
+                userPrompt = RAG_CONTEXT_PREFIX + admittedRagContext.context() + RAG_CONTEXT_SUFFIX + userPrompt;
+            } else if (preflight.ragTrimmed()) {
+                ragContextTruncated = true;
+            }
+
+            // 결정적 요청 응답 캐시: 적중하면 프로바이더 호출/예산 집계 없이 비용 0으로 응답합니다.
+            String responseCacheKey = null;
+            if (!streaming && gatewayResponseCache.isCacheable(workspaceId, primaryModelConfig)) {
+                responseCacheKey = GatewayResponseCache.keyOf(
+                        promptVersionId,
+                        providerType,
+                        requestedModelEffective,
+                        systemPrompt,
+                        userPrompt,
+                        primaryModelConfig,
+                        ragContextHash);
+                GatewayResponseCache.CachedResponse cached = gatewayResponseCache.get(workspaceId, responseCacheKey);
+                if (cached != null) {
+                    requestLogWriter.markSuccess(requestId, new RequestLogWriter.SuccessUpdate(
+                            200,
+                            toLatencyMs(startedAtNanos),
+                            promptId,
+                            promptVersionId,
+                            providerType != null ? providerType.name().toLowerCase() : null,
+                            requestedModelEffective,
+                            cached.usedModel(),
+                            false,
+                            0,
+                            0,
+                            0,
+                            BigDecimal.ZERO,
+                            ModelPricing.getPricingVersion(),
+                            ragLatencyMs,
+                            ragChunksCount,
+                            ragContextChars,
+                            ragContextTruncated,
+                            ragContextHash,
+                            ragTopK,
+                            ragSimilarityThreshold,
+                            null,
+                            cached.answer(),
+                            retrievedDocumentInfos,
+                            null,
+                            null,
+                            true,
+                            false,
+                            null));
+                    gatewayMetrics.recordRequest(providerType, requestedModelEffective, ragEnabledEffective, false, GatewayMetrics.Outcome.SUCCESS, System.nanoTime() - startedAtNanos);
+                    return GatewayChatResponse.from(
+                            traceId,
+                            cached.answer(),
+                            false,
+                            cached.usedModel(),
+                            new GatewayChatUsage(0L, BigDecimal.ZERO));
+                }
+            }
+
+            // Single-flight: 같은 요청이 이미 진행 중이면 프로바이더를 다시 호출하지 않고 그 응답을 공유합니다.
+            if (!streaming && gatewaySingleFlight.isEnabled(workspaceId)) {
+                String flightKey = responseCacheKey != null
+                        ? responseCacheKey
+                        : GatewayResponseCache.keyOf(
+                                promptVersionId,
+                                providerType,
+                                requestedModelEffective,
+                                systemPrompt,
+                                userPrompt,
+                                primaryModelConfig,
+                                ragContextHash);
+                flight = gatewaySingleFlight.join(flightKey);
+                while (!flight.isLeader()) {
+                    GatewaySingleFlight.SharedResponse shared;
+                    try {
+                        shared = flight.result().get(Math.max(1L, remainingBudgetMs(deadlineNanos)), TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException | InterruptedException waitException) {
+                        if (waitException instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                        }
+                        lastProviderFailure = FAILURE_CLASSIFIER.requestDeadlineExhaustedFailure();
+                        throw new RequestDeadlineExhaustedException();
+                    } catch (ExecutionException leaderFailure) {
+                        // leader의 프로바이더 호출이 실패했습니다. 다시 호출하지 않고 같은 실패로 응답합니다.
+                        if (!(leaderFailure.getCause() instanceof GatewaySingleFlight.LeaderFailedException leaderFailed)) {
+                            throw leaderFailure;
+                        }
+                        gatewayMetrics.incrementSingleFlight("failed");
+                        lastProviderFailure = leaderFailed.failure();
+                        throw leaderFailed;
+                    }
+                    if (shared == null) {
+                        // leader가 실패했습니다. 다시 합류해 기다리던 요청 중 하나만 새 leader로 호출합니다.
+                        if (!hasRemainingBudget(deadlineNanos, gatewayReliabilityProperties.resolvedMinFailoverBudgetMs())) {
+                            lastProviderFailure = FAILURE_CLASSIFIER.requestDeadlineExhaustedFailure();
+                            throw new RequestDeadlineExhaustedException();
+                        }
+                        gatewayMetrics.incrementSingleFlight("rejoined");
+                        flight = gatewaySingleFlight.join(flightKey);
+                        continue;
+                    }
+                    gatewayMetrics.incrementSingleFlight("coalesced");
+                    usedProvider = shared.usedProvider();
+                    usedRequestedModel = shared.requestedModel();
+                    isFailover = shared.failover();
+                    requestLogWriter.markSuccess(requestId, new RequestLogWriter.SuccessUpdate(
+                            200,
+                            toLatencyMs(startedAtNanos),
+                            promptId,
+                            promptVersionId,
+                            usedProvider != null ? usedProvider.name().toLowerCase() : null,
+                            usedRequestedModel,
+                            shared.usedModel(),
+                            isFailover,
+                            0,
+                            0,
+                            0,
+                            BigDecimal.ZERO,
+                            ModelPricing.getPricingVersion(),
+                            ragLatencyMs,
+                            ragChunksCount,
+                            ragContextChars,
+                            ragContextTruncated,
+                            ragContextHash,
+                            ragTopK,
+                            ragSimilarityThreshold,
+                            null,
+                            shared.answer(),
+                            retrievedDocumentInfos,
+                            null,
+                            null,
+                            false,
+                            true,
+                            null));
+                    gatewayMetrics.recordRequest(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.SUCCESS, System.nanoTime() - startedAtNanos);
+                    return GatewayChatResponse.from(
+                            traceId,
+                            shared.answer(),
+                            isFailover,
+                            shared.usedModel(),
+                            new GatewayChatUsage(0L, BigDecimal.ZERO));
+                }
+                gatewayMetrics.incrementSingleFlight("leader");
+            }
+
             ChatResponse response;
+            ProviderStreamRelay streamRelay = null;
+            HedgedCallResult hedgedCall = null;
             ResolvedProviderApiKey primaryKey = providerCredentialService.resolveApiKey(organizationId, providerType);
             usedProviderCredentialId = primaryKey.credentialId();
 
             long provBudgetStartNanos = System.nanoTime();
-            BudgetDecision providerDecision = budgetGuardrailService.evaluateProviderCredential(primaryKey.credentialId());
+            BudgetDecision providerDecision = budgetGuardrailService.evaluateProviderCredential(
+                    primaryKey.credentialId(),
+                    preflight.projectedCost(requestedModelEffective));
             gatewayMetrics.recordBudgetEval("provider_credential", System.nanoTime() - provBudgetStartNanos);
             if (providerDecision.action() == BudgetDecisionAction.BLOCK) {
                 if (!hasSecondaryModel(secondaryProvider, secondaryModel)) {
                     gatewayMetrics.incrementBudgetBlocked("PROVIDER_CREDENTIAL");
-                    budgetFailReason = "PROVIDER_BUDGET_EXCEEDED";
+                    budgetFailReason = providerDecision.reason();
                     throw new BusinessException(ErrorCode.BUDGET_EXCEEDED, "예산 한도 초과로 요청이 차단되었습니다.");
                 }
                 ResolvedProviderApiKey secondaryKey = providerCredentialService.resolveApiKey(organizationId, secondaryProvider);
-                BudgetDecision secondaryBudget = budgetGuardrailService.evaluateProviderCredential(secondaryKey.credentialId());
+                BudgetDecision secondaryBudget = budgetGuardrailService.evaluateProviderCredential(
+                        secondaryKey.credentialId(),
+                        preflight.projectedCost(secondaryModel));
                 if (secondaryBudget.action() == BudgetDecisionAction.BLOCK) {
                     gatewayMetrics.incrementBudgetBlocked("PROVIDER_CREDENTIAL");
-                    budgetFailReason = "PROVIDER_BUDGET_EXCEEDED";
+                    budgetFailReason = secondaryBudget.reason();
                     throw new BusinessException(ErrorCode.BUDGET_EXCEEDED, "예산 한도 초과로 요청이 차단되었습니다.");
                 }
                 if (!hasRemainingBudget(deadlineNanos, gatewayReliabilityProperties.resolvedMinFailoverBudgetMs())) {
@@ -300,14 +566,12 @@ public class GatewayChatService {
                 isFailover = true;
                 failoverReason = "PRIMARY_PROVIDER_BUDGET_BLOCKED";
                 failoverAttempted = true;
-                gatewayMetrics.incrementFailover(
-                        providerType != null ? providerType.name().toLowerCase() : "unknown",
-                        secondaryProvider != null ? secondaryProvider.name().toLowerCase() : "unknown");
+                gatewayMetrics.incrementFailover(providerType, secondaryProvider);
                 usedProvider = secondaryProvider;
                 usedProviderCredentialId = secondaryKey.credentialId();
 
                 BudgetDecision wsDecisionSecondary = budgetGuardrailService.evaluateWorkspaceDegrade(
-                        workspace.getId(),
+                        workspaceId,
                         secondaryProvider != null ? secondaryProvider.getValue() : null
                 );
                 String secondaryOverride = null;
@@ -332,31 +596,80 @@ public class GatewayChatService {
                         userPrompt,
                         buildEffectiveModelConfig(versionModelConfig, secondaryMaxTokens),
                         deadlineNanos,
-                        false
+                        false,
+                        streaming
                 );
                 if (!secondaryOutcome.success()) {
                     lastProviderFailure = secondaryOutcome.failure();
                     throw secondaryOutcome.exception();
                 }
                 response = secondaryOutcome.response();
+                streamRelay = secondaryOutcome.stream();
                 providerCallEndNanos = System.nanoTime();
             } else {
+                // hedging은 비스트리밍 요청에서 프롬프트 버전이 hedgeDelayMs를 지정하고 2차 경로를 쓸 수 있을 때만 적용합니다.
+                HedgeRoute hedgeRoute = streaming
+                        ? null
+                        : resolveHedgeRoute(
+                                snapshot.hedgePolicy(),
+                                organizationId,
+                                workspaceId,
+                                providerType,
+                                secondaryProvider,
+                                secondaryModel,
+                                maxOutputTokensOverride,
+                                versionModelConfig,
+                                preflight.projectedCost(secondaryModel));
                 providerCallStartNanos = System.nanoTime();
-                ProviderCallOutcome primaryOutcome = callProviderWithPolicy(
-                        primaryKey,
-                        requestedModelEffective,
-                        systemPrompt,
-                        userPrompt,
-                        buildEffectiveModelConfig(versionModelConfig, maxOutputTokensOverride),
-                        deadlineNanos,
-                        hasSecondaryModel(secondaryProvider, secondaryModel)
-                );
-                if (primaryOutcome.success()) {
+                ProviderCallOutcome primaryOutcome;
+                if (hedgeRoute != null) {
+                    hedgedCall = callProviderHedged(
+                            primaryKey,
+                            requestedModelEffective,
+                            systemPrompt,
+                            userPrompt,
+                            primaryModelConfig,
+                            hedgeRoute,
+                            deadlineNanos);
+                    primaryOutcome = hedgedCall.primaryOutcome();
+                    if (hedgedCall.fired()) {
+                        hedgeInfo = new RequestLogWriter.HedgeInfo(toIntMillis(hedgeRoute.delayMs()), hedgedCall.winnerTag());
+                    }
+                } else {
+                    primaryOutcome = callProviderWithPolicy(
+                            primaryKey,
+                            requestedModelEffective,
+                            systemPrompt,
+                            userPrompt,
+                            primaryModelConfig,
+                            deadlineNanos,
+                            hasSecondaryModel(secondaryProvider, secondaryModel),
+                            streaming
+                    );
+                }
+                if (hedgedCall != null && hedgedCall.winner() == HedgeLeg.SECONDARY) {
+                    // 지연 임계치 이후 보낸 2차 경로가 먼저 성공: failover와 같은 방식으로 2차 경로 응답을 기록합니다.
+                    isFailover = true;
+                    failoverReason = "HEDGE_SECONDARY_FASTER";
+                    gatewayMetrics.incrementFailover(providerType, secondaryProvider);
+                    usedProvider = secondaryProvider;
+                    usedProviderCredentialId = hedgeRoute.key().credentialId();
+                    usedRequestedModel = hedgeRoute.model();
+                    providerCallStartNanos = hedgedCall.secondaryStartedAtNanos();
+                    response = hedgedCall.winnerResponse();
+                    providerCallEndNanos = System.nanoTime();
+                } else if (primaryOutcome.success()) {
                     response = primaryOutcome.response();
+                    streamRelay = primaryOutcome.stream();
                     providerCallEndNanos = System.nanoTime();
                 } else {
                     lastProviderFailure = primaryOutcome.failure();
                     RuntimeException primaryException = primaryOutcome.exception();
+                    if (hedgedCall != null && hedgedCall.fired()) {
+                        // 두 경로를 이미 동시에 시도했으므로 추가 failover 없이 실패로 처리합니다.
+                        failoverAttempted = true;
+                        throw primaryException;
+                    }
                     if (!hasSecondaryModel(secondaryProvider, secondaryModel) || !lastProviderFailure.failoverEligible()) {
                         throw primaryException;
                     }
@@ -366,7 +679,9 @@ public class GatewayChatService {
                     }
 
                     ResolvedProviderApiKey secondaryKey = providerCredentialService.resolveApiKey(organizationId, secondaryProvider);
-                    BudgetDecision secondaryBudget = budgetGuardrailService.evaluateProviderCredential(secondaryKey.credentialId());
+                    BudgetDecision secondaryBudget = budgetGuardrailService.evaluateProviderCredential(
+                            secondaryKey.credentialId(),
+                            preflight.projectedCost(secondaryModel));
                     if (secondaryBudget.action() == BudgetDecisionAction.BLOCK) {
                         throw primaryException;
                     }
@@ -378,14 +693,12 @@ public class GatewayChatService {
                             ? lastProviderFailure.failReason()
                             : "PRIMARY_ROUTE_FAILED";
                     failoverAttempted = true;
-                    gatewayMetrics.incrementFailover(
-                            providerType != null ? providerType.name().toLowerCase() : "unknown",
-                            secondaryProvider != null ? secondaryProvider.name().toLowerCase() : "unknown");
+                    gatewayMetrics.incrementFailover(providerType, secondaryProvider);
                     usedProvider = secondaryProvider;
                     usedProviderCredentialId = secondaryKey.credentialId();
 
                     BudgetDecision wsDecisionSecondary = budgetGuardrailService.evaluateWorkspaceDegrade(
-                            workspace.getId(),
+                            workspaceId,
                             secondaryProvider != null ? secondaryProvider.getValue() : null
                     );
                     String secondaryOverride = null;
@@ -410,17 +723,34 @@ public class GatewayChatService {
                             userPrompt,
                             buildEffectiveModelConfig(versionModelConfig, secondaryMaxTokens),
                             deadlineNanos,
-                            false
+                            false,
+                            streaming
                     );
                     if (!secondaryOutcome.success()) {
                         lastProviderFailure = secondaryOutcome.failure();
                         throw secondaryOutcome.exception();
                     }
                     response = secondaryOutcome.response();
+                    streamRelay = secondaryOutcome.stream();
                     providerCallEndNanos = System.nanoTime();
                 }
             }
 
+            // 스트리밍: 경로가 확정된 이후에는 재시도/failover 없이 남은 청크를 클라이언트로 중계합니다.
+            Long firstTokenAtNanos = null;
+            if (streamRelay != null) {
+                try {
+                    response = streamRelay.drain(streamSink::delta, remainingStreamMs(startedAtNanos));
+                } catch (Exception streamException) {
+                    streamFailure = streamException instanceof GatewayChatStreamSink.StreamClosedException
+                            ? FAILURE_CLASSIFIER.streamClientClosedFailure()
+                            : classifyProviderFailure(streamException);
+                    throw streamException;
+                }
+                providerCallEndNanos = System.nanoTime();
+                firstTokenAtNanos = streamRelay.firstTokenAtNanos();
+            }
+
             String answer = response.getResult().getOutput().getText();
             String usedModel = response.getMetadata() != null ? response.getMetadata().getModel() : null;
 
@@ -455,19 +785,26 @@ public class GatewayChatService {
                 }
             }
 
-            String pricingModel = usedModel != null ? usedModel : usedRequestedModel;
+            String pricingModel = (usedModel != null && !usedModel.isBlank()) ? usedModel : usedRequestedModel;
             if (inputTokens != null && outputTokens != null) {
                 estimatedCost = ModelPricing.calculateCost(pricingModel, inputTokens, outputTokens);
             } else if (totalTokens != null) {
                 estimatedCost = ModelPricing.calculateCostFromTotalTokens(pricingModel, totalTokens);
             }
 
+            Integer ttftMs = null;
+            Double outputTokensPerSecond = null;
+            if (firstTokenAtNanos != null) {
+                ttftMs = toLatencyMs(startedAtNanos, firstTokenAtNanos);
+                outputTokensPerSecond = toTokensPerSecond(outputTokens, providerCallEndNanos - firstTokenAtNanos);
+            }
+
             // API 응답용 DTO (클라이언트에게는 총 토큰과 비용만 전달)
             GatewayChatUsage usage = new GatewayChatUsage(
                     totalTokens != null ? totalTokens.longValue() : null,
                     estimatedCost);
 
-            // 예산 집계는 로그 async에 의존하지 않고 요청 스레드에서 동기 기록합니다.
+            // 예산 집계는 로그 async에 의존하지 않고 요청 스레드에서 메모리 집계기에 기록합니다(DB 반영은 write-behind).
             budgetUsageService.recordUsage(
                     BudgetScopeType.WORKSPACE,
                     request.workspaceId(),
@@ -482,6 +819,21 @@ public class GatewayChatService {
                     estimatedCost,
                     totalTokens != null ? totalTokens.longValue() : null
             );
+            if (hedgedCall != null && hedgedCall.winner() != null) {
+                // 취소된 패자의 입력 토큰은 pre-flight 추정치로, 없으면 같은 프롬프트를 보낸 승자의 입력 토큰으로 셉니다.
+                HedgeLoserUsage loserUsage = recordHedgeLoserUsage(
+                        hedgedCall,
+                        primaryKey,
+                        requestedModelEffective,
+                        preflight.promptTokens() != null ? preflight.promptTokens() : inputTokens,
+                        request.workspaceId(),
+                        budgetMonth);
+                hedgeInfo = hedgeInfo.withLoser(
+                        hedgedCall.loserStatus().tag(),
+                        loserUsage.inputTokens(),
+                        loserUsage.outputTokens(),
+                        loserUsage.estimatedCost());
+            }
 
             requestLogWriter.markSuccess(requestId, new RequestLogWriter.SuccessUpdate(
                     200,
@@ -506,18 +858,36 @@ public class GatewayChatService {
                     ragSimilarityThreshold,
                     isFailover ? failoverReason : null,
                     answer,
-                    retrievedDocumentInfos));
+                    retrievedDocumentInfos,
+                    ttftMs,
+                    outputTokensPerSecond,
+                    false,
+                    false,
+                    hedgeInfo));
+
+            // failover 응답은 1차 경로 키와 모델이 다르므로 캐시하지 않습니다.
+            if (responseCacheKey != null && !isFailover && answer != null) {
+                gatewayResponseCache.put(workspaceId, promptId, responseCacheKey, new GatewayResponseCache.CachedResponse(answer, usedModel));
+            }
+            if (flight != null && answer != null) {
+                flight.complete(new GatewaySingleFlight.SharedResponse(answer, usedModel, usedProvider, usedRequestedModel, isFailover));
+            }
 
             // ── Metrics: success path ──
-            String providerTag = usedProvider != null ? usedProvider.name().toLowerCase() : "unknown";
-            gatewayMetrics.recordRequest(providerTag, usedRequestedModel, ragEnabledEffective, isFailover, "success", System.nanoTime() - startedAtNanos);
-            gatewayMetrics.recordLlmCall(providerTag, usedRequestedModel, ragEnabledEffective, isFailover, "success", providerCallEndNanos - providerCallStartNanos);
-            gatewayMetrics.incrementLlmSuccess(providerTag, usedRequestedModel);
+            gatewayMetrics.recordRequest(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.SUCCESS, System.nanoTime() - startedAtNanos);
+            gatewayMetrics.recordLlmCall(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.SUCCESS, providerCallEndNanos - providerCallStartNanos);
+            gatewayMetrics.incrementLlmSuccess(usedProvider, usedRequestedModel);
             if (inputTokens != null) {
-                gatewayMetrics.recordInputTokens(providerTag, usedRequestedModel, inputTokens);
+                gatewayMetrics.recordInputTokens(usedProvider, usedRequestedModel, inputTokens);
             }
             if (outputTokens != null) {
-                gatewayMetrics.recordOutputTokens(providerTag, usedRequestedModel, outputTokens);
+                gatewayMetrics.recordOutputTokens(usedProvider, usedRequestedModel, outputTokens);
+            }
+            if (firstTokenAtNanos != null) {
+                gatewayMetrics.recordTimeToFirstToken(usedProvider, usedRequestedModel, firstTokenAtNanos - startedAtNanos);
+                if (outputTokensPerSecond != null) {
+                    gatewayMetrics.recordOutputTokensPerSecond(usedProvider, usedRequestedModel, outputTokensPerSecond);
+                }
             }
 
             return GatewayChatResponse.from(
@@ -527,12 +897,11 @@ public class GatewayChatService {
                     usedModel,
                     usage);
         } catch (BusinessException e) {
-            String providerTag = usedProvider != null ? usedProvider.name().toLowerCase() : "unknown";
             String failReason = budgetFailReason != null ? budgetFailReason : e.getErrorCode().name();
-            gatewayMetrics.recordRequest(providerTag, usedRequestedModel, ragEnabledEffective, isFailover, "error", System.nanoTime() - startedAtNanos);
+            gatewayMetrics.recordRequest(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.ERROR, System.nanoTime() - startedAtNanos);
             if (providerCallStartNanos > 0) {
-                gatewayMetrics.recordLlmCall(providerTag, usedRequestedModel, ragEnabledEffective, isFailover, "error", System.nanoTime() - providerCallStartNanos);
-                gatewayMetrics.incrementLlmFailure(providerTag, usedRequestedModel, failReason);
+                gatewayMetrics.recordLlmCall(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.ERROR, System.nanoTime() - providerCallStartNanos);
+                gatewayMetrics.incrementLlmFailure(usedProvider, usedRequestedModel, failReason);
             }
             GatewayFailureClassifier.GatewayFailure gatewayFailure = classifyBusinessFailure(e, budgetFailReason);
             if (e.getErrorCode() == ErrorCode.BUDGET_EXCEEDED) {
@@ -592,15 +961,18 @@ public class GatewayChatService {
             }
             throw toGatewayException(gatewayFailure, e);
         } catch (Exception e) {
-            String providerTag = usedProvider != null ? usedProvider.name().toLowerCase() : "unknown";
-            String exFailReason = lastProviderFailure != null ? lastProviderFailure.failReason() : e.getClass().getSimpleName();
-            gatewayMetrics.recordRequest(providerTag, usedRequestedModel, ragEnabledEffective, isFailover, "error", System.nanoTime() - startedAtNanos);
+            String exFailReason = streamFailure != null
+                    ? streamFailure.failReason()
+                    : (lastProviderFailure != null ? lastProviderFailure.failReason() : e.getClass().getSimpleName());
+            gatewayMetrics.recordRequest(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.ERROR, System.nanoTime() - startedAtNanos);
             if (providerCallStartNanos > 0) {
-                gatewayMetrics.recordLlmCall(providerTag, usedRequestedModel, ragEnabledEffective, isFailover, "error", System.nanoTime() - providerCallStartNanos);
-                gatewayMetrics.incrementLlmFailure(providerTag, usedRequestedModel, exFailReason);
+                gatewayMetrics.recordLlmCall(usedProvider, usedRequestedModel, ragEnabledEffective, isFailover, GatewayMetrics.Outcome.ERROR, System.nanoTime() - providerCallStartNanos);
+                gatewayMetrics.incrementLlmFailure(usedProvider, usedRequestedModel, exFailReason);
             }
             GatewayFailureClassifier.GatewayFailure gatewayFailure;
-            if (isRequestDeadlineFailure(lastProviderFailure)) {
+            if (streamFailure != null) {
+                gatewayFailure = streamFailure;
+            } else if (isRequestDeadlineFailure(lastProviderFailure)) {
                 gatewayFailure = lastProviderFailure;
             } else if (failoverAttempted) {
                 gatewayFailure = allProvidersFailedFailure(lastProviderFailure);
@@ -632,8 +1004,18 @@ public class GatewayChatService {
                     ragTopK,
                     ragSimilarityThreshold,
                     toErrorResponsePayload(gatewayFailure),
-                    retrievedDocumentInfos));
+                    retrievedDocumentInfos,
+                    hedgeInfo));
+            // 프로바이더 호출 실패는 기다리던 요청에 그대로 넘기고, leader의 마감 시간 소진은 다시 합류하게 둡니다.
+            if (flight != null && !isRequestDeadlineFailure(gatewayFailure)) {
+                flight.fail(gatewayFailure);
+            }
             throw toGatewayException(gatewayFailure, e);
+        } finally {
+            // leader가 응답을 공유하지 못하고 끝나면 기다리던 요청이 다시 합류하도록 결과 없이 완료합니다.
+            if (flight != null) {
+                flight.complete(null);
+            }
         }
     }
 
@@ -719,6 +1101,18 @@ public class GatewayChatService {
         return elapsedMs > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) elapsedMs;
     }
 
+    private static Integer toLatencyMs(long startedAtNanos, long endedAtNanos) {
+        long elapsedMs = Math.max(0L, endedAtNanos - startedAtNanos) / 1_000_000L;
+        return elapsedMs > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) elapsedMs;
+    }
+
+    private static Double toTokensPerSecond(Integer outputTokens, long generationNanos) {
+        if (outputTokens == null || outputTokens <= 0 || generationNanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return null;
+        }
+        return outputTokens / (generationNanos / 1_000_000_000.0);
+    }
+
     private static Integer safeToInteger(Long value) {
         if (value == null) {
             return null;
@@ -732,10 +1126,34 @@ public class GatewayChatService {
         return value.intValue();
     }
 
-    private Workspace findWorkspace(Long organizationId, Long workspaceId) {
+    /**
+     * 워크스페이스/프롬프트/활성 릴리즈를 해석한 스냅샷을 반환합니다.
+     * 캐시 미스일 때만 DB를 조회하며, 조회 실패(권한 없음, 릴리즈 없음)는 캐시하지 않습니다.
+     */
+    PromptReleaseSnapshot resolveReleaseSnapshot(Long organizationId, Long workspaceId, String promptKey) {
         if (workspaceId == null || workspaceId <= 0) {
             throw new BusinessException(ErrorCode.INVALID_INPUT_VALUE, "workspaceId가 필요합니다.");
         }
+        return promptReleaseSnapshotCache.getOrLoad(organizationId, workspaceId, promptKey, () -> {
+            Workspace workspace = findWorkspace(organizationId, workspaceId);
+            ActiveVersionResolution resolution = resolveActiveVersion(workspace, promptKey);
+            PromptVersion activeVersion = resolution.version();
+            return new PromptReleaseSnapshot(
+                    workspace.getId(),
+                    resolution.promptId(),
+                    resolution.promptVersionId(),
+                    activeVersion.getProvider(),
+                    activeVersion.getModel(),
+                    activeVersion.getSecondaryProvider(),
+                    activeVersion.getSecondaryModel(),
+                    PromptTemplate.compile(resolveUserTemplate(activeVersion, promptKey)),
+                    compileOptionalTemplate(activeVersion.getSystemPrompt()),
+                    ModelConfigOverride.from(activeVersion.getModelConfig()),
+                    HedgePolicy.from(activeVersion.getModelConfig()));
+        });
+    }
+
+    private Workspace findWorkspace(Long organizationId, Long workspaceId) {
         return workspaceRepository
                 .findByIdAndOrganizationIdAndStatus(workspaceId, organizationId, WorkspaceStatus.ACTIVE)
                 .orElseThrow(() -> new BusinessException(ErrorCode.FORBIDDEN, "워크스페이스 접근 권한이 없습니다."));
@@ -763,11 +1181,11 @@ public class GatewayChatService {
         return (template == null || template.isBlank()) ? "{{question}}" : template;
     }
 
-    private String renderOptionalTemplate(String template, Map<String, String> variables) {
+    private static PromptTemplate compileOptionalTemplate(String template) {
         if (template == null || template.isBlank()) {
             return null;
         }
-        return renderPrompt(template, variables);
+        return PromptTemplate.compile(template);
     }
 
     private String resolveRagQuery(String renderedUserPrompt, Map<String, String> variables) {
@@ -780,46 +1198,118 @@ public class GatewayChatService {
         return renderedUserPrompt;
     }
 
+    // ── Provider 호출 체인 ──────────────────────────────────────────────────
+
     /**
-     * 프롬프트 키(템플릿)와 변수 맵을 사용하여 최종 프롬프트 문자열을 생성(렌더링)합니다.
+     * LlmCallService에 위임하여 실제 LLM 프로바이더를 호출합니다.
+     * 프로바이더별 적응형 동시 호출 한도를 점유한 뒤 호출하고, 결과(지연/오류)를 한도 조정에 반영합니다.
+     * 점유한 슬롯은 {@code permitHolder}에도 넣어, 제한 시간을 넘겨 호출을 취소하는 쪽이 먼저 혼잡 신호로 반납할 수 있게 합니다.
      */
-    private String renderPrompt(String promptKey, Map<String, String> variables) {
-        if (variables == null || variables.isEmpty()) {
-            return promptKey;
+    private ChatResponse callProvider(
+            ResolvedProviderApiKey resolved,
+            String requestedModel,
+            String systemPrompt,
+            String userPrompt,
+            ModelConfigOverride config,
+            AtomicReference<ProviderConcurrencyLimiter.Permit> permitHolder
+    ) {
+        ProviderConcurrencyLimiter.Permit permit = providerConcurrencyLimiter.acquire(resolved.providerType(), requestedModel);
+        permitHolder.set(permit);
+        ProviderConcurrencyLimiter.Outcome outcome = ProviderConcurrencyLimiter.Outcome.IGNORED;
+        try {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(resolved.providerType().getValue());
+            ChatResponse response = CircuitBreaker.decorateSupplier(circuitBreaker, () ->
+                    llmCallService.callProvider(
+                            resolved,
+                            requestedModel,
+                            systemPrompt,
+                            userPrompt,
+                            config
+                    )
+            ).get();
+            outcome = ProviderConcurrencyLimiter.Outcome.SUCCESS;
+            return response;
+        } catch (RuntimeException e) {
+            outcome = limiterOutcome(e);
+            throw e;
+        } finally {
+            permit.release(outcome);
         }
+    }
 
-        String rendered = promptKey;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            String doubleBrace = "{{" + key + "}}";
-            rendered = rendered.replace(doubleBrace, value);
+    /**
+     * 호출 제한 시간을 넘긴 시도의 슬롯을 혼잡 신호로 반납합니다.
+     * 취소(interrupt)로 작업 스레드에서 나는 예외는 종류가 제각각이라, 취소하기 전에 여기서 먼저 반납하고 작업 스레드의 반납은 무시되게 합니다.
+     */
+    private static void releaseTimedOut(AtomicReference<ProviderConcurrencyLimiter.Permit> permitHolder) {
+        ProviderConcurrencyLimiter.Permit permit = permitHolder.get();
+        if (permit != null) {
+            permit.release(ProviderConcurrencyLimiter.Outcome.DROPPED);
         }
-        return rendered;
     }
 
-    // ── Provider 호출 체인 ──────────────────────────────────────────────────
+    /**
+     * 혼잡 신호(timeout/429/5xx 등 failover 대상 오류)만 한도 감소로 이어지게 합니다.
+     * 회로 차단이나 요청 자체의 오류는 프로바이더 처리량과 무관하므로 반영하지 않습니다.
+     */
+    private ProviderConcurrencyLimiter.Outcome limiterOutcome(Exception exception) {
+        if (exception instanceof CallNotPermittedException) {
+            return ProviderConcurrencyLimiter.Outcome.IGNORED;
+        }
+        return classifyProviderFailure(exception).failoverEligible()
+                ? ProviderConcurrencyLimiter.Outcome.DROPPED
+                : ProviderConcurrencyLimiter.Outcome.IGNORED;
+    }
 
     /**
-     * LlmCallService에 위임하여 실제 LLM 프로바이더를 호출합니다.
+     * 스트리밍 호출을 시작합니다. 서킷브레이커 결과는 첫 토큰 도착 여부로 기록합니다.
      */
-    private ChatResponse callProvider(
+    private ProviderStreamRelay streamProvider(
             ResolvedProviderApiKey resolved,
             String requestedModel,
             String systemPrompt,
             String userPrompt,
-            ModelConfigOverride config
-    ) {
+            ModelConfigOverride config,
+            long attemptTimeoutMs
+    ) throws Exception {
+        // 스트리밍은 첫 토큰까지를 지연 표본으로 보고, 첫 토큰이 도착하면 동시 호출 슬롯을 반납합니다.
+        ProviderConcurrencyLimiter.Permit permit = providerConcurrencyLimiter.acquire(resolved.providerType(), requestedModel);
         CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(resolved.providerType().getValue());
-        return CircuitBreaker.decorateSupplier(circuitBreaker, () ->
-                llmCallService.callProvider(
-                        resolved,
-                        requestedModel,
-                        systemPrompt,
-                        userPrompt,
-                        config
-                )
-        ).get();
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            permit.release(ProviderConcurrencyLimiter.Outcome.IGNORED);
+            throw e;
+        }
+        long circuitStart = circuitBreaker.getCurrentTimestamp();
+        ProviderStreamRelay relay = null;
+        try {
+            relay = ProviderStreamRelay.subscribe(llmCallService.streamProvider(
+                    resolved,
+                    requestedModel,
+                    systemPrompt,
+                    userPrompt,
+                    config
+            ));
+            relay.awaitFirstToken(attemptTimeoutMs);
+            circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - circuitStart, circuitBreaker.getTimestampUnit());
+            permit.release(ProviderConcurrencyLimiter.Outcome.SUCCESS);
+            return relay;
+        } catch (Exception e) {
+            if (relay != null) {
+                relay.cancel();
+            }
+            permit.release(e instanceof TimeoutException ? ProviderConcurrencyLimiter.Outcome.DROPPED : limiterOutcome(e));
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - circuitStart, circuitBreaker.getTimestampUnit(), e);
+            if (e instanceof TimeoutException timeoutException) {
+                throw new ProviderAttemptTimeoutException(timeoutException);
+            }
+            if (e instanceof InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new ProviderAttemptTimeoutException(interruptedException);
+            }
+            throw e;
+        }
     }
 
     private static ModelConfigOverride buildEffectiveModelConfig(
@@ -852,56 +1342,120 @@ public class GatewayChatService {
             String userPrompt,
             ModelConfigOverride config,
             long deadlineNanos,
-            boolean reserveFailoverBudget
+            boolean reserveFailoverBudget,
+            boolean streaming
     ) {
         long failoverReserveMs = reserveFailoverBudget
                 ? gatewayReliabilityProperties.resolvedMinFailoverBudgetMs() + FAILOVER_GUARD_BUFFER_MS
                 : 0L;
         try {
-            ChatResponse first = callProviderWithDeadline(
+            return attemptProviderCall(
                     resolved,
                     requestedModel,
                     systemPrompt,
                     userPrompt,
                     config,
                     deadlineNanos,
-                    failoverReserveMs
+                    failoverReserveMs,
+                    streaming
             );
-            return ProviderCallOutcome.success(first);
         } catch (Exception firstException) {
-            GatewayFailureClassifier.GatewayFailure firstFailure = classifyProviderFailure(firstException);
-            if (!firstFailure.retrySameRouteOnce()) {
-                return ProviderCallOutcome.failure(toRuntimeException(firstException), firstFailure);
-            }
-            long minimumRetryBudgetMs = gatewayReliabilityProperties.resolvedMinRetryBudgetMs() + failoverReserveMs;
-            if (!hasRemainingBudget(deadlineNanos, minimumRetryBudgetMs)) {
-                return ProviderCallOutcome.failure(toRuntimeException(firstException), firstFailure);
-            }
+            return retrySameRouteOnce(
+                    firstException,
+                    resolved,
+                    requestedModel,
+                    systemPrompt,
+                    userPrompt,
+                    config,
+                    deadlineNanos,
+                    failoverReserveMs,
+                    streaming
+            );
+        }
+    }
 
-            long retryBackoffMs = gatewayReliabilityProperties.resolvedRetryBackoffMs();
-            if (retryBackoffMs > 0) {
-                long maxSleepMs = Math.max(0L, remainingBudgetMs(deadlineNanos) - failoverReserveMs);
-                sleepQuietly(Math.min(retryBackoffMs, maxSleepMs));
-            }
-            if (!hasRemainingBudget(deadlineNanos, minimumRetryBudgetMs)) {
-                return ProviderCallOutcome.failure(toRuntimeException(firstException), firstFailure);
-            }
-            try {
-                ChatResponse second = callProviderWithDeadline(
-                        resolved,
-                        requestedModel,
-                        systemPrompt,
-                        userPrompt,
-                        config,
-                        deadlineNanos,
-                        failoverReserveMs
-                );
-                return ProviderCallOutcome.success(second);
-            } catch (Exception secondException) {
-                GatewayFailureClassifier.GatewayFailure secondFailure = classifyProviderFailure(secondException);
-                return ProviderCallOutcome.failure(toRuntimeException(secondException), secondFailure);
-            }
+    /**
+     * 첫 호출이 같은 경로 재시도 대상 오류로 실패했고 재시도할 예산이 남았으면 한 번 더 호출합니다.
+     * failover 예산({@code failoverReserveMs})은 남겨 두고, 재시도하지 않으면 첫 실패를 그대로 돌려줍니다.
+     */
+    private ProviderCallOutcome retrySameRouteOnce(
+            Exception firstException,
+            ResolvedProviderApiKey resolved,
+            String requestedModel,
+            String systemPrompt,
+            String userPrompt,
+            ModelConfigOverride config,
+            long deadlineNanos,
+            long failoverReserveMs,
+            boolean streaming
+    ) {
+        GatewayFailureClassifier.GatewayFailure firstFailure = classifyProviderFailure(firstException);
+        if (!firstFailure.retrySameRouteOnce()) {
+            return ProviderCallOutcome.failure(toRuntimeException(firstException), firstFailure);
+        }
+        long minimumRetryBudgetMs = gatewayReliabilityProperties.resolvedMinRetryBudgetMs() + failoverReserveMs;
+        if (!hasRemainingBudget(deadlineNanos, minimumRetryBudgetMs)) {
+            return ProviderCallOutcome.failure(toRuntimeException(firstException), firstFailure);
+        }
+
+        long retryBackoffMs = gatewayReliabilityProperties.resolvedRetryBackoffMs();
+        if (retryBackoffMs > 0) {
+            long maxSleepMs = Math.max(0L, remainingBudgetMs(deadlineNanos) - failoverReserveMs);
+            sleepQuietly(Math.min(retryBackoffMs, maxSleepMs));
+        }
+        if (!hasRemainingBudget(deadlineNanos, minimumRetryBudgetMs)) {
+            return ProviderCallOutcome.failure(toRuntimeException(firstException), firstFailure);
+        }
+        try {
+            return attemptProviderCall(
+                    resolved,
+                    requestedModel,
+                    systemPrompt,
+                    userPrompt,
+                    config,
+                    deadlineNanos,
+                    failoverReserveMs,
+                    streaming
+            );
+        } catch (Exception secondException) {
+            GatewayFailureClassifier.GatewayFailure secondFailure = classifyProviderFailure(secondException);
+            return ProviderCallOutcome.failure(toRuntimeException(secondException), secondFailure);
+        }
+    }
+
+    private ProviderCallOutcome attemptProviderCall(
+            ResolvedProviderApiKey resolved,
+            String requestedModel,
+            String systemPrompt,
+            String userPrompt,
+            ModelConfigOverride config,
+            long deadlineNanos,
+            long reservedBudgetAfterCallMs,
+            boolean streaming
+    ) throws Exception {
+        if (!streaming) {
+            return ProviderCallOutcome.success(callProviderWithDeadline(
+                    resolved,
+                    requestedModel,
+                    systemPrompt,
+                    userPrompt,
+                    config,
+                    deadlineNanos,
+                    reservedBudgetAfterCallMs
+            ));
         }
+        long usableBudgetMs = remainingBudgetMs(deadlineNanos) - Math.max(0L, reservedBudgetAfterCallMs);
+        if (usableBudgetMs <= 0) {
+            throw new RequestDeadlineExhaustedException();
+        }
+        return ProviderCallOutcome.streaming(streamProvider(
+                resolved,
+                requestedModel,
+                systemPrompt,
+                userPrompt,
+                config,
+                Math.max(1L, usableBudgetMs)
+        ));
     }
 
     private GatewayFailureClassifier.GatewayFailure classifyProviderFailure(Exception exception) {
@@ -930,12 +1484,15 @@ public class GatewayChatService {
         }
 
         long attemptTimeoutMs = Math.max(1L, usableBudgetMs);
+        providerConcurrencyLimiter.checkCapacity(resolved.providerType(), requestedModel);
+        AtomicReference<ProviderConcurrencyLimiter.Permit> permitHolder = new AtomicReference<>();
         Future<ChatResponse> future = providerCallExecutor.submit(() ->
-                callProvider(resolved, requestedModel, systemPrompt, userPrompt, config));
+                callProvider(resolved, requestedModel, systemPrompt, userPrompt, config, permitHolder));
 
         try {
             return future.get(attemptTimeoutMs, TimeUnit.MILLISECONDS);
         } catch (TimeoutException timeoutException) {
+            releaseTimedOut(permitHolder);
             future.cancel(true);
             throw new ProviderAttemptTimeoutException(timeoutException);
         } catch (InterruptedException interruptedException) {
@@ -951,6 +1508,295 @@ public class GatewayChatService {
         }
     }
 
+    // ── Hedging ────────────────────────────────────────────────────────────
+
+    /**
+     * hedging에 쓸 2차 경로를 미리 확정합니다. 2차 credential이 없거나 예산 차단 상태면 hedging하지 않습니다.
+     */
+    @Nullable
+    private HedgeRoute resolveHedgeRoute(
+            @Nullable HedgePolicy policy,
+            Long organizationId,
+            Long workspaceId,
+            ProviderType primaryProvider,
+            ProviderType secondaryProvider,
+            String secondaryModel,
+            Integer maxOutputTokensOverride,
+            ModelConfigOverride versionModelConfig,
+            @Nullable BigDecimal projectedSecondaryCost
+    ) {
+        if (policy == null || !hasSecondaryModel(secondaryProvider, secondaryModel)) {
+            return null;
+        }
+        ResolvedProviderApiKey secondaryKey;
+        try {
+            secondaryKey = providerCredentialService.resolveApiKey(organizationId, secondaryProvider);
+        } catch (BusinessException e) {
+            return null;
+        }
+        if (budgetGuardrailService.evaluateProviderCredential(secondaryKey.credentialId(), projectedSecondaryCost).action()
+                == BudgetDecisionAction.BLOCK) {
+            return null;
+        }
+
+        String secondaryOverride = null;
+        Integer secondaryMaxTokens = maxOutputTokensOverride;
+        BudgetDecision wsDecisionSecondary = budgetGuardrailService.evaluateWorkspaceDegrade(workspaceId, secondaryProvider.getValue());
+        if (wsDecisionSecondary.action() == BudgetDecisionAction.DEGRADE && wsDecisionSecondary.overrides() != null) {
+            BudgetDecision.Overrides o2 = wsDecisionSecondary.overrides();
+            if (o2.modelOverride() != null && !o2.modelOverride().isBlank()) {
+                secondaryOverride = o2.modelOverride();
+            }
+            if (o2.maxOutputTokens() != null && o2.maxOutputTokens() > 0) {
+                secondaryMaxTokens = o2.maxOutputTokens();
+            }
+        }
+        return new HedgeRoute(
+                secondaryKey,
+                secondaryOverride != null ? secondaryOverride : secondaryModel,
+                buildEffectiveModelConfig(versionModelConfig, secondaryMaxTokens),
+                resolveHedgeDelayMs(policy, primaryProvider));
+    }
+
+    private long resolveHedgeDelayMs(HedgePolicy policy, ProviderType primaryProvider) {
+        long delayMs;
+        if (policy.useProviderP95()) {
+            long fallbackMs = policy.fixedDelayMs() != null
+                    ? policy.fixedDelayMs()
+                    : gatewayReliabilityProperties.resolvedHedgeFallbackDelayMs();
+            delayMs = gatewayMetrics.providerLatencyP95Ms(primaryProvider).orElse(fallbackMs);
+        } else {
+            delayMs = policy.fixedDelayMs();
+        }
+        return Math.max(delayMs, gatewayReliabilityProperties.resolvedHedgeMinDelayMs());
+    }
+
+    /**
+     * 1차 경로를 호출하고, 대기 시간 안에 끝나지 않으면 2차 경로를 병렬로 호출해 먼저 성공한 응답을 사용합니다.
+     * <p>
+     * 대기 시간 안에 1차 호출이 끝나면(성공/실패 모두) hedging 없이 일반 호출 결과로 돌려줍니다. 실패했으면 일반 호출과 같이
+     * 같은 경로 재시도를 한 번 거친 뒤 호출한 쪽의 failover 흐름을 탑니다.
+     * 두 호출 모두 스레드 풀에 넘기기 전에 동시성 한도를 확인하고, 2차 호출은 한도가 가득 찼으면 보내지 않습니다.
+     * hedging이 발동한 뒤에는 먼저 성공한 쪽을 채택하고 나머지 호출은 취소합니다.
+     */
+    private HedgedCallResult callProviderHedged(
+            ResolvedProviderApiKey primaryKey,
+            String primaryModel,
+            String systemPrompt,
+            String userPrompt,
+            ModelConfigOverride primaryConfig,
+            HedgeRoute route,
+            long deadlineNanos
+    ) {
+        long failoverReserveMs = gatewayReliabilityProperties.resolvedMinFailoverBudgetMs() + FAILOVER_GUARD_BUFFER_MS;
+        BlockingQueue<HedgeAttempt> completions = new LinkedBlockingQueue<>();
+        try {
+            providerConcurrencyLimiter.checkCapacity(primaryKey.providerType(), primaryModel);
+        } catch (ProviderConcurrencyLimitedException e) {
+            return HedgedCallResult.notFired(ProviderCallOutcome.failure(e, classifyProviderFailure(e)));
+        }
+        AtomicReference<ProviderConcurrencyLimiter.Permit> primaryPermit = new AtomicReference<>();
+        AtomicReference<ProviderConcurrencyLimiter.Permit> secondaryPermit = new AtomicReference<>();
+        Future<?> primaryFuture = submitHedgeAttempt(
+                HedgeLeg.PRIMARY, primaryKey, primaryModel, systemPrompt, userPrompt, primaryConfig, primaryPermit, completions);
+        Future<?> secondaryFuture = null;
+        long secondaryStartedAtNanos = 0L;
+        try {
+            HedgeAttempt first = completions.poll(
+                    Math.min(route.delayMs(), remainingBudgetMs(deadlineNanos)), TimeUnit.MILLISECONDS);
+            if (first == null
+                    && hasRemainingBudget(deadlineNanos, gatewayReliabilityProperties.resolvedMinFailoverBudgetMs())) {
+                try {
+                    providerConcurrencyLimiter.checkCapacity(route.key().providerType(), route.model());
+                    secondaryStartedAtNanos = System.nanoTime();
+                    secondaryFuture = submitHedgeAttempt(
+                            HedgeLeg.SECONDARY, route.key(), route.model(), systemPrompt, userPrompt, route.config(),
+                            secondaryPermit, completions);
+                    gatewayMetrics.incrementHedge("fired");
+                } catch (ProviderConcurrencyLimitedException | RejectedExecutionException e) {
+                    // 2차 프로바이더 한도나 호출 스레드 풀이 가득 찼으면 hedging을 포기하고 1차 호출만 기다립니다.
+                    secondaryFuture = null;
+                }
+            }
+
+            if (secondaryFuture == null) {
+                if (first == null) {
+                    first = completions.poll(remainingBudgetMs(deadlineNanos), TimeUnit.MILLISECONDS);
+                }
+                if (first == null) {
+                    releaseTimedOut(primaryPermit);
+                    primaryFuture.cancel(true);
+                    return HedgedCallResult.notFired(deadlineExceededOutcome(new TimeoutException("primary provider call")));
+                }
+                if (first.response() != null) {
+                    return HedgedCallResult.notFired(ProviderCallOutcome.success(first.response()));
+                }
+                return HedgedCallResult.notFired(retrySameRouteOnce(
+                        first.exception(),
+                        primaryKey,
+                        primaryModel,
+                        systemPrompt,
+                        userPrompt,
+                        primaryConfig,
+                        deadlineNanos,
+                        failoverReserveMs,
+                        false
+                ));
+            }
+
+            HedgeAttempt lastFailure = null;
+            for (int pending = 2; pending > 0; pending--) {
+                HedgeAttempt done = completions.poll(remainingBudgetMs(deadlineNanos), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    releaseTimedOut(primaryPermit);
+                    releaseTimedOut(secondaryPermit);
+                    lastFailure = null;
+                    break;
+                }
+                if (done.response() != null) {
+                    Future<?> loserFuture = done.leg() == HedgeLeg.PRIMARY ? secondaryFuture : primaryFuture;
+                    // 채택되지 않아 취소하는 호출은 혼잡 여부를 알 수 없으므로 한도 조정 없이 슬롯만 반납합니다.
+                    ProviderConcurrencyLimiter.Permit loserPermit =
+                            (done.leg() == HedgeLeg.PRIMARY ? secondaryPermit : primaryPermit).get();
+                    if (loserPermit != null) {
+                        loserPermit.release(ProviderConcurrencyLimiter.Outcome.IGNORED);
+                    }
+                    loserFuture.cancel(true);
+                    // 취소 직전에 이미 끝난 패자 응답은 비용이 발생했으므로 예산 집계와 로그에 반영할 수 있게 넘깁니다.
+                    // 취소 후 도착한 패자의 예외는 취소로 인한 것이므로 cancelled로 봅니다.
+                    HedgeAttempt loser = completions.poll();
+                    ChatResponse loserResponse = loser != null ? loser.response() : null;
+                    HedgeLoserStatus loserStatus = lastFailure != null
+                            ? HedgeLoserStatus.FAILED
+                            : (loserResponse != null ? HedgeLoserStatus.COMPLETED : HedgeLoserStatus.CANCELLED);
+                    gatewayMetrics.incrementHedge(done.leg() == HedgeLeg.PRIMARY ? "primary_won" : "secondary_won");
+                    return HedgedCallResult.won(
+                            done.leg(),
+                            route,
+                            done.response(),
+                            secondaryStartedAtNanos,
+                            loserStatus,
+                            loserResponse);
+                }
+                lastFailure = done;
+            }
+
+            primaryFuture.cancel(true);
+            secondaryFuture.cancel(true);
+            gatewayMetrics.incrementHedge("all_failed");
+            return HedgedCallResult.allFailed(lastFailure != null
+                    ? toOutcome(lastFailure)
+                    : deadlineExceededOutcome(new TimeoutException("hedged provider calls")));
+        } catch (InterruptedException interruptedException) {
+            primaryFuture.cancel(true);
+            if (secondaryFuture != null) {
+                secondaryFuture.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            ProviderCallOutcome outcome = deadlineExceededOutcome(interruptedException);
+            return secondaryFuture != null ? HedgedCallResult.allFailed(outcome) : HedgedCallResult.notFired(outcome);
+        }
+    }
+
+    private Future<?> submitHedgeAttempt(
+            HedgeLeg leg,
+            ResolvedProviderApiKey resolved,
+            String requestedModel,
+            String systemPrompt,
+            String userPrompt,
+            ModelConfigOverride config,
+            AtomicReference<ProviderConcurrencyLimiter.Permit> permitHolder,
+            BlockingQueue<HedgeAttempt> completions
+    ) {
+        return providerCallExecutor.submit(() -> {
+            try {
+                ChatResponse response = callProvider(resolved, requestedModel, systemPrompt, userPrompt, config, permitHolder);
+                completions.add(new HedgeAttempt(leg, response, null));
+            } catch (Exception e) {
+                completions.add(new HedgeAttempt(leg, null, e));
+            }
+            return null;
+        });
+    }
+
+    private ProviderCallOutcome toOutcome(HedgeAttempt attempt) {
+        if (attempt.response() != null) {
+            return ProviderCallOutcome.success(attempt.response());
+        }
+        return ProviderCallOutcome.failure(toRuntimeException(attempt.exception()), classifyProviderFailure(attempt.exception()));
+    }
+
+    private static ProviderCallOutcome deadlineExceededOutcome(Throwable cause) {
+        return ProviderCallOutcome.failure(
+                new ProviderAttemptTimeoutException(cause),
+                FAILURE_CLASSIFIER.requestDeadlineExceededFailure());
+    }
+
+    /**
+     * hedging에서 채택되지 않은 호출의 비용을 예산 사용량에 반영하고, 요청 로그에 남길 값을 돌려줍니다. (best-effort)
+     * <ul>
+     *     <li>completed: 프로바이더가 보고한 토큰으로 비용을 계산합니다.</li>
+     *     <li>cancelled: 입력은 이미 보냈으므로 추정 입력 토큰만으로 비용을 계산합니다. 출력 토큰은 알 수 없습니다.</li>
+     *     <li>failed: 비용이 없습니다.</li>
+     * </ul>
+     */
+    private HedgeLoserUsage recordHedgeLoserUsage(
+            HedgedCallResult hedgedCall,
+            ResolvedProviderApiKey primaryKey,
+            String primaryModel,
+            @Nullable Integer estimatedInputTokens,
+            Long workspaceId,
+            YearMonth budgetMonth
+    ) {
+        boolean loserIsPrimary = hedgedCall.winner() == HedgeLeg.SECONDARY;
+        Long credentialId = loserIsPrimary ? primaryKey.credentialId() : hedgedCall.route().key().credentialId();
+        String loserModel = loserIsPrimary ? primaryModel : hedgedCall.route().model();
+
+        HedgeLoserUsage usage = switch (hedgedCall.loserStatus()) {
+            case COMPLETED -> completedLoserUsage(hedgedCall.loserResponse(), loserModel);
+            case CANCELLED -> new HedgeLoserUsage(
+                    estimatedInputTokens,
+                    null,
+                    estimatedInputTokens != null ? ModelPricing.calculateCost(loserModel, estimatedInputTokens, 0) : null,
+                    estimatedInputTokens != null ? Long.valueOf(estimatedInputTokens) : null);
+            case FAILED -> new HedgeLoserUsage(null, null, null, null);
+        };
+        if (usage.estimatedCost() != null || usage.tokens() != null) {
+            budgetUsageService.recordUsage(
+                    BudgetScopeType.WORKSPACE, workspaceId, budgetMonth, usage.estimatedCost(), usage.tokens());
+            budgetUsageService.recordUsage(
+                    BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, budgetMonth, usage.estimatedCost(), usage.tokens());
+        }
+        return usage;
+    }
+
+    private static HedgeLoserUsage completedLoserUsage(ChatResponse loser, String loserModel) {
+        if (loser.getMetadata() == null || loser.getMetadata().getUsage() == null) {
+            return new HedgeLoserUsage(null, null, null, null);
+        }
+        String pricingModel = loser.getMetadata().getModel() != null && !loser.getMetadata().getModel().isBlank()
+                ? loser.getMetadata().getModel()
+                : loserModel;
+
+        Integer inputTokens = safeToInteger(loser.getMetadata().getUsage().getPromptTokens());
+        Integer outputTokens = safeToInteger(loser.getMetadata().getUsage().getGenerationTokens());
+        Integer totalTokens = safeToInteger(loser.getMetadata().getUsage().getTotalTokens());
+        BigDecimal cost = null;
+        if (inputTokens != null && outputTokens != null) {
+            cost = ModelPricing.calculateCost(pricingModel, inputTokens, outputTokens);
+        } else if (totalTokens != null) {
+            cost = ModelPricing.calculateCostFromTotalTokens(pricingModel, totalTokens);
+        }
+        Long tokens = totalTokens != null
+                ? Long.valueOf(totalTokens)
+                : (inputTokens != null && outputTokens != null ? (long) inputTokens + outputTokens : null);
+        return new HedgeLoserUsage(inputTokens, outputTokens, cost, tokens);
+    }
+
+    private static int toIntMillis(long millis) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, millis));
+    }
+
     // ── 실패 분류 / 에러 처리 ────────────────────────────────────────────────
 
     private GatewayFailureClassifier.GatewayFailure classifyBusinessFailure(BusinessException exception, String budgetFailReason) {
@@ -982,6 +1828,12 @@ public class GatewayChatService {
         return remainingBudgetMs(deadlineNanos) >= minimumRequiredMs;
     }
 
+    private long remainingStreamMs(long startedAtNanos) {
+        long streamDeadlineNanos = startedAtNanos
+                + TimeUnit.MILLISECONDS.toNanos(gatewayReliabilityProperties.resolvedStreamTimeoutMs());
+        return Math.max(1L, remainingBudgetMs(streamDeadlineNanos));
+    }
+
     private long remainingBudgetMs(long deadlineNanos) {
         long remainingNanos = deadlineNanos - System.nanoTime();
         if (remainingNanos <= 0) {
@@ -1030,19 +1882,104 @@ public class GatewayChatService {
 
     private record ProviderCallOutcome(
             ChatResponse response,
+            ProviderStreamRelay stream,
             RuntimeException exception,
             GatewayFailureClassifier.GatewayFailure failure
     ) {
         static ProviderCallOutcome success(ChatResponse response) {
-            return new ProviderCallOutcome(response, null, null);
+            return new ProviderCallOutcome(response, null, null, null);
+        }
+
+        static ProviderCallOutcome streaming(ProviderStreamRelay stream) {
+            return new ProviderCallOutcome(null, stream, null, null);
         }
 
         static ProviderCallOutcome failure(RuntimeException exception, GatewayFailureClassifier.GatewayFailure failure) {
-            return new ProviderCallOutcome(null, exception, failure);
+            return new ProviderCallOutcome(null, null, exception, failure);
         }
 
         boolean success() {
-            return response != null;
+            return response != null || stream != null;
+        }
+    }
+
+    private record HedgeRoute(
+            ResolvedProviderApiKey key,
+            String model,
+            ModelConfigOverride config,
+            long delayMs
+    ) {
+    }
+
+    private enum HedgeLeg {
+        PRIMARY,
+        SECONDARY
+    }
+
+    private record HedgeAttempt(HedgeLeg leg, ChatResponse response, Exception exception) {
+    }
+
+    /**
+     * 승자가 정해졌을 때 채택되지 않은 경로의 결과입니다.
+     */
+    private enum HedgeLoserStatus {
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * @param tokens 예산 사용량에 반영할 토큰 수
+     */
+    private record HedgeLoserUsage(
+            Integer inputTokens,
+            Integer outputTokens,
+            BigDecimal estimatedCost,
+            Long tokens
+    ) {
+    }
+
+    /**
+     * hedging 호출 결과입니다.
+     * hedging이 발동하지 않았거나 모두 실패했으면 {@code primaryOutcome}이 일반 호출 결과 역할을 합니다.
+     */
+    private record HedgedCallResult(
+            boolean fired,
+            HedgeLeg winner,
+            HedgeRoute route,
+            ProviderCallOutcome primaryOutcome,
+            ChatResponse winnerResponse,
+            long secondaryStartedAtNanos,
+            HedgeLoserStatus loserStatus,
+            ChatResponse loserResponse
+    ) {
+        static HedgedCallResult notFired(ProviderCallOutcome outcome) {
+            return new HedgedCallResult(false, null, null, outcome, null, 0L, null, null);
+        }
+
+        static HedgedCallResult allFailed(ProviderCallOutcome lastFailure) {
+            return new HedgedCallResult(true, null, null, lastFailure, null, 0L, null, null);
+        }
+
+        static HedgedCallResult won(
+                HedgeLeg winner,
+                HedgeRoute route,
+                ChatResponse response,
+                long secondaryStartedAtNanos,
+                HedgeLoserStatus loserStatus,
+                ChatResponse loserResponse
+        ) {
+            ProviderCallOutcome primaryOutcome = winner == HedgeLeg.PRIMARY ? ProviderCallOutcome.success(response) : null;
+            return new HedgedCallResult(
+                    true, winner, route, primaryOutcome, response, secondaryStartedAtNanos, loserStatus, loserResponse);
+        }
+
+        String winnerTag() {
+            return winner != null ? winner.name().toLowerCase() : null;
         }
     }
 
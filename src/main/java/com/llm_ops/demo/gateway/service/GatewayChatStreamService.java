@@ -0,0 +1,115 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayReliabilityProperties;
+import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatResponse;
+import com.llm_ops.demo.gateway.dto.GatewayChatStreamDelta;
+import com.llm_ops.demo.global.error.ErrorCode;
+import com.llm_ops.demo.global.error.ErrorResponse;
+import com.llm_ops.demo.global.error.GatewayException;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * `stream=true` 요청을 Server-Sent Events로 응답합니다.
+ * 인증은 요청 스레드에서 먼저 수행하고, 파이프라인은 스트리밍 전용 풀에서 실행합니다.
+ *
+ * <ul>
+ *     <li>{@code delta}: 생성된 텍스트 조각 ({@link GatewayChatStreamDelta})</li>
+ *     <li>{@code done}: 스트림 종료 후 집계된 응답 ({@link GatewayChatResponse})</li>
+ *     <li>{@code error}: 처리 실패 ({@link ErrorResponse})</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class GatewayChatStreamService {
+
+    private static final long EMITTER_GRACE_MS = 5_000L;
+
+    private final GatewayChatService gatewayChatService;
+    private final GatewayReliabilityProperties gatewayReliabilityProperties;
+    private final ExecutorService gatewayStreamExecutor;
+    private final GatewayTenantLimiter gatewayTenantLimiter;
+
+    public GatewayChatStreamService(
+            GatewayChatService gatewayChatService,
+            GatewayReliabilityProperties gatewayReliabilityProperties,
+            @Qualifier("gatewayStreamExecutor") ExecutorService gatewayStreamExecutor,
+            GatewayTenantLimiter gatewayTenantLimiter) {
+        this.gatewayChatService = gatewayChatService;
+        this.gatewayReliabilityProperties = gatewayReliabilityProperties;
+        this.gatewayStreamExecutor = gatewayStreamExecutor;
+        this.gatewayTenantLimiter = gatewayTenantLimiter;
+    }
+
+    public SseEmitter stream(String apiKey, GatewayChatRequest request) {
+        // 인증 실패와 테넌트 한도 초과는 SSE를 열기 전에 일반 JSON 에러(401/429)로 응답합니다.
+        OrganizationApiKeyAuthService.AuthResult authResult = gatewayChatService.authenticate(apiKey);
+        GatewayTenantLimiter.Permit permit = gatewayTenantLimiter.acquire(authResult);
+
+        SseEmitter emitter = new SseEmitter(gatewayReliabilityProperties.resolvedStreamTimeoutMs() + EMITTER_GRACE_MS);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(error -> closed.set(true));
+
+        try {
+            gatewayStreamExecutor.execute(() -> runPipeline(authResult, request, emitter, closed, permit));
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        return emitter;
+    }
+
+    private void runPipeline(
+            OrganizationApiKeyAuthService.AuthResult authResult,
+            GatewayChatRequest request,
+            SseEmitter emitter,
+            AtomicBoolean closed,
+            GatewayTenantLimiter.Permit permit
+    ) {
+        try {
+            GatewayChatResponse response = gatewayChatService.chatStream(authResult, request, text -> {
+                if (closed.get()) {
+                    throw new GatewayChatStreamSink.StreamClosedException(null);
+                }
+                try {
+                    emitter.send(SseEmitter.event().name("delta").data(new GatewayChatStreamDelta(text), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    closed.set(true);
+                    throw new GatewayChatStreamSink.StreamClosedException(e);
+                }
+            });
+            emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (GatewayException e) {
+            sendErrorQuietly(emitter, closed, ErrorResponse.of(e.getCode(), e.getMessage()));
+        } catch (Exception e) {
+            log.warn("Gateway stream failed unexpectedly", e);
+            sendErrorQuietly(emitter, closed, ErrorResponse.of(ErrorCode.INTERNAL_SERVER_ERROR, null));
+        } finally {
+            permit.close();
+        }
+    }
+
+    private static void sendErrorQuietly(SseEmitter emitter, AtomicBoolean closed, ErrorResponse errorResponse) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("error").data(errorResponse, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
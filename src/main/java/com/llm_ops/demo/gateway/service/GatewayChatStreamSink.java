@@ -0,0 +1,17 @@
+package com.llm_ops.demo.gateway.service;
+
+/**
+ * 스트리밍 모드에서 생성된 텍스트 조각을 클라이언트로 흘려보내는 출력 채널입니다.
+ * 클라이언트 연결이 끊겨 더 이상 전송할 수 없으면 {@link StreamClosedException}을 던집니다.
+ */
+@FunctionalInterface
+public interface GatewayChatStreamSink {
+
+    void delta(String text);
+
+    final class StreamClosedException extends RuntimeException {
+        public StreamClosedException(Throwable cause) {
+            super("스트림 클라이언트 연결이 종료되었습니다.", cause);
+        }
+    }
+}
@@ -18,6 +18,11 @@ import org.springframework.web.client.ResourceAccessException;
  */
 public final class GatewayFailureClassifier {
 
+    /** 분류되지 않은 비즈니스 예외를 게이트웨이 정책 차단으로 응답할 때의 에러코드 */
+    public static final String POLICY_BLOCKED_ERROR_CODE = "GW-GW-POLICY_BLOCKED";
+    /** 게이트웨이 처리 자리(파이프라인 실행기, 배치 worker)가 가득 차 바로 거절할 때의 에러코드 (503) */
+    public static final String OVERLOADED_ERROR_CODE = "GW-GW-OVERLOADED";
+
     public enum FailoverPolicy {
         FAIL_FAST,
         IMMEDIATE_FAILOVER,
@@ -56,6 +61,9 @@ public final class GatewayFailureClassifier {
             if (current instanceof CallNotPermittedException) {
                 return circuitOpen();
             }
+            if (current instanceof ProviderConcurrencyLimitedException) {
+                return concurrencyLimited();
+            }
             if (current instanceof SocketTimeoutException) {
                 return timeout("SOCKET_TIMEOUT");
             }
@@ -106,7 +114,7 @@ public final class GatewayFailureClassifier {
                     HttpStatus.TOO_MANY_REQUESTS.value(),
                     FailoverPolicy.FAIL_FAST
             );
-            case INVALID_INPUT_VALUE, METHOD_NOT_ALLOWED, CONFLICT, NOT_FOUND -> new GatewayFailure(
+            case INVALID_INPUT_VALUE, CONTEXT_WINDOW_EXCEEDED, METHOD_NOT_ALLOWED, CONFLICT, NOT_FOUND -> new GatewayFailure(
                     "GW-REQ-INVALID_REQUEST",
                     failReason,
                     exception.getMessage(),
@@ -114,7 +122,7 @@ public final class GatewayFailureClassifier {
                     FailoverPolicy.FAIL_FAST
             );
             default -> new GatewayFailure(
-                    "GW-GW-POLICY_BLOCKED",
+                    POLICY_BLOCKED_ERROR_CODE,
                     failReason,
                     exception.getMessage(),
                     errorCode.getStatus().value(),
@@ -137,6 +145,16 @@ public final class GatewayFailureClassifier {
         );
     }
 
+    public GatewayFailure streamClientClosedFailure() {
+        return new GatewayFailure(
+                "GW-REQ-CLIENT_CLOSED",
+                "STREAM_CLIENT_CLOSED",
+                "스트리밍 도중 클라이언트 연결이 종료되었습니다.",
+                499,
+                FailoverPolicy.FAIL_FAST
+        );
+    }
+
     private GatewayFailure classifyGeminiApiException(ApiException apiException) {
         int code = apiException.code();
         String status = apiException.status();
@@ -252,4 +270,14 @@ public final class GatewayFailureClassifier {
                 FailoverPolicy.IMMEDIATE_FAILOVER
         );
     }
+
+    private GatewayFailure concurrencyLimited() {
+        return new GatewayFailure(
+                "GW-UP-CONCURRENCY_LIMITED",
+                "PROVIDER_CONCURRENCY_LIMITED",
+                "프로바이더 동시 호출 한도에 도달해 즉시 failover를 시도합니다.",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                FailoverPolicy.IMMEDIATE_FAILOVER
+        );
+    }
 }
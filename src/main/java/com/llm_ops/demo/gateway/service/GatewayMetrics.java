@@ -1,148 +1,575 @@
 package com.llm_ops.demo.gateway.service;
 
+import com.llm_ops.demo.gateway.config.GatewayMetricsProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.ApiKeyAuthCacheMetrics;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import jakarta.annotation.PostConstruct;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * 게이트웨이 지표(gateway_*)를 기록합니다.
+ * <p>
+ * 요청 경로에서 호출되는 meter는 처음 한 번만 등록하고, 이후에는 provider ordinal/상태 enum/boolean 인덱스와
+ * 태그 값 키로 캐시한 handle에 바로 기록해 호출마다 태그 목록이나 meter id를 새로 만들지 않습니다.
+ * model 태그는 provider마다 {@code gateway.metrics.max-models-per-provider}개까지만 두고 나머지는 {@code "other"}로 합칩니다.
+ */
 @Component
-public class GatewayMetrics {
+public class GatewayMetrics implements ApiKeyAuthCacheMetrics {
+
+    private static final int LATENCY_WINDOW_SIZE = 512;
+    private static final int LATENCY_WINDOW_MIN_SAMPLES = 20;
+    private static final String UNKNOWN = "unknown";
+    private static final String OTHER_MODEL = "other";
+    private static final ProviderType[] PROVIDERS = ProviderType.values();
+    // provider 슬롯은 ProviderType.ordinal()이고, 마지막 슬롯은 provider를 알 수 없는 요청입니다.
+    private static final int UNKNOWN_PROVIDER_SLOT = PROVIDERS.length;
+    private static final int PROVIDER_SLOTS = PROVIDERS.length + 1;
+    // [is_rag][is_failover][status] 조합 수
+    private static final int CALL_TIMER_SLOTS = 2 * 2 * 2;
+
+    /**
+     * 요청/프로바이더 호출 결과(status 태그)입니다.
+     */
+    public enum Outcome {
+        SUCCESS("success"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
 
     private final MeterRegistry registry;
-    private final ExecutorService providerCallExecutor;
+    private final int maxModelsPerProvider;
+    private final ProviderMeters[] providers = new ProviderMeters[PROVIDER_SLOTS];
+    private final AtomicReferenceArray<Counter> failoverCounters = new AtomicReferenceArray<>(PROVIDER_SLOTS * PROVIDER_SLOTS);
+    private final AtomicReferenceArray<Timer> ragSearchTimers = new AtomicReferenceArray<>(2);
+    private volatile DistributionSummary ragChunks;
+    private final TaggedMeters<Timer> budgetEvalTimers;
+    private final TaggedMeters<Counter> budgetBlockedCounters;
+    private final TaggedMeters<Counter> budgetDegradeCounters;
+    private final TaggedMeters<Counter> authCacheRequestCounters;
+    private final TaggedMeters<Counter> authCacheEvictionCounters;
+    private final TaggedMeters<Counter> hedgeCounters;
+    private final TaggedMeters<Counter> responseCacheRequestCounters;
+    private final TaggedMeters<Counter> responseCacheEvictionCounters;
+    private final TaggedMeters<Counter> singleFlightCounters;
+    private final TaggedMeters<Counter> preflightCounters;
+    private final TaggedMeters<Counter> providerLimitRejectedCounters;
+    private final TaggedMeters<TaggedMeters<Counter>> tenantLimitRejectedCounters;
+    private final TaggedMeters<Counter> requestLogEnqueueCounters;
+    private final TaggedMeters<Counter> requestLogRowCounters;
+    private final TaggedMeters<Counter> requestLogSpoolCounters;
+    private volatile Timer requestLogFlushTimer;
+    private volatile DistributionSummary requestLogFlushRows;
 
-    public GatewayMetrics(
-            MeterRegistry registry,
-            @Qualifier("providerCallExecutor") ExecutorService providerCallExecutor
-    ) {
+    public GatewayMetrics(MeterRegistry registry) {
+        this(registry, new GatewayMetricsProperties());
+    }
+
+    @Autowired
+    public GatewayMetrics(MeterRegistry registry, GatewayMetricsProperties properties) {
         this.registry = registry;
-        this.providerCallExecutor = providerCallExecutor;
+        this.maxModelsPerProvider = properties.resolvedMaxModelsPerProvider();
+        for (int slot = 0; slot < PROVIDER_SLOTS; slot++) {
+            providers[slot] = new ProviderMeters(slot < UNKNOWN_PROVIDER_SLOT ? PROVIDERS[slot].getValue() : UNKNOWN);
+        }
+        this.budgetEvalTimers = new TaggedMeters<>(scope -> Timer.builder("gateway_budget_eval_seconds")
+                .publishPercentileHistogram(true)
+                .tag("scope", scope)
+                .register(registry));
+        this.budgetBlockedCounters = counters("gateway_budget_blocked_total", "scope_type");
+        this.budgetDegradeCounters = counters("gateway_budget_degrade_total", "scope_type");
+        this.authCacheRequestCounters = counters("gateway_auth_cache_requests_total", "result");
+        this.authCacheEvictionCounters = counters("gateway_auth_cache_evictions_total", "reason");
+        this.hedgeCounters = counters("gateway_hedge_total", "outcome");
+        this.responseCacheRequestCounters = counters("gateway_response_cache_requests_total", "result");
+        this.responseCacheEvictionCounters = counters("gateway_response_cache_evictions_total", "reason");
+        this.singleFlightCounters = counters("gateway_single_flight_total", "result");
+        this.preflightCounters = counters("gateway_preflight_total", "outcome");
+        this.providerLimitRejectedCounters = counters("gateway_provider_limit_rejected_total", "limiter");
+        this.tenantLimitRejectedCounters = new TaggedMeters<>(scope -> new TaggedMeters<>(limit -> Counter.builder("gateway_tenant_limit_rejected_total")
+                .tag("scope", scope)
+                .tag("limit", limit)
+                .register(registry)));
+        this.requestLogEnqueueCounters = counters("gateway_request_log_enqueue_total", "result");
+        this.requestLogRowCounters = counters("gateway_request_log_rows_total", "result");
+        this.requestLogSpoolCounters = counters("gateway_request_log_spool_total", "result");
     }
 
-    @PostConstruct
-    void registerThreadPoolGauges() {
-        if (providerCallExecutor instanceof ThreadPoolExecutor tpe) {
-            registry.gauge("gateway_provider_call_threads_active", tpe, ThreadPoolExecutor::getActiveCount);
-            registry.gauge("gateway_provider_call_queue_size", tpe, e -> e.getQueue().size());
+    // ── Executors ───────────────────────────────────────────────────────────
+
+    /**
+     * 실행기를 감싸 실행 중 작업 수(gateway_executor_in_flight)와 제출 후 실행까지의 대기 시간
+     * (gateway_executor_queue_wait_seconds)을 기록합니다. 가상 스레드 모드에는 풀 크기/큐 길이가 없으므로
+     * 두 실행 모드에서 공통으로 쓸 수 있는 지표로 포화 여부를 관측합니다.
+     */
+    public ExecutorService instrumentExecutor(String executorName, ExecutorService delegate) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("gateway_executor_in_flight", inFlight, AtomicInteger::get)
+                .tag("executor", safe(executorName))
+                .register(registry);
+        Timer queueWait = Timer.builder("gateway_executor_queue_wait_seconds")
+                .publishPercentileHistogram(true)
+                .tag("executor", safe(executorName))
+                .register(registry);
+        return new InstrumentedExecutorService(delegate, inFlight, queueWait);
+    }
+
+    // ── Tenant limits ───────────────────────────────────────────────────────
+
+    /**
+     * 조직/API 키 범위별로 게이트웨이에서 처리 중인 요청 수의 합(gateway_tenant_in_flight)을 노출합니다.
+     */
+    public void registerTenantInFlightGauge(String scope, Supplier<Number> inFlight) {
+        Gauge.builder("gateway_tenant_in_flight", inFlight)
+                .tag("scope", safe(scope))
+                .register(registry);
+    }
+
+    // ── Request log writer ──────────────────────────────────────────────────
+
+    /**
+     * 요청 로그 저장 대기 큐의 길이(gateway_request_log_queue_size)를 노출합니다.
+     */
+    public void registerRequestLogQueueGauge(Supplier<Number> queueSize) {
+        Gauge.builder("gateway_request_log_queue_size", queueSize)
+                .register(registry);
+    }
+
+    /**
+     * 요청 로그를 큐에 넣은 결과입니다. (queued: 바로 넣음, backpressure: 기다린 뒤 넣음, overflow: spool 또는 요청 스레드에서 직접 저장, direct: 큐 미사용)
+     */
+    public void incrementRequestLogEnqueue(String result) {
+        requestLogEnqueueCounters.get(result).increment();
+    }
+
+    /**
+     * 저장을 마친 요청 로그 행 수입니다. (written: 저장, spooled: DB 대신 spool에 씀, failed: 재시도 후에도 저장하지 못함)
+     */
+    public void incrementRequestLogRows(String result, int rows) {
+        requestLogRowCounters.get(result).increment(rows);
+    }
+
+    public void recordRequestLogFlush(int rows, long elapsedNanos) {
+        Timer timer = requestLogFlushTimer;
+        DistributionSummary summary = requestLogFlushRows;
+        if (timer == null || summary == null) {
+            timer = Timer.builder("gateway_request_log_flush_seconds")
+                    .publishPercentileHistogram(true)
+                    .register(registry);
+            summary = DistributionSummary.builder("gateway_request_log_flush_rows")
+                    .register(registry);
+            requestLogFlushTimer = timer;
+            requestLogFlushRows = summary;
         }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        summary.record(rows);
+    }
+
+    /**
+     * 요청 로그 spool의 적체를 노출합니다.
+     * (gateway_request_log_spool_records/bytes: 아직 DB에 반영하지 못한 로그 수/크기,
+     * gateway_request_log_spool_lag_seconds: 가장 오래된 미반영 로그가 spool에 들어간 뒤 지난 시간)
+     */
+    public void registerRequestLogSpoolGauges(Supplier<Number> records, Supplier<Number> bytes, Supplier<Number> lagSeconds) {
+        Gauge.builder("gateway_request_log_spool_records", records)
+                .register(registry);
+        Gauge.builder("gateway_request_log_spool_bytes", bytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("gateway_request_log_spool_lag_seconds", lagSeconds)
+                .register(registry);
+    }
+
+    /**
+     * spool을 거친 요청 로그 수입니다. (appended: spool에 씀, replayed: DB에 다시 씀, rejected: spool이 가득 차 버림, corrupted: 읽을 수 없어 버림)
+     */
+    public void incrementRequestLogSpool(String result, int records) {
+        requestLogSpoolCounters.get(result).increment(records);
+    }
+
+    // ── Provider adaptive limits ────────────────────────────────────────────
+
+    /**
+     * 프로바이더(또는 provider:model)별 적응형 동시 호출 한도, 진행 중 호출 수, 최근/기준 지연 추정치를 노출합니다.
+     */
+    public void registerProviderLimitGauges(
+            String limiter,
+            Supplier<Number> limit,
+            Supplier<Number> inFlight,
+            Supplier<Number> shortRttSeconds,
+            Supplier<Number> longRttSeconds
+    ) {
+        Gauge.builder("gateway_provider_concurrency_limit", limit)
+                .tag("limiter", safe(limiter))
+                .register(registry);
+        Gauge.builder("gateway_provider_in_flight", inFlight)
+                .tag("limiter", safe(limiter))
+                .register(registry);
+        Gauge.builder("gateway_provider_rtt_seconds", shortRttSeconds)
+                .tag("limiter", safe(limiter))
+                .tag("window", "short")
+                .register(registry);
+        Gauge.builder("gateway_provider_rtt_seconds", longRttSeconds)
+                .tag("limiter", safe(limiter))
+                .tag("window", "long")
+                .register(registry);
     }
 
     // ── Timers ──────────────────────────────────────────────────────────────
 
-    public void recordRequest(String provider, String model, boolean isRag, boolean isFailover, String status, long elapsedNanos) {
-        Timer.builder("gateway_request_seconds")
-                .publishPercentileHistogram(true)
-                .tag("provider", safe(provider))
-                .tag("model", safe(model))
-                .tag("is_rag", String.valueOf(isRag))
-                .tag("is_failover", String.valueOf(isFailover))
-                .tag("status", safe(status))
-                .register(registry)
+    public void recordRequest(@Nullable ProviderType provider, String model, boolean isRag, boolean isFailover, Outcome status, long elapsedNanos) {
+        providerMeters(provider).model(model)
+                .requestTimer(isRag, isFailover, status)
                 .record(elapsedNanos, TimeUnit.NANOSECONDS);
     }
 
-    public void recordLlmCall(String provider, String model, boolean isRag, boolean isFailover, String status, long elapsedNanos) {
-        Timer.builder("gateway_llm_call_seconds")
-                .publishPercentileHistogram(true)
-                .tag("provider", safe(provider))
-                .tag("model", safe(model))
-                .tag("is_rag", String.valueOf(isRag))
-                .tag("is_failover", String.valueOf(isFailover))
-                .tag("status", safe(status))
-                .register(registry)
+    public void recordLlmCall(@Nullable ProviderType provider, String model, boolean isRag, boolean isFailover, Outcome status, long elapsedNanos) {
+        ProviderMeters meters = providerMeters(provider);
+        meters.model(model)
+                .llmCallTimer(isRag, isFailover, status)
                 .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (status == Outcome.SUCCESS) {
+            meters.latencyWindow.record(elapsedNanos);
+        }
     }
 
-    public void recordRagSearch(boolean hybridEnabled, long elapsedNanos) {
-        Timer.builder("gateway_rag_search_seconds")
-                .publishPercentileHistogram(true)
-                .tag("hybrid_enabled", String.valueOf(hybridEnabled))
-                .register(registry)
+    /**
+     * provider의 최근 성공 호출 지연 p95(ms)입니다. 표본이 부족하면 빈 값을 반환합니다.
+     */
+    public OptionalLong providerLatencyP95Ms(@Nullable ProviderType provider) {
+        OptionalLong p95Nanos = providerMeters(provider).latencyWindow.percentileNanos(0.95);
+        return p95Nanos.isPresent() ? OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(p95Nanos.getAsLong())) : OptionalLong.empty();
+    }
+
+    public void recordTimeToFirstToken(@Nullable ProviderType provider, String model, long elapsedNanos) {
+        providerMeters(provider).model(model)
+                .ttftTimer()
                 .record(elapsedNanos, TimeUnit.NANOSECONDS);
     }
 
+    public void recordRagSearch(boolean hybridEnabled, long elapsedNanos) {
+        int index = hybridEnabled ? 1 : 0;
+        Timer timer = ragSearchTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder("gateway_rag_search_seconds")
+                    .publishPercentileHistogram(true)
+                    .tag("hybrid_enabled", String.valueOf(hybridEnabled))
+                    .register(registry);
+            ragSearchTimers.set(index, timer);
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
     public void recordBudgetEval(String scope, long elapsedNanos) {
-        Timer.builder("gateway_budget_eval_seconds")
-                .publishPercentileHistogram(true)
-                .tag("scope", safe(scope))
-                .register(registry)
-                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        budgetEvalTimers.get(scope).record(elapsedNanos, TimeUnit.NANOSECONDS);
     }
 
     // ── Counters ────────────────────────────────────────────────────────────
 
-    public void incrementLlmSuccess(String provider, String model) {
-        Counter.builder("gateway_llm_success_total")
-                .tag("provider", safe(provider))
-                .tag("model", safe(model))
-                .register(registry)
-                .increment();
+    public void incrementLlmSuccess(@Nullable ProviderType provider, String model) {
+        providerMeters(provider).model(model).successCounter().increment();
     }
 
-    public void incrementLlmFailure(String provider, String model, String failReason) {
-        Counter.builder("gateway_llm_failure_total")
-                .tag("provider", safe(provider))
-                .tag("model", safe(model))
-                .tag("fail_reason", safe(failReason))
-                .register(registry)
-                .increment();
+    public void incrementLlmFailure(@Nullable ProviderType provider, String model, String failReason) {
+        providerMeters(provider).model(model).failureCounter(failReason).increment();
     }
 
-    public void incrementFailover(String fromProvider, String toProvider) {
-        Counter.builder("gateway_failover_total")
-                .tag("from_provider", safe(fromProvider))
-                .tag("to_provider", safe(toProvider))
-                .register(registry)
-                .increment();
+    public void incrementFailover(@Nullable ProviderType fromProvider, @Nullable ProviderType toProvider) {
+        int from = slotOf(fromProvider);
+        int to = slotOf(toProvider);
+        int index = from * PROVIDER_SLOTS + to;
+        Counter counter = failoverCounters.get(index);
+        if (counter == null) {
+            counter = Counter.builder("gateway_failover_total")
+                    .tag("from_provider", providers[from].providerTag)
+                    .tag("to_provider", providers[to].providerTag)
+                    .register(registry);
+            failoverCounters.set(index, counter);
+        }
+        counter.increment();
     }
 
     public void incrementBudgetBlocked(String scopeType) {
-        Counter.builder("gateway_budget_blocked_total")
-                .tag("scope_type", safe(scopeType))
-                .register(registry)
-                .increment();
+        budgetBlockedCounters.get(scopeType).increment();
     }
 
     public void incrementBudgetDegrade(String scopeType) {
-        Counter.builder("gateway_budget_degrade_total")
-                .tag("scope_type", safe(scopeType))
-                .register(registry)
-                .increment();
+        budgetDegradeCounters.get(scopeType).increment();
+    }
+
+    @Override
+    public void incrementAuthCacheRequest(String result) {
+        authCacheRequestCounters.get(result).increment();
+    }
+
+    @Override
+    public void incrementAuthCacheEviction(String reason) {
+        authCacheEvictionCounters.get(reason).increment();
+    }
+
+    public void incrementHedge(String outcome) {
+        hedgeCounters.get(outcome).increment();
+    }
+
+    public void incrementResponseCacheRequest(String result) {
+        responseCacheRequestCounters.get(result).increment();
+    }
+
+    public void incrementSingleFlight(String result) {
+        singleFlightCounters.get(result).increment();
+    }
+
+    public void incrementResponseCacheEviction(String reason) {
+        responseCacheEvictionCounters.get(reason).increment();
+    }
+
+    public void incrementPreflight(String outcome) {
+        preflightCounters.get(outcome).increment();
+    }
+
+    public void incrementProviderLimitRejected(String limiter) {
+        providerLimitRejectedCounters.get(limiter).increment();
+    }
+
+    public void incrementTenantLimitRejected(String scope, String limit) {
+        tenantLimitRejectedCounters.get(scope).get(limit).increment();
     }
 
     // ── Distribution Summaries ──────────────────────────────────────────────
 
-    public void recordInputTokens(String provider, String model, long tokens) {
-        DistributionSummary.builder("gateway_input_tokens")
-                .tag("provider", safe(provider))
-                .tag("model", safe(model))
-                .register(registry)
-                .record(tokens);
+    public void recordInputTokens(@Nullable ProviderType provider, String model, long tokens) {
+        providerMeters(provider).model(model).inputTokensSummary().record(tokens);
     }
 
-    public void recordOutputTokens(String provider, String model, long tokens) {
-        DistributionSummary.builder("gateway_output_tokens")
-                .tag("provider", safe(provider))
-                .tag("model", safe(model))
-                .register(registry)
-                .record(tokens);
+    public void recordOutputTokens(@Nullable ProviderType provider, String model, long tokens) {
+        providerMeters(provider).model(model).outputTokensSummary().record(tokens);
+    }
+
+    public void recordOutputTokensPerSecond(@Nullable ProviderType provider, String model, double tokensPerSecond) {
+        providerMeters(provider).model(model).outputTokensPerSecondSummary().record(tokensPerSecond);
     }
 
     public void recordRagChunks(int chunks) {
-        DistributionSummary.builder("gateway_rag_chunks")
-                .publishPercentileHistogram(true)
-                .register(registry)
-                .record(chunks);
+        DistributionSummary summary = ragChunks;
+        if (summary == null) {
+            summary = DistributionSummary.builder("gateway_rag_chunks")
+                    .publishPercentileHistogram(true)
+                    .register(registry);
+            ragChunks = summary;
+        }
+        summary.record(chunks);
+    }
+
+    private ProviderMeters providerMeters(@Nullable ProviderType provider) {
+        return providers[slotOf(provider)];
+    }
+
+    private static int slotOf(@Nullable ProviderType provider) {
+        return provider != null ? provider.ordinal() : UNKNOWN_PROVIDER_SLOT;
+    }
+
+    private TaggedMeters<Counter> counters(String name, String tagKey) {
+        return new TaggedMeters<>(value -> Counter.builder(name)
+                .tag(tagKey, value)
+                .register(registry));
     }
 
     private static String safe(String value) {
-        return value != null ? value : "unknown";
+        return value != null ? value : UNKNOWN;
+    }
+
+    private static int callTimerIndex(boolean isRag, boolean isFailover, Outcome status) {
+        return (isRag ? 4 : 0) | (isFailover ? 2 : 0) | status.ordinal();
+    }
+
+    /**
+     * 태그 값 하나로 구분되는 meter handle 캐시입니다. 이미 등록된 값은 조회만 하므로 람다나 태그 목록을 만들지 않습니다.
+     * 같은 id로 두 번 등록해도 레지스트리가 기존 meter를 돌려주므로 등록 경쟁은 무해합니다.
+     */
+    private static final class TaggedMeters<M> {
+        private final ConcurrentHashMap<String, M> meters = new ConcurrentHashMap<>();
+        private final Function<String, M> factory;
+
+        private TaggedMeters(Function<String, M> factory) {
+            this.factory = factory;
+        }
+
+        private M get(@Nullable String tagValue) {
+            String key = safe(tagValue);
+            M meter = meters.get(key);
+            return meter != null ? meter : meters.computeIfAbsent(key, factory);
+        }
+    }
+
+    /**
+     * provider 하나의 모델별 meter와 최근 지연 창입니다.
+     */
+    private final class ProviderMeters {
+        private final String providerTag;
+        private final ConcurrentHashMap<String, ModelMeters> models = new ConcurrentHashMap<>();
+        private final ModelMeters otherModel;
+        private final ProviderLatencyWindow latencyWindow = new ProviderLatencyWindow(LATENCY_WINDOW_SIZE, LATENCY_WINDOW_MIN_SAMPLES);
+        private final Function<String, ModelMeters> modelFactory;
+
+        private ProviderMeters(String providerTag) {
+            this.providerTag = providerTag;
+            this.otherModel = new ModelMeters(providerTag, OTHER_MODEL);
+            this.modelFactory = model -> new ModelMeters(providerTag, model);
+        }
+
+        /**
+         * 한도를 넘은 새 모델은 "other"로 기록합니다. 한도 확인과 추가가 원자적이지 않아 동시에 들어온 모델 몇 개만큼은 넘을 수 있습니다.
+         */
+        private ModelMeters model(@Nullable String model) {
+            String key = safe(model);
+            ModelMeters meters = models.get(key);
+            if (meters != null) {
+                return meters;
+            }
+            if (models.size() >= maxModelsPerProvider) {
+                return otherModel;
+            }
+            return models.computeIfAbsent(key, modelFactory);
+        }
+    }
+
+    /**
+     * provider/model 조합 하나의 meter handle입니다. 처음 기록할 때 등록하며, 경쟁으로 두 번 등록해도 같은 meter를 받습니다.
+     */
+    private final class ModelMeters {
+        private final String provider;
+        private final String model;
+        private final AtomicReferenceArray<Timer> requestTimers = new AtomicReferenceArray<>(CALL_TIMER_SLOTS);
+        private final AtomicReferenceArray<Timer> llmCallTimers = new AtomicReferenceArray<>(CALL_TIMER_SLOTS);
+        private final TaggedMeters<Counter> failureCounters;
+        private volatile Counter successCounter;
+        private volatile Timer ttftTimer;
+        private volatile DistributionSummary inputTokens;
+        private volatile DistributionSummary outputTokens;
+        private volatile DistributionSummary outputTokensPerSecond;
+
+        private ModelMeters(String provider, String model) {
+            this.provider = provider;
+            this.model = model;
+            this.failureCounters = new TaggedMeters<>(failReason -> Counter.builder("gateway_llm_failure_total")
+                    .tag("provider", provider)
+                    .tag("model", model)
+                    .tag("fail_reason", failReason)
+                    .register(registry));
+        }
+
+        private Timer requestTimer(boolean isRag, boolean isFailover, Outcome status) {
+            return callTimer(requestTimers, "gateway_request_seconds", isRag, isFailover, status);
+        }
+
+        private Timer llmCallTimer(boolean isRag, boolean isFailover, Outcome status) {
+            return callTimer(llmCallTimers, "gateway_llm_call_seconds", isRag, isFailover, status);
+        }
+
+        private Timer callTimer(AtomicReferenceArray<Timer> timers, String name, boolean isRag, boolean isFailover, Outcome status) {
+            int index = callTimerIndex(isRag, isFailover, status);
+            Timer timer = timers.get(index);
+            if (timer == null) {
+                timer = Timer.builder(name)
+                        .publishPercentileHistogram(true)
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .tag("is_rag", String.valueOf(isRag))
+                        .tag("is_failover", String.valueOf(isFailover))
+                        .tag("status", status.tag())
+                        .register(registry);
+                timers.set(index, timer);
+            }
+            return timer;
+        }
+
+        private Counter successCounter() {
+            Counter counter = successCounter;
+            if (counter == null) {
+                counter = Counter.builder("gateway_llm_success_total")
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .register(registry);
+                successCounter = counter;
+            }
+            return counter;
+        }
+
+        private Counter failureCounter(@Nullable String failReason) {
+            return failureCounters.get(failReason);
+        }
+
+        private Timer ttftTimer() {
+            Timer timer = ttftTimer;
+            if (timer == null) {
+                timer = Timer.builder("gateway_llm_ttft_seconds")
+                        .publishPercentileHistogram(true)
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .register(registry);
+                ttftTimer = timer;
+            }
+            return timer;
+        }
+
+        private DistributionSummary inputTokensSummary() {
+            DistributionSummary summary = inputTokens;
+            if (summary == null) {
+                summary = DistributionSummary.builder("gateway_input_tokens")
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .register(registry);
+                inputTokens = summary;
+            }
+            return summary;
+        }
+
+        private DistributionSummary outputTokensSummary() {
+            DistributionSummary summary = outputTokens;
+            if (summary == null) {
+                summary = DistributionSummary.builder("gateway_output_tokens")
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .register(registry);
+                outputTokens = summary;
+            }
+            return summary;
+        }
+
+        private DistributionSummary outputTokensPerSecondSummary() {
+            DistributionSummary summary = outputTokensPerSecond;
+            if (summary == null) {
+                summary = DistributionSummary.builder("gateway_output_tokens_per_second")
+                        .publishPercentileHistogram(true)
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .register(registry);
+                outputTokensPerSecond = summary;
+            }
+            return summary;
+        }
     }
 }
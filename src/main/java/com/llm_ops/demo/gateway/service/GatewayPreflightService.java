@@ -0,0 +1,141 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayPreflightProperties;
+import com.llm_ops.demo.gateway.pricing.ModelContextWindow;
+import com.llm_ops.demo.gateway.pricing.ModelPricing;
+import com.llm_ops.demo.global.error.BusinessException;
+import com.llm_ops.demo.global.error.ErrorCode;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+import com.llm_ops.demo.rag.dto.ChunkDetailResponse;
+import com.llm_ops.demo.rag.service.RagContextBuilder;
+import com.llm_ops.demo.rag.service.RagContextBuilder.RagContextResult;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로바이더 호출 전에 요청 토큰 수를 추정해 모델 컨텍스트 윈도우에 들어가는지 확인합니다.
+ * <p>
+ * 입력(system + user + RAG 컨텍스트)과 출력 예약분(maxTokens)의 합이 윈도우를 넘으면,
+ * 설정에 따라 RAG 청크를 줄여 맞추거나 {@link ErrorCode#CONTEXT_WINDOW_EXCEEDED}로 거절합니다.
+ * 윈도우를 모르는 모델은 검사하지 않고 토큰 추정치만 돌려줍니다.
+ */
+@Component
+public class GatewayPreflightService {
+
+    private final PromptTokenEstimator promptTokenEstimator;
+    private final RagContextBuilder ragContextBuilder;
+    private final GatewayPreflightProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final int ragWrapperTokens;
+
+    public GatewayPreflightService(
+            PromptTokenEstimator promptTokenEstimator,
+            RagContextBuilder ragContextBuilder,
+            GatewayPreflightProperties properties,
+            GatewayMetrics gatewayMetrics
+    ) {
+        this.promptTokenEstimator = promptTokenEstimator;
+        this.ragContextBuilder = ragContextBuilder;
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.ragWrapperTokens = promptTokenEstimator.count(
+                GatewayChatService.RAG_CONTEXT_PREFIX + GatewayChatService.RAG_CONTEXT_SUFFIX);
+    }
+
+    /**
+     * @param ragContext   검색 결과로 만든 RAG 컨텍스트 (없으면 null)
+     * @param ragChunks    RAG 컨텍스트를 다시 만들 때 쓸 검색 청크
+     * @param ragMaxChars  워크스페이스 RAG 컨텍스트 최대 글자 수
+     */
+    public PreflightResult evaluate(
+            @Nullable Long promptVersionId,
+            String model,
+            PromptTemplate userTemplate,
+            @Nullable PromptTemplate systemTemplate,
+            @Nullable Map<String, ?> variables,
+            @Nullable Integer maxOutputTokens,
+            @Nullable RagContextResult ragContext,
+            @Nullable List<ChunkDetailResponse> ragChunks,
+            int ragMaxChars
+    ) {
+        if (!properties.isEnabled()) {
+            return PreflightResult.skipped(ragContext);
+        }
+
+        int templateTokens = promptTokenEstimator.estimatePrompt(promptVersionId, userTemplate, systemTemplate, variables);
+        int outputTokens = (maxOutputTokens != null && maxOutputTokens > 0)
+                ? maxOutputTokens
+                : properties.resolvedDefaultOutputTokens();
+        int ragTokens = ragTokens(ragContext);
+        Integer contextWindow = ModelContextWindow.tokensOf(model);
+        if (contextWindow == null || fits(templateTokens + ragTokens, outputTokens, contextWindow)) {
+            return new PreflightResult(templateTokens + ragTokens, outputTokens, ragContext, false);
+        }
+
+        if (properties.resolvedOverflowAction() == GatewayPreflightProperties.OverflowAction.TRIM_RAG
+                && ragContext != null
+                && ragChunks != null) {
+            // 검색 점수가 낮은 뒤쪽 청크부터 하나씩 뺍니다. 청크를 모두 빼도 넘치면 거절합니다.
+            for (int maxChunks = ragContext.chunksIncluded() - 1; maxChunks >= 0; maxChunks--) {
+                RagContextResult trimmed = maxChunks > 0 ? ragContextBuilder.build(ragChunks, maxChunks, ragMaxChars) : null;
+                int trimmedTokens = ragTokens(trimmed);
+                if (fits(templateTokens + trimmedTokens, outputTokens, contextWindow)) {
+                    gatewayMetrics.incrementPreflight("rag_trimmed");
+                    return new PreflightResult(templateTokens + trimmedTokens, outputTokens, trimmed, true);
+                }
+            }
+        }
+
+        gatewayMetrics.incrementPreflight("rejected");
+        throw new BusinessException(
+                ErrorCode.CONTEXT_WINDOW_EXCEEDED,
+                String.format(
+                        "요청 토큰 수(입력 %d + 출력 %d)가 모델 %s의 컨텍스트 윈도우(%d)를 초과했습니다.",
+                        templateTokens + ragTokens,
+                        outputTokens,
+                        model,
+                        contextWindow));
+    }
+
+    private int ragTokens(@Nullable RagContextResult ragContext) {
+        if (ragContext == null) {
+            return 0;
+        }
+        return ragWrapperTokens + promptTokenEstimator.count(ragContext.context());
+    }
+
+    private static boolean fits(int promptTokens, int outputTokens, int contextWindow) {
+        return (long) promptTokens + outputTokens <= contextWindow;
+    }
+
+    /**
+     * @param promptTokens 추정 입력 토큰 수 (pre-flight 비활성 시 null)
+     * @param outputTokens 출력 예약 토큰 수 (pre-flight 비활성 시 null)
+     * @param ragContext   프롬프트에 붙일 RAG 컨텍스트. 줄이는 과정에서 모두 빠졌으면 null
+     * @param ragTrimmed   윈도우에 맞추려고 RAG 청크를 줄였는지 여부
+     */
+    public record PreflightResult(
+            @Nullable Integer promptTokens,
+            @Nullable Integer outputTokens,
+            @Nullable RagContextResult ragContext,
+            boolean ragTrimmed
+    ) {
+        static PreflightResult skipped(@Nullable RagContextResult ragContext) {
+            return new PreflightResult(null, null, ragContext, false);
+        }
+
+        /**
+         * 추정 토큰으로 계산한 요청 최대 예상 비용입니다. 출력은 예약분을 모두 쓴다고 가정합니다.
+         */
+        @Nullable
+        public BigDecimal projectedCost(String model) {
+            if (promptTokens == null || outputTokens == null) {
+                return null;
+            }
+            return ModelPricing.calculateCost(model, promptTokens, outputTokens);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayResponseCacheProperties;
+import com.llm_ops.demo.gateway.service.LlmCallService.ModelConfigOverride;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 결정적(temperature=0) 비스트리밍 요청의 응답을 워크스페이스별로 보관하는 exact-match 캐시입니다.
+ * <p>
+ * 키는 프롬프트 버전, 렌더링된 system/user 프롬프트(RAG 컨텍스트 포함), provider/모델, 모델 설정, RAG 컨텍스트 해시의 SHA-256입니다.
+ * 워크스페이스마다 TTL, 최대 개수, 최대 크기를 따로 적용하고 한도를 넘으면 가장 오래 사용되지 않은 응답부터 축출합니다.
+ * 릴리즈/롤백 시 해당 프롬프트의 응답은 명시적으로 제거합니다.
+ */
+@Component
+public class GatewayResponseCache {
+
+    // 엔트리당 키/메타데이터 대략치(byte)
+    private static final long ENTRY_OVERHEAD_BYTES = 256L;
+
+    private final GatewayResponseCacheProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Long, WorkspaceSegment> segments = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GatewayResponseCache(GatewayResponseCacheProperties properties, GatewayMetrics gatewayMetrics) {
+        this(properties, gatewayMetrics, System::nanoTime);
+    }
+
+    GatewayResponseCache(GatewayResponseCacheProperties properties, GatewayMetrics gatewayMetrics, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 캐시에 보관하는 응답입니다. 적중 시 프로바이더 호출 없이 이 값으로 응답합니다.
+     */
+    public record CachedResponse(
+            String answer,
+            String usedModel
+    ) {
+        long approximateBytes() {
+            long chars = (answer != null ? answer.length() : 0) + (usedModel != null ? usedModel.length() : 0);
+            return chars * 2 + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+
+    /**
+     * 워크스페이스가 opt-in 했고 모델 설정이 결정적(temperature=0)일 때만 캐시 대상입니다.
+     */
+    public boolean isCacheable(Long workspaceId, @Nullable ModelConfigOverride modelConfig) {
+        if (modelConfig == null || modelConfig.temperature() == null || modelConfig.temperature() != 0.0d) {
+            return false;
+        }
+        return properties.resolvePolicy(workspaceId) != null;
+    }
+
+    @Nullable
+    public CachedResponse get(Long workspaceId, String key) {
+        WorkspaceSegment segment = segments.get(workspaceId);
+        CachedResponse cached = segment != null ? segment.get(key, nanoClock.getAsLong()) : null;
+        gatewayMetrics.incrementResponseCacheRequest(cached != null ? "hit" : "miss");
+        return cached;
+    }
+
+    public void put(Long workspaceId, Long promptId, String key, CachedResponse response) {
+        GatewayResponseCacheProperties.Policy policy = properties.resolvePolicy(workspaceId);
+        if (policy == null || response == null || response.answer() == null) {
+            return;
+        }
+        if (response.approximateBytes() > policy.maxBytes()) {
+            return;
+        }
+        segments.computeIfAbsent(workspaceId, ignored -> new WorkspaceSegment())
+                .put(key, new Entry(promptId, response, nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(policy.ttlMs())), policy);
+    }
+
+    public void invalidatePrompt(Long promptId) {
+        if (promptId == null) {
+            return;
+        }
+        segments.values().forEach(segment -> segment.removePrompt(promptId));
+    }
+
+    public void invalidateWorkspace(Long workspaceId) {
+        if (workspaceId == null) {
+            return;
+        }
+        WorkspaceSegment removed = segments.remove(workspaceId);
+        if (removed != null) {
+            removed.clear();
+        }
+    }
+
+    public int size() {
+        return segments.values().stream().mapToInt(WorkspaceSegment::size).sum();
+    }
+
+    /**
+     * 요청 구성 요소를 길이 접두어와 함께 해시해, 필드 경계가 달라 같은 문자열이 되는 충돌을 피합니다.
+     */
+    public static String keyOf(
+            Long promptVersionId,
+            ProviderType provider,
+            String model,
+            @Nullable String systemPrompt,
+            String userPrompt,
+            @Nullable ModelConfigOverride modelConfig,
+            @Nullable String ragContextHash
+    ) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+        update(digest, promptVersionId != null ? promptVersionId.toString() : null);
+        update(digest, provider != null ? provider.name() : null);
+        update(digest, model);
+        update(digest, systemPrompt);
+        update(digest, userPrompt);
+        update(digest, modelConfig != null ? String.valueOf(modelConfig.temperature()) : null);
+        update(digest, modelConfig != null ? String.valueOf(modelConfig.maxTokens()) : null);
+        update(digest, modelConfig != null ? String.valueOf(modelConfig.topP()) : null);
+        update(digest, modelConfig != null ? String.valueOf(modelConfig.frequencyPenalty()) : null);
+        update(digest, ragContextHash);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, @Nullable String value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private record Entry(Long promptId, CachedResponse response, long expiresAtNanos) {
+    }
+
+    /**
+     * 워크스페이스 하나의 LRU 저장소입니다. 접근 순서 {@link LinkedHashMap}을 잠금으로 보호합니다.
+     */
+    private final class WorkspaceSegment {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+
+        private synchronized CachedResponse get(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAtNanos() >= 0) {
+                remove(key);
+                gatewayMetrics.incrementResponseCacheEviction("expired");
+                return null;
+            }
+            return entry.response();
+        }
+
+        private synchronized void put(String key, Entry entry, GatewayResponseCacheProperties.Policy policy) {
+            remove(key);
+            entries.put(key, entry);
+            bytes += entry.response().approximateBytes();
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > policy.maxEntries() || bytes > policy.maxBytes()) && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                bytes -= evicted.response().approximateBytes();
+                gatewayMetrics.incrementResponseCacheEviction("capacity");
+            }
+        }
+
+        private synchronized void removePrompt(Long promptId) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (promptId.equals(entry.promptId())) {
+                    iterator.remove();
+                    bytes -= entry.response().approximateBytes();
+                    gatewayMetrics.incrementResponseCacheEviction("purge");
+                }
+            }
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+            bytes = 0L;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private void remove(String key) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                bytes -= removed.response().approximateBytes();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewaySingleFlightProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동일한 요청(응답 캐시와 같은 키)이 동시에 들어오면 먼저 들어온 요청(leader)만 프로바이더를 호출하고,
+ * 나머지(follower)는 leader의 결과를 기다렸다가 공유하게 합니다.
+ * <p>
+ * leader의 프로바이더 호출이 실패하면 같은 실패를 follower에게 그대로 넘깁니다. 실패 하나가 follower 수만큼의
+ * 프로바이더 호출로 번지지 않게 하기 위함입니다. leader 자신의 사정(요청 마감 시간 소진, 예산 초과 등)으로
+ * 응답 없이 끝나면 결과 없이 완료되며, 기다리던 follower는 다시 합류해 그중 하나가 새 leader가 됩니다.
+ */
+@Component
+public class GatewaySingleFlight {
+
+    private final GatewaySingleFlightProperties properties;
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    public GatewaySingleFlight(GatewaySingleFlightProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * leader가 follower에게 넘기는 결과입니다. failover 응답도 그대로 공유합니다.
+     */
+    public record SharedResponse(
+            String answer,
+            String usedModel,
+            ProviderType usedProvider,
+            String requestedModel,
+            boolean failover
+    ) {
+    }
+
+    /**
+     * leader가 follower에게 넘기는 프로바이더 호출 실패입니다. follower는 같은 실패로 응답합니다.
+     */
+    public static final class LeaderFailedException extends RuntimeException {
+
+        private final GatewayFailureClassifier.GatewayFailure failure;
+
+        LeaderFailedException(GatewayFailureClassifier.GatewayFailure failure) {
+            super(failure.errorMessage(), null, false, false);
+            this.failure = failure;
+        }
+
+        public GatewayFailureClassifier.GatewayFailure failure() {
+            return failure;
+        }
+    }
+
+    public boolean isEnabled(Long workspaceId) {
+        return properties.isEnabledFor(workspaceId);
+    }
+
+    /**
+     * 키에 해당하는 진행 중 호출에 합류합니다. 진행 중 호출이 없으면 호출자가 leader가 됩니다.
+     * leader는 성공/실패와 관계없이 {@link Flight#complete(SharedResponse)}를 반드시 호출해야 합니다.
+     */
+    public Flight join(String key) {
+        Flight created = new Flight(key);
+        Flight existing = flights.putIfAbsent(key, created);
+        return existing != null ? existing.asFollower() : created;
+    }
+
+    int inFlightCount() {
+        return flights.size();
+    }
+
+    public final class Flight {
+
+        private final String key;
+        private final boolean leader;
+        private final CompletableFuture<SharedResponse> result;
+
+        private Flight(String key) {
+            this(key, true, new CompletableFuture<>());
+        }
+
+        private Flight(String key, boolean leader, CompletableFuture<SharedResponse> result) {
+            this.key = key;
+            this.leader = leader;
+            this.result = result;
+        }
+
+        private Flight asFollower() {
+            return new Flight(key, false, result);
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+
+        /**
+         * leader의 결과입니다. leader의 프로바이더 호출이 실패하면 {@link LeaderFailedException}으로,
+         * 그 밖의 이유로 응답 없이 끝나면 null로 완료됩니다.
+         */
+        public CompletableFuture<SharedResponse> result() {
+            return result;
+        }
+
+        /**
+         * leader 전용입니다. 새 요청이 끝난 호출에 합류하지 않도록 먼저 등록을 해제한 뒤 결과를 알립니다.
+         * 여러 번 호출해도 처음 결과만 반영합니다.
+         */
+        public void complete(@Nullable SharedResponse response) {
+            if (!leader) {
+                return;
+            }
+            flights.remove(key, this);
+            result.complete(response);
+        }
+
+        /**
+         * leader 전용입니다. 프로바이더 호출 실패를 기다리던 follower에게 넘깁니다.
+         * 이미 완료됐으면 무시합니다.
+         */
+        public void fail(GatewayFailureClassifier.GatewayFailure failure) {
+            if (!leader) {
+                return;
+            }
+            flights.remove(key, this);
+            result.completeExceptionally(new LeaderFailedException(failure));
+        }
+    }
+}
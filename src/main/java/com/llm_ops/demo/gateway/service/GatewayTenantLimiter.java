@@ -0,0 +1,272 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayTenantLimitProperties;
+import com.llm_ops.demo.gateway.config.GatewayTenantLimitProperties.Policy;
+import com.llm_ops.demo.global.error.ErrorCode;
+import com.llm_ops.demo.global.error.RateLimitExceededException;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService.AuthResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 게이트웨이 요청을 조직/API 키 단위로 제한해 한 테넌트의 burst가 같은 노드의 다른 테넌트에 번지지 않게 합니다.
+ * <p>
+ * 처리율은 token bucket으로, 동시 처리 수는 in-flight 카운터로 제한하며 모두 CAS로 갱신해 요청 경로에서 잠금을 잡지 않습니다.
+ * 한도를 넘으면 {@link RateLimitExceededException}(429, Retry-After)을 던지고, 통과하면 요청 종료 시 반납할 {@link Permit}을 돌려줍니다.
+ * 카운터는 노드 로컬이므로 한도는 노드당 값입니다.
+ */
+@Component
+public class GatewayTenantLimiter {
+
+    private static final String SCOPE_ORGANIZATION = "organization";
+    private static final String SCOPE_API_KEY = "api_key";
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1L;
+
+    private final GatewayTenantLimitProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Long, TenantCounter> organizationCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, TenantCounter> apiKeyCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GatewayTenantLimiter(GatewayTenantLimitProperties properties, GatewayMetrics gatewayMetrics) {
+        this(properties, gatewayMetrics, System::nanoTime);
+    }
+
+    GatewayTenantLimiter(GatewayTenantLimitProperties properties, GatewayMetrics gatewayMetrics, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.nanoClock = nanoClock;
+        gatewayMetrics.registerTenantInFlightGauge(SCOPE_ORGANIZATION, () -> totalInFlight(organizationCounters));
+        gatewayMetrics.registerTenantInFlightGauge(SCOPE_API_KEY, () -> totalInFlight(apiKeyCounters));
+    }
+
+    /**
+     * 요청 하나를 허용할지 판단합니다. 반환된 {@link Permit}은 요청 처리가 끝나면 반드시 닫아야 합니다.
+     *
+     * @throws RateLimitExceededException 조직 또는 API 키의 처리율/동시 처리 한도를 넘은 경우
+     */
+    public Permit acquire(AuthResult authResult) {
+        return acquire(authResult, 1);
+    }
+
+    /**
+     * 여러 요청을 한 번에 처리하는 배치 요청을 허용할지 판단합니다.
+     * 처리율 토큰은 항목 수만큼 모두 차감합니다. burst보다 큰 배치는 버킷이 가득 찼을 때 통과하고 남는 만큼은 빚으로 남아,
+     * 이후 요청은 빚을 갚을 만큼 토큰이 다시 찰 때까지 막힙니다. 동시 처리 슬롯은 하나만 점유합니다.
+     *
+     * @throws RateLimitExceededException 조직 또는 API 키의 처리율/동시 처리 한도를 넘은 경우
+     */
+    public Permit acquire(AuthResult authResult, int requests) {
+        if (!properties.isEnabled() || authResult == null) {
+            return Permit.NOOP;
+        }
+        long now = nanoClock.getAsLong();
+        Slot apiKey = slot(SCOPE_API_KEY, apiKeyCounters, authResult.apiKeyId(), properties::resolveApiKey, now);
+        Slot organization = slot(SCOPE_ORGANIZATION, organizationCounters, authResult.organizationId(), properties::resolveOrganization, now);
+        try {
+            // 처리율: API 키 → 조직 순으로 토큰을 꺼내고, 조직에서 막히면 API 키 토큰을 돌려줍니다.
+            int weight = Math.max(1, requests);
+            long waitNanos = takeTokens(apiKey, now, weight);
+            if (waitNanos > 0) {
+                throw rateLimited(apiKey.scope(), waitNanos);
+            }
+            waitNanos = takeTokens(organization, now, weight);
+            if (waitNanos > 0) {
+                refundTokens(apiKey, weight);
+                throw rateLimited(organization.scope(), waitNanos);
+            }
+
+            // 동시 처리 수: 들어간 뒤 상위 범위에서 막히면 즉시 되돌립니다.
+            if (!enter(apiKey)) {
+                throw concurrencyLimited(apiKey.scope());
+            }
+            if (!enter(organization)) {
+                leave(apiKey);
+                throw concurrencyLimited(organization.scope());
+            }
+            return new Permit(apiKey, organization);
+        } finally {
+            unpin(apiKey);
+            unpin(organization);
+        }
+    }
+
+    /**
+     * 일정 시간 요청이 없고 처리 중이거나 한도를 확인 중인 요청도 없는 카운터를 정리합니다.
+     * 확인과 제거는 키 단위로 원자적으로 처리해, {@link #acquire(AuthResult, int)}가 쓰고 있는 카운터를 지우지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.tenant-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.resolvedIdleEvictionMs());
+        evictIdle(organizationCounters, now, idleNanos);
+        evictIdle(apiKeyCounters, now, idleNanos);
+    }
+
+    int trackedCounters() {
+        return organizationCounters.size() + apiKeyCounters.size();
+    }
+
+    private static void evictIdle(ConcurrentHashMap<Long, TenantCounter> counters, long now, long idleNanos) {
+        for (Long id : counters.keySet()) {
+            counters.computeIfPresent(id, (ignored, counter) -> counter.pins.get() == 0
+                    && counter.inFlight.get() == 0
+                    && now - counter.lastAcquiredNanos >= idleNanos ? null : counter);
+        }
+    }
+
+    private Slot slot(
+            String scope,
+            ConcurrentHashMap<Long, TenantCounter> counters,
+            Long id,
+            Function<Long, Policy> policyResolver,
+            long now
+    ) {
+        if (id == null) {
+            return null;
+        }
+        Policy policy = policyResolver.apply(id);
+        // 정리 작업과 같은 키 잠금 안에서 고정(pin)해, 한도 확인이 끝날 때까지 카운터가 지워지지 않게 합니다.
+        TenantCounter counter = counters.compute(id, (ignored, existing) -> {
+            TenantCounter pinned = existing != null ? existing : new TenantCounter(policy.burst(), now);
+            pinned.pins.incrementAndGet();
+            pinned.lastAcquiredNanos = now;
+            return pinned;
+        });
+        return new Slot(scope, counter, policy);
+    }
+
+    private static void unpin(Slot slot) {
+        if (slot != null) {
+            slot.counter().pins.decrementAndGet();
+        }
+    }
+
+    /**
+     * 토큰이 {@code weight}개(burst보다 크면 burst개) 이상 있으면 {@code weight}개를 모두 차감하고 0을 반환합니다.
+     * 부족하면 그만큼 찰 때까지 남은 시간(ns)을 반환합니다. 차감 후 토큰은 음수(빚)가 될 수 있습니다.
+     */
+    private static long takeTokens(Slot slot, long now, int weight) {
+        if (slot == null || !slot.policy().rateLimited()) {
+            return 0L;
+        }
+        Policy policy = slot.policy();
+        double needed = Math.min(weight, policy.burst());
+        AtomicReference<Bucket> bucket = slot.counter().bucket;
+        while (true) {
+            Bucket current = bucket.get();
+            double elapsedSeconds = Math.max(0L, now - current.refilledAtNanos()) / 1_000_000_000d;
+            double tokens = Math.min(policy.burst(), current.tokens() + elapsedSeconds * policy.requestsPerSecond());
+            if (tokens < needed) {
+                return Math.max(1L, (long) Math.ceil((needed - tokens) / policy.requestsPerSecond() * 1_000_000_000d));
+            }
+            if (bucket.compareAndSet(current, new Bucket(tokens - weight, Math.max(now, current.refilledAtNanos())))) {
+                return 0L;
+            }
+        }
+    }
+
+    private static void refundTokens(Slot slot, int weight) {
+        if (slot == null || !slot.policy().rateLimited()) {
+            return;
+        }
+        slot.counter().bucket.updateAndGet(current ->
+                new Bucket(Math.min(slot.policy().burst(), current.tokens() + weight), current.refilledAtNanos()));
+    }
+
+    private static boolean enter(Slot slot) {
+        if (slot == null) {
+            return true;
+        }
+        AtomicInteger inFlight = slot.counter().inFlight;
+        int max = slot.policy().maxInFlight();
+        while (true) {
+            int current = inFlight.get();
+            if (max > 0 && current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static void leave(Slot slot) {
+        if (slot != null) {
+            slot.counter().inFlight.decrementAndGet();
+        }
+    }
+
+    private RateLimitExceededException rateLimited(String scope, long waitNanos) {
+        gatewayMetrics.incrementTenantLimitRejected(scope, "rate");
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        return new RateLimitExceededException(ErrorCode.GATEWAY_RATE_LIMITED, retryAfterSeconds);
+    }
+
+    private RateLimitExceededException concurrencyLimited(String scope) {
+        gatewayMetrics.incrementTenantLimitRejected(scope, "concurrency");
+        return new RateLimitExceededException(ErrorCode.GATEWAY_CONCURRENCY_LIMITED, CONCURRENCY_RETRY_AFTER_SECONDS);
+    }
+
+    private static int totalInFlight(ConcurrentHashMap<Long, TenantCounter> counters) {
+        int total = 0;
+        for (TenantCounter counter : counters.values()) {
+            total += counter.inFlight.get();
+        }
+        return total;
+    }
+
+    /**
+     * 통과한 요청이 점유한 동시 처리 슬롯입니다. 여러 번 닫아도 한 번만 반납합니다.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        static final Permit NOOP = new Permit(null, null);
+
+        private final Slot apiKey;
+        private final Slot organization;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(Slot apiKey, Slot organization) {
+            this.apiKey = apiKey;
+            this.organization = organization;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                leave(apiKey);
+                leave(organization);
+            }
+        }
+    }
+
+    private record Slot(String scope, TenantCounter counter, Policy policy) {
+    }
+
+    private record Bucket(double tokens, long refilledAtNanos) {
+    }
+
+    private static final class TenantCounter {
+        private final AtomicReference<Bucket> bucket;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastAcquiredNanos;
+        // 한도를 확인 중인 요청 수. 정리 작업이 같은 키 잠금 안에서 확인하도록 늘리는 것은 compute 안에서만 합니다.
+        private final AtomicInteger pins = new AtomicInteger();
+
+        private TenantCounter(int initialTokens, long now) {
+            this.bucket = new AtomicReference<>(new Bucket(initialTokens, now));
+            this.lastAcquiredNanos = now;
+        }
+    }
+}
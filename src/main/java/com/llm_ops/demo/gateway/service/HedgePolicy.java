@@ -0,0 +1,33 @@
+package com.llm_ops.demo.gateway.service;
+
+import java.util.Map;
+
+/**
+ * 프롬프트 버전 modelConfig의 {@code hedgeDelayMs}로 지정하는 hedging 설정입니다.
+ * <ul>
+ *     <li>숫자: 1차 provider가 이 시간(ms) 안에 응답하지 않으면 2차 경로를 병렬로 호출합니다.</li>
+ *     <li>{@code "p95"}: 1차 provider의 최근 성공 지연 p95를 대기 시간으로 사용합니다.</li>
+ * </ul>
+ *
+ * @param fixedDelayMs    고정 대기 시간 (p95 모드에서는 표본이 부족할 때의 대체값, 없으면 전역 기본값)
+ * @param useProviderP95  provider 지연 p95를 대기 시간으로 사용할지 여부
+ */
+public record HedgePolicy(Long fixedDelayMs, boolean useProviderP95) {
+
+    static final String MODEL_CONFIG_KEY = "hedgeDelayMs";
+    private static final String P95 = "p95";
+
+    public static HedgePolicy from(Map<String, Object> modelConfig) {
+        if (modelConfig == null) {
+            return null;
+        }
+        Object value = modelConfig.get(MODEL_CONFIG_KEY);
+        if (value instanceof Number number && number.longValue() > 0) {
+            return new HedgePolicy(number.longValue(), false);
+        }
+        if (value instanceof String text && P95.equalsIgnoreCase(text.trim())) {
+            return new HedgePolicy(null, true);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.llm_ops.demo.gateway.service;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실행기 종류(플랫폼 스레드 풀/가상 스레드)와 무관하게 대기 시간과 실행 중 작업 수를 측정하는 래퍼입니다.
+ * submit은 {@link AbstractExecutorService}의 FutureTask를 그대로 사용하므로 {@code future.cancel(true)}의 인터럽트 동작이 유지됩니다.
+ */
+final class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final AtomicInteger inFlight;
+    private final Timer queueWait;
+
+    InstrumentedExecutorService(ExecutorService delegate, AtomicInteger inFlight, Timer queueWait) {
+        this.delegate = delegate;
+        this.inFlight = inFlight;
+        this.queueWait = queueWait;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submittedAtNanos = System.nanoTime();
+        delegate.execute(() -> {
+            queueWait.record(System.nanoTime() - submittedAtNanos, TimeUnit.NANOSECONDS);
+            inFlight.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
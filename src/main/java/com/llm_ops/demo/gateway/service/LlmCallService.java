@@ -12,7 +12,7 @@ import com.llm_ops.demo.keys.service.ProviderCredentialService.ResolvedProviderA
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.anthropic.AnthropicChatModel;
-import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.anthropic.AnthropicChatOptions;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
@@ -23,9 +23,12 @@ import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,12 +42,15 @@ public class LlmCallService {
 
     private final GatewayChatOptionsCreateService gatewayChatOptionsCreateService;
     private final ObjectProvider<ChatModel> openAiChatModelProvider;
+    private final ProviderClientRegistry providerClientRegistry;
 
     public LlmCallService(
             GatewayChatOptionsCreateService gatewayChatOptionsCreateService,
-            @Qualifier("openAiChatModel") ObjectProvider<ChatModel> openAiChatModelProvider) {
+            @Qualifier("openAiChatModel") ObjectProvider<ChatModel> openAiChatModelProvider,
+            ProviderClientRegistry providerClientRegistry) {
         this.gatewayChatOptionsCreateService = gatewayChatOptionsCreateService;
         this.openAiChatModelProvider = openAiChatModelProvider;
+        this.providerClientRegistry = providerClientRegistry;
     }
 
     /**
@@ -92,8 +98,26 @@ public class LlmCallService {
         String providerApiKey = resolved.apiKey();
         return switch (resolved.providerType()) {
             case OPENAI -> callOpenAi(systemPrompt, userPrompt, providerApiKey, requestedModel, configOverride);
-            case ANTHROPIC -> callAnthropic(systemPrompt, userPrompt, providerApiKey, requestedModel, configOverride);
-            case GEMINI -> callGemini(systemPrompt, userPrompt, providerApiKey, requestedModel, configOverride);
+            case ANTHROPIC -> callAnthropic(systemPrompt, userPrompt, resolved, requestedModel, configOverride);
+            case GEMINI -> callGemini(systemPrompt, userPrompt, resolved, requestedModel, configOverride);
+        };
+    }
+
+    /**
+     * 프로바이더의 스트리밍 API로 응답을 청크 단위 {@link Flux}로 반환합니다.
+     * 각 청크는 생성된 텍스트 조각을 담고, usage는 프로바이더가 보내는 청크(보통 마지막)에 포함됩니다.
+     */
+    public Flux<ChatResponse> streamProvider(
+            ResolvedProviderApiKey resolved,
+            String requestedModel,
+            String systemPrompt,
+            String userPrompt,
+            ModelConfigOverride configOverride) {
+        String providerApiKey = resolved.apiKey();
+        return switch (resolved.providerType()) {
+            case OPENAI -> streamOpenAi(systemPrompt, userPrompt, providerApiKey, requestedModel, configOverride);
+            case ANTHROPIC -> streamAnthropic(systemPrompt, userPrompt, resolved, requestedModel, configOverride);
+            case GEMINI -> streamGemini(systemPrompt, userPrompt, resolved, requestedModel, configOverride);
         };
     }
 
@@ -107,21 +131,47 @@ public class LlmCallService {
     }
 
     private ChatResponse callOpenAi(String systemPrompt, String userPrompt, String apiKey, String modelOverride, ModelConfigOverride config) {
+        ChatModel chatModel = requireOpenAiChatModel();
+        return chatModel.call(new Prompt(buildMessages(systemPrompt, userPrompt), openAiOptions(apiKey, modelOverride, config)));
+    }
+
+    private Flux<ChatResponse> streamOpenAi(String systemPrompt, String userPrompt, String apiKey, String modelOverride, ModelConfigOverride config) {
+        ChatModel chatModel = requireOpenAiChatModel();
+        OpenAiChatOptions chatOptions = openAiOptions(apiKey, modelOverride, config);
+        // 스트리밍 응답은 기본적으로 usage가 없으므로 마지막 청크에 usage를 포함하도록 요청합니다.
+        chatOptions.setStreamUsage(true);
+        return chatModel.stream(new Prompt(buildMessages(systemPrompt, userPrompt), chatOptions));
+    }
+
+    private ChatModel requireOpenAiChatModel() {
         ChatModel chatModel = openAiChatModelProvider.getIfAvailable();
         if (chatModel == null) {
             throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, "OpenAI 호출을 위한 설정이 없습니다.");
         }
-        var chatOptions = gatewayChatOptionsCreateService.openAiOptions(apiKey);
+        return chatModel;
+    }
+
+    private OpenAiChatOptions openAiOptions(String apiKey, String modelOverride, ModelConfigOverride config) {
+        OpenAiChatOptions chatOptions = gatewayChatOptionsCreateService.openAiOptions(apiKey);
         if (modelOverride != null && !modelOverride.isBlank()) {
             chatOptions.setModel(modelOverride);
         }
         applyModelConfig(chatOptions, config);
-        return chatModel.call(new Prompt(buildMessages(systemPrompt, userPrompt), chatOptions));
+        return chatOptions;
+    }
+
+    private ChatResponse callAnthropic(String systemPrompt, String userPrompt, ResolvedProviderApiKey resolved, String modelOverride, ModelConfigOverride config) {
+        AnthropicChatModel anthropicChatModel = providerClientRegistry.anthropic(resolved);
+        return anthropicChatModel.call(new Prompt(buildMessages(systemPrompt, userPrompt), anthropicOptions(modelOverride, config)));
     }
 
-    private ChatResponse callAnthropic(String systemPrompt, String userPrompt, String apiKey, String modelOverride, ModelConfigOverride config) {
-        AnthropicChatModel anthropicChatModel = new AnthropicChatModel(new AnthropicApi(apiKey));
-        var chatOptions = gatewayChatOptionsCreateService.anthropicOptions();
+    private Flux<ChatResponse> streamAnthropic(String systemPrompt, String userPrompt, ResolvedProviderApiKey resolved, String modelOverride, ModelConfigOverride config) {
+        AnthropicChatModel anthropicChatModel = providerClientRegistry.anthropic(resolved);
+        return anthropicChatModel.stream(new Prompt(buildMessages(systemPrompt, userPrompt), anthropicOptions(modelOverride, config)));
+    }
+
+    private AnthropicChatOptions anthropicOptions(String modelOverride, ModelConfigOverride config) {
+        AnthropicChatOptions chatOptions = gatewayChatOptionsCreateService.anthropicOptions();
         if (modelOverride != null && !modelOverride.isBlank()) {
             chatOptions.setModel(modelOverride);
         }
@@ -131,49 +181,75 @@ public class LlmCallService {
         if (chatOptions.getTemperature() != null && chatOptions.getTopP() != null) {
             chatOptions.setTopP(null);
         }
-        return anthropicChatModel.call(new Prompt(buildMessages(systemPrompt, userPrompt), chatOptions));
+        return chatOptions;
+    }
+
+    private ChatResponse callGemini(String systemPrompt, String userPrompt, ResolvedProviderApiKey resolved, String modelOverride, ModelConfigOverride config) {
+        Client client = providerClientRegistry.gemini(resolved);
+        String model = resolveGeminiModel(modelOverride);
+
+        GenerateContentResponse response = client.models.generateContent(
+                model,
+                userPrompt,
+                buildGeminiConfig(systemPrompt, config));
+        return toGeminiChatResponse(response, model);
+    }
+
+    private Flux<ChatResponse> streamGemini(String systemPrompt, String userPrompt, ResolvedProviderApiKey resolved, String modelOverride, ModelConfigOverride config) {
+        Client client = providerClientRegistry.gemini(resolved);
+        String model = resolveGeminiModel(modelOverride);
+        GenerateContentConfig geminiConfig = buildGeminiConfig(systemPrompt, config);
+        // Gemini SDK의 스트림은 블로킹 Iterable이므로 boundedElastic에서 소비하고, 취소/종료 시 스트림만 닫습니다.
+        // 클라이언트는 레지스트리가 소유하므로 여기서 닫지 않습니다.
+        return Flux.using(
+                        () -> client.models.generateContentStream(model, userPrompt, geminiConfig),
+                        Flux::fromIterable,
+                        LlmCallService::closeQuietly)
+                .map(chunk -> toGeminiChatResponse(chunk, model))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.debug("Failed to close Gemini stream resource", e);
+        }
     }
 
-    private ChatResponse callGemini(String systemPrompt, String userPrompt, String apiKey, String modelOverride, ModelConfigOverride config) {
-        Client client = Client.builder().apiKey(apiKey).build();
-        String model = modelOverride;
-        if (model == null || model.isBlank()) {
-            model = DEFAULT_GEMINI_MODEL;
+    private static String resolveGeminiModel(String modelOverride) {
+        if (modelOverride == null || modelOverride.isBlank()) {
+            return DEFAULT_GEMINI_MODEL;
         }
+        return modelOverride;
+    }
 
+    private static GenerateContentConfig buildGeminiConfig(String systemPrompt, ModelConfigOverride config) {
         var geminiBuilder = GenerateContentConfig.builder()
                 .thinkingConfig(ThinkingConfig.builder().thinkingBudget(0).build());
-        boolean hasConfig = true;
         if (systemPrompt != null && !systemPrompt.isBlank()) {
             geminiBuilder.systemInstruction(Content.builder()
                     .parts(Part.builder().text(systemPrompt).build())
                     .build());
-            hasConfig = true;
         }
         if (config != null) {
             if (config.temperature() != null) {
                 geminiBuilder.temperature(config.temperature().floatValue());
-                hasConfig = true;
             }
             if (config.maxTokens() != null) {
                 geminiBuilder.maxOutputTokens(config.maxTokens());
-                hasConfig = true;
             }
             if (config.topP() != null) {
                 geminiBuilder.topP(config.topP().floatValue());
-                hasConfig = true;
             }
             if (config.frequencyPenalty() != null) {
                 geminiBuilder.frequencyPenalty(config.frequencyPenalty().floatValue());
-                hasConfig = true;
             }
         }
-        GenerateContentConfig geminiConfig = hasConfig ? geminiBuilder.build() : null;
+        return geminiBuilder.build();
+    }
 
-        GenerateContentResponse response = client.models.generateContent(
-                model,
-                userPrompt,
-                geminiConfig);
+    private static ChatResponse toGeminiChatResponse(GenerateContentResponse response, String model) {
         if (response == null) {
             ChatResponseMetadata metadata = ChatResponseMetadata.builder()
                     .withModel(model)
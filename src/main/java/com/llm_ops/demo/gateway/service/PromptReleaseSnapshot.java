@@ -0,0 +1,29 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.service.LlmCallService.ModelConfigOverride;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+
+/**
+ * (workspaceId, promptKey)로 해석한 활성 릴리즈의 불변 스냅샷입니다.
+ * 게이트웨이 요청마다 워크스페이스/프롬프트/릴리즈를 조회하고 모델 설정/템플릿을 다시 파싱하지 않도록 캐시에 보관합니다.
+ *
+ * @param userTemplate 컴파일된 사용자 템플릿 (비어 있으면 기본 템플릿 {@code {{question}}})
+ * @param systemPrompt 컴파일된 시스템 프롬프트 템플릿 (없으면 null)
+ * @param modelConfig  활성 버전의 modelConfig를 파싱한 값 (없으면 null)
+ * @param hedgePolicy  modelConfig의 hedging 설정 (없으면 null)
+ */
+public record PromptReleaseSnapshot(
+        Long workspaceId,
+        Long promptId,
+        Long promptVersionId,
+        ProviderType provider,
+        String model,
+        ProviderType secondaryProvider,
+        String secondaryModel,
+        PromptTemplate userTemplate,
+        PromptTemplate systemPrompt,
+        ModelConfigOverride modelConfig,
+        HedgePolicy hedgePolicy
+) {
+}
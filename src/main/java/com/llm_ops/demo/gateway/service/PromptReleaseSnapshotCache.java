@@ -0,0 +1,181 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.PromptSnapshotCacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 게이트웨이 hot path의 프롬프트 릴리즈 스냅샷 캐시입니다.
+ * <p>
+ * 릴리즈/롤백, 프롬프트 수정/보관, 워크스페이스 비활성화 시 무효화되며, 다른 인스턴스의 변경은 짧은 TTL로 수렴합니다.
+ * 무효화는 즉시 한 번, 트랜잭션 커밋 직후 한 번 더 수행해 커밋 전 상태가 다시 캐시되는 것을 막습니다.
+ * 조회 도중 무효화가 일어나면 그 결과는 캐시하지 않습니다.
+ * <p>
+ * 같은 키의 캐시 miss가 동시에 들어오면 먼저 들어온 요청만 조회하고 나머지는 그 결과를 기다립니다.
+ * 최대 개수를 넘으면 가장 오래 사용하지 않은 스냅샷부터 제거합니다. 접근 순서 {@link LinkedHashMap}을 잠금으로 보호하며,
+ * 조회(loader)는 잠금 밖에서 실행합니다.
+ */
+@Component
+public class PromptReleaseSnapshotCache {
+
+    private final PromptSnapshotCacheProperties properties;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<SnapshotKey, CachedSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidationGeneration;
+
+    @Autowired
+    public PromptReleaseSnapshotCache(PromptSnapshotCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    PromptReleaseSnapshotCache(PromptSnapshotCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    public PromptReleaseSnapshot getOrLoad(
+            Long organizationId,
+            Long workspaceId,
+            String promptKey,
+            Supplier<PromptReleaseSnapshot> loader
+    ) {
+        long ttlMs = properties.resolvedTtlMs();
+        if (ttlMs == 0) {
+            return loader.get();
+        }
+
+        SnapshotKey key = new SnapshotKey(organizationId, workspaceId, promptKey);
+        CachedSnapshot cached;
+        CachedSnapshot loading = null;
+        synchronized (this) {
+            cached = snapshots.get(key);
+            if (cached == null || cached.isExpired(nanoClock.getAsLong())) {
+                loading = new CachedSnapshot(invalidationGeneration);
+                snapshots.put(key, loading);
+                evictEldest();
+            }
+        }
+        return loading != null ? load(key, loading, loader, ttlMs) : cached.await();
+    }
+
+    public void invalidatePrompt(Long promptId) {
+        if (promptId == null) {
+            return;
+        }
+        invalidate(snapshot -> promptId.equals(snapshot.promptId()));
+    }
+
+    public void invalidateWorkspace(Long workspaceId) {
+        if (workspaceId == null) {
+            return;
+        }
+        invalidate(snapshot -> workspaceId.equals(snapshot.workspaceId()));
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * 잠금 밖에서 호출해야 합니다. 조회가 끝나면 기다리던 요청에 결과(또는 예외)를 넘깁니다.
+     */
+    private PromptReleaseSnapshot load(
+            SnapshotKey key,
+            CachedSnapshot loading,
+            Supplier<PromptReleaseSnapshot> loader,
+            long ttlMs
+    ) {
+        PromptReleaseSnapshot loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                snapshots.remove(key, loading);
+            }
+            loading.result.completeExceptionally(e);
+            throw e;
+        }
+        loading.expiresAtNanos = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        synchronized (this) {
+            if (loaded == null || invalidationGeneration != loading.generation) {
+                snapshots.remove(key, loading);
+            }
+        }
+        loading.result.complete(loaded);
+        return loaded;
+    }
+
+    private void invalidate(Predicate<PromptReleaseSnapshot> matcher) {
+        // 조회 중인 항목은 어떤 프롬프트인지 아직 모르므로 함께 제거해, 이후 요청이 무효화 전 조회 결과를 기다리지 않게 합니다.
+        Runnable task = () -> {
+            synchronized (this) {
+                invalidationGeneration++;
+                snapshots.values().removeIf(cached -> !cached.result.isDone() || matcher.test(cached.result.getNow(null)));
+            }
+        };
+        task.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        }
+    }
+
+    private void evictEldest() {
+        int maxEntries = properties.resolvedMaxEntries();
+        Iterator<CachedSnapshot> eldest = snapshots.values().iterator();
+        while (snapshots.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private record SnapshotKey(Long organizationId, Long workspaceId, String promptKey) {
+    }
+
+    /**
+     * 스냅샷 하나입니다. 조회가 끝나기 전에는 result가 완료되지 않았고, 같은 키의 요청은 그 결과를 기다립니다.
+     */
+    private static final class CachedSnapshot {
+
+        private final CompletableFuture<PromptReleaseSnapshot> result = new CompletableFuture<>();
+        private final long generation;
+        private volatile long expiresAtNanos;
+
+        private CachedSnapshot(long generation) {
+            this.generation = generation;
+        }
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos >= 0;
+        }
+
+        private PromptReleaseSnapshot await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
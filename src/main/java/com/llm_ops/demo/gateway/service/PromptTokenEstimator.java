@@ -0,0 +1,87 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.llm_ops.demo.gateway.config.GatewayPreflightProperties;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로바이더 호출 전에 프롬프트 토큰 수를 추정합니다.
+ * <p>
+ * cl100k_base 인코딩으로 세므로 OpenAI 모델에는 거의 정확하고, Anthropic/Gemini에는 근사치입니다.
+ * 템플릿의 고정 텍스트 토큰 수는 프롬프트 버전별로 한 번만 계산해 두고, 요청마다 변수 값만 셉니다.
+ */
+@Component
+public class PromptTokenEstimator {
+
+    // chat 메시지 하나당 role/구분자 토큰 대략치
+    static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private final Encoding encoding = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+    private final GatewayPreflightProperties properties;
+    private final ConcurrentHashMap<Key, Integer> literalTokens = new ConcurrentHashMap<>();
+
+    public PromptTokenEstimator(GatewayPreflightProperties properties) {
+        this.properties = properties;
+    }
+
+    public int count(@Nullable String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return encoding.countTokens(text);
+    }
+
+    /**
+     * 렌더링 결과(system + user 메시지)의 토큰 수를 추정합니다. system 템플릿이 없으면 user 메시지만 셉니다.
+     */
+    public int estimatePrompt(
+            @Nullable Long promptVersionId,
+            PromptTemplate userTemplate,
+            @Nullable PromptTemplate systemTemplate,
+            @Nullable Map<String, ?> variables
+    ) {
+        long total = MESSAGE_OVERHEAD_TOKENS
+                + userTemplate.estimateTokens(literalTokens(promptVersionId, Part.USER, userTemplate), variables, this::count);
+        if (systemTemplate != null) {
+            total += MESSAGE_OVERHEAD_TOKENS
+                    + systemTemplate.estimateTokens(literalTokens(promptVersionId, Part.SYSTEM, systemTemplate), variables, this::count);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    public int cachedVersionCount() {
+        return literalTokens.size();
+    }
+
+    /**
+     * 버전은 생성 후 수정되지 않으므로 만료 없이 재사용합니다. id가 없는 버전은 매번 셉니다.
+     */
+    private int literalTokens(@Nullable Long promptVersionId, Part part, PromptTemplate template) {
+        if (promptVersionId == null) {
+            return count(template.literalText());
+        }
+        Key key = new Key(promptVersionId, part);
+        Integer cached = literalTokens.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (literalTokens.size() >= properties.resolvedMaxCachedVersions()) {
+            literalTokens.clear();
+        }
+        return literalTokens.computeIfAbsent(key, ignored -> count(template.literalText()));
+    }
+
+    private enum Part {
+        USER,
+        SYSTEM
+    }
+
+    private record Key(Long promptVersionId, Part part) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.google.genai.Client;
+import com.llm_ops.demo.auth.util.TokenHashingUtils;
+import com.llm_ops.demo.gateway.config.ProviderClientProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.ProviderCredentialService.ResolvedProviderApiKey;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.anthropic.AnthropicChatModel;
+import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 프로바이더 SDK 클라이언트를 (provider, credentialId, key fingerprint) 단위로 재사용하는 레지스트리입니다.
+ * 호출마다 클라이언트를 새로 만들면 커넥션 풀/TLS 핸드셰이크가 매번 새로 생기므로, 한 번 만든 클라이언트를 보관해 keep-alive 커넥션을 재사용합니다.
+ * <p>
+ * 최대 개수를 넘으면 가장 오래 사용되지 않은 항목부터 축출하고, 유휴 항목은 주기적으로 정리합니다.
+ * 키가 교체되면 {@link #invalidateCredential(Long)}로 즉시 제거하며, 닫아야 하는 클라이언트(Gemini)는
+ * 진행 중인 호출이 끝나도록 유예 시간 뒤에 닫습니다.
+ */
+@Component
+public class ProviderClientRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderClientRegistry.class);
+
+    private final ProviderClientProperties properties;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<ClientKey, ClientEntry> clients = new ConcurrentHashMap<>();
+    private final Queue<RetiredClient> retiredClients = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public ProviderClientRegistry(ProviderClientProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ProviderClientRegistry(ProviderClientProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    public AnthropicChatModel anthropic(ResolvedProviderApiKey resolved) {
+        return lookup(ProviderType.ANTHROPIC, resolved, AnthropicChatModel.class,
+                () -> new AnthropicChatModel(new AnthropicApi(resolved.apiKey())));
+    }
+
+    public OpenAiChatModel openAi(ResolvedProviderApiKey resolved) {
+        return lookup(ProviderType.OPENAI, resolved, OpenAiChatModel.class,
+                () -> new OpenAiChatModel(new OpenAiApi(resolved.apiKey())));
+    }
+
+    public Client gemini(ResolvedProviderApiKey resolved) {
+        return lookup(ProviderType.GEMINI, resolved, Client.class,
+                () -> Client.builder().apiKey(resolved.apiKey()).build());
+    }
+
+    /**
+     * 해당 credential로 만든 클라이언트를 모두 제거합니다. 키 교체/재검증 직후 호출됩니다.
+     */
+    public void invalidateCredential(Long credentialId) {
+        if (credentialId == null) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        clients.entrySet().removeIf(entry -> {
+            if (!credentialId.equals(entry.getKey().credentialId())) {
+                return false;
+            }
+            retire(entry.getValue(), now);
+            return true;
+        });
+    }
+
+    /**
+     * 유휴 시간을 넘긴 클라이언트를 축출하고, 유예 시간이 지난 퇴역 클라이언트를 닫습니다.
+     */
+    @Scheduled(fixedDelayString = "${gateway.provider-client.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.resolvedIdleTimeoutMs());
+        clients.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().lastAccessNanos < idleTimeoutNanos) {
+                return false;
+            }
+            retire(entry.getValue(), now);
+            return true;
+        });
+        closeRetired(now, false);
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        long now = nanoClock.getAsLong();
+        clients.values().forEach(entry -> retire(entry, now));
+        clients.clear();
+        closeRetired(now, true);
+    }
+
+    private <T> T lookup(
+            ProviderType provider,
+            ResolvedProviderApiKey resolved,
+            Class<T> clientType,
+            Supplier<T> factory
+    ) {
+        ClientKey key = new ClientKey(provider, resolved.credentialId(), fingerprint(resolved.apiKey()));
+        long now = nanoClock.getAsLong();
+        boolean[] created = new boolean[1];
+        ClientEntry entry = clients.computeIfAbsent(key, ignored -> {
+            created[0] = true;
+            return new ClientEntry(factory.get(), now);
+        });
+        entry.lastAccessNanos = now;
+        if (created[0]) {
+            evictOverflow(now);
+        }
+        return clientType.cast(entry.client);
+    }
+
+    private void evictOverflow(long now) {
+        int maxEntries = properties.resolvedMaxEntries();
+        while (clients.size() > maxEntries) {
+            Map.Entry<ClientKey, ClientEntry> eldest = null;
+            for (Map.Entry<ClientKey, ClientEntry> candidate : clients.entrySet()) {
+                if (eldest == null || candidate.getValue().lastAccessNanos < eldest.getValue().lastAccessNanos) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (clients.remove(eldest.getKey(), eldest.getValue())) {
+                retire(eldest.getValue(), now);
+            }
+        }
+    }
+
+    private void retire(ClientEntry entry, long now) {
+        if (entry.client instanceof AutoCloseable closeable) {
+            retiredClients.add(new RetiredClient(closeable, now));
+        }
+    }
+
+    private void closeRetired(long now, boolean force) {
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(properties.resolvedCloseGraceMs());
+        retiredClients.removeIf(retired -> {
+            if (!force && now - retired.retiredAtNanos() < graceNanos) {
+                return false;
+            }
+            try {
+                retired.client().close();
+            } catch (Exception e) {
+                log.debug("Failed to close retired provider client", e);
+            }
+            return true;
+        });
+    }
+
+    private static String fingerprint(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return "";
+        }
+        return TokenHashingUtils.sha256Hex(apiKey).substring(0, 16);
+    }
+
+    private record ClientKey(ProviderType provider, Long credentialId, String keyFingerprint) {
+    }
+
+    private static final class ClientEntry {
+        private final Object client;
+        private volatile long lastAccessNanos;
+
+        private ClientEntry(Object client, long lastAccessNanos) {
+            this.client = client;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    private record RetiredClient(AutoCloseable client, long retiredAtNanos) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.llm_ops.demo.gateway.service;
+
+/**
+ * 프로바이더(또는 모델)의 적응형 동시 호출 한도가 가득 차 호출하지 않았음을 나타냅니다.
+ * 대기하지 않고 바로 failover 대상이 됩니다.
+ */
+final class ProviderConcurrencyLimitedException extends RuntimeException {
+
+    ProviderConcurrencyLimitedException(String limiterKey, int limit) {
+        super("provider concurrency limit reached: " + limiterKey + " (limit=" + limit + ")");
+    }
+}
@@ -0,0 +1,238 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayAdaptiveLimitProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 프로바이더별(설정 시 모델별) 동시 호출 수를 관측한 지연/오류로 조정하는 AIMD 한도입니다.
+ * <p>
+ * 호출이 끝날 때마다 최근 지연(short RTT)과 기준 지연(long RTT)의 지수이동평균을 갱신합니다.
+ * 오류(timeout/429/5xx)가 나거나 최근 지연이 기준 지연의 {@code rtt-tolerance}배를 넘으면 한도를 {@code backoff-ratio}배로 줄이고,
+ * 한도의 절반 이상을 쓰는 상태에서 정상 응답이 오면 {@code 1/한도}씩 늘려 한도만큼의 응답(약 1 RTT)마다 1 늘어나게 합니다.
+ * 한 번 줄인 뒤에는 그 이후에 시작한 호출의 혼잡 신호만 다시 반영해, 같은 RTT 안에 몰린 실패로 한도가 연달아 줄지 않게 합니다.
+ * 공유 스레드 풀 크기와 별개로 느려진 프로바이더 하나가 호출 슬롯을 독점하지 못하게 하며,
+ * 한도를 넘는 호출은 대기하지 않고 {@link ProviderConcurrencyLimitedException}으로 즉시 failover 합니다.
+ */
+@Component
+public class ProviderConcurrencyLimiter {
+
+    private final GatewayAdaptiveLimitProperties properties;
+    private final GatewayMetrics gatewayMetrics;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProviderConcurrencyLimiter(GatewayAdaptiveLimitProperties properties, GatewayMetrics gatewayMetrics) {
+        this(properties, gatewayMetrics, System::nanoTime);
+    }
+
+    ProviderConcurrencyLimiter(GatewayAdaptiveLimitProperties properties, GatewayMetrics gatewayMetrics, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.gatewayMetrics = gatewayMetrics;
+        this.nanoClock = nanoClock;
+    }
+
+    public enum Outcome {
+        /** 정상 응답. 지연 표본으로 쓰고 여유가 있으면 한도를 늘립니다. */
+        SUCCESS,
+        /** 혼잡 신호(timeout/429/5xx). 한도를 줄입니다. */
+        DROPPED,
+        /** 요청 자체의 문제(4xx 등)나 호출 전 실패. 한도 조정 없이 슬롯만 반납합니다. */
+        IGNORED
+    }
+
+    /**
+     * 호출 슬롯을 하나 점유합니다. 반환된 {@link Permit}은 호출이 끝나면 결과와 함께 반드시 반납해야 합니다.
+     *
+     * @throws ProviderConcurrencyLimitedException 현재 한도만큼 호출이 진행 중인 경우
+     */
+    public Permit acquire(ProviderType provider, String model) {
+        if (!properties.isEnabled()) {
+            return Permit.NOOP;
+        }
+        String key = keyOf(provider, model);
+        AdaptiveLimit limit = limitOf(key);
+        int inFlight = limit.tryEnter();
+        if (inFlight < 0) {
+            gatewayMetrics.incrementProviderLimitRejected(key);
+            throw new ProviderConcurrencyLimitedException(key, limit.currentLimit());
+        }
+        return new Permit(limit, inFlight, nanoClock);
+    }
+
+    /**
+     * 슬롯을 점유하지 않고 지금 호출할 여유가 있는지만 봅니다. hedging 2차 호출처럼 생략 가능한 호출을 보내기 전에 씁니다.
+     */
+    public boolean hasCapacity(ProviderType provider, String model) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        AdaptiveLimit limit = limits.get(keyOf(provider, model));
+        return limit == null || limit.inFlight.get() < limit.currentLimit();
+    }
+
+    /**
+     * 호출을 스레드 풀에 넘기기 전에 한도를 확인해, 이미 가득 찬 프로바이더로 가는 호출이 풀에서 대기하지 않고 바로 failover 하게 합니다.
+     * 실제 점유는 호출 스레드에서 {@link #acquire(ProviderType, String)}로 합니다.
+     *
+     * @throws ProviderConcurrencyLimitedException 현재 한도만큼 호출이 진행 중인 경우
+     */
+    public void checkCapacity(ProviderType provider, String model) {
+        if (hasCapacity(provider, model)) {
+            return;
+        }
+        String key = keyOf(provider, model);
+        gatewayMetrics.incrementProviderLimitRejected(key);
+        throw new ProviderConcurrencyLimitedException(key, currentLimit(provider, model));
+    }
+
+    int currentLimit(ProviderType provider, String model) {
+        AdaptiveLimit limit = limits.get(keyOf(provider, model));
+        return limit != null ? limit.currentLimit() : properties.resolvedInitialLimit();
+    }
+
+    private AdaptiveLimit limitOf(String key) {
+        AdaptiveLimit existing = limits.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return limits.computeIfAbsent(key, k -> {
+            AdaptiveLimit created = new AdaptiveLimit(properties);
+            gatewayMetrics.registerProviderLimitGauges(
+                    k,
+                    created::currentLimit,
+                    created.inFlight::get,
+                    created::shortRttSeconds,
+                    created::longRttSeconds);
+            return created;
+        });
+    }
+
+    private String keyOf(ProviderType provider, String model) {
+        String providerKey = provider != null ? provider.name().toLowerCase() : "unknown";
+        if (!properties.isPerModel() || model == null || model.isBlank()) {
+            return providerKey;
+        }
+        return providerKey + ":" + model;
+    }
+
+    /**
+     * 점유한 호출 슬롯입니다. 여러 번 반납해도 처음 한 번만 반영합니다.
+     */
+    public static final class Permit {
+
+        static final Permit NOOP = new Permit(null, 0, () -> 0L);
+
+        private final AdaptiveLimit limit;
+        private final int inFlightAtStart;
+        private final LongSupplier nanoClock;
+        private final long startedAtNanos;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(AdaptiveLimit limit, int inFlightAtStart, LongSupplier nanoClock) {
+            this.limit = limit;
+            this.inFlightAtStart = inFlightAtStart;
+            this.nanoClock = nanoClock;
+            this.startedAtNanos = nanoClock.getAsLong();
+        }
+
+        public void release(Outcome outcome) {
+            if (limit == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            limit.inFlight.decrementAndGet();
+            if (outcome != Outcome.IGNORED) {
+                limit.onSample(startedAtNanos, nanoClock.getAsLong(), outcome == Outcome.DROPPED, inFlightAtStart);
+            }
+        }
+    }
+
+    /**
+     * 한 프로바이더(또는 모델)의 한도 상태입니다. 점유/반납은 CAS로, 한도/지연 갱신은 짧은 동기화 블록으로 처리합니다.
+     */
+    static final class AdaptiveLimit {
+
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double rttTolerance;
+        private final int shortWindow;
+        private final double shortAlpha;
+        private final double longAlpha;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private volatile double limit;
+        private double shortRttNanos;
+        private double longRttNanos;
+        private long samples;
+        private boolean backedOff;
+        private long lastBackoffAtNanos;
+
+        AdaptiveLimit(GatewayAdaptiveLimitProperties properties) {
+            this.minLimit = properties.resolvedMinLimit();
+            this.maxLimit = properties.resolvedMaxLimit();
+            this.backoffRatio = properties.resolvedBackoffRatio();
+            this.rttTolerance = properties.resolvedRttTolerance();
+            this.shortWindow = properties.resolvedShortWindow();
+            this.shortAlpha = 2d / (properties.resolvedShortWindow() + 1);
+            this.longAlpha = 2d / (properties.resolvedLongWindow() + 1);
+            this.limit = properties.resolvedInitialLimit();
+        }
+
+        /**
+         * 한도 안이면 점유 후 점유 직전의 진행 중 호출 수를, 한도를 넘으면 -1을 반환합니다.
+         */
+        int tryEnter() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= currentLimit()) {
+                    return -1;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return current;
+                }
+            }
+        }
+
+        int currentLimit() {
+            return (int) limit;
+        }
+
+        synchronized double shortRttSeconds() {
+            return shortRttNanos / 1_000_000_000d;
+        }
+
+        synchronized double longRttSeconds() {
+            return longRttNanos / 1_000_000_000d;
+        }
+
+        synchronized void onSample(long startedAtNanos, long finishedAtNanos, boolean dropped, int inFlightAtStart) {
+            long rttNanos = finishedAtNanos - startedAtNanos;
+            boolean congested = dropped;
+            if (!dropped) {
+                // timeout 등 실패한 호출의 지연은 잘린 값이므로 기준 지연에 섞지 않습니다.
+                samples++;
+                shortRttNanos = samples == 1 ? rttNanos : shortRttNanos + shortAlpha * (rttNanos - shortRttNanos);
+                longRttNanos = samples == 1 ? rttNanos : longRttNanos + longAlpha * (rttNanos - longRttNanos);
+                congested = samples >= shortWindow && shortRttNanos > longRttNanos * rttTolerance;
+            }
+            if (congested) {
+                // 직전 감소 전에 시작한 호출은 이미 반영한 혼잡을 겪은 것이므로 다시 줄이지 않습니다.
+                if (!backedOff || startedAtNanos - lastBackoffAtNanos >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    backedOff = true;
+                    lastBackoffAtNanos = finishedAtNanos;
+                }
+            } else if ((inFlightAtStart + 1) * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1d / limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.llm_ops.demo.gateway.service;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * provider별 최근 성공 호출 지연을 고정 크기 링 버퍼로 보관해 분위수를 계산합니다.
+ * Micrometer 히스토그램은 태그 조합별로 나뉘고 누적값이라 요청 경로에서 "지금의" p95를 얻기 어렵기 때문에 따로 둡니다.
+ */
+final class ProviderLatencyWindow {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+
+    ProviderLatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    synchronized void record(long elapsedNanos) {
+        samples[next] = elapsedNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * 표본이 최소 개수보다 적으면 빈 값을 반환합니다.
+     */
+    OptionalLong percentileNanos(double percentile) {
+        long[] snapshot;
+        synchronized (this) {
+            if (count < minSamples) {
+                return OptionalLong.empty();
+            }
+            snapshot = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(percentile * snapshot.length) - 1;
+        return OptionalLong.of(snapshot[Math.max(0, Math.min(snapshot.length - 1, index))]);
+    }
+}
@@ -0,0 +1,181 @@
+package com.llm_ops.demo.gateway.service;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 프로바이더 스트리밍 응답(Flux)을 구독해 요청 스레드로 전달하는 중계자입니다.
+ * 첫 토큰 도착 전까지는 기존 deadline/retry/failover 판단이 가능하도록 대기만 하고,
+ * 경로가 확정된 뒤 {@link #drain(Consumer, long)}으로 나머지 청크를 흘려보내며 하나의 ChatResponse로 합칩니다.
+ */
+final class ProviderStreamRelay {
+
+    private static final Object COMPLETE = new Object();
+
+    private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Void> firstToken = new CompletableFuture<>();
+    private volatile long firstTokenAtNanos;
+    private volatile Disposable subscription;
+
+    private ProviderStreamRelay() {
+    }
+
+    static ProviderStreamRelay subscribe(Flux<ChatResponse> flux) {
+        ProviderStreamRelay relay = new ProviderStreamRelay();
+        relay.subscription = flux.subscribe(relay::onNext, relay::onError, relay::onComplete);
+        return relay;
+    }
+
+    /**
+     * 첫 토큰(또는 빈 스트림 종료)까지 대기합니다. 첫 토큰 전에 발생한 업스트림 오류는 그대로 던집니다.
+     */
+    void awaitFirstToken(long timeoutMs) throws Exception {
+        try {
+            firstToken.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException executionException) {
+            Throwable cause = executionException.getCause();
+            if (cause instanceof Exception providerException) {
+                throw providerException;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    long firstTokenAtNanos() {
+        return firstTokenAtNanos;
+    }
+
+    void cancel() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * 남은 청크를 onDelta로 전달하면서 끝까지 소비하고, 누적된 답변/usage/모델명으로 ChatResponse를 만듭니다.
+     * onDelta가 예외를 던지거나 시간 한도를 넘기면 업스트림 구독을 취소합니다.
+     */
+    ChatResponse drain(Consumer<String> onDelta, long timeoutMs) throws Exception {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1L, timeoutMs));
+        StringBuilder answer = new StringBuilder();
+        String model = null;
+        String id = null;
+        long promptTokens = 0L;
+        long generationTokens = 0L;
+        long totalTokens = 0L;
+        try {
+            while (true) {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                Object signal = remainingNanos > 0 ? signals.poll(remainingNanos, TimeUnit.NANOSECONDS) : null;
+                if (signal == null) {
+                    throw new TimeoutException("stream deadline exceeded");
+                }
+                if (signal == COMPLETE) {
+                    break;
+                }
+                if (signal instanceof StreamFailure failure) {
+                    if (failure.error() instanceof Exception providerException) {
+                        throw providerException;
+                    }
+                    throw new RuntimeException(failure.error());
+                }
+                ChatResponse chunk = (ChatResponse) signal;
+                String text = textOf(chunk);
+                if (text != null && !text.isEmpty()) {
+                    answer.append(text);
+                    onDelta.accept(text);
+                }
+                ChatResponseMetadata metadata = chunk.getMetadata();
+                if (metadata == null) {
+                    continue;
+                }
+                if (metadata.getModel() != null && !metadata.getModel().isBlank()) {
+                    model = metadata.getModel();
+                }
+                if (metadata.getId() != null && !metadata.getId().isBlank()) {
+                    id = metadata.getId();
+                }
+                // 프로바이더마다 usage를 시작/중간/마지막 청크에 나눠 보내므로 필드별 최댓값을 취합니다.
+                Usage usage = metadata.getUsage();
+                if (usage != null) {
+                    promptTokens = Math.max(promptTokens, nullToZero(usage.getPromptTokens()));
+                    generationTokens = Math.max(generationTokens, nullToZero(usage.getGenerationTokens()));
+                    totalTokens = Math.max(totalTokens, nullToZero(usage.getTotalTokens()));
+                }
+            }
+        } catch (Exception e) {
+            cancel();
+            throw e;
+        }
+
+        ChatResponseMetadata.Builder metadataBuilder = ChatResponseMetadata.builder();
+        if (model != null) {
+            metadataBuilder.withModel(model);
+        }
+        if (id != null) {
+            metadataBuilder.withId(id);
+        }
+        if (promptTokens > 0 || generationTokens > 0 || totalTokens > 0) {
+            long resolvedTotal = Math.max(totalTokens, promptTokens + generationTokens);
+            metadataBuilder.withUsage(new DefaultUsage(promptTokens, generationTokens, resolvedTotal));
+        }
+        return new ChatResponse(
+                List.of(new Generation(new AssistantMessage(answer.toString()))),
+                metadataBuilder.build());
+    }
+
+    private void onNext(ChatResponse chunk) {
+        if (chunk == null) {
+            return;
+        }
+        signals.add(chunk);
+        String text = textOf(chunk);
+        if (text != null && !text.isEmpty() && !firstToken.isDone()) {
+            firstTokenAtNanos = System.nanoTime();
+            firstToken.complete(null);
+        }
+    }
+
+    private void onError(Throwable error) {
+        signals.add(new StreamFailure(error));
+        firstToken.completeExceptionally(error);
+    }
+
+    private void onComplete() {
+        signals.add(COMPLETE);
+        if (!firstToken.isDone()) {
+            firstTokenAtNanos = System.nanoTime();
+            firstToken.complete(null);
+        }
+    }
+
+    private static String textOf(ChatResponse chunk) {
+        if (chunk.getResult() == null || chunk.getResult().getOutput() == null) {
+            return null;
+        }
+        return chunk.getResult().getOutput().getText();
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private record StreamFailure(Throwable error) {
+    }
+}
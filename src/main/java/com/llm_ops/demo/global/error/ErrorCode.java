@@ -12,8 +12,11 @@ public enum ErrorCode {
     NOT_FOUND(HttpStatus.NOT_FOUND, "C404", "대상을 찾을 수 없습니다."),
     METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, "C405", "지원하지 않는 HTTP 메서드입니다."),
     CONFLICT(HttpStatus.CONFLICT, "C409", "요청이 현재 상태와 충돌합니다."),
+    CONTEXT_WINDOW_EXCEEDED(HttpStatus.BAD_REQUEST, "C4001", "요청 토큰 수가 모델의 컨텍스트 윈도우를 초과했습니다."),
     BUDGET_EXCEEDED(HttpStatus.TOO_MANY_REQUESTS, "C429", "예산 한도를 초과했습니다."),
     EMAIL_CHECK_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "C4291", "이메일 확인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+    GATEWAY_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "C4292", "요청 처리율 한도를 초과했습니다. 잠시 후 다시 시도해주세요."),
+    GATEWAY_CONCURRENCY_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "C4293", "동시에 처리할 수 있는 요청 수를 초과했습니다. 잠시 후 다시 시도해주세요."),
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "C500", "서버 오류가 발생했습니다.");
 
     private final HttpStatus status;
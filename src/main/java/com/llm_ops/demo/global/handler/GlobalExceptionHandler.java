@@ -225,7 +225,9 @@ public class GlobalExceptionHandler {
             case FORBIDDEN -> new GatewayBusinessMapping("GW-REQ-FORBIDDEN", HttpStatus.FORBIDDEN, e.getMessage());
             case BUDGET_EXCEEDED, EMAIL_CHECK_RATE_LIMITED ->
                     new GatewayBusinessMapping("GW-REQ-QUOTA_EXCEEDED", HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
-            case INVALID_INPUT_VALUE, METHOD_NOT_ALLOWED, CONFLICT, NOT_FOUND ->
+            case GATEWAY_RATE_LIMITED, GATEWAY_CONCURRENCY_LIMITED ->
+                    new GatewayBusinessMapping("GW-REQ-RATE_LIMITED", HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+            case INVALID_INPUT_VALUE, CONTEXT_WINDOW_EXCEEDED, METHOD_NOT_ALLOWED, CONFLICT, NOT_FOUND ->
                     new GatewayBusinessMapping("GW-REQ-INVALID_REQUEST", HttpStatus.BAD_REQUEST, e.getMessage());
             default -> new GatewayBusinessMapping("GW-GW-POLICY_BLOCKED", errorCode.getStatus(), e.getMessage());
         };
@@ -9,6 +9,7 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
 
 @Component
@@ -50,6 +51,18 @@ public class ProviderKeyEncryptor {
     }
 
     public String decrypt(String encoded) {
+        byte[] plaintext = decryptToBytes(encoded);
+        try {
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(plaintext, (byte) 0);
+        }
+    }
+
+    /**
+     * 복호화한 평문을 UTF-8 바이트 배열로 반환합니다. 호출자는 사용 후 배열을 0으로 덮어써야 합니다.
+     */
+    public byte[] decryptToBytes(String encoded) {
         try {
             byte[] combined = Base64.getDecoder().decode(encoded);
             if (combined.length <= IV_LENGTH) {
@@ -66,8 +79,7 @@ public class ProviderKeyEncryptor {
             GCMParameterSpec gcmSpec = new GCMParameterSpec(TAG_LENGTH_BITS, initializationVector);
             cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
 
-            byte[] plaintext = cipher.doFinal(ciphertext);
-            return new String(plaintext, StandardCharsets.UTF_8);
+            return cipher.doFinal(ciphertext);
         } catch (Exception e) {
             throw new IllegalStateException("Failed to decrypt provider key", e);
         }
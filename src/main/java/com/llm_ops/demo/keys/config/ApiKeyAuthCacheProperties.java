@@ -0,0 +1,49 @@
+package com.llm_ops.demo.keys.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게이트웨이 API 키 인증 캐시 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.auth-cache")
+@Getter
+@Setter
+public class ApiKeyAuthCacheProperties {
+
+    private static final long DEFAULT_TTL_MS = 60_000L;
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_NEGATIVE_TTL_MS = 5_000L;
+    private static final int DEFAULT_NEGATIVE_MAX_ENTRIES = 10_000;
+
+    /**
+     * 인증 성공 결과 보관 시간입니다. 교체 외의 경로(DB 직접 변경 등)로 키가 무효화된 경우 이 시간 안에 반영됩니다. 0이면 캐시하지 않습니다.
+     */
+    private long ttlMs = DEFAULT_TTL_MS;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    /**
+     * 인증 실패 결과 보관 시간입니다. 잘못된 키의 반복 요청이 DB까지 도달하지 않도록 짧게 유지합니다. 0이면 캐시하지 않습니다.
+     */
+    private long negativeTtlMs = DEFAULT_NEGATIVE_TTL_MS;
+    private int negativeMaxEntries = DEFAULT_NEGATIVE_MAX_ENTRIES;
+
+    public long resolvedTtlMs() {
+        return ttlMs >= 0 ? ttlMs : DEFAULT_TTL_MS;
+    }
+
+    public int resolvedMaxEntries() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    public long resolvedNegativeTtlMs() {
+        return negativeTtlMs >= 0 ? negativeTtlMs : DEFAULT_NEGATIVE_TTL_MS;
+    }
+
+    public int resolvedNegativeMaxEntries() {
+        return negativeMaxEntries > 0 ? negativeMaxEntries : DEFAULT_NEGATIVE_MAX_ENTRIES;
+    }
+}
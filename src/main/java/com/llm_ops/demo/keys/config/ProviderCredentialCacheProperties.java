@@ -0,0 +1,33 @@
+package com.llm_ops.demo.keys.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 복호화된 프로바이더 키 캐시 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.credential-cache")
+@Getter
+@Setter
+public class ProviderCredentialCacheProperties {
+
+    private static final long DEFAULT_TTL_MS = 30_000L;
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    /**
+     * 복호화된 키를 메모리에 보관하는 시간입니다. 만료된 키는 주기적으로 0으로 덮어쓴 뒤 제거됩니다. 0이면 캐시하지 않습니다.
+     */
+    private long ttlMs = DEFAULT_TTL_MS;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    public long resolvedTtlMs() {
+        return ttlMs >= 0 ? ttlMs : DEFAULT_TTL_MS;
+    }
+
+    public int resolvedMaxEntries() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+}
@@ -0,0 +1,18 @@
+package com.llm_ops.demo.keys.service;
+
+/**
+ * API 키 인증 캐시의 조회/제거 지표를 기록합니다.
+ * 지표는 게이트웨이 메트릭이 구현하며, keys 패키지는 이 인터페이스에만 의존합니다.
+ */
+public interface ApiKeyAuthCacheMetrics {
+
+    /**
+     * @param result hit, miss, negative_hit
+     */
+    void incrementAuthCacheRequest(String result);
+
+    /**
+     * @param reason expired, invalidated, capacity, negative_capacity
+     */
+    void incrementAuthCacheEviction(String reason);
+}
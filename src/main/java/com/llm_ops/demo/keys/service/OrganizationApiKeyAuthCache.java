@@ -0,0 +1,177 @@
+package com.llm_ops.demo.keys.service;
+
+import com.llm_ops.demo.keys.config.ApiKeyAuthCacheProperties;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService.AuthResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * API 키 해시 → 인증 결과 캐시입니다.
+ * <p>
+ * 키 원문은 보관하지 않고 SHA-256 해시만 키로 사용합니다. 인증 실패는 별도의 짧은 TTL로 음성 캐시하여
+ * 잘못된 키의 반복 요청이 DB 조회로 이어지지 않게 합니다. 키 교체/폐기 시 {@link #invalidateApiKey(Long)}로
+ * 즉시, 그리고 트랜잭션 커밋 직후 한 번 더 제거합니다.
+ */
+@Component
+public class OrganizationApiKeyAuthCache {
+
+    private final ApiKeyAuthCacheProperties properties;
+    private final ApiKeyAuthCacheMetrics metrics;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, CachedAuth> positive = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> negative = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+
+    @Autowired
+    public OrganizationApiKeyAuthCache(ApiKeyAuthCacheProperties properties, ApiKeyAuthCacheMetrics metrics) {
+        this(properties, metrics, System::nanoTime);
+    }
+
+    OrganizationApiKeyAuthCache(ApiKeyAuthCacheProperties properties, ApiKeyAuthCacheMetrics metrics, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 캐시된 인증 결과를 반환하고, 없으면 loader로 조회합니다.
+     *
+     * @param keyHash API 키 원문의 SHA-256 해시
+     * @param loader  DB 조회 함수. 유효한 키가 없으면 null을 반환해야 합니다.
+     * @return 인증 결과. 유효하지 않은 키(음성 캐시 포함)면 null
+     */
+    @Nullable
+    public AuthResult getOrLoad(String keyHash, Supplier<AuthResult> loader) {
+        long now = nanoClock.getAsLong();
+
+        CachedAuth cached = positive.get(keyHash);
+        if (cached != null) {
+            if (now - cached.expiresAtNanos() < 0) {
+                metrics.incrementAuthCacheRequest("hit");
+                return cached.authResult();
+            }
+            if (positive.remove(keyHash, cached)) {
+                metrics.incrementAuthCacheEviction("expired");
+            }
+        }
+
+        Long negativeExpiresAtNanos = negative.get(keyHash);
+        if (negativeExpiresAtNanos != null) {
+            if (now - negativeExpiresAtNanos < 0) {
+                metrics.incrementAuthCacheRequest("negative_hit");
+                return null;
+            }
+            negative.remove(keyHash, negativeExpiresAtNanos);
+        }
+
+        metrics.incrementAuthCacheRequest("miss");
+        long generation = invalidationGeneration.get();
+        AuthResult loaded = loader.get();
+        if (invalidationGeneration.get() != generation) {
+            return loaded;
+        }
+        if (loaded != null) {
+            long ttlMs = properties.resolvedTtlMs();
+            if (ttlMs > 0) {
+                evictPositiveIfFull(now);
+                positive.put(keyHash, new CachedAuth(loaded, now + TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+            }
+        } else {
+            long negativeTtlMs = properties.resolvedNegativeTtlMs();
+            if (negativeTtlMs > 0) {
+                evictNegativeIfFull(now);
+                negative.put(keyHash, now + TimeUnit.MILLISECONDS.toNanos(negativeTtlMs));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 교체/폐기된 API 키의 캐시를 제거합니다. 음성 캐시도 함께 비워 새 키가 이전 실패 결과에 가려지지 않게 합니다.
+     */
+    public void invalidateApiKey(Long apiKeyId) {
+        if (apiKeyId == null) {
+            return;
+        }
+        Runnable task = () -> {
+            invalidationGeneration.incrementAndGet();
+            positive.entrySet().removeIf(entry -> {
+                boolean matched = apiKeyId.equals(entry.getValue().authResult().apiKeyId());
+                if (matched) {
+                    metrics.incrementAuthCacheEviction("invalidated");
+                }
+                return matched;
+            });
+            negative.clear();
+        };
+        task.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return positive.size();
+    }
+
+    public int negativeSize() {
+        return negative.size();
+    }
+
+    private void evictPositiveIfFull(long now) {
+        int maxEntries = properties.resolvedMaxEntries();
+        if (positive.size() < maxEntries) {
+            return;
+        }
+        positive.entrySet().removeIf(entry -> {
+            boolean expired = now - entry.getValue().expiresAtNanos() >= 0;
+            if (expired) {
+                metrics.incrementAuthCacheEviction("expired");
+            }
+            return expired;
+        });
+        while (positive.size() >= maxEntries) {
+            // 만료가 가장 가까운(가장 오래전에 적재된) 항목부터 제거합니다.
+            Map.Entry<String, CachedAuth> oldest = positive.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos()))
+                    .orElse(null);
+            if (oldest == null) {
+                return;
+            }
+            if (positive.remove(oldest.getKey(), oldest.getValue())) {
+                metrics.incrementAuthCacheEviction("capacity");
+            }
+        }
+    }
+
+    private void evictNegativeIfFull(long now) {
+        if (negative.size() < properties.resolvedNegativeMaxEntries()) {
+            return;
+        }
+        negative.values().removeIf(expiresAtNanos -> now - expiresAtNanos >= 0);
+        if (negative.size() >= properties.resolvedNegativeMaxEntries()) {
+            // 서로 다른 무작위 키로 가득 찬 경우이므로 통째로 비웁니다.
+            negative.clear();
+            metrics.incrementAuthCacheEviction("negative_capacity");
+        }
+    }
+
+    private record CachedAuth(AuthResult authResult, long expiresAtNanos) {
+    }
+}
@@ -7,7 +7,6 @@ import com.llm_ops.demo.keys.domain.OrganizationApiKeyStatus;
 import com.llm_ops.demo.keys.repository.OrganizationApiKeyRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -24,6 +23,7 @@ public class OrganizationApiKeyAuthService {
     private static final int KEY_PREFIX_LENGTH = 12;
 
     private final OrganizationApiKeyRepository organizationApiKeyRepository;
+    private final OrganizationApiKeyAuthCache organizationApiKeyAuthCache;
 
     public record AuthResult(
             Long organizationId,
@@ -45,32 +45,41 @@ public class OrganizationApiKeyAuthService {
      * @return 인증 성공 시, 해당 API 키가 속한 조직의 ID
      * @throws BusinessException API 키가 없거나 유효하지 않을 경우
      */
-    @Transactional(readOnly = true)
     public Long resolveOrganizationId(String apiKey) {
         return resolveAuthResult(apiKey).organizationId();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * API 키를 검증하고 인증 결과를 반환합니다.
+     * 결과는 키 해시 기준으로 캐시되므로, 캐시 적중 시에는 트랜잭션과 DB 커넥션을 사용하지 않습니다.
+     */
     public AuthResult resolveAuthResult(String apiKey) {
         if (apiKey == null || apiKey.isBlank()) {
             throw new BusinessException(ErrorCode.UNAUTHENTICATED, "API Key가 필요합니다.");
         }
 
-        String keyPrefix = apiKey.substring(0, Math.min(KEY_PREFIX_LENGTH, apiKey.length()));
         String keyHash = sha256Hex(apiKey);
+        AuthResult authResult = organizationApiKeyAuthCache.getOrLoad(keyHash, () -> loadAuthResult(apiKey, keyHash));
+        if (authResult == null) {
+            throw new BusinessException(ErrorCode.UNAUTHENTICATED, "유효하지 않은 API Key 입니다.");
+        }
+        return authResult;
+    }
+
+    private AuthResult loadAuthResult(String apiKey, String keyHash) {
+        String keyPrefix = apiKey.substring(0, Math.min(KEY_PREFIX_LENGTH, apiKey.length()));
 
         List<OrganizationApiKey> candidates = organizationApiKeyRepository.findAllByKeyPrefix(keyPrefix);
-        OrganizationApiKey matched = candidates.stream()
+        return candidates.stream()
                 .filter(apiKeyEntity -> apiKeyEntity.getStatus() == OrganizationApiKeyStatus.ACTIVE)
                 .filter(apiKeyEntity -> apiKeyEntity.getKeyHash().equals(keyHash))
                 .findFirst()
-                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHENTICATED, "유효하지 않은 API Key 입니다."));
-
-        return new AuthResult(
-                matched.getOrganizationId(),
-                matched.getId(),
-                matched.getKeyPrefix()
-        );
+                .map(matched -> new AuthResult(
+                        matched.getOrganizationId(),
+                        matched.getId(),
+                        matched.getKeyPrefix()
+                ))
+                .orElse(null);
     }
 
     /**
@@ -25,6 +25,7 @@ public class OrganizationApiKeyRotateService {
 
     private final OrganizationApiKeyRepository organizationApiKeyRepository;
     private final ApiKeyGenerator apiKeyGenerator;
+    private final OrganizationApiKeyAuthCache organizationApiKeyAuthCache;
 
     /**
      * 지정된 API 키를 새로운 값으로 교체(Rotate)합니다.
@@ -46,6 +47,7 @@ public class OrganizationApiKeyRotateService {
         ApiKeyGenerator.GeneratedKey generatedKey = apiKeyGenerator.generateWithHash();
 
         apiKey.rotate(generatedKey.hash(), generatedKey.prefix());
+        organizationApiKeyAuthCache.invalidateApiKey(apiKey.getId());
 
         log.info("API Key rotated: keyId={}, orgId={}, reason={}",
                 keyId, organizationId, request.reason());
@@ -0,0 +1,205 @@
+package com.llm_ops.demo.keys.service;
+
+import com.llm_ops.demo.keys.config.ProviderCredentialCacheProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.ProviderCredentialService.ResolvedProviderApiKey;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * (organizationId, provider) → 복호화된 ACTIVE 프로바이더 키 캐시입니다.
+ * <p>
+ * 게이트웨이 hop마다 발생하던 credential 조회와 AES-GCM 복호화를 줄입니다. 평문 키는 String이 아닌 byte[]로 보관하고,
+ * 만료/무효화/축출 시 0으로 덮어씁니다. 등록/수정/검증 상태 변경 시 즉시, 그리고 트랜잭션 커밋 직후 한 번 더 무효화합니다.
+ * 최대 개수에 이르면 만료된 키를 먼저 지우고, 그래도 가득 차 있으면 가장 먼저 만료될(가장 오래 전에 넣은) 키부터 축출합니다.
+ */
+@Component
+public class ProviderCredentialCache {
+
+    private final ProviderCredentialCacheProperties properties;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<CredentialKey, CachedCredential> credentials = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+
+    @Autowired
+    public ProviderCredentialCache(ProviderCredentialCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ProviderCredentialCache(ProviderCredentialCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 복호화된 credential 조회 결과입니다. 캐시가 평문 배열의 소유권을 가져가며, 호출자는 이후 배열을 사용하지 않아야 합니다.
+     */
+    public record DecryptedCredential(Long credentialId, byte[] apiKey) {
+    }
+
+    public ResolvedProviderApiKey getOrLoad(
+            Long organizationId,
+            ProviderType providerType,
+            Supplier<DecryptedCredential> loader
+    ) {
+        CredentialKey key = new CredentialKey(organizationId, providerType);
+        long now = nanoClock.getAsLong();
+        CachedCredential cached = credentials.get(key);
+        if (cached != null) {
+            if (now - cached.expiresAtNanos() < 0) {
+                String apiKey = cached.apiKey();
+                if (apiKey != null) {
+                    return new ResolvedProviderApiKey(cached.credentialId(), providerType, apiKey);
+                }
+            }
+            remove(key, cached);
+        }
+
+        long generation = invalidationGeneration.get();
+        DecryptedCredential loaded = loader.get();
+        CachedCredential entry = new CachedCredential(
+                loaded.credentialId(),
+                loaded.apiKey(),
+                now + TimeUnit.MILLISECONDS.toNanos(properties.resolvedTtlMs()));
+        String apiKey = entry.apiKey();
+        if (properties.resolvedTtlMs() > 0 && invalidationGeneration.get() == generation) {
+            evictIfFull(now);
+            CachedCredential previous = credentials.put(key, entry);
+            if (previous != null) {
+                previous.destroy();
+            }
+        } else {
+            entry.destroy();
+        }
+        return new ResolvedProviderApiKey(loaded.credentialId(), providerType, apiKey);
+    }
+
+    public void invalidate(Long organizationId, ProviderType providerType) {
+        CredentialKey target = new CredentialKey(organizationId, providerType);
+        invalidate(entry -> entry.getKey().equals(target));
+    }
+
+    public void invalidateCredential(Long credentialId) {
+        if (credentialId == null) {
+            return;
+        }
+        invalidate(entry -> credentialId.equals(entry.getValue().credentialId()));
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.credential-cache.eviction-interval-ms:30000}")
+    public void evictExpired() {
+        long now = nanoClock.getAsLong();
+        removeIf(entry -> now - entry.getValue().expiresAtNanos() >= 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        removeIf(entry -> true);
+    }
+
+    public int size() {
+        return credentials.size();
+    }
+
+    private void invalidate(Predicate<Map.Entry<CredentialKey, CachedCredential>> matcher) {
+        Runnable task = () -> {
+            invalidationGeneration.incrementAndGet();
+            removeIf(matcher);
+        };
+        task.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        }
+    }
+
+    private void evictIfFull(long now) {
+        if (credentials.size() < properties.resolvedMaxEntries()) {
+            return;
+        }
+        removeIf(entry -> now - entry.getValue().expiresAtNanos() >= 0);
+        int excess = credentials.size() - properties.resolvedMaxEntries() + 1;
+        if (excess <= 0) {
+            return;
+        }
+        // TTL이 모두 같으므로 만료 시각이 이른 항목이 가장 오래 전에 넣은 항목입니다.
+        credentials.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos() - now))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> remove(entry.getKey(), entry.getValue()));
+    }
+
+    private void removeIf(Predicate<Map.Entry<CredentialKey, CachedCredential>> matcher) {
+        credentials.entrySet().removeIf(entry -> {
+            if (!matcher.test(entry)) {
+                return false;
+            }
+            entry.getValue().destroy();
+            return true;
+        });
+    }
+
+    private void remove(CredentialKey key, CachedCredential cached) {
+        if (credentials.remove(key, cached)) {
+            cached.destroy();
+        }
+    }
+
+    private record CredentialKey(Long organizationId, ProviderType providerType) {
+    }
+
+    /**
+     * 평문 키 배열을 감싸는 항목입니다. 0으로 덮어쓴 뒤에는 읽을 수 없으며, 읽기와 파기는 서로 배타적으로 수행됩니다.
+     */
+    private static final class CachedCredential {
+
+        private final Long credentialId;
+        private final long expiresAtNanos;
+        private byte[] apiKey;
+
+        private CachedCredential(Long credentialId, byte[] apiKey, long expiresAtNanos) {
+            this.credentialId = credentialId;
+            this.apiKey = apiKey;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private Long credentialId() {
+            return credentialId;
+        }
+
+        private long expiresAtNanos() {
+            return expiresAtNanos;
+        }
+
+        private synchronized String apiKey() {
+            return apiKey != null ? new String(apiKey, StandardCharsets.UTF_8) : null;
+        }
+
+        private synchronized void destroy() {
+            if (apiKey != null) {
+                Arrays.fill(apiKey, (byte) 0);
+                apiKey = null;
+            }
+        }
+    }
+}
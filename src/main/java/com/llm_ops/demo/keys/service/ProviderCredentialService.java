@@ -1,5 +1,6 @@
 package com.llm_ops.demo.keys.service;
 
+import com.llm_ops.demo.gateway.service.ProviderClientRegistry;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.global.util.ProviderKeyEncryptor;
@@ -26,6 +27,8 @@ public class ProviderCredentialService {
     private final ProviderCredentialRepository providerCredentialRepository;
     private final ProviderKeyEncryptor providerKeyEncryptor;
     private final ProviderCredentialVerificationService providerCredentialVerificationService;
+    private final ProviderClientRegistry providerClientRegistry;
+    private final ProviderCredentialCache providerCredentialCache;
 
     @Transactional
     public ProviderCredentialCreateResponse register(
@@ -44,6 +47,7 @@ public class ProviderCredentialService {
         );
 
         ProviderCredential saved = providerCredentialRepository.save(credential);
+        providerCredentialCache.invalidate(organizationId, providerType);
         runAfterCommit(() -> providerCredentialVerificationService.verifyAsync(saved.getId(), request.apiKey()));
         return ProviderCredentialCreateResponse.from(saved);
     }
@@ -64,23 +68,24 @@ public class ProviderCredentialService {
         return providerKeyEncryptor.decrypt(credential.getKeyCiphertext());
     }
 
-    @Transactional(readOnly = true)
     public Long resolveCredentialId(Long organizationId, ProviderType providerType) {
-        ProviderCredential credential = providerCredentialRepository
-                .findByOrganizationIdAndProvider(organizationId, providerType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "등록된 provider key가 없습니다."));
-        requireActiveCredential(credential);
-        return credential.getId();
+        return resolveApiKey(organizationId, providerType).credentialId();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * ACTIVE 상태의 프로바이더 키를 복호화하여 반환합니다.
+     * 결과는 {@link ProviderCredentialCache}에 짧게 보관되므로, 캐시 적중 시에는 DB 조회와 복호화를 하지 않습니다.
+     */
     public ResolvedProviderApiKey resolveApiKey(Long organizationId, ProviderType providerType) {
-        ProviderCredential credential = providerCredentialRepository
-                .findByOrganizationIdAndProvider(organizationId, providerType)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "등록된 provider key가 없습니다."));
-        requireActiveCredential(credential);
-        String apiKey = providerKeyEncryptor.decrypt(credential.getKeyCiphertext());
-        return new ResolvedProviderApiKey(credential.getId(), providerType, apiKey);
+        return providerCredentialCache.getOrLoad(organizationId, providerType, () -> {
+            ProviderCredential credential = providerCredentialRepository
+                    .findByOrganizationIdAndProvider(organizationId, providerType)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "등록된 provider key가 없습니다."));
+            requireActiveCredential(credential);
+            return new ProviderCredentialCache.DecryptedCredential(
+                    credential.getId(),
+                    providerKeyEncryptor.decryptToBytes(credential.getKeyCiphertext()));
+        });
     }
 
     public record ResolvedProviderApiKey(Long credentialId, ProviderType providerType, String apiKey) {
@@ -106,7 +111,12 @@ public class ProviderCredentialService {
         String ciphertext = providerKeyEncryptor.encrypt(request.apiKey());
         credential.updateKey(ciphertext);
         ProviderCredential saved = providerCredentialRepository.save(credential);
-        runAfterCommit(() -> providerCredentialVerificationService.verifyAsync(saved.getId(), request.apiKey()));
+        providerCredentialCache.invalidateCredential(saved.getId());
+        runAfterCommit(() -> {
+            // 교체 전 키로 만든 클라이언트가 재사용되지 않도록 커밋 직후 제거합니다.
+            providerClientRegistry.invalidateCredential(saved.getId());
+            providerCredentialVerificationService.verifyAsync(saved.getId(), request.apiKey());
+        });
         return ProviderCredentialCreateResponse.from(saved);
     }
 
@@ -128,6 +138,7 @@ public class ProviderCredentialService {
 
         credential.markVerifying();
         ProviderCredential saved = providerCredentialRepository.save(credential);
+        providerCredentialCache.invalidateCredential(saved.getId());
         String apiKey = providerKeyEncryptor.decrypt(saved.getKeyCiphertext());
         runAfterCommit(() -> providerCredentialVerificationService.verifyAsync(saved.getId(), apiKey));
         return ProviderCredentialCreateResponse.from(saved);
@@ -15,6 +15,7 @@ public class ProviderCredentialVerificationService {
 
     private final ProviderCredentialRepository providerCredentialRepository;
     private final ProviderCredentialVerifier providerCredentialVerifier;
+    private final ProviderCredentialCache providerCredentialCache;
 
     @Async("logExecutor")
     @Transactional
@@ -38,6 +39,8 @@ public class ProviderCredentialVerificationService {
         }
 
         providerCredentialRepository.save(credential);
+        // 검증 결과로 상태가 바뀌었으므로 이전 상태로 캐시된 키를 제거합니다.
+        providerCredentialCache.invalidateCredential(credentialId);
     }
 
     private boolean isAuthFailure(BusinessException exception) {
@@ -18,6 +18,7 @@ public class ProviderCredentialVerificationTimeoutService {
     private static final Duration VERIFY_TIMEOUT = Duration.ofMinutes(10);
 
     private final ProviderCredentialRepository providerCredentialRepository;
+    private final ProviderCredentialCache providerCredentialCache;
 
     @Scheduled(fixedDelayString = "60000")
     @Transactional
@@ -30,6 +31,7 @@ public class ProviderCredentialVerificationTimeoutService {
         }
         for (ProviderCredential credential : stale) {
             credential.markInvalid();
+            providerCredentialCache.invalidateCredential(credential.getId());
         }
         providerCredentialRepository.saveAll(stale);
     }
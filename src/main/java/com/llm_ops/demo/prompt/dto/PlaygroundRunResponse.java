@@ -2,15 +2,33 @@ package com.llm_ops.demo.prompt.dto;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * @param missingVariables 템플릿에 있지만 값을 주지 않아 원문 그대로 남은 변수
+ * @param unusedVariables  값을 줬지만 템플릿에서 쓰지 않은 변수
+ */
 public record PlaygroundRunResponse(
     String traceId,
     String answer,
     String usedModel,
     PlaygroundUsage usage,
     Integer latencyMs,
-    LocalDateTime executedAt
+    LocalDateTime executedAt,
+    List<String> missingVariables,
+    List<String> unusedVariables
 ) {
+    public PlaygroundRunResponse(
+        String traceId,
+        String answer,
+        String usedModel,
+        PlaygroundUsage usage,
+        Integer latencyMs,
+        LocalDateTime executedAt
+    ) {
+        this(traceId, answer, usedModel, usage, latencyMs, executedAt, List.of(), List.of());
+    }
+
     public record PlaygroundUsage(
         Integer inputTokens,
         Integer outputTokens,
@@ -26,6 +26,7 @@ import com.llm_ops.demo.prompt.dto.PromptReleaseRequest;
 import com.llm_ops.demo.prompt.dto.PromptVersionCreateRequest;
 import com.llm_ops.demo.prompt.dto.PromptVersionCreateResponse;
 import com.llm_ops.demo.prompt.repository.PromptRepository;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
 import com.llm_ops.demo.rag.dto.RagSearchResponse;
 import com.llm_ops.demo.rag.service.RagContextBuilder;
 import com.llm_ops.demo.rag.service.RagSearchService;
@@ -143,8 +144,13 @@ public class PromptPlaygroundService {
         List<RequestLogWriter.RetrievedDocumentInfo> retrievedDocuments = new ArrayList<>();
 
         try {
-            String userPrompt = renderPrompt(request.userTemplate(), request.variables());
-            String systemPrompt = renderOptionalTemplate(request.systemPrompt(), request.variables());
+            PromptTemplate userTemplate = PromptTemplate.compile(request.userTemplate());
+            PromptTemplate systemTemplate = (request.systemPrompt() == null || request.systemPrompt().isBlank())
+                    ? null
+                    : PromptTemplate.compile(request.systemPrompt());
+            PromptTemplate.VariableReport variableReport = PromptTemplate.report(request.variables(), userTemplate, systemTemplate);
+            String userPrompt = userTemplate.render(request.variables());
+            String systemPrompt = systemTemplate != null ? systemTemplate.render(request.variables()) : null;
 
             if (ragEnabled && ragSearchService != null) {
                 ragChunksCount = 0;
@@ -262,7 +268,9 @@ public class PromptPlaygroundService {
                     usedModel,
                     new PlaygroundUsage(inputTokens, outputTokens, totalTokens, estimatedCost),
                     latencyMs,
-                    LocalDateTime.now());
+                    LocalDateTime.now(),
+                    variableReport.missingVariables(),
+                    variableReport.unusedVariables());
 
         } catch (BusinessException e) {
             String errorMessage = resolveBusinessErrorMessage(e);
@@ -359,30 +367,6 @@ public class PromptPlaygroundService {
         }
     }
 
-    private String renderPrompt(String template, Map<String, ?> variables) {
-        if (template == null) {
-            return "";
-        }
-
-        if (variables == null || variables.isEmpty()) {
-            return template;
-        }
-        String rendered = template;
-        for (Map.Entry<String, ?> entry : variables.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue() == null ? "" : String.valueOf(entry.getValue());
-            rendered = rendered.replace("{{" + key + "}}", value);
-        }
-        return rendered;
-    }
-
-    private String renderOptionalTemplate(String template, Map<String, ?> variables) {
-        if (template == null || template.isBlank()) {
-            return null;
-        }
-        return renderPrompt(template, variables);
-    }
-
     private String resolveRagQuery(String renderedUserPrompt, Map<String, ?> variables) {
         if (variables != null) {
             Object question = variables.get("question");
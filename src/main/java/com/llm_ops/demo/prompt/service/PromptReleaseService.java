@@ -2,6 +2,8 @@ package com.llm_ops.demo.prompt.service;
 
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
+import com.llm_ops.demo.gateway.service.GatewayResponseCache;
+import com.llm_ops.demo.gateway.service.PromptReleaseSnapshotCache;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.prompt.domain.ChangeType;
@@ -32,6 +34,8 @@ public class PromptReleaseService {
     private final PromptVersionRepository promptVersionRepository;
     private final UserRepository userRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final PromptReleaseSnapshotCache promptReleaseSnapshotCache;
+    private final GatewayResponseCache gatewayResponseCache;
 
     public PromptReleaseService(
             PromptReleaseRepository promptReleaseRepository,
@@ -39,7 +43,9 @@ public class PromptReleaseService {
             PromptRepository promptRepository,
             PromptVersionRepository promptVersionRepository,
             UserRepository userRepository,
-            WorkspaceMemberRepository workspaceMemberRepository
+            WorkspaceMemberRepository workspaceMemberRepository,
+            PromptReleaseSnapshotCache promptReleaseSnapshotCache,
+            GatewayResponseCache gatewayResponseCache
     ) {
         this.promptReleaseRepository = promptReleaseRepository;
         this.promptReleaseHistoryRepository = promptReleaseHistoryRepository;
@@ -47,6 +53,8 @@ public class PromptReleaseService {
         this.promptVersionRepository = promptVersionRepository;
         this.userRepository = userRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
+        this.promptReleaseSnapshotCache = promptReleaseSnapshotCache;
+        this.gatewayResponseCache = gatewayResponseCache;
     }
 
     @Transactional
@@ -58,6 +66,8 @@ public class PromptReleaseService {
 
         PromptVersion newVersion = findVersionBelongsToPrompt(prompt, request.versionId());
 
+        promptReleaseSnapshotCache.invalidatePrompt(promptId);
+        gatewayResponseCache.invalidatePrompt(promptId);
         return createOrUpdateRelease(prompt, newVersion, user, request.reason(), ChangeType.RELEASE);
     }
 
@@ -73,6 +83,8 @@ public class PromptReleaseService {
 
         validateVersionChange(existingRelease.getActiveVersion(), targetVersion);
 
+        promptReleaseSnapshotCache.invalidatePrompt(promptId);
+        gatewayResponseCache.invalidatePrompt(promptId);
         return doChangeActiveVersion(existingRelease, targetVersion, user, request.reason(), ChangeType.ROLLBACK);
     }
 
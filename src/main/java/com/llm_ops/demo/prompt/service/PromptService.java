@@ -2,6 +2,7 @@ package com.llm_ops.demo.prompt.service;
 
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
+import com.llm_ops.demo.gateway.service.PromptReleaseSnapshotCache;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.prompt.domain.Prompt;
@@ -29,6 +30,7 @@ public class PromptService {
     private final WorkspaceRepository workspaceRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
     private final UserRepository userRepository;
+    private final PromptReleaseSnapshotCache promptReleaseSnapshotCache;
 
     @Transactional
     public PromptCreateResponse create(Long workspaceId, Long userId, PromptCreateRequest request) {
@@ -84,6 +86,7 @@ public class PromptService {
         }
 
         prompt.update(request.promptKey(), request.description());
+        promptReleaseSnapshotCache.invalidatePrompt(prompt.getId());
 
         return PromptDetailResponse.from(prompt);
     }
@@ -98,6 +101,7 @@ public class PromptService {
         validateWorkspaceMembership(workspace, user);
 
         prompt.archive();
+        promptReleaseSnapshotCache.invalidatePrompt(prompt.getId());
     }
 
     private User findUserById(Long userId) {
@@ -0,0 +1,194 @@
+package com.llm_ops.demo.prompt.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * 한 번 파싱해 literal/placeholder 조각으로 나눠 둔 프롬프트 템플릿입니다.
+ * <p>
+ * 변수마다 {@code String.replace}로 전체 문자열을 다시 만드는 대신, 렌더링 시 조각을 순서대로 한 번만 이어 붙입니다.
+ * 값이 없는 placeholder는 원문({@code {{name}}}) 그대로 남기며, 치환된 값 안의 placeholder는 다시 치환하지 않습니다.
+ * 인스턴스는 불변이므로 여러 스레드에서 공유해도 됩니다.
+ */
+public final class PromptTemplate {
+
+    /**
+     * placeholder 문법입니다.
+     */
+    public enum Syntax {
+        /** {@code {{name}}}만 인식합니다. (게이트웨이/플레이그라운드) */
+        DOUBLE_BRACE,
+        /** {@code {{name}}}과 {@code {name}}을 모두 인식합니다. (평가 데이터셋 호환) */
+        DOUBLE_OR_SINGLE_BRACE
+    }
+
+    private final String source;
+    private final String[] literals;
+    private final String[] placeholderNames;
+    private final String[] placeholderRaws;
+    private final int literalLength;
+    private final Set<String> variableNames;
+
+    private PromptTemplate(String source, List<String> literals, List<String> names, List<String> raws) {
+        this.source = source;
+        this.literals = literals.toArray(String[]::new);
+        this.placeholderNames = names.toArray(String[]::new);
+        this.placeholderRaws = raws.toArray(String[]::new);
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.variableNames = Collections.unmodifiableSet(new LinkedHashSet<>(names));
+    }
+
+    public static PromptTemplate compile(String template) {
+        return compile(template, Syntax.DOUBLE_BRACE);
+    }
+
+    public static PromptTemplate compile(String template, Syntax syntax) {
+        String source = template != null ? template : "";
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> raws = new ArrayList<>();
+
+        int literalStart = 0;
+        int cursor = 0;
+        while (cursor < source.length()) {
+            int open = source.indexOf('{', cursor);
+            if (open < 0) {
+                break;
+            }
+            int end = -1;
+            String name = null;
+            if (source.startsWith("{{", open)) {
+                int close = source.indexOf("}}", open + 2);
+                // "{{{name}}}"처럼 중괄호가 겹치면 가장 안쪽 "{{"부터 placeholder로 봅니다.
+                if (close >= 0 && source.lastIndexOf('{', close) == open + 1) {
+                    name = source.substring(open + 2, close);
+                    end = close + 2;
+                }
+            }
+            if (name == null && syntax == Syntax.DOUBLE_OR_SINGLE_BRACE) {
+                int close = source.indexOf('}', open + 1);
+                if (close > open + 1 && source.lastIndexOf('{', close) == open) {
+                    name = source.substring(open + 1, close);
+                    end = close + 1;
+                }
+            }
+            if (name == null) {
+                cursor = open + 1;
+                continue;
+            }
+            literals.add(source.substring(literalStart, open));
+            names.add(name);
+            raws.add(source.substring(open, end));
+            literalStart = end;
+            cursor = end;
+        }
+        literals.add(source.substring(literalStart));
+        return new PromptTemplate(source, literals, names, raws);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * 템플릿에 등장하는 변수 이름입니다. (등장 순서, 중복 제거)
+     */
+    public Set<String> variableNames() {
+        return variableNames;
+    }
+
+    public String render(Map<String, ?> variables) {
+        if (placeholderNames.length == 0 || variables == null || variables.isEmpty()) {
+            return source;
+        }
+        // 값을 먼저 모아 최종 길이를 계산한 뒤, 그 크기의 버퍼에 한 번만 씁니다.
+        String[] values = new String[placeholderNames.length];
+        int length = literalLength;
+        for (int i = 0; i < placeholderNames.length; i++) {
+            String value = resolve(variables, i);
+            values[i] = value;
+            length += value.length();
+        }
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < placeholderNames.length; i++) {
+            out.append(literals[i]).append(values[i]);
+        }
+        return out.append(literals[placeholderNames.length]).toString();
+    }
+
+    /**
+     * placeholder를 제외한 고정 텍스트입니다. 토큰 수를 버전 단위로 미리 계산해 두는 데 씁니다.
+     */
+    public String literalText() {
+        return String.join("", literals);
+    }
+
+    /**
+     * 렌더링하지 않고 결과의 토큰 수를 추정합니다.
+     * 고정 텍스트 토큰 수({@code literalTokens})에 placeholder별 값의 토큰 수를 등장 횟수만큼 더하며,
+     * 같은 값은 한 번만 셉니다. 조각 경계에서 토큰이 합쳐지는 차이만큼 실제 값과 어긋날 수 있습니다.
+     */
+    public int estimateTokens(int literalTokens, Map<String, ?> variables, ToIntFunction<String> tokenCounter) {
+        long total = literalTokens;
+        Map<String, Integer> counted = new HashMap<>();
+        for (int i = 0; i < placeholderNames.length; i++) {
+            String value = variables != null ? resolve(variables, i) : placeholderRaws[i];
+            total += counted.computeIfAbsent(value, tokenCounter::applyAsInt);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    /**
+     * 여러 템플릿(user/system 등)을 함께 렌더링할 때 값이 없는 변수와 어느 템플릿에서도 쓰지 않은 변수를 계산합니다.
+     * null 템플릿은 건너뜁니다.
+     */
+    public static VariableReport report(Map<String, ?> variables, PromptTemplate... templates) {
+        Set<String> referenced = new LinkedHashSet<>();
+        for (PromptTemplate template : templates) {
+            if (template != null) {
+                referenced.addAll(template.variableNames);
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (String name : referenced) {
+            if (variables == null || !variables.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        List<String> unused = new ArrayList<>();
+        if (variables != null) {
+            for (String key : variables.keySet()) {
+                if (!referenced.contains(key)) {
+                    unused.add(key);
+                }
+            }
+        }
+        return new VariableReport(List.copyOf(missing), List.copyOf(unused));
+    }
+
+    private String resolve(Map<String, ?> variables, int index) {
+        String name = placeholderNames[index];
+        if (!variables.containsKey(name)) {
+            return placeholderRaws[index];
+        }
+        Object value = variables.get(name);
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * @param missingVariables 템플릿에는 있지만 값이 주어지지 않은 변수 (렌더링 결과에 원문 그대로 남음)
+     * @param unusedVariables  값은 주어졌지만 템플릿에 없는 변수
+     */
+    public record VariableReport(List<String> missingVariables, List<String> unusedVariables) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.llm_ops.demo.prompt.template;
+
+import com.llm_ops.demo.prompt.domain.PromptVersion;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+
+/**
+ * 프롬프트 버전 id별로 컴파일한 user/system 템플릿을 보관합니다.
+ * <p>
+ * 버전은 생성 후 수정되지 않으므로 만료 없이 재사용하며, 보관 개수가 한도를 넘으면 전체를 비우고 다시 채웁니다.
+ * 저장되지 않은 버전(id 없음)은 캐시하지 않고 매번 컴파일합니다.
+ */
+public final class PromptTemplateCache {
+
+    private static final String DEFAULT_USER_TEMPLATE = "{{question}}";
+
+    private final PromptTemplate.Syntax syntax;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Key, PromptTemplate> templates = new ConcurrentHashMap<>();
+
+    public PromptTemplateCache(PromptTemplate.Syntax syntax, int maxEntries) {
+        this.syntax = syntax;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * 사용자 템플릿입니다. 비어 있으면 기본 템플릿({@code {{question}}})을 사용합니다.
+     */
+    public PromptTemplate userTemplate(PromptVersion version) {
+        String template = version.getUserTemplate();
+        return compiled(version.getId(), Part.USER,
+                (template == null || template.isBlank()) ? DEFAULT_USER_TEMPLATE : template);
+    }
+
+    /**
+     * 시스템 프롬프트 템플릿입니다. 비어 있으면 null을 반환합니다.
+     */
+    @Nullable
+    public PromptTemplate systemTemplate(PromptVersion version) {
+        String template = version.getSystemPrompt();
+        if (template == null || template.isBlank()) {
+            return null;
+        }
+        return compiled(version.getId(), Part.SYSTEM, template);
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private PromptTemplate compiled(Long versionId, Part part, String template) {
+        if (versionId == null) {
+            return PromptTemplate.compile(template, syntax);
+        }
+        Key key = new Key(versionId, part);
+        PromptTemplate cached = templates.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (templates.size() >= maxEntries) {
+            templates.clear();
+        }
+        return templates.computeIfAbsent(key, ignored -> PromptTemplate.compile(template, syntax));
+    }
+
+    private enum Part {
+        USER,
+        SYSTEM
+    }
+
+    private record Key(Long versionId, Part part) {
+    }
+}
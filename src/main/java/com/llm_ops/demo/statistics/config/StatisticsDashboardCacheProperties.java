@@ -0,0 +1,41 @@
+package com.llm_ops.demo.statistics.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 통계 대시보드 통합 조회 결과 캐시 설정입니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "statistics.dashboard-cache")
+@Getter
+@Setter
+public class StatisticsDashboardCacheProperties {
+
+    private static final long DEFAULT_DAILY_TTL_MS = 30_000L;
+    private static final long DEFAULT_WEEKLY_TTL_MS = 120_000L;
+    private static final long DEFAULT_MONTHLY_TTL_MS = 300_000L;
+    private static final int DEFAULT_MAX_ENTRIES = 1_000;
+
+    /**
+     * period별 캐시 TTL입니다. 새 로그는 최대 이 시간만큼 늦게 보이며, 0이면 캐시를 사용하지 않습니다.
+     */
+    private long dailyTtlMs = DEFAULT_DAILY_TTL_MS;
+    private long weeklyTtlMs = DEFAULT_WEEKLY_TTL_MS;
+    private long monthlyTtlMs = DEFAULT_MONTHLY_TTL_MS;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    public long resolvedTtlMs(String period) {
+        return switch (period) {
+            case "weekly" -> weeklyTtlMs >= 0 ? weeklyTtlMs : DEFAULT_WEEKLY_TTL_MS;
+            case "monthly" -> monthlyTtlMs >= 0 ? monthlyTtlMs : DEFAULT_MONTHLY_TTL_MS;
+            default -> dailyTtlMs >= 0 ? dailyTtlMs : DEFAULT_DAILY_TTL_MS;
+        };
+    }
+
+    public int resolvedMaxEntries() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+}
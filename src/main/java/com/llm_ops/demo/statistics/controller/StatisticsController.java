@@ -1,6 +1,7 @@
 package com.llm_ops.demo.statistics.controller;
 
 import com.llm_ops.demo.organization.service.OrganizationService;
+import com.llm_ops.demo.statistics.dto.DashboardResponse;
 import com.llm_ops.demo.statistics.dto.ErrorDistributionResponse;
 import com.llm_ops.demo.statistics.dto.ModelUsageResponse;
 import com.llm_ops.demo.statistics.dto.OverviewResponse;
@@ -31,6 +32,36 @@ public class StatisticsController {
     private final StatisticsService statisticsService;
     private final OrganizationService organizationService;
 
+    /**
+     * 대시보드 통합 조회
+     * GET /api/v1/organizations/{orgId}/stats/dashboard
+     * <p>
+     * 개요, 시계열, 모델별/프롬프트별 사용량, 에러 분포, RAG 품질(시계열 포함)을 한 번에 반환합니다.
+     *
+     * @param orgId       조직 ID
+     * @param userId      인증된 사용자 ID
+     * @param period      기간 (daily, weekly, monthly)
+     * @param workspaceId 워크스페이스 필터 (optional)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
+     * @return 대시보드의 모든 패널
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @PathVariable Long orgId,
+            @AuthenticationPrincipal Long userId,
+            @RequestParam String period,
+            @RequestParam(required = false) Long workspaceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        // 조직 권한 검증
+        organizationService.getDetail(orgId, userId);
+
+        DashboardResponse response = statisticsService.getDashboard(orgId, workspaceId, period, from, to);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 개요 통계 조회
      * GET /api/v1/organizations/{orgId}/stats/overview
@@ -39,8 +70,8 @@ public class StatisticsController {
      * @param userId      인증된 사용자 ID
      * @param period      기간 (daily, weekly, monthly)
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return 개요 통계 (요청수, 성공률, 토큰, latency, 비용)
      */
     @GetMapping("/overview")
@@ -67,8 +98,8 @@ public class StatisticsController {
      * @param userId      인증된 사용자 ID
      * @param period      기간 (daily, weekly, monthly)
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return 날짜별 요청, 토큰, 비용
      */
     @GetMapping("/timeseries")
@@ -94,8 +125,8 @@ public class StatisticsController {
      * @param orgId       조직 ID
      * @param userId      인증된 사용자 ID
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return 모델별 요청, 토큰, 비용, 비율
      */
     @GetMapping("/by-model")
@@ -120,8 +151,8 @@ public class StatisticsController {
      * @param orgId       조직 ID
      * @param userId      인증된 사용자 ID
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return 프롬프트별 요청, 토큰, 비용
      */
     @GetMapping("/by-prompt")
@@ -146,8 +177,8 @@ public class StatisticsController {
      * @param orgId       조직 ID
      * @param userId      인증된 사용자 ID
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return 에러 분포 (status, errorCode, failReason, count)
      */
     @GetMapping("/errors")
@@ -172,8 +203,8 @@ public class StatisticsController {
      * @param orgId       조직 ID
      * @param userId      인증된 사용자 ID
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return RAG 품질 통계 (hitRate, avgSimilarity, truncation 등)
      */
     @GetMapping("/rag-quality")
@@ -198,8 +229,8 @@ public class StatisticsController {
      * @param orgId       조직 ID
      * @param userId      인증된 사용자 ID
      * @param workspaceId 워크스페이스 필터 (optional)
-     * @param from        시작일 (optional, 기본: 30일 전)
-     * @param to          종료일 (optional, 기본: 오늘)
+     * @param from        시작 시각, UTC (optional, 기본: 30일 전)
+     * @param to          종료 시각, UTC (optional, 기본: 오늘)
      * @return 날짜별 RAG 품질 지표 (hitRate, similarity, truncation 등)
      */
     @GetMapping("/rag-quality/timeseries")
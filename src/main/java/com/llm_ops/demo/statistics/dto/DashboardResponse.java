@@ -0,0 +1,14 @@
+package com.llm_ops.demo.statistics.dto;
+
+/**
+ * 통계 대시보드 한 화면의 모든 패널
+ */
+public record DashboardResponse(
+        OverviewResponse overview,
+        TimeseriesResponse timeseries,
+        ModelUsageResponse byModel,
+        PromptUsageResponse byPrompt,
+        ErrorDistributionResponse errors,
+        RagQualityResponse ragQuality,
+        RagQualityTimeseriesResponse ragQualityTimeseries) {
+}
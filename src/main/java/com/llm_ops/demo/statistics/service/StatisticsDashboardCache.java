@@ -0,0 +1,135 @@
+package com.llm_ops.demo.statistics.service;
+
+import com.llm_ops.demo.statistics.config.StatisticsDashboardCacheProperties;
+import com.llm_ops.demo.statistics.dto.DashboardResponse;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 통계 대시보드 통합 조회 결과 캐시입니다.
+ * <p>
+ * (조직, 워크스페이스, period, 기간)별로 짧은 TTL 동안 결과를 재사용합니다. 롤업은 로그 저장과 함께 계속 갱신되므로
+ * 명시적 무효화 없이 TTL로 수렴하며, TTL은 period가 길수록(bucket이 클수록) 깁니다.
+ * <p>
+ * 같은 키의 캐시 miss가 동시에 들어오면 먼저 들어온 요청만 집계 쿼리를 실행하고 나머지는 그 결과를 기다립니다.
+ * 최대 개수를 넘으면 가장 오래 사용하지 않은 결과부터 제거합니다. 접근 순서 {@link LinkedHashMap}을 잠금으로 보호하며,
+ * 조회(loader)는 잠금 밖에서 실행합니다.
+ */
+@Component
+public class StatisticsDashboardCache {
+
+    private final StatisticsDashboardCacheProperties properties;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<DashboardKey, CachedDashboard> dashboards = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public StatisticsDashboardCache(StatisticsDashboardCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    StatisticsDashboardCache(StatisticsDashboardCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    public DashboardResponse getOrLoad(
+            Long organizationId,
+            Long workspaceId,
+            String period,
+            LocalDateTime from,
+            LocalDateTime to,
+            Supplier<DashboardResponse> loader) {
+        long ttlMs = properties.resolvedTtlMs(period);
+        if (ttlMs == 0) {
+            return loader.get();
+        }
+
+        DashboardKey key = new DashboardKey(organizationId, workspaceId, period, from, to);
+        CachedDashboard cached;
+        CachedDashboard loading = null;
+        synchronized (this) {
+            cached = dashboards.get(key);
+            if (cached == null || cached.isExpired(nanoClock.getAsLong())) {
+                loading = new CachedDashboard();
+                dashboards.put(key, loading);
+                evictEldest();
+            }
+        }
+        return loading != null ? load(key, loading, loader, ttlMs) : cached.await();
+    }
+
+    public synchronized int size() {
+        return dashboards.size();
+    }
+
+    /**
+     * 잠금 밖에서 호출해야 합니다. 조회가 끝나면 기다리던 요청에 결과(또는 예외)를 넘깁니다.
+     */
+    private DashboardResponse load(
+            DashboardKey key,
+            CachedDashboard loading,
+            Supplier<DashboardResponse> loader,
+            long ttlMs) {
+        DashboardResponse loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                dashboards.remove(key, loading);
+            }
+            loading.result.completeExceptionally(e);
+            throw e;
+        }
+        loading.expiresAtNanos = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        loading.result.complete(loaded);
+        return loaded;
+    }
+
+    private void evictEldest() {
+        int maxEntries = properties.resolvedMaxEntries();
+        Iterator<CachedDashboard> eldest = dashboards.values().iterator();
+        while (dashboards.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private record DashboardKey(
+            Long organizationId, Long workspaceId, String period, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * 대시보드 결과 하나입니다. 조회가 끝나기 전에는 result가 완료되지 않았고, 같은 키의 요청은 그 결과를 기다립니다.
+     */
+    private static final class CachedDashboard {
+
+        private final CompletableFuture<DashboardResponse> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAtNanos >= 0;
+        }
+
+        private DashboardResponse await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -6,8 +6,10 @@ import com.llm_ops.demo.gateway.log.dto.projection.OverviewStatsProjection;
 import com.llm_ops.demo.gateway.log.dto.projection.PromptUsageProjection;
 import com.llm_ops.demo.gateway.log.dto.projection.RagQualityProjection;
 import com.llm_ops.demo.gateway.log.dto.projection.RagQualityTimeseriesProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.RequestLogDashboardStats;
 import com.llm_ops.demo.gateway.log.dto.projection.TimeseriesDataProjection;
-import com.llm_ops.demo.gateway.log.repository.RequestLogRepository;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository;
+import com.llm_ops.demo.statistics.dto.DashboardResponse;
 import com.llm_ops.demo.statistics.dto.ErrorDistributionResponse;
 import com.llm_ops.demo.statistics.dto.ModelUsageResponse;
 import com.llm_ops.demo.statistics.dto.ModelUsageResponse.ModelUsageItem;
@@ -20,8 +22,12 @@ import com.llm_ops.demo.statistics.dto.TimeseriesResponse;
 import com.llm_ops.demo.statistics.dto.TimeseriesResponse.TimeseriesDataPoint;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -31,7 +37,10 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class StatisticsService {
 
-        private final RequestLogRepository requestLogRepository;
+        private final RequestLogRollupRepository requestLogRollupRepository;
+        private final StatisticsDashboardCache statisticsDashboardCache;
+        // 롤업 bucket과 요청 로그 created_at이 UTC 기준이므로 기본 조회 기간도 UTC로 잡습니다.
+        private final Clock clock = Clock.systemUTC();
 
         /**
          * 개요 통계 조회 (요청수, 성공률, 토큰, latency, 비용 등)
@@ -45,18 +54,22 @@ public class StatisticsService {
                         LocalDateTime to) {
 
                 // 기본값 설정 (from: 30일 전, to: 오늘)
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
                 // 현재 기간 통계
-                OverviewStatsProjection current = requestLogRepository.getOverviewStats(
+                OverviewStatsProjection current = requestLogRollupRepository.getOverviewStats(
                                 organizationId, workspaceId, currentFrom, currentTo);
 
                 // 이전 기간 계산 및 통계
                 PeriodRange previousPeriod = calculatePreviousPeriod(period, currentFrom, currentTo);
-                OverviewStatsProjection previous = requestLogRepository.getOverviewStats(
+                OverviewStatsProjection previous = requestLogRollupRepository.getOverviewStats(
                                 organizationId, workspaceId, previousPeriod.from(), previousPeriod.to());
 
+                return toOverviewResponse(current, previous);
+        }
+
+        private OverviewResponse toOverviewResponse(OverviewStatsProjection current, OverviewStatsProjection previous) {
                 // 성공률 계산
                 double successRate = current.getTotalRequests() > 0
                                 ? (current.getSuccessCount() * 100.0 / current.getTotalRequests())
@@ -105,20 +118,24 @@ public class StatisticsService {
                         LocalDateTime from,
                         LocalDateTime to) {
 
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
                 // period에 따라 다른 쿼리 호출
                 String normalizedPeriod = (period != null) ? period.toLowerCase() : "daily";
                 List<TimeseriesDataProjection> projections = switch (normalizedPeriod) {
-                        case "weekly" -> requestLogRepository.getTimeseriesDataWeekly(
+                        case "weekly" -> requestLogRollupRepository.getTimeseriesDataWeekly(
                                         organizationId, workspaceId, currentFrom, currentTo);
-                        case "monthly" -> requestLogRepository.getTimeseriesDataMonthly(
+                        case "monthly" -> requestLogRollupRepository.getTimeseriesDataMonthly(
                                         organizationId, workspaceId, currentFrom, currentTo);
-                        default -> requestLogRepository.getTimeseriesDataDaily(
+                        default -> requestLogRollupRepository.getTimeseriesDataDaily(
                                         organizationId, workspaceId, currentFrom, currentTo);
                 };
 
+                return toTimeseriesResponse(projections);
+        }
+
+        private TimeseriesResponse toTimeseriesResponse(List<TimeseriesDataProjection> projections) {
                 List<TimeseriesDataPoint> dataPoints = projections.stream()
                                 .map(p -> new TimeseriesDataPoint(
                                                 p.getDate(),
@@ -141,12 +158,16 @@ public class StatisticsService {
                         LocalDateTime from,
                         LocalDateTime to) {
 
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
-                List<ModelUsageProjection> projections = requestLogRepository.getModelUsage(
+                List<ModelUsageProjection> projections = requestLogRollupRepository.getModelUsage(
                                 organizationId, workspaceId, currentFrom, currentTo);
 
+                return toModelUsageResponse(projections);
+        }
+
+        private ModelUsageResponse toModelUsageResponse(List<ModelUsageProjection> projections) {
                 // 전체 요청 수 (비율 계산용)
                 long totalRequests = projections.stream()
                                 .mapToLong(ModelUsageProjection::getRequests)
@@ -181,12 +202,16 @@ public class StatisticsService {
                         LocalDateTime from,
                         LocalDateTime to) {
 
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
-                List<PromptUsageProjection> projections = requestLogRepository.getPromptUsage(
+                List<PromptUsageProjection> projections = requestLogRollupRepository.getPromptUsage(
                                 organizationId, workspaceId, currentFrom, currentTo);
 
+                return toPromptUsageResponse(projections);
+        }
+
+        private PromptUsageResponse toPromptUsageResponse(List<PromptUsageProjection> projections) {
                 List<PromptUsageItem> items = projections.stream()
                                 .map(p -> new PromptUsageItem(
                                                 p.getPromptId(),
@@ -210,10 +235,10 @@ public class StatisticsService {
                         LocalDateTime from,
                         LocalDateTime to) {
 
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
-                List<ErrorDistributionProjection> projections = requestLogRepository.getErrorDistribution(
+                List<ErrorDistributionProjection> projections = requestLogRollupRepository.getErrorDistribution(
                                 organizationId, workspaceId, currentFrom, currentTo);
 
                 return ErrorDistributionResponse.from(projections);
@@ -229,15 +254,64 @@ public class StatisticsService {
                         LocalDateTime from,
                         LocalDateTime to) {
 
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
-                RagQualityProjection projection = requestLogRepository.getRagQuality(
+                RagQualityProjection projection = requestLogRollupRepository.getRagQuality(
                                 organizationId, workspaceId, currentFrom, currentTo);
 
                 return RagQualityResponse.from(projection);
         }
 
+        /**
+         * 대시보드 통합 조회 - 모든 패널을 한 번의 롤업 스캔으로 집계하고 짧은 TTL 동안 캐시합니다.
+         */
+        @Transactional(readOnly = true)
+        public DashboardResponse getDashboard(
+                        Long organizationId,
+                        Long workspaceId,
+                        String period,
+                        LocalDateTime from,
+                        LocalDateTime to) {
+
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
+                String normalizedPeriod = (period != null) ? period.toLowerCase() : "daily";
+
+                return statisticsDashboardCache.getOrLoad(
+                                organizationId, workspaceId, normalizedPeriod, currentFrom, currentTo,
+                                () -> loadDashboard(organizationId, workspaceId, normalizedPeriod, currentFrom, currentTo));
+        }
+
+        private DashboardResponse loadDashboard(
+                        Long organizationId,
+                        Long workspaceId,
+                        String normalizedPeriod,
+                        LocalDateTime currentFrom,
+                        LocalDateTime currentTo) {
+
+                // 시계열 bucket 날짜 (주: 월요일, 월: 1일)
+                TemporalAdjuster timeseriesUnit = switch (normalizedPeriod) {
+                        case "weekly" -> TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY);
+                        case "monthly" -> TemporalAdjusters.firstDayOfMonth();
+                        default -> temporal -> temporal;
+                };
+                PeriodRange previousPeriod = calculatePreviousPeriod(normalizedPeriod, currentFrom, currentTo);
+
+                RequestLogDashboardStats stats = requestLogRollupRepository.getDashboardStats(
+                                organizationId, workspaceId, timeseriesUnit,
+                                currentFrom, currentTo, previousPeriod.from(), previousPeriod.to());
+
+                return new DashboardResponse(
+                                toOverviewResponse(stats.overview(), stats.previousOverview()),
+                                toTimeseriesResponse(stats.timeseries()),
+                                toModelUsageResponse(stats.modelUsage()),
+                                toPromptUsageResponse(stats.promptUsage()),
+                                ErrorDistributionResponse.from(stats.errorDistribution()),
+                                RagQualityResponse.from(stats.ragQuality()),
+                                RagQualityTimeseriesResponse.from(stats.ragQualityTimeseries()));
+        }
+
         /**
          * 이전 기간 계산 - 현재 기간과 동일한 길이의 이전 기간 반환
          * prevTo = currentFrom, prevFrom = currentFrom - duration
@@ -300,10 +374,10 @@ public class StatisticsService {
                         LocalDateTime from,
                         LocalDateTime to) {
 
-                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now().minusDays(30).with(LocalTime.MIN);
-                LocalDateTime currentTo = to != null ? to : LocalDateTime.now().with(LocalTime.MAX);
+                LocalDateTime currentFrom = from != null ? from : LocalDateTime.now(clock).minusDays(30).with(LocalTime.MIN);
+                LocalDateTime currentTo = to != null ? to : LocalDateTime.now(clock).with(LocalTime.MAX);
 
-                List<RagQualityTimeseriesProjection> projections = requestLogRepository.getRagQualityTimeseries(
+                List<RagQualityTimeseriesProjection> projections = requestLogRollupRepository.getRagQualityTimeseries(
                                 organizationId, workspaceId, currentFrom, currentTo);
 
                 return RagQualityTimeseriesResponse.from(projections);
@@ -2,6 +2,8 @@ package com.llm_ops.demo.workspace.service;
 
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
+import com.llm_ops.demo.gateway.service.GatewayResponseCache;
+import com.llm_ops.demo.gateway.service.PromptReleaseSnapshotCache;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.organization.domain.Organization;
@@ -34,6 +36,8 @@ public class WorkspaceService {
     private final OrganizationRepository organizationRepository;
     private final OrganizationMemberRepository organizationMemberRepository;
     private final UserRepository userRepository;
+    private final PromptReleaseSnapshotCache promptReleaseSnapshotCache;
+    private final GatewayResponseCache gatewayResponseCache;
 
     @Transactional
     public WorkspaceCreateResponse create(Long orgId, Long userId, WorkspaceCreateRequest request) {
@@ -86,6 +90,8 @@ public class WorkspaceService {
         validateManagePermission(workspace, organization, user);
 
         workspace.deactivate();
+        promptReleaseSnapshotCache.invalidateWorkspace(workspace.getId());
+        gatewayResponseCache.invalidateWorkspace(workspace.getId());
         return WorkspaceDeleteResponse.of(workspaceId);
     }
 
@@ -0,0 +1,68 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * V34.1: V35 파티셔닝 전에 파티션 키를 포함한 UNIQUE 인덱스를 미리 만듭니다.
+ * <p>
+ * V35의 파티션 부모 PK는 (request_id, created_at), (id, created_at)입니다. legacy 테이블에 같은 정의의 인덱스가 없으면
+ * {@code ATTACH PARTITION}이 ACCESS EXCLUSIVE 잠금을 잡은 채 테이블 전체에 UNIQUE 인덱스를 새로 만들어, 그동안 로그 쓰기가 모두 멈춥니다.
+ * <ul>
+ *     <li>이 마이그레이션은 트랜잭션 밖에서 {@code CREATE UNIQUE INDEX CONCURRENTLY}로 인덱스를 만들어 쓰기를 막지 않습니다.</li>
+ *     <li>V35는 이 인덱스로 legacy PK를 바꾼 뒤({@code PRIMARY KEY USING INDEX}) ATTACH하므로 부모 PK가 인덱스를 그대로 씁니다.</li>
+ * </ul>
+ * CONCURRENTLY 실패로 남은 invalid 인덱스는 다시 실행할 때 지우고 다시 만듭니다.
+ */
+public class V34_1__request_logs_partition_key_indexes extends BaseJavaMigration {
+
+    private static final String INDEX_STATE_SQL = """
+            SELECT x.indisvalid FROM pg_class c
+            JOIN pg_index x ON x.indexrelid = c.oid
+            WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        createUniqueIndex(connection, "request_logs_partition_key", "request_logs", "request_id, created_at");
+        createUniqueIndex(connection, "retrieved_documents_partition_key", "retrieved_documents", "id, created_at");
+    }
+
+    private void createUniqueIndex(Connection connection, String name, String table, String columns)
+            throws SQLException {
+        if (Boolean.FALSE.equals(indexValid(connection, name))) {
+            execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+        execute(connection, "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + name
+                + " ON " + table + " (" + columns + ")");
+    }
+
+    /**
+     * @return 인덱스가 있으면 valid 여부, 없으면 null
+     */
+    private Boolean indexValid(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INDEX_STATE_SQL)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * V37: 로그 목록 keyset(cursor) 페이지네이션용 인덱스
+ * <p>
+ * 목록 조회는 (created_at DESC, request_id DESC) 순서로 cursor 다음 행부터 LIMIT 만큼만 읽습니다.
+ * <ul>
+ *     <li>워크스페이스 + 필터 컬럼 + (created_at, request_id) 순서의 인덱스로 정렬 없이 cursor 위치부터 바로 읽습니다.</li>
+ *     <li>RequestLogSpecification의 단일 값 필터(status, failover, provider, usedModel, ragEnabled)마다 인덱스를 둡니다.
+ *     rag_enabled는 선택도가 낮아 RAG 로그만 담는 부분 인덱스로 만듭니다.</li>
+ *     <li>근사 전체 건수는 롤업에서 워크스페이스 기준으로 합산합니다.</li>
+ * </ul>
+ * 파티션 테이블에는 {@code CREATE INDEX CONCURRENTLY}를 쓸 수 없고, 일반 {@code CREATE INDEX}는 legacy 파티션을 포함한
+ * 모든 파티션을 다시 만드는 동안 쓰기를 막습니다. 그래서 트랜잭션 밖에서 다음 순서로 만듭니다.
+ * <ol>
+ *     <li>부모에 {@code ON ONLY} 인덱스를 만듭니다. 파티션 인덱스가 모두 붙기 전까지는 invalid 상태입니다.</li>
+ *     <li>파티션마다 {@code CREATE INDEX CONCURRENTLY}로 인덱스를 만들고 {@code ALTER INDEX ... ATTACH PARTITION}으로 붙입니다.</li>
+ *     <li>기존 인덱스를 바꾸는 경우 옛 인덱스를 지우고 새 인덱스 이름을 바꿉니다. 메타데이터 작업이라 잠금은 잠깐입니다.</li>
+ * </ol>
+ * 중간에 실패해 다시 실행하면 이미 만든 인덱스는 건너뛰고, CONCURRENTLY 실패로 남은 invalid 인덱스는 지우고 다시 만듭니다.
+ */
+public class V37__request_logs_keyset_indexes extends BaseJavaMigration {
+
+    private static final String REQUEST_LOGS = "request_logs";
+    private static final String KEYSET_SUFFIX = "_keyset";
+
+    // 기존 (workspace_id, [필터], created_at) 인덱스에 request_id를 더해 같은 시각의 로그도 인덱스 순서로 이어 읽게 합니다.
+    private static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec("idx_request_logs_ws_time", "ws_time",
+                    "workspace_id, created_at DESC, request_id DESC", null, true),
+            new IndexSpec("idx_request_logs_ws_status_time", "ws_status_time",
+                    "workspace_id, status, created_at DESC, request_id DESC", null, true),
+            new IndexSpec("idx_request_logs_ws_failover_time", "ws_failover_time",
+                    "workspace_id, is_failover, created_at DESC, request_id DESC", null, true),
+            new IndexSpec("idx_request_logs_ws_provider_time", "ws_provider_time",
+                    "workspace_id, provider, created_at DESC, request_id DESC", null, false),
+            new IndexSpec("idx_request_logs_ws_model_time", "ws_model_time",
+                    "workspace_id, used_model, created_at DESC, request_id DESC", null, false),
+            new IndexSpec("idx_request_logs_ws_rag_time", "ws_rag_time",
+                    "workspace_id, created_at DESC, request_id DESC", "rag_enabled", false));
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass(?)
+            """;
+
+    private static final String INDEX_STATE_SQL = """
+            SELECT x.indisvalid FROM pg_class c
+            JOIN pg_index x ON x.indexrelid = c.oid
+            WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace
+            """;
+
+    private static final String INDEX_ATTACHED_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM pg_inherits
+                WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?)
+            )
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        List<String> partitions = listPartitions(connection);
+        for (IndexSpec index : INDEXES) {
+            createPartitionedIndex(connection, index, partitions);
+        }
+        // 롤업은 파티션 테이블이 아니므로 바로 CONCURRENTLY로 만듭니다.
+        dropIfInvalid(connection, "idx_request_log_rollups_ws_bucket");
+        execute(connection, "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_request_log_rollups_ws_bucket"
+                + " ON request_log_rollups (workspace_id, granularity, bucket_start)");
+    }
+
+    private void createPartitionedIndex(Connection connection, IndexSpec index, List<String> partitions)
+            throws SQLException {
+        // 바꾸는 인덱스는 임시 이름으로 만든 뒤 마지막에 원래 이름으로 바꿉니다.
+        String parentName = index.replaces() ? index.name() + KEYSET_SUFFIX : index.name();
+        if (index.replaces() && indexValid(connection, parentName) == null && indexHasColumns(connection, index)) {
+            return;
+        }
+        execute(connection, "CREATE INDEX IF NOT EXISTS " + parentName
+                + " ON ONLY " + REQUEST_LOGS + " (" + index.columns() + ")" + index.whereClause());
+
+        for (String partition : partitions) {
+            String partitionIndex = partition + "_" + index.partitionSuffix() + KEYSET_SUFFIX;
+            dropIfInvalid(connection, partitionIndex);
+            execute(connection, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndex
+                    + " ON " + partition + " (" + index.columns() + ")" + index.whereClause());
+            if (!indexAttached(connection, partitionIndex, parentName)) {
+                execute(connection, "ALTER INDEX " + parentName + " ATTACH PARTITION " + partitionIndex);
+            }
+        }
+
+        if (index.replaces()) {
+            execute(connection, "DROP INDEX IF EXISTS " + index.name());
+            execute(connection, "ALTER INDEX " + parentName + " RENAME TO " + index.name());
+        }
+    }
+
+    /**
+     * 이전 실행에서 이름 변경까지 끝난 인덱스인지 확인합니다. 원래 이름의 인덱스가 이미 request_id까지 포함하면 건너뜁니다.
+     */
+    private boolean indexHasColumns(Connection connection, IndexSpec index) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_get_indexdef(to_regclass(?))")) {
+            statement.setString(1, index.name());
+            try (ResultSet rs = statement.executeQuery()) {
+                String definition = rs.next() ? rs.getString(1) : null;
+                return definition != null && definition.contains("request_id DESC");
+            }
+        }
+    }
+
+    private List<String> listPartitions(Connection connection) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(LIST_PARTITIONS_SQL)) {
+            statement.setString(1, REQUEST_LOGS);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(rs.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * @return 인덱스가 있으면 valid 여부, 없으면 null
+     */
+    private Boolean indexValid(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INDEX_STATE_SQL)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private boolean indexAttached(Connection connection, String partitionIndex, String parentIndex)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INDEX_ATTACHED_SQL)) {
+            statement.setString(1, partitionIndex);
+            statement.setString(2, parentIndex);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void dropIfInvalid(Connection connection, String name) throws SQLException {
+        if (Boolean.FALSE.equals(indexValid(connection, name))) {
+            execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * @param name            부모 인덱스 이름
+     * @param partitionSuffix 파티션 인덱스 이름에 붙일 접미사 (파티션 이름 + "_" + 접미사 + "_keyset")
+     * @param replaces        같은 이름의 기존 인덱스를 바꾸는지 여부
+     */
+    private record IndexSpec(String name, String partitionSuffix, String columns, String where, boolean replaces) {
+
+        String whereClause() {
+            return where != null ? " WHERE " + where : "";
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Streaming (SSE) 응답 지표: time-to-first-token, 출력 토큰 처리량
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS ttft_ms INTEGER;
+
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS output_tokens_per_second DOUBLE PRECISION;
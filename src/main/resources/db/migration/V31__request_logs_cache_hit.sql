@@ -0,0 +1,3 @@
+-- 게이트웨이 응답 캐시 적중 여부 (적중 시 프로바이더를 호출하지 않으며 비용 0으로 기록)
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS cache_hit BOOLEAN NOT NULL DEFAULT FALSE;
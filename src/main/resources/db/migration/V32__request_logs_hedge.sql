@@ -0,0 +1,9 @@
+-- Hedged request: 1차 provider가 지연될 때 2차 경로를 병렬 호출한 기록
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedged BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedge_delay_ms INTEGER;
+
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedge_winner VARCHAR(16);
@@ -0,0 +1,3 @@
+-- Single-flight 합류 여부 (동일한 진행 중 요청의 응답을 공유해 프로바이더를 호출하지 않으며 비용 0으로 기록)
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS coalesced BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,33 @@
+-- ============================================================
+-- V34: 요청 로그 payload / 검색 문서 본문 압축 저장
+-- 목적: request_logs에서 가장 큰 TEXT 컬럼을 애플리케이션에서 압축한 bytea로 옮겨
+--       테이블 크기, WAL 양, vacuum 시간을 줄입니다.
+--   1) 새 로그는 *_compressed 컬럼에만 씁니다. (형식: CompressedText)
+--   2) 기존 TEXT 컬럼은 백필 작업이 압축 컬럼으로 옮긴 뒤 NULL로 비웁니다.
+--      백필이 끝나면 이후 마이그레이션에서 TEXT 컬럼을 삭제할 수 있습니다.
+-- ============================================================
+
+ALTER TABLE request_logs ADD COLUMN IF NOT EXISTS request_payload_compressed BYTEA;
+ALTER TABLE request_logs ADD COLUMN IF NOT EXISTS response_payload_compressed BYTEA;
+ALTER TABLE retrieved_documents ADD COLUMN IF NOT EXISTS content_compressed BYTEA;
+
+-- 이미 압축한 값이므로 TOAST 재압축은 건너뛰고 out-of-line 저장만 합니다.
+ALTER TABLE request_logs ALTER COLUMN request_payload_compressed SET STORAGE EXTERNAL;
+ALTER TABLE request_logs ALTER COLUMN response_payload_compressed SET STORAGE EXTERNAL;
+ALTER TABLE retrieved_documents ALTER COLUMN content_compressed SET STORAGE EXTERNAL;
+
+COMMENT ON COLUMN request_logs.request_payload_compressed IS '사용자 요청 전체 (압축, 첫 바이트=형식)';
+COMMENT ON COLUMN request_logs.response_payload_compressed IS 'AI 응답 전체 (압축, 첫 바이트=형식)';
+COMMENT ON COLUMN retrieved_documents.content_compressed IS '검색 문서 본문 (압축, 첫 바이트=형식)';
+COMMENT ON COLUMN request_logs.request_payload IS '[deprecated] 백필 전 요청 원문. 새 로그는 request_payload_compressed 사용';
+COMMENT ON COLUMN request_logs.response_payload IS '[deprecated] 백필 전 응답 원문. 새 로그는 response_payload_compressed 사용';
+COMMENT ON COLUMN retrieved_documents.content IS '[deprecated] 백필 전 문서 본문. 새 로그는 content_compressed 사용';
+
+-- 백필 대상(아직 TEXT 값이 남은 행)만 담는 부분 인덱스. 백필이 끝나면 비게 됩니다.
+CREATE INDEX IF NOT EXISTS idx_request_logs_payload_backfill
+    ON request_logs (request_id)
+    WHERE request_payload IS NOT NULL OR response_payload IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_retrieved_documents_content_backfill
+    ON retrieved_documents (id)
+    WHERE content IS NOT NULL;
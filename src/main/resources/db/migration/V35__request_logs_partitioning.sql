@@ -0,0 +1,125 @@
+-- ============================================================
+-- V35: request_logs / retrieved_documents 기간 파티셔닝
+-- 목적: created_at 기준 RANGE 파티션으로 나눠
+--   1) 통계/로그 조회가 조회 기간에 해당하는 파티션만 읽게 하고 (partition pruning)
+--   2) 보존 기간이 지난 로그를 DELETE 대신 파티션 DROP/DETACH로 정리합니다.
+-- 방식:
+--   - 기존 테이블은 데이터를 옮기지 않고 "_p_legacy" 파티션으로 붙입니다.
+--     범위는 (MINVALUE) ~ 다음 달 1일(UTC)이며, 기존 인덱스를 그대로 파티션 인덱스로 씁니다.
+--     부모 PK와 같은 (request_id, created_at), (id, created_at) UNIQUE 인덱스는 V34.1이 트랜잭션 밖에서
+--     CONCURRENTLY로 미리 만들어 두고, 여기서는 legacy PK를 그 인덱스로 바꾸기만 합니다.
+--   - 이후 파티션은 RequestLogPartitionManager가 미리 만들고, 보존 기간이 지나면 정리합니다.
+--   - 미처 만들지 못한 기간의 로그는 _p_default 파티션이 받습니다.
+-- 주의:
+--   - 파티션 테이블의 PK/UNIQUE에는 파티션 키가 포함되어야 하므로 PK를 (request_id, created_at)으로 바꿉니다.
+--     ATTACH는 같은 정의의 PK 인덱스가 파티션에 있을 때만 재사용하므로, V34.1 인덱스를 PRIMARY KEY USING INDEX로
+--     legacy PK로 만든 뒤 ATTACH합니다. 이 인덱스가 없으면 ATTACH가 잠금을 잡은 채 legacy 전체에 인덱스를 새로 만듭니다.
+--   - 같은 이유로 request_id 단독 UNIQUE를 둘 수 없어 retrieved_documents → request_logs FK를 제거합니다.
+--     검색 문서는 요청 로그와 같은 created_at으로 저장되어 같은 기간 파티션에서 함께 정리됩니다.
+--   - FK와 함께 V22의 ON DELETE CASCADE도 사라집니다. request_logs 행을 지울 때는 retrieved_documents의
+--     같은 request_id 행을 직접 함께 지워야 합니다 (RequestLogPartitionManager의 조직별 삭제가 그렇게 합니다).
+--   - ATTACH는 legacy 테이블 전체를 읽어 범위를 검증하는 동안 ACCESS EXCLUSIVE 잠금을 잡습니다.
+--     아래 5)에서 범위 CHECK 제약을 NOT VALID로 만든 뒤 VALIDATE하면 ATTACH는 이 제약으로 검증을 건너뜁니다.
+--     큰 테이블이면 배포 전에 운영자가 같은 이름의 제약을 미리 만들고 VALIDATE해 두면
+--     (SHARE UPDATE EXCLUSIVE 잠금이라 읽기/쓰기를 막지 않음) 마이그레이션은 이미 있는 제약을 그대로 씁니다.
+--     CHECK 상한은 마이그레이션 시점의 다음 달 1일(UTC)과 같거나 작아야 합니다.
+-- ============================================================
+
+-- 1) FK 제거 (파티션 테이블에서는 request_id 단독 참조 불가)
+ALTER TABLE retrieved_documents DROP CONSTRAINT IF EXISTS retrieved_documents_request_id_fkey;
+
+-- 2) 기존 테이블/인덱스 이름 변경
+ALTER TABLE request_logs RENAME TO request_logs_p_legacy;
+ALTER INDEX IF EXISTS idx_request_logs_ws_time RENAME TO request_logs_p_legacy_ws_time;
+ALTER INDEX IF EXISTS idx_request_logs_trace RENAME TO request_logs_p_legacy_trace;
+ALTER INDEX IF EXISTS idx_request_logs_ws_status_time RENAME TO request_logs_p_legacy_ws_status_time;
+ALTER INDEX IF EXISTS idx_request_logs_ws_failover_time RENAME TO request_logs_p_legacy_ws_failover_time;
+ALTER INDEX IF EXISTS idx_request_logs_org_time RENAME TO request_logs_p_legacy_org_time;
+ALTER INDEX IF EXISTS idx_request_logs_ws_source_created RENAME TO request_logs_p_legacy_ws_source_created;
+ALTER INDEX IF EXISTS idx_request_logs_payload_backfill RENAME TO request_logs_p_legacy_payload_backfill;
+
+ALTER TABLE retrieved_documents RENAME TO retrieved_documents_p_legacy;
+ALTER INDEX IF EXISTS idx_retrieved_documents_request_id RENAME TO retrieved_documents_p_legacy_request_id;
+ALTER INDEX IF EXISTS idx_retrieved_documents_content_backfill RENAME TO retrieved_documents_p_legacy_content_backfill;
+
+-- 기존 단독 PK를 V34.1이 만든 파티션 키 UNIQUE 인덱스로 바꿉니다. 컬럼이 이미 NOT NULL이라 검증 스캔 없이 메타데이터만 바뀝니다.
+ALTER TABLE request_logs_p_legacy DROP CONSTRAINT request_logs_pkey;
+ALTER TABLE request_logs_p_legacy
+    ADD CONSTRAINT request_logs_p_legacy_pkey PRIMARY KEY USING INDEX request_logs_partition_key;
+ALTER TABLE retrieved_documents_p_legacy DROP CONSTRAINT retrieved_documents_pkey;
+ALTER TABLE retrieved_documents_p_legacy
+    ADD CONSTRAINT retrieved_documents_p_legacy_pkey PRIMARY KEY USING INDEX retrieved_documents_partition_key;
+
+-- 3) 파티션 부모 테이블 (컬럼/기본값/저장 방식/코멘트는 기존 테이블과 동일)
+CREATE TABLE request_logs (
+    LIKE request_logs_p_legacy INCLUDING DEFAULTS INCLUDING STORAGE INCLUDING COMMENTS,
+    PRIMARY KEY (request_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE retrieved_documents (
+    LIKE retrieved_documents_p_legacy INCLUDING DEFAULTS INCLUDING STORAGE INCLUDING COMMENTS,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+COMMENT ON TABLE request_logs IS '게이트웨이 요청 로그 (v1) - 1요청 1행, created_at 기간 파티션';
+COMMENT ON TABLE retrieved_documents IS 'RAG 검색 결과 문서 (1요청 N문서), 요청 로그와 같은 created_at 기간 파티션';
+
+-- legacy 파티션을 지워도 id 시퀀스가 함께 지워지지 않도록 부모 컬럼 소유로 옮깁니다.
+ALTER SEQUENCE IF EXISTS retrieved_documents_id_seq OWNED BY retrieved_documents.id;
+
+-- 4) 부모 인덱스 (정의가 같은 legacy 인덱스는 ATTACH 시 다시 만들지 않고 그대로 붙습니다. PK도 마찬가지입니다)
+CREATE INDEX idx_request_logs_ws_time
+    ON request_logs (workspace_id, created_at DESC);
+CREATE INDEX idx_request_logs_trace
+    ON request_logs (trace_id);
+CREATE INDEX idx_request_logs_ws_status_time
+    ON request_logs (workspace_id, status, created_at DESC);
+CREATE INDEX idx_request_logs_ws_failover_time
+    ON request_logs (workspace_id, is_failover, created_at DESC);
+CREATE INDEX idx_request_logs_org_time
+    ON request_logs (organization_id, created_at DESC);
+CREATE INDEX idx_request_logs_ws_source_created
+    ON request_logs (workspace_id, request_source, created_at DESC);
+CREATE INDEX idx_request_logs_payload_backfill
+    ON request_logs (request_id)
+    WHERE request_payload IS NOT NULL OR response_payload IS NOT NULL;
+
+CREATE INDEX idx_retrieved_documents_request_id
+    ON retrieved_documents (request_id);
+CREATE INDEX idx_retrieved_documents_content_backfill
+    ON retrieved_documents (id)
+    WHERE content IS NOT NULL;
+
+-- 5) 기존 테이블을 legacy 파티션으로 붙이고, 범위 밖 로그를 받을 default 파티션을 만듭니다.
+--    ATTACH 전에 범위 CHECK 제약을 NOT VALID로 추가하고 VALIDATE해 ATTACH의 전체 검증 스캔을 없앱니다.
+--    운영자가 미리 만들어 둔 같은 이름의 제약이 있으면 새로 만들지 않습니다. 제약은 ATTACH 후 지웁니다.
+DO $$
+DECLARE
+    legacy_upper TIMESTAMPTZ := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '1 month') AT TIME ZONE 'UTC';
+    legacy_table TEXT;
+BEGIN
+    FOREACH legacy_table IN ARRAY ARRAY['request_logs_p_legacy', 'retrieved_documents_p_legacy'] LOOP
+        IF NOT EXISTS (
+            SELECT 1 FROM pg_constraint
+            WHERE conrelid = legacy_table::regclass AND conname = legacy_table || '_range'
+        ) THEN
+            EXECUTE format(
+                'ALTER TABLE %I ADD CONSTRAINT %I CHECK (created_at IS NOT NULL AND created_at < %L) NOT VALID',
+                legacy_table, legacy_table || '_range', legacy_upper);
+        END IF;
+        EXECUTE format('ALTER TABLE %I VALIDATE CONSTRAINT %I', legacy_table, legacy_table || '_range');
+    END LOOP;
+
+    EXECUTE format(
+        'ALTER TABLE request_logs ATTACH PARTITION request_logs_p_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_upper);
+    EXECUTE format(
+        'ALTER TABLE retrieved_documents ATTACH PARTITION retrieved_documents_p_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_upper);
+
+    ALTER TABLE request_logs_p_legacy DROP CONSTRAINT request_logs_p_legacy_range;
+    ALTER TABLE retrieved_documents_p_legacy DROP CONSTRAINT retrieved_documents_p_legacy_range;
+END $$;
+
+CREATE TABLE request_logs_p_default PARTITION OF request_logs DEFAULT;
+CREATE TABLE retrieved_documents_p_default PARTITION OF retrieved_documents DEFAULT;
@@ -0,0 +1,145 @@
+-- ============================================================
+-- V36: 요청 로그 통계 롤업 (분/시/일)
+-- 목적: 통계 대시보드가 request_logs 원본을 매번 스캔하지 않고
+--       (조직, 워크스페이스, 프롬프트, 모델, provider, 상태) × 시간 bucket 단위로 미리 합친 값을 읽게 합니다.
+--   1) 로그를 저장하는 같은 트랜잭션에서 증가분을 UPSERT 합니다. (RequestLogRollupWriter)
+--   2) latency 분포는 합칠 수 있는 고정 bucket 히스토그램(BIGINT[])으로 저장해 여러 bucket을 합친 뒤 p95/p99를 구합니다.
+--      bucket 계산은 LatencyHistogram과 같아야 합니다.
+--   3) nullable 차원은 기본값(0, '')으로 저장해 PK에 포함합니다.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS request_log_rollups (
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+
+    -- 차원
+    organization_id BIGINT NOT NULL,
+    workspace_id BIGINT NOT NULL,
+    prompt_id BIGINT NOT NULL DEFAULT 0,
+    prompt_key VARCHAR(128) NOT NULL DEFAULT '',
+    provider VARCHAR(32) NOT NULL DEFAULT '',
+    used_model VARCHAR(128) NOT NULL DEFAULT '',
+    status VARCHAR(16) NOT NULL,
+    error_code VARCHAR(64) NOT NULL DEFAULT '',
+    fail_reason VARCHAR(64) NOT NULL DEFAULT '',
+
+    -- 요청/토큰/비용
+    request_count BIGINT NOT NULL DEFAULT 0,
+    total_tokens BIGINT NOT NULL DEFAULT 0,
+    estimated_cost NUMERIC(18, 8) NOT NULL DEFAULT 0,
+
+    -- latency
+    latency_count BIGINT NOT NULL DEFAULT 0,
+    latency_sum_ms BIGINT NOT NULL DEFAULT 0,
+    latency_histogram BIGINT[] NOT NULL DEFAULT '{}',
+
+    -- RAG
+    rag_count BIGINT NOT NULL DEFAULT 0,
+    rag_hit_count BIGINT NOT NULL DEFAULT 0,
+    rag_truncated_count BIGINT NOT NULL DEFAULT 0,
+    rag_chunks_sum BIGINT NOT NULL DEFAULT 0,
+    rag_similarity_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    rag_similarity_count BIGINT NOT NULL DEFAULT 0,
+    rag_latency_sum_ms BIGINT NOT NULL DEFAULT 0,
+    rag_latency_count BIGINT NOT NULL DEFAULT 0,
+    rag_score_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    rag_score_count BIGINT NOT NULL DEFAULT 0,
+
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+    PRIMARY KEY (organization_id, granularity, bucket_start, workspace_id, prompt_id, prompt_key,
+                 provider, used_model, status, error_code, fail_reason)
+);
+
+COMMENT ON TABLE request_log_rollups IS '요청 로그 통계 롤업 (분/시/일 bucket × 차원)';
+COMMENT ON COLUMN request_log_rollups.granularity IS 'bucket 단위: MINUTE, HOUR, DAY';
+COMMENT ON COLUMN request_log_rollups.bucket_start IS 'bucket 시작 시각 (UTC)';
+COMMENT ON COLUMN request_log_rollups.latency_histogram IS 'latency bucket별 건수 (LatencyHistogram 형식, 마지막 0 bucket 생략)';
+COMMENT ON COLUMN request_log_rollups.rag_score_sum IS '검색 문서 유사도 점수 합 (평균 = rag_score_sum / rag_score_count)';
+
+-- 보존 기간이 지난 분/시 롤업 정리용
+CREATE INDEX IF NOT EXISTS idx_request_log_rollups_granularity_bucket
+    ON request_log_rollups (granularity, bucket_start);
+
+-- latency(ms) → 히스토그램 bucket 번호 (0부터). LatencyHistogram.bucketIndex와 같은 계산입니다.
+CREATE OR REPLACE FUNCTION request_log_latency_bucket(latency_ms BIGINT) RETURNS INTEGER AS $$
+    SELECT CASE
+        WHEN latency_ms < 8 THEN GREATEST(latency_ms, 0)::int
+        WHEN latency_ms >= 33554432 THEN 95
+        ELSE 8 + (e - 3) * 4 + ((latency_ms >> (e - 2)) & 3)::int
+    END
+    FROM (SELECT length(ltrim(latency_ms::bit(64)::text, '0')) - 1 AS e) AS exponent
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- 두 히스토그램의 bucket별 건수를 더합니다.
+CREATE OR REPLACE FUNCTION request_log_histogram_merge(a BIGINT[], b BIGINT[]) RETURNS BIGINT[] AS $$
+    SELECT COALESCE(array_agg(COALESCE(a[i], 0) + COALESCE(b[i], 0) ORDER BY i), '{}')
+    FROM generate_series(1, GREATEST(COALESCE(cardinality(a), 0), COALESCE(cardinality(b), 0))) AS i
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- 여러 롤업 행의 히스토그램을 합치는 집계 함수
+CREATE AGGREGATE request_log_histogram_sum(BIGINT[]) (
+    SFUNC = request_log_histogram_merge,
+    STYPE = BIGINT[],
+    INITCOND = '{}'
+);
+
+-- ============================================================
+-- 기존 로그 백필: 일 롤업은 전체, 시 롤업은 최근 90일, 분 롤업은 최근 7일 (기본 보존 기간)
+-- ============================================================
+INSERT INTO request_log_rollups (
+    granularity, bucket_start,
+    organization_id, workspace_id, prompt_id, prompt_key, provider, used_model, status, error_code, fail_reason,
+    request_count, total_tokens, estimated_cost,
+    latency_count, latency_sum_ms, latency_histogram,
+    rag_count, rag_hit_count, rag_truncated_count, rag_chunks_sum,
+    rag_similarity_sum, rag_similarity_count, rag_latency_sum_ms, rag_latency_count,
+    rag_score_sum, rag_score_count
+)
+SELECT
+    g.granularity,
+    date_trunc(g.unit, rl.created_at AT TIME ZONE 'UTC'),
+    rl.organization_id,
+    rl.workspace_id,
+    COALESCE(rl.prompt_id, 0),
+    COALESCE(rl.prompt_key, ''),
+    COALESCE(rl.provider, ''),
+    COALESCE(rl.used_model, ''),
+    rl.status,
+    COALESCE(rl.error_code, ''),
+    COALESCE(rl.fail_reason, ''),
+    COUNT(*),
+    COALESCE(SUM(rl.total_tokens), 0),
+    COALESCE(SUM(rl.estimated_cost), 0),
+    COUNT(rl.latency_ms),
+    COALESCE(SUM(rl.latency_ms), 0),
+    request_log_histogram_sum(
+        CASE WHEN rl.latency_ms IS NULL THEN '{}'::BIGINT[]
+             ELSE array_fill(0::BIGINT, ARRAY[request_log_latency_bucket(rl.latency_ms)]) || 1::BIGINT
+        END),
+    COUNT(*) FILTER (WHERE rl.rag_enabled),
+    COUNT(*) FILTER (WHERE rl.rag_enabled AND rl.rag_chunks_count > 0),
+    COUNT(*) FILTER (WHERE rl.rag_enabled AND rl.rag_context_truncated),
+    COALESCE(SUM(rl.rag_chunks_count) FILTER (WHERE rl.rag_enabled), 0),
+    COALESCE(SUM(rl.rag_similarity_threshold) FILTER (WHERE rl.rag_enabled), 0),
+    COUNT(rl.rag_similarity_threshold) FILTER (WHERE rl.rag_enabled),
+    COALESCE(SUM(rl.rag_latency_ms) FILTER (WHERE rl.rag_enabled), 0),
+    COUNT(rl.rag_latency_ms) FILTER (WHERE rl.rag_enabled),
+    COALESCE(SUM(d.score_sum) FILTER (WHERE rl.rag_enabled), 0),
+    COALESCE(SUM(d.score_count) FILTER (WHERE rl.rag_enabled), 0)
+FROM request_logs rl
+CROSS JOIN (VALUES
+    ('MINUTE', 'minute', INTERVAL '7 days'),
+    ('HOUR', 'hour', INTERVAL '90 days'),
+    ('DAY', 'day', NULL::INTERVAL)
+) AS g (granularity, unit, keep)
+LEFT JOIN (
+    SELECT request_id, SUM(score) AS score_sum, COUNT(score) AS score_count
+    FROM retrieved_documents
+    GROUP BY request_id
+) d ON d.request_id = rl.request_id
+WHERE g.keep IS NULL OR rl.created_at >= NOW() - g.keep
+GROUP BY g.granularity, date_trunc(g.unit, rl.created_at AT TIME ZONE 'UTC'),
+    rl.organization_id, rl.workspace_id, COALESCE(rl.prompt_id, 0), COALESCE(rl.prompt_key, ''),
+    COALESCE(rl.provider, ''), COALESCE(rl.used_model, ''), rl.status,
+    COALESCE(rl.error_code, ''), COALESCE(rl.fail_reason, '');
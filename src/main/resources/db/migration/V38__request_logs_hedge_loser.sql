@@ -0,0 +1,15 @@
+-- Hedged request: 채택되지 않은 경로(loser)의 결과와 비용
+-- completed: 응답까지 받아 비용이 발생한 경우 (프로바이더가 보고한 토큰으로 계산)
+-- cancelled: 승자가 정해져 호출 중에 취소한 경우 (입력은 이미 보냈으므로 추정 입력 토큰으로 계산)
+-- failed: 승자보다 먼저 실패한 경우 (비용 없음)
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedge_loser_status VARCHAR(16);
+
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedge_loser_input_tokens INTEGER;
+
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedge_loser_output_tokens INTEGER;
+
+ALTER TABLE request_logs
+    ADD COLUMN IF NOT EXISTS hedge_loser_estimated_cost NUMERIC(18, 8);
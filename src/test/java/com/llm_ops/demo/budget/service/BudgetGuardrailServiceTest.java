@@ -1,38 +1,55 @@
 package com.llm_ops.demo.budget.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llm_ops.demo.budget.config.BudgetStateProperties;
 import com.llm_ops.demo.budget.domain.BudgetMonthlyUsage;
 import com.llm_ops.demo.budget.domain.BudgetPolicy;
 import com.llm_ops.demo.budget.domain.BudgetScopeType;
 import com.llm_ops.demo.budget.domain.BudgetSoftAction;
+import com.llm_ops.demo.budget.repository.BudgetMonthlyUsageRepository;
+import com.llm_ops.demo.budget.repository.BudgetPolicyRepository;
 import java.math.BigDecimal;
 import java.time.YearMonth;
-import java.util.Map;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class BudgetGuardrailServiceTest {
 
     @Mock
-    private BudgetPolicyService budgetPolicyService;
+    private BudgetPolicyRepository budgetPolicyRepository;
+
+    @Mock
+    private BudgetMonthlyUsageRepository budgetMonthlyUsageRepository;
+
+    @Mock
+    private BudgetUsageAggregator budgetUsageAggregator;
 
     @Mock
     private BudgetUsageService budgetUsageService;
 
-    @InjectMocks
     private BudgetGuardrailService budgetGuardrailService;
 
+    @BeforeEach
+    void setUp() {
+        BudgetStateEngine budgetStateEngine = new BudgetStateEngine(
+            budgetPolicyRepository,
+            budgetMonthlyUsageRepository,
+            budgetUsageAggregator,
+            new BudgetStateProperties(),
+            new ObjectMapper()
+        );
+        budgetGuardrailService = new BudgetGuardrailService(budgetStateEngine, budgetUsageService);
+    }
+
     @Test
     @DisplayName("Provider credential 월 사용량이 하드리밋 이상이면 BLOCK을 반환한다")
     void provider_월_사용량이_하드리밋_이상이면_BLOCK을_반환한다() {
@@ -44,10 +61,10 @@ class BudgetGuardrailServiceTest {
         BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, 202602);
         usage.addUsage(new BigDecimal("50.00"), 100L, 1L);
 
-        when(budgetPolicyService.findPolicy(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId))
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId))
             .thenReturn(Optional.of(policy));
         when(budgetUsageService.currentUtcYearMonth()).thenReturn(ym);
-        when(budgetUsageService.findUsage(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, ym))
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, 202602))
             .thenReturn(Optional.of(usage));
 
         // when
@@ -71,10 +88,10 @@ class BudgetGuardrailServiceTest {
         BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, 202602);
         usage.addUsage(new BigDecimal("49.99"), 100L, 1L);
 
-        when(budgetPolicyService.findPolicy(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId))
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId))
             .thenReturn(Optional.of(policy));
         when(budgetUsageService.currentUtcYearMonth()).thenReturn(ym);
-        when(budgetUsageService.findUsage(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, ym))
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, 202602))
             .thenReturn(Optional.of(usage));
 
         // when
@@ -84,6 +101,33 @@ class BudgetGuardrailServiceTest {
         assertThat(decision.action()).isEqualTo(BudgetDecisionAction.ALLOW);
     }
 
+    @Test
+    @DisplayName("현재 사용량에 요청 예상 비용을 더해 하드리밋을 넘으면 호출 전에 BLOCK을 반환한다")
+    void provider_예상_비용을_더해_하드리밋을_넘으면_BLOCK을_반환한다() {
+        // given
+        Long credentialId = 10L;
+        YearMonth ym = YearMonth.of(2026, 2);
+        BudgetPolicy policy = BudgetPolicy.createDefault(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId);
+        policy.update(new BigDecimal("50.00"), null, null, null, null, null, true);
+        BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, 202602);
+        usage.addUsage(new BigDecimal("49.99"), 100L, 1L);
+
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId))
+            .thenReturn(Optional.of(policy));
+        when(budgetUsageService.currentUtcYearMonth()).thenReturn(ym);
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.PROVIDER_CREDENTIAL, credentialId, 202602))
+            .thenReturn(Optional.of(usage));
+
+        // when
+        BudgetDecision withinLimit = budgetGuardrailService.evaluateProviderCredential(credentialId, new BigDecimal("0.005"));
+        BudgetDecision overLimit = budgetGuardrailService.evaluateProviderCredential(credentialId, new BigDecimal("0.02"));
+
+        // then
+        assertThat(withinLimit.action()).isEqualTo(BudgetDecisionAction.ALLOW);
+        assertThat(overLimit.action()).isEqualTo(BudgetDecisionAction.BLOCK);
+        assertThat(overLimit.reason()).isEqualTo("PROVIDER_BUDGET_PROJECTED_EXCEEDED");
+    }
+
     @Test
     @DisplayName("Workspace 월 사용량이 soft-limit 이상이면 DEGRADE를 반환한다")
     void workspace_월_사용량이_soft_limit_이상이면_DEGRADE를_반환한다() {
@@ -92,17 +136,15 @@ class BudgetGuardrailServiceTest {
         String providerKey = "openai";
         YearMonth ym = YearMonth.of(2026, 2);
         BudgetPolicy policy = BudgetPolicy.createDefault(BudgetScopeType.WORKSPACE, workspaceId);
-        policy.update(null, new BigDecimal("10.00"), BudgetSoftAction.DEGRADE, "{}", 256, true, true);
+        policy.update(null, new BigDecimal("10.00"), BudgetSoftAction.DEGRADE, "{\"openai\":\"gpt-4o-mini\"}", 256, true, true);
         BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.WORKSPACE, workspaceId, 202602);
         usage.addUsage(new BigDecimal("10.00"), 500L, 2L);
 
-        when(budgetPolicyService.findPolicy(BudgetScopeType.WORKSPACE, workspaceId))
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.WORKSPACE, workspaceId))
             .thenReturn(Optional.of(policy));
         when(budgetUsageService.currentUtcYearMonth()).thenReturn(ym);
-        when(budgetUsageService.findUsage(BudgetScopeType.WORKSPACE, workspaceId, ym))
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, workspaceId, 202602))
             .thenReturn(Optional.of(usage));
-        when(budgetPolicyService.parseDegradeProviderModelMapOrEmpty(policy))
-            .thenReturn(Map.of("openai", "gpt-4o-mini"));
 
         // when
         BudgetDecision decision = budgetGuardrailService.evaluateWorkspaceDegrade(workspaceId, providerKey);
@@ -128,10 +170,10 @@ class BudgetGuardrailServiceTest {
         BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.WORKSPACE, workspaceId, 202602);
         usage.addUsage(new BigDecimal("9.99"), 500L, 2L);
 
-        when(budgetPolicyService.findPolicy(BudgetScopeType.WORKSPACE, workspaceId))
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.WORKSPACE, workspaceId))
             .thenReturn(Optional.of(policy));
         when(budgetUsageService.currentUtcYearMonth()).thenReturn(ym);
-        when(budgetUsageService.findUsage(BudgetScopeType.WORKSPACE, workspaceId, ym))
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, workspaceId, 202602))
             .thenReturn(Optional.of(usage));
 
         // when
@@ -139,7 +181,6 @@ class BudgetGuardrailServiceTest {
 
         // then
         assertThat(decision.action()).isEqualTo(BudgetDecisionAction.ALLOW);
-        verify(budgetPolicyService, never()).parseDegradeProviderModelMapOrEmpty(eq(policy));
     }
 
     @Test
@@ -149,17 +190,15 @@ class BudgetGuardrailServiceTest {
         Long workspaceId = 7L;
         YearMonth ym = YearMonth.of(2026, 2);
         BudgetPolicy policy = BudgetPolicy.createDefault(BudgetScopeType.WORKSPACE, workspaceId);
-        policy.update(null, new BigDecimal("10.00"), BudgetSoftAction.DEGRADE, "{}", 512, false, true);
+        policy.update(null, new BigDecimal("10.00"), BudgetSoftAction.DEGRADE, "{\"openai\":\"gpt-4o-mini\"}", 512, false, true);
         BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.WORKSPACE, workspaceId, 202602);
         usage.addUsage(new BigDecimal("11.00"), 500L, 2L);
 
-        when(budgetPolicyService.findPolicy(BudgetScopeType.WORKSPACE, workspaceId))
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.WORKSPACE, workspaceId))
             .thenReturn(Optional.of(policy));
         when(budgetUsageService.currentUtcYearMonth()).thenReturn(ym);
-        when(budgetUsageService.findUsage(BudgetScopeType.WORKSPACE, workspaceId, ym))
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, workspaceId, 202602))
             .thenReturn(Optional.of(usage));
-        when(budgetPolicyService.parseDegradeProviderModelMapOrEmpty(policy))
-            .thenReturn(Map.of("openai", "gpt-4o-mini"));
 
         // when
         BudgetDecision decision = budgetGuardrailService.evaluateWorkspaceDegrade(workspaceId, "  ");
@@ -0,0 +1,165 @@
+package com.llm_ops.demo.budget.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llm_ops.demo.budget.config.BudgetStateProperties;
+import com.llm_ops.demo.budget.domain.BudgetMonthlyUsage;
+import com.llm_ops.demo.budget.domain.BudgetPolicy;
+import com.llm_ops.demo.budget.domain.BudgetScopeType;
+import com.llm_ops.demo.budget.repository.BudgetMonthlyUsageRepository;
+import com.llm_ops.demo.budget.repository.BudgetPolicyRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetStateEngineTest {
+
+    private static final YearMonth YM = YearMonth.of(2026, 2);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-15T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private BudgetPolicyRepository budgetPolicyRepository;
+
+    @Mock
+    private BudgetMonthlyUsageRepository budgetMonthlyUsageRepository;
+
+    @Mock
+    private BudgetUsageAggregator budgetUsageAggregator;
+
+    private final AtomicLong nanoClock = new AtomicLong(1L);
+    private BudgetStateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BudgetStateEngine(
+            budgetPolicyRepository,
+            budgetMonthlyUsageRepository,
+            budgetUsageAggregator,
+            new BudgetStateProperties(),
+            new ObjectMapper(),
+            CLOCK,
+            nanoClock::get
+        );
+    }
+
+    @Test
+    @DisplayName("처음 평가 이후에는 DB 대신 메모리 사용량에 커밋된 증가분을 더한다")
+    void 처음_평가_이후에는_메모리_사용량을_사용한다() {
+        // given
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, 7L, 202602))
+            .thenReturn(Optional.of(usage(7L, "1.50")));
+        engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM);
+
+        // when
+        engine.recordUsage(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.25"));
+        long used = engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM);
+
+        // then
+        assertThat(used).isEqualTo(BudgetStateEngine.toUnits(new BigDecimal("1.75")));
+        verify(budgetMonthlyUsageRepository, times(1))
+            .findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, 7L, 202602);
+    }
+
+    @Test
+    @DisplayName("reconcile 후에는 DB 값을 기준으로 다시 맞춘다")
+    void reconcile_후에는_DB_값으로_맞춘다() {
+        // given
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, 7L, 202602))
+            .thenReturn(Optional.of(usage(7L, "1.00")));
+        engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM);
+        engine.recordUsage(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.50"));
+        when(budgetMonthlyUsageRepository.findAllByScopeTypeAndYearMonthAndScopeIdIn(
+            eq(BudgetScopeType.WORKSPACE), eq(202602), anyCollection()))
+            .thenReturn(List.of(usage(7L, "3.00")));
+
+        // when
+        engine.reconcile();
+
+        // then
+        assertThat(engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM))
+            .isEqualTo(BudgetStateEngine.toUnits(new BigDecimal("3.00")));
+    }
+
+    @Test
+    @DisplayName("reconcile은 아직 flush되지 않은 증가분을 DB 값에 더한다")
+    void reconcile은_flush되지_않은_증가분을_더한다() {
+        // given
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(BudgetScopeType.WORKSPACE, 7L, 202602))
+            .thenReturn(Optional.of(usage(7L, "1.00")));
+        engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM);
+        engine.recordUsage(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.50"));
+        when(budgetUsageAggregator.pendingCostUnits(BudgetScopeType.WORKSPACE, 7L, 202602))
+            .thenReturn(BudgetStateEngine.toUnits(new BigDecimal("0.50")));
+        when(budgetMonthlyUsageRepository.findAllByScopeTypeAndYearMonthAndScopeIdIn(
+            eq(BudgetScopeType.WORKSPACE), eq(202602), anyCollection()))
+            .thenReturn(List.of(usage(7L, "1.00")));
+
+        // when
+        engine.reconcile();
+
+        // then
+        assertThat(engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM))
+            .isEqualTo(BudgetStateEngine.toUnits(new BigDecimal("1.50")));
+    }
+
+    @Test
+    @DisplayName("정책 무효화 후 다음 평가에서 정책을 다시 읽는다")
+    void 정책_무효화_후_다시_읽는다() {
+        // given
+        BudgetPolicy before = BudgetPolicy.createDefault(BudgetScopeType.PROVIDER_CREDENTIAL, 10L);
+        before.update(new BigDecimal("50.00"), null, null, null, null, null, true);
+        BudgetPolicy after = BudgetPolicy.createDefault(BudgetScopeType.PROVIDER_CREDENTIAL, 10L);
+        after.update(new BigDecimal("80.00"), null, null, null, null, null, true);
+        when(budgetPolicyRepository.findByScopeTypeAndScopeId(BudgetScopeType.PROVIDER_CREDENTIAL, 10L))
+            .thenReturn(Optional.of(before), Optional.of(after));
+        engine.policy(BudgetScopeType.PROVIDER_CREDENTIAL, 10L);
+
+        // when
+        engine.invalidatePolicy(BudgetScopeType.PROVIDER_CREDENTIAL, 10L);
+        Optional<BudgetStateEngine.PolicyState> reloaded = engine.policy(BudgetScopeType.PROVIDER_CREDENTIAL, 10L);
+
+        // then
+        assertThat(reloaded).isPresent();
+        assertThat(reloaded.get().monthLimitUnits()).isEqualTo(BudgetStateEngine.toUnits(new BigDecimal("80.00")));
+    }
+
+    @Test
+    @DisplayName("평가된 적 없는 scope의 사용량 기록은 무시하고 첫 평가 때 DB에서 읽는다")
+    void 평가된_적_없는_scope의_기록은_무시한다() {
+        // given
+        when(budgetMonthlyUsageRepository.findByScopeTypeAndScopeIdAndYearMonth(any(), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // when
+        engine.recordUsage(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.50"));
+
+        // then
+        assertThat(engine.trackedUsageCount()).isZero();
+        assertThat(engine.usedCostUnits(BudgetScopeType.WORKSPACE, 7L, YM)).isZero();
+    }
+
+    private static BudgetMonthlyUsage usage(Long scopeId, String costUsd) {
+        BudgetMonthlyUsage usage = BudgetMonthlyUsage.create(BudgetScopeType.WORKSPACE, scopeId, 202602);
+        usage.addUsage(new BigDecimal(costUsd), 0L, 1L);
+        return usage;
+    }
+}
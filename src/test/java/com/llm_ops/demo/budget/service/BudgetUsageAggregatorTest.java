@@ -0,0 +1,158 @@
+package com.llm_ops.demo.budget.service;
+
+import com.llm_ops.demo.budget.config.BudgetUsageFlushProperties;
+import com.llm_ops.demo.budget.domain.BudgetScopeType;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetUsageAggregatorTest {
+
+    private static final YearMonth YM = YearMonth.of(2026, 2);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-02-15T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BudgetUsageAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new BudgetUsageAggregator(
+            jdbcTemplate,
+            new TransactionTemplate(transactionManager),
+            new BudgetUsageFlushProperties(),
+            CLOCK
+        );
+    }
+
+    @Test
+    @DisplayName("같은 scope/월의 증가분은 한 행으로 묶어 upsert한다")
+    @SuppressWarnings("unchecked")
+    void 같은_scope의_증가분은_한_행으로_묶는다() {
+        // given
+        givenPostgres();
+        aggregator.add(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.25"), 10L);
+        aggregator.add(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.50"), 20L);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+
+        // when
+        int written = aggregator.flush();
+
+        // then
+        assertThat(written).isEqualTo(1);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().get(0)).containsExactly(
+            "WORKSPACE", 7L, 202602, new BigDecimal("0.75000000"), 30L, 2L);
+        assertThat(aggregator.pendingCostUnits(BudgetScopeType.WORKSPACE, 7L, 202602)).isZero();
+    }
+
+    @Test
+    @DisplayName("flush가 실패하면 증가분을 유지하고 다음 flush에서 다시 반영한다")
+    @SuppressWarnings("unchecked")
+    void flush_실패_시_증가분을_유지한다() {
+        // given
+        givenPostgres();
+        aggregator.add(BudgetScopeType.PROVIDER_CREDENTIAL, 10L, YM, new BigDecimal("1.00"), 100L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("db down"))
+            .thenReturn(new int[]{1});
+
+        // when
+        int firstWritten = aggregator.flush();
+        long pendingAfterFailure = aggregator.pendingCostUnits(BudgetScopeType.PROVIDER_CREDENTIAL, 10L, 202602);
+        aggregator.add(BudgetScopeType.PROVIDER_CREDENTIAL, 10L, YM, new BigDecimal("0.50"), 50L);
+        int secondWritten = aggregator.flush();
+
+        // then
+        assertThat(firstWritten).isZero();
+        assertThat(pendingAfterFailure).isEqualTo(BudgetStateEngine.toUnits(new BigDecimal("1.00")));
+        assertThat(secondWritten).isEqualTo(1);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getAllValues().get(1).get(0)).containsExactly(
+            "PROVIDER_CREDENTIAL", 10L, 202602, new BigDecimal("1.50000000"), 150L, 2L);
+        assertThat(aggregator.pendingCostUnits(BudgetScopeType.PROVIDER_CREDENTIAL, 10L, 202602)).isZero();
+    }
+
+    @Test
+    @DisplayName("증가분이 없으면 DB에 쓰지 않는다")
+    void 증가분이_없으면_DB에_쓰지_않는다() {
+        // when
+        int written = aggregator.flush();
+
+        // then
+        assertThat(written).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 증가분을 flush한다")
+    void 종료_시_남은_증가분을_flush한다() {
+        // given
+        givenPostgres();
+        aggregator.add(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.10"), 5L);
+
+        // when
+        aggregator.shutdown();
+
+        // then
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThat(aggregator.pendingCostUnits(BudgetScopeType.WORKSPACE, 7L, 202602)).isZero();
+    }
+
+    @Test
+    @DisplayName("지난 달보다 오래된 키는 반영 후 제거하고, 늦게 들어온 증가분은 새 키에 모은다")
+    void 오래된_키는_제거하고_늦은_증가분은_새_키에_모은다() {
+        // given
+        givenPostgres();
+        YearMonth old = YM.minusMonths(2);
+        aggregator.add(BudgetScopeType.WORKSPACE, 7L, old, new BigDecimal("0.10"), 5L);
+        aggregator.add(BudgetScopeType.WORKSPACE, 7L, YM, new BigDecimal("0.20"), 5L);
+
+        // when
+        aggregator.flush();
+        aggregator.add(BudgetScopeType.WORKSPACE, 7L, old, new BigDecimal("0.30"), 5L);
+
+        // then
+        assertThat(aggregator.pendingKeyCount()).isEqualTo(2);
+        assertThat(aggregator.pendingCostUnits(BudgetScopeType.WORKSPACE, 7L, 202512))
+            .isEqualTo(BudgetStateEngine.toUnits(new BigDecimal("0.30")));
+        assertThat(aggregator.flush()).isEqualTo(1);
+        assertThat(aggregator.pendingKeyCount()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPostgres() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+    }
+}
@@ -0,0 +1,41 @@
+package com.llm_ops.demo.config;
+
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * PostgreSQL 전용 SQL(롤업 UPSERT, 히스토그램 집계 함수, 파티션)을 검증하는 테스트가 함께 쓰는 컨테이너입니다.
+ * <p>
+ * 처음 요청할 때 pgvector 이미지를 띄우고 Flyway 마이그레이션(V1~)을 적용하며, 테스트 JVM이 끝날 때 Testcontainers가 정리합니다.
+ * Docker가 없는 환경에서는 {@code @Testcontainers(disabledWithoutDocker = true)}로 테스트를 건너뜁니다.
+ */
+public final class PostgresTestContainer {
+
+    private static final DockerImageName IMAGE =
+            DockerImageName.parse("pgvector/pgvector:pg16").asCompatibleSubstituteFor("postgres");
+
+    private static final PostgreSQLContainer<?> CONTAINER = new PostgreSQLContainer<>(IMAGE);
+
+    private static DataSource dataSource;
+
+    private PostgresTestContainer() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            CONTAINER.start();
+            DriverManagerDataSource migrated = new DriverManagerDataSource(
+                    CONTAINER.getJdbcUrl(), CONTAINER.getUsername(), CONTAINER.getPassword());
+            Flyway.configure()
+                    .dataSource(migrated)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            dataSource = migrated;
+        }
+        return dataSource;
+    }
+}
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.when;
 
 import com.llm_ops.demo.eval.config.EvalProperties;
 import com.llm_ops.demo.gateway.service.GatewayChatOptionsCreateService;
+import com.llm_ops.demo.gateway.service.ProviderClientRegistry;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.keys.domain.ProviderType;
@@ -17,6 +18,7 @@ import com.llm_ops.demo.keys.service.ProviderCredentialService;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -46,7 +48,9 @@ class EvalModelRunnerServiceTest {
                 evalProperties,
                 providerCredentialService,
                 gatewayChatOptionsCreateService,
-                circuitBreakerRegistry
+                circuitBreakerRegistry,
+                mock(ProviderClientRegistry.class),
+                mock(ExecutorService.class)
         );
 
         when(providerCredentialService.resolveApiKey(1L, ProviderType.OPENAI))
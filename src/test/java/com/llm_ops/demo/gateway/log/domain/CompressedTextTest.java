@@ -0,0 +1,52 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompressedTextTest {
+
+    @Test
+    @DisplayName("긴 JSON payload는 압축해 저장하고 원문 그대로 되돌린다")
+    void 긴_payload는_압축한다() {
+        // given
+        StringBuilder payload = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            payload.append("{\"workspaceId\":").append(i)
+                    .append(",\"promptKey\":\"support-bot\",\"ragEnabled\":true,\"question\":\"환불은 어떻게 하나요?\"},");
+        }
+        payload.append("{}]");
+        String text = payload.toString();
+
+        // when
+        byte[] stored = CompressedText.compress(text);
+
+        // then
+        assertThat(stored[0]).isEqualTo((byte) 1);
+        assertThat(stored.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 5);
+        assertThat(CompressedText.decompress(stored)).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("짧은 값은 압축하지 않고 저장하며, null은 null로 둔다")
+    void 짧은_값은_그대로_저장한다() {
+        // when
+        byte[] stored = CompressedText.compress("ok");
+
+        // then
+        assertThat(stored[0]).isEqualTo((byte) 0);
+        assertThat(CompressedText.decompress(stored)).isEqualTo("ok");
+        assertThat(CompressedText.compress(null)).isNull();
+        assertThat(CompressedText.decompress(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 형식은 예외를 던진다")
+    void 알_수_없는_형식은_예외를_던진다() {
+        assertThatThrownBy(() -> CompressedText.decompress(new byte[]{9, 1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
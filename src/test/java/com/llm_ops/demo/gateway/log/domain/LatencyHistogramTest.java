@@ -0,0 +1,62 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("나눠 기록한 분포를 합친 백분위는 한 번에 기록한 분포와 같고 실제 값과 bucket 폭 이내로 가깝다")
+    void 합친_분포의_백분위() {
+        // given
+        LatencyHistogram first = LatencyHistogram.empty();
+        LatencyHistogram second = LatencyHistogram.empty();
+        LatencyHistogram all = LatencyHistogram.empty();
+        for (long latency = 1; latency <= 100; latency++) {
+            (latency % 2 == 0 ? first : second).record(latency);
+            all.record(latency);
+        }
+
+        // when
+        first.merge(second);
+
+        // then
+        assertThat(first.totalCount()).isEqualTo(100);
+        assertThat(first.percentile(0.95)).isEqualTo(all.percentile(0.95));
+        assertThat(first.percentile(0.99)).isEqualTo(all.percentile(0.99));
+        assertThat((double) first.percentile(0.95)).isCloseTo(95.0, withinPercentage(25));
+        assertThat((double) first.percentile(0.99)).isCloseTo(99.0, withinPercentage(25));
+    }
+
+    @Test
+    @DisplayName("저장 형식은 마지막 0이 아닌 bucket까지만 남기고 다시 읽으면 같은 분포가 된다")
+    void 저장_형식_왕복() {
+        // given
+        LatencyHistogram histogram = LatencyHistogram.empty();
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(9);
+
+        // when
+        Long[] stored = histogram.toStored();
+        LatencyHistogram restored = LatencyHistogram.of(stored);
+
+        // then
+        assertThat(stored).hasSize(LatencyHistogram.bucketIndex(9) + 1);
+        assertThat(stored[3]).isEqualTo(2L);
+        assertThat(restored.totalCount()).isEqualTo(3);
+        assertThat(restored.percentile(0.5)).isEqualTo(3);
+        assertThat(LatencyHistogram.of(null).percentile(0.95)).isZero();
+    }
+
+    @Test
+    @DisplayName("아주 큰 latency는 마지막 bucket에 모인다")
+    void 큰_값은_마지막_bucket() {
+        assertThat(LatencyHistogram.bucketIndex(1L << 25)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+        assertThat(LatencyHistogram.bucketIndex(-5)).isZero();
+    }
+}
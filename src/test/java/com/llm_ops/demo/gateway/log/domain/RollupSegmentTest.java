@@ -0,0 +1,54 @@
+package com.llm_ops.demo.gateway.log.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RollupSegmentTest {
+
+    private static final LocalDateTime MINUTE_SINCE = LocalDateTime.of(2026, 10, 9, 12, 0);
+    private static final LocalDateTime HOUR_SINCE = LocalDateTime.of(2026, 7, 18, 12, 0);
+
+    @Test
+    @DisplayName("온전한 하루는 일 롤업, 앞뒤의 온전한 시간은 시 롤업, 나머지는 분 롤업으로 나눈다")
+    void 일_시_분_구간으로_나눈다() {
+        // when
+        List<RollupSegment> segments = RollupSegment.cover(
+                LocalDateTime.of(2026, 10, 14, 10, 30),
+                LocalDateTime.of(2026, 10, 16, 12, 15, 59, 999_999_999),
+                MINUTE_SINCE,
+                HOUR_SINCE);
+
+        // then
+        assertThat(segments).containsExactly(
+                new RollupSegment(RollupGranularity.MINUTE,
+                        LocalDateTime.of(2026, 10, 14, 10, 30), LocalDateTime.of(2026, 10, 14, 11, 0)),
+                new RollupSegment(RollupGranularity.HOUR,
+                        LocalDateTime.of(2026, 10, 14, 11, 0), LocalDateTime.of(2026, 10, 15, 0, 0)),
+                new RollupSegment(RollupGranularity.DAY,
+                        LocalDateTime.of(2026, 10, 15, 0, 0), LocalDateTime.of(2026, 10, 16, 0, 0)),
+                new RollupSegment(RollupGranularity.HOUR,
+                        LocalDateTime.of(2026, 10, 16, 0, 0), LocalDateTime.of(2026, 10, 16, 12, 0)),
+                new RollupSegment(RollupGranularity.MINUTE,
+                        LocalDateTime.of(2026, 10, 16, 12, 0), LocalDateTime.of(2026, 10, 16, 12, 16)));
+    }
+
+    @Test
+    @DisplayName("시 롤업 보존 기간보다 오래된 기간은 일 경계로 넓혀 일 롤업으로 읽는다")
+    void 오래된_기간은_일_롤업으로_읽는다() {
+        // when
+        List<RollupSegment> segments = RollupSegment.cover(
+                LocalDateTime.of(2026, 1, 5, 10, 30),
+                LocalDateTime.of(2026, 1, 6, 0, 0).with(LocalTime.MAX),
+                MINUTE_SINCE,
+                HOUR_SINCE);
+
+        // then
+        assertThat(segments).containsExactly(new RollupSegment(RollupGranularity.DAY,
+                LocalDateTime.of(2026, 1, 5, 0, 0), LocalDateTime.of(2026, 1, 7, 0, 0)));
+    }
+}
@@ -0,0 +1,289 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RetrievedDocument;
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class RequestLogBatchWriterTest {
+
+    private static final String REQUEST_LOGS = "INSERT INTO request_logs";
+    private static final String RETRIEVED_DOCUMENTS = "INSERT INTO retrieved_documents";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RequestLogSpool spool;
+
+    @Mock
+    private RequestLogRollupWriter rollupWriter;
+
+    @Mock
+    private GatewayMetrics gatewayMetrics;
+
+    private RequestLogWriteProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestLogWriteProperties();
+    }
+
+    @Test
+    @DisplayName("큐에 모인 로그를 batch-size 단위로 INSERT하고 검색 문서도 함께 batch로 저장한다")
+    @SuppressWarnings("unchecked")
+    void 큐에_모인_로그를_batch로_저장한다() {
+        // given
+        properties.setBatchSize(2);
+        RequestLogBatchWriter writer = newWriter();
+        RequestLog withDocuments = newLog();
+        withDocuments.addRetrievedDocuments(List.of(
+                RetrievedDocument.create(withDocuments, "doc-1", 0.9, "content", 12, 1),
+                RetrievedDocument.create(withDocuments, "doc-2", 0.8, "content", 12, 2)));
+        writer.submit(completed(withDocuments));
+        writer.submit(completed(newLog()));
+        writer.submit(completed(newLog()));
+
+        // when
+        int written = writer.flush();
+
+        // then
+        assertThat(written).isEqualTo(3);
+        assertThat(writer.queuedCount()).isZero();
+        ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains(REQUEST_LOGS), rows.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(rows.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+        ArgumentCaptor<Collection<Object>> documents = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains(RETRIEVED_DOCUMENTS), documents.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(documents.getValue()).hasSize(2);
+        verify(gatewayMetrics, times(3)).incrementRequestLogEnqueue("queued");
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차고 spool에도 쓸 수 없으면 기다린 뒤 요청 스레드에서 직접 저장한다")
+    @SuppressWarnings("unchecked")
+    void 큐가_가득_차면_직접_저장한다() {
+        // given
+        properties.setQueueCapacity(1);
+        properties.setEnqueueTimeoutMs(0L);
+        RequestLogBatchWriter writer = newWriter();
+        writer.submit(completed(newLog()));
+
+        // when
+        writer.submit(completed(newLog()));
+
+        // then
+        assertThat(writer.queuedCount()).isEqualTo(1);
+        verify(gatewayMetrics).incrementRequestLogEnqueue("overflow");
+        verify(jdbcTemplate, times(1)).batchUpdate(contains(REQUEST_LOGS), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("batch INSERT가 실패하면 한 건씩 다시 저장하고 실패한 행만 버린다")
+    @SuppressWarnings("unchecked")
+    void batch_실패_시_한_건씩_다시_저장한다() {
+        // given
+        RequestLogBatchWriter writer = newWriter();
+        writer.submit(completed(newLog()));
+        writer.submit(completed(newLog()));
+        when(jdbcTemplate.batchUpdate(contains(REQUEST_LOGS), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("batch"))
+                .thenReturn(new int[][]{{1}})
+                .thenThrow(new DataIntegrityViolationException("poison row"));
+
+        // when
+        int written = writer.flush();
+
+        // then
+        assertThat(written).isEqualTo(1);
+        verify(gatewayMetrics).incrementRequestLogRows("written", 1);
+        verify(gatewayMetrics).incrementRequestLogRows("failed", 1);
+        verify(jdbcTemplate, never()).batchUpdate(contains(RETRIEVED_DOCUMENTS), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 요청 스레드에서 DB에 쓰지 않고 spool에 옮긴다")
+    @SuppressWarnings("unchecked")
+    void 큐가_가득_차면_spool에_옮긴다() {
+        // given
+        properties.setQueueCapacity(1);
+        properties.setEnqueueTimeoutMs(0L);
+        RequestLogBatchWriter writer = newWriter();
+        writer.submit(completed(newLog()));
+        when(spool.append(any())).thenReturn(true);
+
+        // when
+        writer.submit(completed(newLog()));
+
+        // then
+        verify(spool).append(any());
+        verify(gatewayMetrics).incrementRequestLogRows("spooled", 1);
+        verify(jdbcTemplate, never()).batchUpdate(contains(REQUEST_LOGS), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("DB에 연결할 수 없으면 한 건씩 재시도하지 않고 batch 전체를 spool에 옮긴다")
+    @SuppressWarnings("unchecked")
+    void DB_장애_시_batch를_spool에_옮긴다() {
+        // given
+        RequestLogBatchWriter writer = newWriter();
+        writer.submit(completed(newLog()));
+        writer.submit(completed(newLog()));
+        when(jdbcTemplate.batchUpdate(contains(REQUEST_LOGS), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"));
+        when(spool.append(any())).thenReturn(true);
+
+        // when
+        int written = writer.flush();
+
+        // then
+        assertThat(written).isZero();
+        verify(jdbcTemplate, times(1)).batchUpdate(contains(REQUEST_LOGS), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(spool, times(2)).append(any());
+        verify(gatewayMetrics).incrementRequestLogRows("spooled", 2);
+        verify(gatewayMetrics, never()).incrementRequestLogRows(eq("failed"), anyInt());
+    }
+
+    @Test
+    @DisplayName("spool의 로그는 다중 행 멱등 INSERT로 다시 쓰고, 검색 문서는 지운 뒤 다시 넣는다")
+    @SuppressWarnings("unchecked")
+    void spool의_로그를_멱등하게_다시_쓴다() {
+        // given
+        RequestLogBatchWriter writer = newWriter();
+        RequestLog withDocuments = newLog();
+        withDocuments.addRetrievedDocuments(List.of(
+                RetrievedDocument.create(withDocuments, "doc-1", 0.9, "content", 12, 1)));
+        RequestLogSpool.Batch batch = spoolBatch(List.of(completed(withDocuments), completed(newLog())));
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.read(anyInt())).thenReturn(batch, spoolBatch(List.of()));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        // when
+        int replayed = writer.replaySpool();
+
+        // then
+        assertThat(replayed).isEqualTo(2);
+        verify(jdbcTemplate).query(contains("ON CONFLICT (request_id, created_at) DO NOTHING RETURNING request_id"),
+                any(PreparedStatementSetter.class), any(RowMapper.class));
+        ArgumentCaptor<Collection<Object>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("DELETE FROM retrieved_documents"), deleted.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(deleted.getValue()).hasSize(1);
+        verify(spool).acknowledge(batch);
+    }
+
+    @Test
+    @DisplayName("spool에서 다시 쓸 때 이미 저장돼 건너뛴 로그는 롤업에 다시 더하지 않는다")
+    @SuppressWarnings("unchecked")
+    void 이미_저장된_로그는_롤업에_다시_더하지_않는다() {
+        // given
+        RequestLogBatchWriter writer = newWriter();
+        RequestLogRow duplicate = completed(newLog());
+        RequestLogRow fresh = completed(newLog());
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.read(anyInt())).thenReturn(spoolBatch(List.of(duplicate, fresh)), spoolBatch(List.of()));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.query(contains(REQUEST_LOGS), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenReturn(List.of(fresh.requestId()));
+
+        // when
+        writer.replaySpool();
+
+        // then
+        ArgumentCaptor<List<RequestLogRow>> rolledUp = ArgumentCaptor.forClass(List.class);
+        verify(rollupWriter).write(rolledUp.capture());
+        assertThat(rolledUp.getValue()).containsExactly(fresh);
+    }
+
+    @Test
+    @DisplayName("DB가 아직 복구되지 않았으면 spool의 로그를 그대로 두고 다음 주기에 다시 시도한다")
+    @SuppressWarnings("unchecked")
+    void DB가_복구되지_않으면_spool을_그대로_둔다() {
+        // given
+        RequestLogBatchWriter writer = newWriter();
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.read(anyInt())).thenReturn(spoolBatch(List.of(completed(newLog()))));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.query(contains(REQUEST_LOGS), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenThrow(new CannotGetJdbcConnectionException("db down"));
+
+        // when
+        int replayed = writer.replaySpool();
+
+        // then
+        assertThat(replayed).isZero();
+        verify(spool, never()).acknowledge(any());
+    }
+
+    private RequestLogBatchWriter newWriter() {
+        return new RequestLogBatchWriter(jdbcTemplate, new TransactionTemplate(transactionManager), properties, spool,
+                rollupWriter, gatewayMetrics);
+    }
+
+    private static RequestLogSpool.Batch spoolBatch(List<RequestLogRow> rows) {
+        return new RequestLogSpool.Batch(null, 0, rows.size(), rows.size() * 100, 0, rows);
+    }
+
+    private static RequestLogRow completed(RequestLog requestLog) {
+        return RequestLogRow.from(requestLog, LocalDateTime.now());
+    }
+
+    private static RequestLog newLog() {
+        return RequestLog.loggingStart(
+                UUID.randomUUID(),
+                "trace",
+                1L,
+                2L,
+                3L,
+                "prefix",
+                "/v1/chat/completions",
+                "POST",
+                "prompt-key",
+                false,
+                null,
+                "GATEWAY");
+    }
+}
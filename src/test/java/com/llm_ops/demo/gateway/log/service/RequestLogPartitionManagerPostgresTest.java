@@ -0,0 +1,96 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.config.PostgresTestContainer;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RequestLogPartitionManagerPostgresTest {
+
+    // 다른 테스트가 쓰는 파티션과 겹치지 않도록 먼 미래 구간을 씁니다.
+    private static final Instant NOW = Instant.parse("2099-03-15T12:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private RequestLogPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestContainer.dataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE request_logs, retrieved_documents");
+        dropFuturePartitions();
+
+        RequestLogWriteProperties properties = new RequestLogWriteProperties();
+        properties.getPartition().setPremake(0);
+        partitionManager = new RequestLogPartitionManager(
+                jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                properties,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dropFuturePartitions();
+    }
+
+    @Test
+    @DisplayName("default 파티션에 이미 들어간 구간의 로그는 새 파티션으로 옮긴 뒤 파티션을 붙인다")
+    void default_파티션의_로그를_새_파티션으로_옮긴다() {
+        // given
+        UUID requestId = UUID.randomUUID();
+        insertRequestLog(requestId, NOW.atOffset(ZoneOffset.UTC));
+        assertThat(partitionOf(requestId)).isEqualTo("request_logs_p_default");
+
+        // when
+        partitionManager.maintain();
+
+        // then
+        assertThat(partitionOf(requestId)).isEqualTo("request_logs_p20990301");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM request_logs_p_default", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM request_logs WHERE request_id = ?", Long.class, requestId)).isEqualTo(1L);
+    }
+
+    private void insertRequestLog(UUID requestId, OffsetDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO request_logs (
+                    request_id, trace_id, created_at, organization_id, workspace_id,
+                    request_path, http_method, status, prompt_key
+                ) VALUES (?, 'trace', ?, 1, 2, '/v1/chat/completions', 'POST', 'SUCCESS', 'prompt-key')
+                """,
+                requestId, createdAt);
+    }
+
+    private String partitionOf(UUID requestId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM request_logs WHERE request_id = ?", String.class, requestId);
+    }
+
+    private void dropFuturePartitions() {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent IN ('request_logs'::regclass, 'retrieved_documents'::regclass)
+                  AND c.relname LIKE '%\\_p2099%'
+                """, String.class);
+        partitions.forEach(name -> jdbcTemplate.execute("DROP TABLE IF EXISTS \"" + name + "\""));
+    }
+}
@@ -0,0 +1,107 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties.Partition.Interval;
+import com.llm_ops.demo.gateway.log.service.RequestLogPartitionManager.PartitionInfo;
+import com.llm_ops.demo.gateway.log.service.RequestLogPartitionManager.PartitionRange;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RequestLogPartitionManagerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-16T12:00:00Z");
+
+    @Test
+    @DisplayName("파티션이 없으면 현재 달부터 premake개 뒤 달까지 월 단위 파티션을 만든다")
+    void 현재_달부터_premake개월까지_만든다() {
+        // when
+        List<PartitionRange> ranges = RequestLogPartitionManager.plan(null, NOW, Interval.MONTHLY, 2);
+
+        // then
+        assertThat(ranges).containsExactly(
+                new PartitionRange(Instant.parse("2026-10-01T00:00:00Z"), Instant.parse("2026-11-01T00:00:00Z")),
+                new PartitionRange(Instant.parse("2026-11-01T00:00:00Z"), Instant.parse("2026-12-01T00:00:00Z")),
+                new PartitionRange(Instant.parse("2026-12-01T00:00:00Z"), Instant.parse("2027-01-01T00:00:00Z")));
+        assertThat(RequestLogPartitionManager.partitionName("request_logs", ranges.get(0).from()))
+                .isEqualTo("request_logs_p20261001");
+    }
+
+    @Test
+    @DisplayName("마지막 파티션 끝에서 이어 만들고, 단위를 바꾸면 다음 구간 경계까지 맞춘 뒤 새 단위로 만든다")
+    void 마지막_파티션_끝에서_이어_만든다() {
+        // given
+        Instant lastUpperBound = Instant.parse("2026-10-18T00:00:00Z");
+
+        // when
+        List<PartitionRange> daily = RequestLogPartitionManager.plan(lastUpperBound, NOW, Interval.DAILY, 3);
+        List<PartitionRange> monthly = RequestLogPartitionManager.plan(lastUpperBound, NOW, Interval.MONTHLY, 1);
+
+        // then
+        assertThat(daily).extracting(PartitionRange::from).containsExactly(
+                Instant.parse("2026-10-18T00:00:00Z"),
+                Instant.parse("2026-10-19T00:00:00Z"));
+        assertThat(monthly).containsExactly(
+                new PartitionRange(Instant.parse("2026-10-18T00:00:00Z"), Instant.parse("2026-11-01T00:00:00Z")),
+                new PartitionRange(Instant.parse("2026-11-01T00:00:00Z"), Instant.parse("2026-12-01T00:00:00Z")));
+        assertThat(RequestLogPartitionManager.plan(Instant.parse("2027-01-01T00:00:00Z"), NOW, Interval.MONTHLY, 2))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("pg_get_expr 파티션 범위에서 상한을 읽고, default와 MAXVALUE 파티션은 상한 없이 둔다")
+    void 파티션_상한을_읽는다() {
+        // when
+        PartitionInfo legacy = RequestLogPartitionManager.parsePartition("request_logs_p_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00+00')");
+        PartitionInfo defaultPartition = RequestLogPartitionManager.parsePartition("request_logs_p_default", "DEFAULT");
+        PartitionInfo unbounded = RequestLogPartitionManager.parsePartition("request_logs_p_open",
+                "FOR VALUES FROM ('2026-11-01 00:00:00+00') TO (MAXVALUE)");
+
+        // then
+        assertThat(legacy.upperBound()).isEqualTo(Instant.parse("2026-11-01T00:00:00Z"));
+        assertThat(defaultPartition.upperBound()).isNull();
+        assertThat(defaultPartition.unbounded()).isFalse();
+        assertThat(defaultPartition.defaultPartition()).isTrue();
+        assertThat(legacy.defaultPartition()).isFalse();
+        assertThat(unbounded.unbounded()).isTrue();
+        assertThat(unbounded.defaultPartition()).isFalse();
+    }
+
+    @Test
+    @DisplayName("가장 긴 보존 기간이 지난 파티션만 통째로 정리하고, 그보다 짧은 조직은 행 단위로 지운다")
+    void 조직별_보존_기간을_나눠_정리한다() {
+        // given
+        RequestLogWriteProperties.Partition properties = new RequestLogWriteProperties.Partition();
+        properties.setRetentionDays(90);
+        properties.setOrganizationRetentionDays(Map.of(1L, 30, 2L, 365));
+
+        // when
+        Integer dropRetentionDays = RequestLogPartitionManager.dropRetentionDays(properties);
+        Map<Long, Integer> targets = RequestLogPartitionManager.deleteTargets(properties, dropRetentionDays);
+
+        // then
+        assertThat(dropRetentionDays).isEqualTo(365);
+        assertThat(targets).hasSize(2).containsEntry(1L, 30).containsEntry(null, 90);
+    }
+
+    @Test
+    @DisplayName("보존 기간이 없는(0 이하) 조직이 있으면 파티션은 정리하지 않고 나머지 조직만 행 단위로 지운다")
+    void 보존_기간이_없는_조직이_있으면_파티션을_정리하지_않는다() {
+        // given
+        RequestLogWriteProperties.Partition properties = new RequestLogWriteProperties.Partition();
+        properties.setOrganizationRetentionDays(Map.of(1L, 30));
+
+        // when
+        Integer dropRetentionDays = RequestLogPartitionManager.dropRetentionDays(properties);
+        Map<Long, Integer> targets = RequestLogPartitionManager.deleteTargets(properties, dropRetentionDays);
+
+        // then
+        assertThat(dropRetentionDays).isNull();
+        assertThat(targets).containsExactly(Map.entry(1L, 30));
+    }
+}
@@ -5,11 +5,15 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
 import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import com.llm_ops.demo.gateway.log.dto.RequestLogCursorResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogListResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogResponse;
 import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
 import com.llm_ops.demo.gateway.log.repository.RequestLogRepository;
 import com.llm_ops.demo.global.error.BusinessException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -292,6 +296,75 @@ class RequestLogQueryServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("cursor 목록 조회")
+    class ScrollTest {
+
+        @BeforeEach
+        void setUp() {
+            for (int i = 0; i < 3; i++) {
+                requestLogRepository.save(createLog("trace-scroll-success-" + i, WORKSPACE_ID, RequestLogStatus.SUCCESS));
+            }
+            for (int i = 0; i < 2; i++) {
+                requestLogRepository.save(createLog("trace-scroll-fail-" + i, WORKSPACE_ID, RequestLogStatus.FAIL));
+            }
+            requestLogRepository.save(createLog("trace-scroll-other-ws", 999L, RequestLogStatus.SUCCESS));
+        }
+
+        @Test
+        @DisplayName("nextCursor로 이어 읽으면 워크스페이스의 로그를 중복 없이 최신순으로 모두 읽는다")
+        void nextCursor로_이어_읽으면_중복_없이_모두_읽는다() {
+            // given
+            RequestLogSearchCondition condition = RequestLogSearchCondition.empty();
+            List<RequestLogResponse> read = new ArrayList<>();
+
+            // when
+            RequestLogCursorResponse first = requestLogQueryService.scroll(WORKSPACE_ID, condition, null, 2, false);
+            read.addAll(first.content());
+            RequestLogCursorResponse second = requestLogQueryService.scroll(
+                    WORKSPACE_ID, condition, first.nextCursor(), 2, false);
+            read.addAll(second.content());
+            RequestLogCursorResponse third = requestLogQueryService.scroll(
+                    WORKSPACE_ID, condition, second.nextCursor(), 2, false);
+            read.addAll(third.content());
+
+            // then
+            assertThat(first.hasNext()).isTrue();
+            assertThat(second.hasNext()).isTrue();
+            assertThat(third.hasNext()).isFalse();
+            assertThat(third.nextCursor()).isNull();
+            assertThat(read).hasSize(5);
+            assertThat(read).extracting(RequestLogResponse::requestId).doesNotHaveDuplicates();
+            assertThat(read).extracting(RequestLogResponse::createdAt)
+                    .isSortedAccordingTo(Comparator.reverseOrder());
+            assertThat(read).allSatisfy(item -> assertThat(item.requestPayload()).isNull());
+        }
+
+        @Test
+        @DisplayName("검색 조건을 cursor 조회에도 적용한다")
+        void 검색_조건을_cursor_조회에도_적용한다() {
+            // given
+            RequestLogSearchCondition condition = new RequestLogSearchCondition(
+                    null, null, RequestLogStatus.FAIL, null, null, null, null, null, null, null, null);
+
+            // when
+            RequestLogCursorResponse response = requestLogQueryService.scroll(WORKSPACE_ID, condition, null, 20, false);
+
+            // then
+            assertThat(response.content()).hasSize(2);
+            assertThat(response.content()).allMatch(item -> item.status() == RequestLogStatus.FAIL);
+            assertThat(response.hasNext()).isFalse();
+            assertThat(response.approximateTotal()).isNull();
+        }
+
+        @Test
+        @DisplayName("형식이 올바르지 않은 cursor면 예외가 발생한다")
+        void 형식이_올바르지_않은_cursor면_예외가_발생한다() {
+            assertThatThrownBy(() -> requestLogQueryService.scroll(WORKSPACE_ID, null, "not-a-cursor", 20, false))
+                    .isInstanceOf(BusinessException.class);
+        }
+    }
+
     private RequestLog fillProviderInfo(RequestLog log, String provider, String model) {
         log.fillModelUsage(provider, model, model, false, 10, 20, 30, null, null);
         return log;
@@ -0,0 +1,173 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.llm_ops.demo.config.PostgresTestContainer;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.dto.RequestLogSearchCondition;
+import com.llm_ops.demo.gateway.log.dto.projection.OverviewStatsProjection;
+import com.llm_ops.demo.gateway.log.dto.projection.TimeseriesDataProjection;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository;
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RequestLogRollupPostgresTest {
+
+    private static final long ORGANIZATION_ID = 1L;
+    private static final long WORKSPACE_ID = 2L;
+    private static final ZoneId LOG_SEARCH_ZONE = ZoneId.of("Asia/Seoul");
+
+    private JdbcTemplate jdbcTemplate;
+    private RequestLogSpool spool;
+    private RequestLogBatchWriter batchWriter;
+    private RequestLogRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestContainer.dataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE request_logs, retrieved_documents, request_log_rollups");
+
+        RequestLogWriteProperties properties = new RequestLogWriteProperties();
+        properties.setAsyncWriteEnabled(false);
+        spool = mock(RequestLogSpool.class);
+        batchWriter = new RequestLogBatchWriter(
+                jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                properties,
+                spool,
+                new RequestLogRollupWriter(jdbcTemplate, properties),
+                new GatewayMetrics(new SimpleMeterRegistry()));
+        repository = new RequestLogRollupRepository(jdbcTemplate, properties, new MockEnvironment()
+                .withProperty("spring.jpa.properties.hibernate.jdbc.time_zone", LOG_SEARCH_ZONE.getId()));
+    }
+
+    @Test
+    @DisplayName("UTC 자정 직전과 직후에 저장한 로그는 롤업에서 서로 다른 날짜로 집계된다")
+    void UTC_자정_경계의_로그를_날짜별로_집계한다() {
+        // given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDateTime beforeMidnight = today.minusDays(1).atTime(23, 59, 59);
+        LocalDateTime afterMidnight = today.atStartOfDay().plusSeconds(1);
+        batchWriter.submit(success(beforeMidnight, 100, 10));
+        batchWriter.submit(success(afterMidnight, 300, 20));
+        batchWriter.submit(fail(afterMidnight));
+
+        // when
+        List<TimeseriesDataProjection> daily = repository.getTimeseriesDataDaily(
+                ORGANIZATION_ID, WORKSPACE_ID, today.minusDays(1).atStartOfDay(), today.atTime(LocalTime.MAX));
+        OverviewStatsProjection overview = repository.getOverviewStats(
+                ORGANIZATION_ID, WORKSPACE_ID, today.minusDays(1).atStartOfDay(), today.atTime(LocalTime.MAX));
+
+        // then
+        assertThat(daily).extracting(TimeseriesDataProjection::getDate)
+                .containsExactly(today.minusDays(1), today);
+        assertThat(daily).extracting(TimeseriesDataProjection::getRequests).containsExactly(1L, 2L);
+        assertThat(daily).extracting(TimeseriesDataProjection::getErrorCount).containsExactly(0L, 1L);
+        assertThat(overview.getTotalRequests()).isEqualTo(3L);
+        assertThat(overview.getTotalTokens()).isEqualTo(30L);
+        assertThat(overview.getAvgLatencyMs()).isEqualTo(200);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM request_logs WHERE created_at >= ?",
+                Long.class, today.atStartOfDay().atOffset(ZoneOffset.UTC))).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("spool에서 다시 쓴 로그 중 이미 저장된 로그는 롤업에 다시 더하지 않는다")
+    void 이미_저장된_로그는_롤업에_다시_더하지_않는다() {
+        // given
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).withNano(0);
+        RequestLogRow stored = success(now, 100, 10);
+        RequestLogRow spooledOnly = success(now, 200, 20);
+        batchWriter.submit(stored);
+        List<RequestLogRow> replayed = List.of(stored, spooledOnly);
+        when(spool.isEnabled()).thenReturn(true);
+        when(spool.read(anyInt())).thenReturn(
+                new RequestLogSpool.Batch(null, 0, replayed.size(), 0, 0, replayed),
+                new RequestLogSpool.Batch(null, 0, 0, 0, 0, List.of()));
+
+        // when
+        batchWriter.replaySpool();
+
+        // then
+        OverviewStatsProjection overview = repository.getOverviewStats(
+                ORGANIZATION_ID, WORKSPACE_ID, now.minusHours(1), now.plusHours(1));
+        assertThat(overview.getTotalRequests()).isEqualTo(2L);
+        assertThat(overview.getTotalTokens()).isEqualTo(30L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM request_logs", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("로그 목록의 근사 전체 건수는 목록 조회 time zone의 기간을 UTC 롤업 기준으로 바꿔 센다")
+    void 근사_전체_건수는_목록_조회_time_zone_기간으로_센다() {
+        // given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDateTime beforeMidnight = today.minusDays(1).atTime(23, 59, 59);
+        LocalDateTime afterMidnight = today.atStartOfDay().plusSeconds(1);
+        batchWriter.submit(success(beforeMidnight, 100, 10));
+        batchWriter.submit(success(afterMidnight, 300, 20));
+        batchWriter.submit(fail(afterMidnight));
+        LocalDateTime from = today.atStartOfDay().atOffset(ZoneOffset.UTC)
+                .atZoneSameInstant(LOG_SEARCH_ZONE).toLocalDateTime();
+        RequestLogSearchCondition condition = new RequestLogSearchCondition(
+                from, from.plusMinutes(59), null, null, null, null, null, null, null, null, null);
+
+        // when
+        Long estimated = repository.estimateLogCount(WORKSPACE_ID, condition);
+
+        // then
+        assertThat(estimated).isEqualTo(2L);
+    }
+
+    private static RequestLogRow success(LocalDateTime createdAt, int latencyMs, int totalTokens) {
+        RequestLog requestLog = newLog();
+        requestLog.fillModelUsage("openai", "gpt-4o-mini", "gpt-4o-mini", false,
+                totalTokens / 2, totalTokens - totalTokens / 2, totalTokens, new BigDecimal("0.001"), "v1");
+        requestLog.markSuccess(createdAt.plusNanos(latencyMs * 1_000_000L), 200, latencyMs, null, "{}");
+        return RequestLogRow.from(requestLog, createdAt);
+    }
+
+    private static RequestLogRow fail(LocalDateTime createdAt) {
+        RequestLog requestLog = newLog();
+        requestLog.markFail(createdAt, 502, null, "PROVIDER_ERROR", "upstream error", "PROVIDER_ERROR", null);
+        return RequestLogRow.from(requestLog, createdAt);
+    }
+
+    private static RequestLog newLog() {
+        return RequestLog.loggingStart(
+                UUID.randomUUID(),
+                "trace",
+                ORGANIZATION_ID,
+                WORKSPACE_ID,
+                3L,
+                "prefix",
+                "/v1/chat/completions",
+                "POST",
+                "prompt-key",
+                false,
+                null,
+                "GATEWAY");
+    }
+}
@@ -0,0 +1,66 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RollupGranularity;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RequestLogRollupWriterTest {
+
+    @Test
+    @DisplayName("UTC 자정 직전과 직후의 로그는 서로 다른 분/시/일 bucket에 더한다")
+    void UTC_자정_경계의_로그는_다른_bucket에_더한다() {
+        // given
+        RequestLogRow beforeMidnight = row(LocalDateTime.of(2026, 3, 1, 23, 59, 59, 900_000_000));
+        RequestLogRow afterMidnight = row(LocalDateTime.of(2026, 3, 2, 0, 0, 0));
+
+        // when
+        Map<RequestLogRollupWriter.RollupKey, RequestLogRollupWriter.RollupValue> rollups =
+                RequestLogRollupWriter.aggregate(List.of(beforeMidnight, afterMidnight));
+
+        // then
+        assertThat(rollups).hasSize(6);
+        assertThat(bucketStarts(rollups, RollupGranularity.DAY)).containsExactlyInAnyOrder(
+                LocalDateTime.of(2026, 3, 1, 0, 0),
+                LocalDateTime.of(2026, 3, 2, 0, 0));
+        assertThat(bucketStarts(rollups, RollupGranularity.HOUR)).containsExactlyInAnyOrder(
+                LocalDateTime.of(2026, 3, 1, 23, 0),
+                LocalDateTime.of(2026, 3, 2, 0, 0));
+        assertThat(bucketStarts(rollups, RollupGranularity.MINUTE)).containsExactlyInAnyOrder(
+                LocalDateTime.of(2026, 3, 1, 23, 59),
+                LocalDateTime.of(2026, 3, 2, 0, 0));
+        assertThat(rollups.values()).allSatisfy(value -> assertThat(value.requestCount).isEqualTo(1L));
+    }
+
+    private static List<LocalDateTime> bucketStarts(
+            Map<RequestLogRollupWriter.RollupKey, RequestLogRollupWriter.RollupValue> rollups,
+            RollupGranularity granularity) {
+        return rollups.keySet().stream()
+                .filter(key -> key.granularity() == granularity)
+                .map(RequestLogRollupWriter.RollupKey::bucketStart)
+                .toList();
+    }
+
+    private static RequestLogRow row(LocalDateTime createdAt) {
+        RequestLog requestLog = RequestLog.loggingStart(
+                UUID.randomUUID(),
+                "trace",
+                1L,
+                2L,
+                3L,
+                "prefix",
+                "/v1/chat/completions",
+                "POST",
+                "prompt-key",
+                false,
+                null,
+                "GATEWAY");
+        return RequestLogRow.from(requestLog, createdAt);
+    }
+}
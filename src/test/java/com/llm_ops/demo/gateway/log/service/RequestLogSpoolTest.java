@@ -0,0 +1,163 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RetrievedDocument;
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RequestLogSpoolTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private GatewayMetrics gatewayMetrics;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private RequestLogWriteProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestLogWriteProperties();
+        properties.getSpool().setDirectory(directory.toString());
+        properties.getSpool().setSegmentBytes(64 * 1024);
+    }
+
+    @Test
+    @DisplayName("spool에 쓴 로그를 검색 문서까지 그대로 읽고, 반영을 확인하면 spool에서 뺀다")
+    void 쓴_로그를_읽고_확인하면_뺀다() {
+        // given
+        RequestLogSpool spool = newSpool(NOW);
+        RequestLogRow row = newRow(true);
+        spool.append(row);
+        spool.append(newRow(false));
+
+        // when
+        RequestLogSpool.Batch batch = spool.read(10);
+        spool.acknowledge(batch);
+
+        // then
+        assertThat(batch.rows()).hasSize(2);
+        assertThat(batch.rows().get(0)).isEqualTo(row);
+        assertThat(spool.pendingRecords()).isZero();
+        assertThat(spool.pendingBytes()).isZero();
+        assertThat(spool.read(10).isEmpty()).isTrue();
+        verify(gatewayMetrics).incrementRequestLogSpool("replayed", 2);
+    }
+
+    @Test
+    @DisplayName("재시작하면 반영을 확인하지 않은 로그를 다시 읽고, 가장 오래된 로그 기준으로 지연을 계산한다")
+    void 재시작하면_남은_로그를_복구한다() {
+        // given
+        RequestLogSpool before = newSpool(NOW);
+        before.append(newRow(false));
+        before.append(newRow(false));
+        before.acknowledge(before.read(1));
+        before.shutdown();
+
+        // when
+        RequestLogSpool after = newSpool(NOW.plusSeconds(5));
+
+        // then
+        assertThat(after.pendingRecords()).isEqualTo(2);
+        assertThat(after.lagSeconds()).isEqualTo(5.0);
+        assertThat(after.read(10).rows()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트에 쓰고, 다 읽은 세그먼트 파일은 지운다")
+    void 다_읽은_세그먼트는_지운다() throws IOException {
+        // given
+        properties.getSpool().setSegmentBytes(4 * 1024);
+        RequestLogSpool spool = newSpool(NOW);
+        int appended = 0;
+        while (segmentFiles() < 3) {
+            spool.append(newRow(false));
+            appended++;
+        }
+
+        // when
+        int read = 0;
+        RequestLogSpool.Batch batch;
+        while (!(batch = spool.read(100)).isEmpty()) {
+            read += batch.records();
+            spool.acknowledge(batch);
+        }
+
+        // then
+        assertThat(read).isEqualTo(appended);
+        assertThat(segmentFiles()).isEqualTo(1);
+        assertThat(spool.pendingRecords()).isZero();
+    }
+
+    @Test
+    @DisplayName("max-bytes를 넘으면 더 이상 spool에 쓰지 않는다")
+    void 한도를_넘으면_쓰지_않는다() {
+        // given
+        properties.getSpool().setMaxBytes(1);
+        RequestLogSpool spool = newSpool(NOW);
+
+        // when
+        boolean appended = spool.append(newRow(false));
+
+        // then
+        assertThat(appended).isFalse();
+        assertThat(spool.pendingRecords()).isZero();
+        verify(gatewayMetrics).incrementRequestLogSpool("rejected", 1);
+    }
+
+    private RequestLogSpool newSpool(Instant now) {
+        return new RequestLogSpool(properties, objectMapper, gatewayMetrics, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static RequestLogRow newRow(boolean withDocuments) {
+        RequestLog requestLog = RequestLog.loggingStart(
+                UUID.randomUUID(),
+                "trace",
+                1L,
+                2L,
+                3L,
+                "prefix",
+                "/v1/chat/completions",
+                "POST",
+                "prompt-key",
+                withDocuments,
+                null,
+                "GATEWAY");
+        if (withDocuments) {
+            requestLog.addRetrievedDocuments(List.of(
+                    RetrievedDocument.create(requestLog, "doc-1", 0.9, "content", 12, 1)));
+        }
+        return RequestLogRow.from(requestLog, LocalDateTime.of(2026, 1, 1, 9, 0, 0));
+    }
+}
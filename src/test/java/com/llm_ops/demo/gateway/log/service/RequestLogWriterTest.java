@@ -3,7 +3,9 @@ package com.llm_ops.demo.gateway.log.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RequestLogPayload;
 import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import com.llm_ops.demo.gateway.log.repository.RequestLogPayloadRepository;
 import com.llm_ops.demo.gateway.log.repository.RequestLogRepository;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
@@ -27,6 +29,9 @@ class RequestLogWriterTest {
         @Autowired
         private RequestLogRepository requestLogRepository;
 
+        @Autowired
+        private RequestLogPayloadRepository requestLogPayloadRepository;
+
         @AfterEach
         void cleanup() {
                 requestLogRepository.deleteAll();
@@ -95,9 +100,10 @@ class RequestLogWriterTest {
                                 .isEqualTo("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef");
                 assertThat(saved.getRagTopK()).isEqualTo(5);
                 assertThat(saved.getRagSimilarityThreshold()).isEqualTo(0.7);
-                assertThat(saved.getRequestPayload())
+                RequestLogPayload payload = requestLogPayloadRepository.findById(requestId).orElseThrow();
+                assertThat(payload.getRequestPayload())
                                 .isEqualTo("{\"messages\":[{\"role\":\"user\",\"content\":\"hello\"}]}");
-                assertThat(saved.getResponsePayload()).isEqualTo("Hello! I'm an AI assistant.");
+                assertThat(payload.getResponsePayload()).isEqualTo("Hello! I'm an AI assistant.");
                 assertThat(saved.getRequestSource()).isEqualTo("GATEWAY");
         }
 
@@ -162,6 +168,7 @@ class RequestLogWriterTest {
                 assertThat(saved.getRagContextChars()).isEqualTo(0);
                 assertThat(saved.getRagContextTruncated()).isFalse();
                 assertThat(saved.getRagContextHash()).isNull();
-                assertThat(saved.getResponsePayload()).isEqualTo("Error: bad gateway");
+                assertThat(requestLogPayloadRepository.findById(requestId).orElseThrow().getResponsePayload())
+                                .isEqualTo("Error: bad gateway");
         }
 }
@@ -0,0 +1,137 @@
+package com.llm_ops.demo.gateway.log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RequestLogWriterUnitTest {
+
+    @Mock
+    private RequestLogBatchWriter batchWriter;
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private RequestLogWriteProperties properties;
+    private RequestLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestLogWriteProperties();
+        writer = new RequestLogWriter(batchWriter, properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("start는 저장하지 않고, 완료 시 최종 상태와 검색 문서를 담아 한 번만 저장한다")
+    void 완료_시_한_번만_저장한다() {
+        // given
+        UUID requestId = writer.start(startRequest());
+
+        // when
+        writer.markSuccess(requestId, successUpdate(List.of(
+                new RequestLogWriter.RetrievedDocumentInfo("doc", 0.9, "content", 10, 1))));
+        writer.markFail(requestId, null);
+
+        // then
+        ArgumentCaptor<RequestLogRow> captor = ArgumentCaptor.forClass(RequestLogRow.class);
+        verify(batchWriter, times(1)).submit(captor.capture());
+        assertThat(captor.getValue().status()).isEqualTo(RequestLogStatus.SUCCESS.name());
+        assertThat(captor.getValue().documents()).hasSize(1);
+        assertThat(captor.getValue().createdAt())
+                .isCloseTo(LocalDateTime.now(ZoneOffset.UTC), within(5, ChronoUnit.SECONDS));
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("pending-timeout을 넘기도록 끝나지 않은 로그는 IN_PROGRESS로 저장하고 메모리에서 뺀다")
+    void 끝나지_않은_로그는_IN_PROGRESS로_저장한다() {
+        // given
+        properties.setPendingTimeoutMs(1_000L);
+        writer.start(startRequest());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500L));
+        writer.start(startRequest());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600L));
+
+        // when
+        int flushed = writer.flushAbandoned();
+
+        // then
+        assertThat(flushed).isEqualTo(1);
+        assertThat(writer.pendingCount()).isEqualTo(1);
+        ArgumentCaptor<RequestLogRow> captor = ArgumentCaptor.forClass(RequestLogRow.class);
+        verify(batchWriter).submit(captor.capture());
+        assertThat(captor.getValue().status()).isEqualTo(RequestLogStatus.IN_PROGRESS.name());
+    }
+
+    @Test
+    @DisplayName("시작하지 않은 requestId의 완료는 저장하지 않는다")
+    void 시작하지_않은_요청은_저장하지_않는다() {
+        // when
+        writer.markSuccess(UUID.randomUUID(), successUpdate(null));
+
+        // then
+        verify(batchWriter, never()).submit(any());
+    }
+
+    private static RequestLogWriter.StartRequest startRequest() {
+        return new RequestLogWriter.StartRequest(
+                null,
+                "trace",
+                1L,
+                2L,
+                3L,
+                "prefix",
+                "/v1/chat/completions",
+                "POST",
+                "prompt-key",
+                true,
+                null,
+                "GATEWAY");
+    }
+
+    private static RequestLogWriter.SuccessUpdate successUpdate(List<RequestLogWriter.RetrievedDocumentInfo> documents) {
+        return new RequestLogWriter.SuccessUpdate(
+                200,
+                100,
+                10L,
+                20L,
+                "openai",
+                "gpt-4o-mini",
+                "gpt-4o-mini",
+                false,
+                1,
+                2,
+                3,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                "answer",
+                documents);
+    }
+}
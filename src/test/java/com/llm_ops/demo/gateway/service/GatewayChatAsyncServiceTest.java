@@ -0,0 +1,163 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.llm_ops.demo.gateway.config.GatewayReliabilityProperties;
+import com.llm_ops.demo.gateway.config.GatewayTenantLimitProperties;
+import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatResponse;
+import com.llm_ops.demo.global.error.GatewayException;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+class GatewayChatAsyncServiceTest {
+
+    private static final OrganizationApiKeyAuthService.AuthResult AUTH_RESULT =
+            new OrganizationApiKeyAuthService.AuthResult(1L, 2L, "prefix");
+
+    private GatewayChatService gatewayChatService;
+    private ExecutorService pipelineExecutor;
+    private GatewayChatAsyncService service;
+
+    @BeforeEach
+    void setUp() {
+        gatewayChatService = mock(GatewayChatService.class);
+        pipelineExecutor = Executors.newSingleThreadExecutor();
+        service = new GatewayChatAsyncService(
+                gatewayChatService,
+                new GatewayReliabilityProperties(),
+                pipelineExecutor,
+                new GatewayTenantLimiter(new GatewayTenantLimitProperties(), mock(GatewayMetrics.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipelineExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("파이프라인 결과를 DeferredResult로 돌려준다")
+    void 파이프라인_결과를_DeferredResult로_돌려준다() throws Exception {
+        // given
+        GatewayChatRequest request = new GatewayChatRequest(1L, "hello", Map.of(), false);
+        GatewayChatResponse response = new GatewayChatResponse("trace-1", "hi", false, "gpt-4.1-mini", null);
+        when(gatewayChatService.authenticate("api-key")).thenReturn(AUTH_RESULT);
+        when(gatewayChatService.chat(AUTH_RESULT, request)).thenReturn(response);
+
+        // when
+        DeferredResult<ResponseEntity<GatewayChatResponse>> result = service.chat("api-key", request);
+        awaitResult(result);
+
+        // then
+        assertThat(result.getResult()).isInstanceOf(ResponseEntity.class);
+        @SuppressWarnings("unchecked")
+        ResponseEntity<GatewayChatResponse> entity = (ResponseEntity<GatewayChatResponse>) result.getResult();
+        assertThat(entity.getBody()).isEqualTo(response);
+    }
+
+    @Test
+    @DisplayName("파이프라인 예외는 원래 예외로 풀어서 전달한다")
+    void 파이프라인_예외는_원래_예외로_전달한다() throws Exception {
+        // given
+        GatewayChatRequest request = new GatewayChatRequest(1L, "hello", Map.of(), false);
+        GatewayException failure = new GatewayException("GW-UP-UNAVAILABLE", HttpStatus.BAD_GATEWAY, "down", null);
+        when(gatewayChatService.authenticate("api-key")).thenReturn(AUTH_RESULT);
+        when(gatewayChatService.chat(AUTH_RESULT, request)).thenThrow(failure);
+
+        // when
+        DeferredResult<ResponseEntity<GatewayChatResponse>> result = service.chat("api-key", request);
+        awaitResult(result);
+
+        // then
+        assertThat(result.getResult()).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("인증 실패는 비동기 처리 전에 요청 스레드에서 던진다")
+    void 인증_실패는_요청_스레드에서_던진다() {
+        // given
+        GatewayChatRequest request = new GatewayChatRequest(1L, "hello", Map.of(), false);
+        GatewayException unauthorized = new GatewayException("GW-REQ-UNAUTHORIZED", HttpStatus.UNAUTHORIZED, "invalid", null);
+        when(gatewayChatService.authenticate("bad-key")).thenThrow(unauthorized);
+
+        // when & then
+        assertThatThrownBy(() -> service.chat("bad-key", request)).isSameAs(unauthorized);
+        verify(gatewayChatService, never()).chat(any(OrganizationApiKeyAuthService.AuthResult.class), any());
+    }
+
+    @Test
+    @DisplayName("파이프라인 실행기가 가득 차면 요청 스레드에서 실행하지 않고 503으로 거절한다")
+    void 실행기가_가득_차면_503으로_거절한다() {
+        // given
+        GatewayChatRequest request = new GatewayChatRequest(1L, "hello", Map.of(), false);
+        when(gatewayChatService.authenticate("api-key")).thenReturn(AUTH_RESULT);
+        pipelineExecutor.shutdown();
+
+        // when & then
+        assertThatThrownBy(() -> service.chat("api-key", request))
+                .isInstanceOfSatisfying(GatewayException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo("GW-GW-OVERLOADED");
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                });
+        verify(gatewayChatService, never()).chat(any(OrganizationApiKeyAuthService.AuthResult.class), any());
+    }
+
+    @Test
+    @DisplayName("비동기 타임아웃이 나면 504로 응답하고 실행 중인 파이프라인을 인터럽트한다")
+    void 타임아웃이_나면_파이프라인을_취소한다() throws Exception {
+        // given
+        GatewayChatRequest request = new GatewayChatRequest(1L, "hello", Map.of(), false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(gatewayChatService.authenticate("api-key")).thenReturn(AUTH_RESULT);
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        }).when(gatewayChatService).chat(AUTH_RESULT, request);
+        DeferredResult<ResponseEntity<GatewayChatResponse>> result = service.chat("api-key", request);
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        DeferredResultProcessingInterceptor interceptor =
+                ReflectionTestUtils.invokeMethod(result, "getLifecycleInterceptor");
+        interceptor.handleTimeout(null, result);
+
+        // then
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(result.getResult()).isInstanceOfSatisfying(GatewayException.class,
+                e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+    }
+
+    private static void awaitResult(DeferredResult<?> result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
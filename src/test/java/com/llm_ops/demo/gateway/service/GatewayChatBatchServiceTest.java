@@ -0,0 +1,190 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.llm_ops.demo.gateway.config.GatewayBatchProperties;
+import com.llm_ops.demo.gateway.config.GatewayTenantLimitProperties;
+import com.llm_ops.demo.gateway.dto.GatewayChatBatchRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatBatchResponse;
+import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
+import com.llm_ops.demo.gateway.dto.GatewayChatResponse;
+import com.llm_ops.demo.gateway.log.service.RequestLogWriter;
+import com.llm_ops.demo.global.error.BusinessException;
+import com.llm_ops.demo.global.error.GatewayException;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class GatewayChatBatchServiceTest {
+
+    private static final OrganizationApiKeyAuthService.AuthResult AUTH_RESULT =
+            new OrganizationApiKeyAuthService.AuthResult(1L, 2L, "prefix");
+
+    private GatewayChatService gatewayChatService;
+    private RequestLogWriter requestLogWriter;
+    private GatewayBatchProperties properties;
+    private ExecutorService pipelineExecutor;
+    private GatewayChatBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        gatewayChatService = mock(GatewayChatService.class);
+        requestLogWriter = mock(RequestLogWriter.class);
+        properties = new GatewayBatchProperties();
+        pipelineExecutor = Executors.newFixedThreadPool(4);
+        service = new GatewayChatBatchService(
+                gatewayChatService,
+                properties,
+                requestLogWriter,
+                new GatewayTenantLimiter(new GatewayTenantLimitProperties(), mock(GatewayMetrics.class)),
+                pipelineExecutor);
+        when(gatewayChatService.authenticate("api-key")).thenReturn(AUTH_RESULT);
+        when(gatewayChatService.newStartRequest(eq(AUTH_RESULT), any(), eq(GatewayChatBatchService.GATEWAY_BATCH_PATH)))
+                .thenAnswer(invocation -> startRequest(invocation.getArgument(1)));
+        when(gatewayChatService.resolveReleaseSnapshot(anyLong(), anyLong(), anyString()))
+                .thenReturn(snapshot(ProviderType.OPENAI));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipelineExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("항목을 동시에 처리하고 결과를 요청 순서대로 항목별 상태와 함께 돌려준다")
+    void 결과를_요청_순서대로_돌려준다() {
+        // given
+        List<GatewayChatRequest> items = List.of(item("a"), item("b"), item("c"));
+        when(gatewayChatService.chat(eq(AUTH_RESULT), any(GatewayChatRequest.class), any(RequestLogWriter.StartRequest.class)))
+                .thenAnswer(invocation -> {
+                    GatewayChatRequest request = invocation.getArgument(1);
+                    String question = request.variables().get("question");
+                    if ("b".equals(question)) {
+                        throw new GatewayException("GW-UP-TIMEOUT", HttpStatus.GATEWAY_TIMEOUT, "timeout", null);
+                    }
+                    return new GatewayChatResponse("trace-" + question, "answer-" + question, false, "gpt-4o-mini", null);
+                });
+
+        // when
+        GatewayChatBatchResponse response = service.chat("api-key", new GatewayChatBatchRequest(items));
+
+        // then
+        assertThat(response.results()).extracting(GatewayChatBatchResponse.Item::index).containsExactly(0, 1, 2);
+        assertThat(response.results()).extracting(GatewayChatBatchResponse.Item::status)
+                .containsExactly("success", "error", "success");
+        assertThat(response.results().get(0).response().answer()).isEqualTo("answer-a");
+        assertThat(response.results().get(1).httpStatus()).isEqualTo(504);
+        assertThat(response.results().get(1).errorCode()).isEqualTo("GW-UP-TIMEOUT");
+        verify(gatewayChatService, times(1)).authenticate("api-key");
+        verify(gatewayChatService, times(1)).resolveReleaseSnapshot(1L, 10L, "classify");
+        verify(requestLogWriter, times(1)).startAll(anyList());
+    }
+
+    @Test
+    @DisplayName("워크스페이스가 다른 항목이 섞이면 처리 전에 400으로 거절한다")
+    void 워크스페이스가_다르면_거절한다() {
+        // given
+        GatewayChatRequest other = new GatewayChatRequest(11L, "classify", Map.of("question", "x"), false);
+        GatewayChatBatchRequest request = new GatewayChatBatchRequest(List.of(item("a"), other));
+
+        // when & then
+        assertThatThrownBy(() -> service.chat("api-key", request)).isInstanceOf(BusinessException.class);
+        verify(gatewayChatService, never()).authenticate(anyString());
+        verify(requestLogWriter, never()).startAll(anyList());
+    }
+
+    @Test
+    @DisplayName("최대 항목 수를 넘으면 400으로 거절한다")
+    void 최대_항목_수를_넘으면_거절한다() {
+        // given
+        properties.setMaxItems(2);
+        GatewayChatBatchRequest request = new GatewayChatBatchRequest(List.of(item("a"), item("b"), item("c")));
+
+        // when & then
+        assertThatThrownBy(() -> service.chat("api-key", request)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("배치 동시 처리 수를 프로바이더 그룹에 번갈아 배분하고 프로바이더별 한도를 지킨다")
+    void 동시_처리_수를_프로바이더별로_배분한다() {
+        // given
+        properties.setMaxConcurrency(5);
+        properties.setMaxConcurrencyPerProvider(2);
+
+        // when
+        int[] counts = service.allocateWorkers(new int[]{10, 1, 10});
+
+        // then
+        assertThat(counts).containsExactly(2, 1, 2);
+        properties.setMaxConcurrency(3);
+        assertThat(service.allocateWorkers(new int[]{10, 10})).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("모든 배치가 함께 쓰는 처리 자리가 프로바이더 그룹 수보다 적게 남으면 로그를 남기기 전에 503으로 거절한다")
+    void 처리_자리가_부족하면_503으로_거절한다() {
+        // given
+        properties.setMaxWorkers(1);
+        GatewayChatBatchService limited = new GatewayChatBatchService(
+                gatewayChatService,
+                properties,
+                requestLogWriter,
+                new GatewayTenantLimiter(new GatewayTenantLimitProperties(), mock(GatewayMetrics.class)),
+                pipelineExecutor);
+        when(gatewayChatService.resolveReleaseSnapshot(1L, 10L, "translate")).thenReturn(snapshot(ProviderType.ANTHROPIC));
+        GatewayChatRequest other = new GatewayChatRequest(10L, "translate", Map.of("question", "x"), false);
+        GatewayChatBatchRequest request = new GatewayChatBatchRequest(List.of(item("a"), other));
+
+        // when & then
+        assertThatThrownBy(() -> limited.chat("api-key", request))
+                .isInstanceOfSatisfying(GatewayException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo("GW-GW-OVERLOADED");
+                    assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                });
+        verify(requestLogWriter, never()).startAll(anyList());
+    }
+
+    private static GatewayChatRequest item(String question) {
+        return new GatewayChatRequest(10L, "classify", Map.of("question", question), false);
+    }
+
+    private static RequestLogWriter.StartRequest startRequest(GatewayChatRequest request) {
+        return new RequestLogWriter.StartRequest(
+                UUID.randomUUID(),
+                UUID.randomUUID().toString(),
+                AUTH_RESULT.organizationId(),
+                request.workspaceId(),
+                AUTH_RESULT.apiKeyId(),
+                AUTH_RESULT.apiKeyPrefix(),
+                GatewayChatBatchService.GATEWAY_BATCH_PATH,
+                "POST",
+                request.promptKey(),
+                request.isRagEnabled(),
+                null,
+                "GATEWAY");
+    }
+
+    private static PromptReleaseSnapshot snapshot(ProviderType provider) {
+        return new PromptReleaseSnapshot(10L, 100L, 1000L, provider, "gpt-4o-mini", null, null, null, null, null, null);
+    }
+}
@@ -4,7 +4,9 @@ import com.llm_ops.demo.config.TestSecurityConfig;
 import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
 import com.llm_ops.demo.config.TestChatModelState;
 import com.llm_ops.demo.gateway.log.domain.RequestLog;
+import com.llm_ops.demo.gateway.log.domain.RequestLogPayload;
 import com.llm_ops.demo.gateway.log.domain.RequestLogStatus;
+import com.llm_ops.demo.gateway.log.repository.RequestLogPayloadRepository;
 import com.llm_ops.demo.gateway.log.repository.RequestLogRepository;
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
@@ -70,6 +72,9 @@ class GatewayChatServiceTest {
         @Autowired
         private RequestLogRepository requestLogRepository;
 
+        @Autowired
+        private RequestLogPayloadRepository requestLogPayloadRepository;
+
         @Autowired
         private TestChatModelState testChatModelState;
 
@@ -152,15 +157,16 @@ class GatewayChatServiceTest {
                 assertThat(chatResponse.traceId()).isNotBlank();
 
                 RequestLog requestLog = requestLogRepository.findByTraceId(chatResponse.traceId()).orElseThrow();
+                RequestLogPayload payload = requestLogPayloadRepository.findById(requestLog.getRequestId()).orElseThrow();
                 assertThat(requestLog.getStatus()).isEqualTo(RequestLogStatus.SUCCESS);
                 assertThat(requestLog.getHttpStatus()).isEqualTo(200);
                 assertThat(requestLog.getLatencyMs()).isNotNull();
                 assertThat(requestLog.getFinishedAt()).isNotNull();
-                assertThat(requestLog.getRequestPayload()).isNotBlank();
-                assertThat(requestLog.getRequestPayload()).contains("\"workspaceId\":" + workspaceId);
-                assertThat(requestLog.getRequestPayload()).contains("\"promptKey\":\"" + promptKey + "\"");
-                assertThat(requestLog.getRequestPayload()).contains("\"variablesCount\":1");
-                assertThat(requestLog.getRequestPayload()).doesNotContain("lumina");
+                assertThat(payload.getRequestPayload()).isNotBlank();
+                assertThat(payload.getRequestPayload()).contains("\"workspaceId\":" + workspaceId);
+                assertThat(payload.getRequestPayload()).contains("\"promptKey\":\"" + promptKey + "\"");
+                assertThat(payload.getRequestPayload()).contains("\"variablesCount\":1");
+                assertThat(payload.getRequestPayload()).doesNotContain("lumina");
 
                 assertThat(requestLog.getApiKeyId()).isEqualTo(apiKeyEntity.getId());
                 assertThat(requestLog.getApiKeyPrefix()).isEqualTo(apiKeyEntity.getKeyPrefix());
@@ -200,14 +206,15 @@ class GatewayChatServiceTest {
                 List<RequestLog> logs = requestLogRepository.findAll();
                 assertThat(logs).hasSize(1);
                 RequestLog requestLog = logs.get(0);
+                RequestLogPayload payload = requestLogPayloadRepository.findById(requestLog.getRequestId()).orElseThrow();
                 assertThat(requestLog.getStatus()).isEqualTo(RequestLogStatus.FAIL);
                 assertThat(requestLog.getHttpStatus()).isEqualTo(403);
                 assertThat(requestLog.getErrorCode()).isEqualTo("GW-REQ-FORBIDDEN");
                 assertThat(requestLog.getFailReason()).isEqualTo("FORBIDDEN");
-                assertThat(requestLog.getResponsePayload()).isNotBlank();
-                assertThat(requestLog.getResponsePayload()).contains("\"errorCode\":\"GW-REQ-FORBIDDEN\"");
-                assertThat(requestLog.getResponsePayload()).contains("\"type\":\"GATEWAY_FAILURE\"");
-                assertThat(requestLog.getResponsePayload()).doesNotContain("워크스페이스 접근 권한이 없습니다.");
+                assertThat(payload.getResponsePayload()).isNotBlank();
+                assertThat(payload.getResponsePayload()).contains("\"errorCode\":\"GW-REQ-FORBIDDEN\"");
+                assertThat(payload.getResponsePayload()).contains("\"type\":\"GATEWAY_FAILURE\"");
+                assertThat(payload.getResponsePayload()).doesNotContain("워크스페이스 접근 권한이 없습니다.");
                 assertThat(requestLog.getFinishedAt()).isNotNull();
                 assertThat(requestLog.getApiKeyId()).isEqualTo(apiKeyEntity.getId());
                 assertThat(requestLog.getApiKeyPrefix()).isEqualTo(apiKeyEntity.getKeyPrefix());
@@ -239,7 +246,8 @@ class GatewayChatServiceTest {
 
                 // then
                 RequestLog requestLog = requestLogRepository.findByTraceId(chatResponse.traceId()).orElseThrow();
-                assertThat(requestLog.getRequestPayload()).contains("\"question\":\"" + question + "\"");
+                RequestLogPayload payload = requestLogPayloadRepository.findById(requestLog.getRequestId()).orElseThrow();
+                assertThat(payload.getRequestPayload()).contains("\"question\":\"" + question + "\"");
         }
 
         private void activateCredential(Long orgId, ProviderType providerType) {
@@ -1,7 +1,11 @@
 package com.llm_ops.demo.gateway.service;
 
 import com.google.genai.errors.ApiException;
+import com.llm_ops.demo.gateway.config.GatewayAdaptiveLimitProperties;
+import com.llm_ops.demo.gateway.config.GatewayPreflightProperties;
 import com.llm_ops.demo.gateway.config.GatewayReliabilityProperties;
+import com.llm_ops.demo.gateway.config.GatewaySingleFlightProperties;
+import com.llm_ops.demo.gateway.config.PromptSnapshotCacheProperties;
 import com.llm_ops.demo.gateway.dto.GatewayChatRequest;
 import com.llm_ops.demo.gateway.dto.GatewayChatResponse;
 import com.llm_ops.demo.gateway.log.service.RequestLogWriter;
@@ -17,6 +21,7 @@ import com.llm_ops.demo.prompt.domain.PromptStatus;
 import com.llm_ops.demo.prompt.domain.PromptVersion;
 import com.llm_ops.demo.prompt.repository.PromptReleaseRepository;
 import com.llm_ops.demo.prompt.repository.PromptRepository;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
 import com.llm_ops.demo.rag.dto.ChunkDetailResponse;
 import com.llm_ops.demo.rag.config.RagContextProperties;
 import com.llm_ops.demo.rag.service.RagContextBuilder;
@@ -46,6 +51,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Flux;
 
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
@@ -67,10 +73,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 /**
  * GatewayChatService의 순수 단위 테스트입니다.
- * Mockito를 사용하여 의존성을 주입하고, renderPrompt() 메서드의 로직을 검증합니다.
+ * Mockito를 사용하여 의존성을 주입하고, 프롬프트 렌더링 로직을 검증합니다.
  * RAG 검색 서비스가 주입되지 않음을 확인하여 게이트웨이의 독립성을 증명합니다.
  */
 @ExtendWith(MockitoExtension.class)
@@ -124,6 +132,30 @@ class GatewayChatServiceUnitTest {
     @Mock
     private CircuitBreakerRegistry circuitBreakerRegistry;
 
+    @Spy
+    private PromptReleaseSnapshotCache promptReleaseSnapshotCache =
+            new PromptReleaseSnapshotCache(new PromptSnapshotCacheProperties());
+
+    @Mock
+    private GatewayResponseCache gatewayResponseCache;
+
+    @Spy
+    private GatewayPreflightService gatewayPreflightService = new GatewayPreflightService(
+            new PromptTokenEstimator(new GatewayPreflightProperties()),
+            new RagContextBuilder(new RagContextProperties()),
+            new GatewayPreflightProperties(),
+            mock(GatewayMetrics.class));
+
+    @Mock
+    private GatewayTenantLimiter gatewayTenantLimiter;
+
+    @Spy
+    private ProviderConcurrencyLimiter providerConcurrencyLimiter =
+            new ProviderConcurrencyLimiter(new GatewayAdaptiveLimitProperties(), mock(GatewayMetrics.class));
+
+    @Spy
+    private GatewaySingleFlight gatewaySingleFlight = new GatewaySingleFlight(new GatewaySingleFlightProperties());
+
     @InjectMocks
     private GatewayChatService gatewayChatService;
 
@@ -331,7 +363,7 @@ class GatewayChatServiceUnitTest {
                     .thenReturn(new ProviderCredentialService.ResolvedProviderApiKey(10L, ProviderType.OPENAI, "provider-key"));
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
 
             ChatResponseMetadata metadata = ChatResponseMetadata.builder()
                     .withModel("gpt-4o-mini")
@@ -457,8 +489,8 @@ class GatewayChatServiceUnitTest {
 
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(11L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
 
             CircuitBreaker openAiCircuitBreaker = CircuitBreaker.ofDefaults("openai");
             openAiCircuitBreaker.transitionToOpenState();
@@ -530,7 +562,7 @@ class GatewayChatServiceUnitTest {
                     .thenReturn(new ProviderCredentialService.ResolvedProviderApiKey(10L, ProviderType.OPENAI, "provider-key"));
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
 
             HttpClientErrorException tooManyRequests = HttpClientErrorException.create(
                     HttpStatusCode.valueOf(429),
@@ -608,8 +640,8 @@ class GatewayChatServiceUnitTest {
                     );
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(11L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
 
             HttpServerErrorException upstream503 = HttpServerErrorException.create(
                     HttpStatusCode.valueOf(503),
@@ -688,8 +720,8 @@ class GatewayChatServiceUnitTest {
                     );
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(11L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
 
             HttpServerErrorException upstream503 = HttpServerErrorException.create(
                     HttpStatusCode.valueOf(503),
@@ -720,7 +752,7 @@ class GatewayChatServiceUnitTest {
         }
 
         @Test
-        @DisplayName("Primary 시도 시간이 길어 time-budget timeout이면 secondary로 전환한다")
+        @DisplayName("Primary 시도 시간이 길어 time-budget timeout이면 secondary로 전환하고, timeout을 동시 호출 한도 감소로 반영한다")
         void primary_시도시간이_길어_timeout이면_secondary로_failover한다() {
             // given
             gatewayReliabilityProperties.setRequestTimeoutMs(500);
@@ -767,8 +799,8 @@ class GatewayChatServiceUnitTest {
                     );
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(11L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
 
             ChatResponseMetadata metadata = ChatResponseMetadata.builder()
                     .withModel("gpt-4o-mini")
@@ -792,6 +824,8 @@ class GatewayChatServiceUnitTest {
             assertThat(response).isNotNull();
             assertThat(response.isFailover()).isTrue();
             verify(llmCallService, times(2)).callProvider(any(), anyString(), any(), anyString(), any());
+            assertThat(providerConcurrencyLimiter.currentLimit(ProviderType.OPENAI, "gpt-4o-mini"))
+                    .isLessThan(new GatewayAdaptiveLimitProperties().resolvedInitialLimit());
         }
 
         @Test
@@ -839,7 +873,7 @@ class GatewayChatServiceUnitTest {
                     .thenReturn(new ProviderCredentialService.ResolvedProviderApiKey(10L, ProviderType.OPENAI, "provider-key"));
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
 
             GatewayChatRequest request = new GatewayChatRequest(workspaceId, "hello", Map.of(), false);
 
@@ -900,8 +934,8 @@ class GatewayChatServiceUnitTest {
                     );
             when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
             when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(10L))).thenReturn(BudgetDecision.allow());
-            when(budgetGuardrailService.evaluateProviderCredential(eq(11L))).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
 
             HttpClientErrorException tooManyRequests = HttpClientErrorException.create(
                     HttpStatusCode.valueOf(429),
@@ -931,6 +965,173 @@ class GatewayChatServiceUnitTest {
             assertThat(update.failReason()).contains("ALL_FAILED");
         }
 
+        @Test
+        @DisplayName("hedgeDelayMs 안에 primary가 응답하지 않으면 secondary를 병렬 호출하고 먼저 성공한 응답을 사용한다")
+        void primary가_지연되면_hedge로_secondary_응답을_사용한다() {
+            // given
+            String apiKey = "lum_test";
+            Long organizationId = 1L;
+            Long workspaceId = 1L;
+            UUID requestId = UUID.randomUUID();
+
+            OrganizationApiKeyAuthService.AuthResult authResult =
+                    new OrganizationApiKeyAuthService.AuthResult(organizationId, 99L, "lum_test");
+            when(organizationApiKeyAuthService.resolveAuthResult(apiKey)).thenReturn(authResult);
+            when(requestLogWriter.start(any())).thenReturn(requestId);
+
+            Workspace workspace = org.mockito.Mockito.mock(Workspace.class);
+            when(workspace.getId()).thenReturn(workspaceId);
+            when(workspaceRepository.findByIdAndOrganizationIdAndStatus(workspaceId, organizationId, WorkspaceStatus.ACTIVE))
+                    .thenReturn(Optional.of(workspace));
+
+            com.llm_ops.demo.prompt.domain.Prompt promptEntity = org.mockito.Mockito.mock(com.llm_ops.demo.prompt.domain.Prompt.class);
+            when(promptEntity.getId()).thenReturn(100L);
+            when(promptRepository.findByWorkspaceAndPromptKeyAndStatus(eq(workspace), eq("hello"), eq(PromptStatus.ACTIVE)))
+                    .thenReturn(Optional.of(promptEntity));
+
+            PromptVersion activeVersion = org.mockito.Mockito.mock(PromptVersion.class);
+            when(activeVersion.getUserTemplate()).thenReturn("hello");
+            when(activeVersion.getSystemPrompt()).thenReturn(null);
+            when(activeVersion.getProvider()).thenReturn(ProviderType.OPENAI);
+            when(activeVersion.getModel()).thenReturn("gpt-4o-mini");
+            when(activeVersion.getSecondaryProvider()).thenReturn(ProviderType.OPENAI);
+            when(activeVersion.getSecondaryModel()).thenReturn("gpt-4.1-mini");
+            when(activeVersion.getModelConfig()).thenReturn(Map.of("hedgeDelayMs", 100));
+
+            PromptRelease release = org.mockito.Mockito.mock(PromptRelease.class);
+            when(release.getActiveVersion()).thenReturn(activeVersion);
+            when(promptReleaseRepository.findWithActiveVersionByPromptId(100L)).thenReturn(Optional.of(release));
+
+            when(providerCredentialService.resolveApiKey(eq(organizationId), eq(ProviderType.OPENAI)))
+                    .thenReturn(
+                            new ProviderCredentialService.ResolvedProviderApiKey(10L, ProviderType.OPENAI, "provider-key"),
+                            new ProviderCredentialService.ResolvedProviderApiKey(11L, ProviderType.OPENAI, "provider-key-2")
+                    );
+            when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
+            when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
+
+            ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                    .withModel("gpt-4.1-mini")
+                    .withUsage(new DefaultUsage(null, null, 10L))
+                    .build();
+            ChatResponse secondaryResponse = new ChatResponse(List.of(new Generation(new AssistantMessage("fast"))), metadata);
+
+            when(llmCallService.callProvider(any(), eq("gpt-4o-mini"), any(), anyString(), any()))
+                    .thenAnswer(invocation -> {
+                        Thread.sleep(2_000L);
+                        return secondaryResponse;
+                    });
+            when(llmCallService.callProvider(any(), eq("gpt-4.1-mini"), any(), anyString(), any()))
+                    .thenReturn(secondaryResponse);
+
+            GatewayChatRequest request = new GatewayChatRequest(workspaceId, "hello", Map.of(), false);
+
+            // when
+            long startedAt = System.nanoTime();
+            GatewayChatResponse response = gatewayChatService.chat(apiKey, request);
+            long elapsedMs = java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            // then
+            assertThat(response.answer()).isEqualTo("fast");
+            assertThat(response.isFailover()).isTrue();
+            assertThat(elapsedMs).isLessThan(2_000L);
+
+            ArgumentCaptor<RequestLogWriter.SuccessUpdate> captor = ArgumentCaptor.forClass(RequestLogWriter.SuccessUpdate.class);
+            verify(requestLogWriter).markSuccess(eq(requestId), captor.capture());
+            RequestLogWriter.SuccessUpdate update = captor.getValue();
+            assertThat(update.failReason()).isEqualTo("HEDGE_SECONDARY_FASTER");
+            assertThat(update.requestedModel()).isEqualTo("gpt-4.1-mini");
+            assertThat(update.hedge().delayMs()).isEqualTo(100);
+            assertThat(update.hedge().winner()).isEqualTo("secondary");
+            // 지연된 primary는 호출 중에 취소되므로 출력 토큰 없이 추정 입력 토큰만 기록합니다.
+            assertThat(update.hedge().loserStatus()).isEqualTo("cancelled");
+            assertThat(update.hedge().loserInputTokens()).isPositive();
+            assertThat(update.hedge().loserOutputTokens()).isNull();
+            verify(gatewayMetrics).incrementHedge("fired");
+            verify(gatewayMetrics).incrementHedge("secondary_won");
+        }
+
+        @Test
+        @DisplayName("hedging 대기 전에 primary가 503으로 실패하면 1회 재시도한 뒤 secondary로 전환한다")
+        void hedge_전에_primary가_실패하면_재시도_후_failover한다() {
+            // given
+            String apiKey = "lum_test";
+            Long organizationId = 1L;
+            Long workspaceId = 1L;
+            UUID requestId = UUID.randomUUID();
+
+            OrganizationApiKeyAuthService.AuthResult authResult =
+                    new OrganizationApiKeyAuthService.AuthResult(organizationId, 99L, "lum_test");
+            when(organizationApiKeyAuthService.resolveAuthResult(apiKey)).thenReturn(authResult);
+            when(requestLogWriter.start(any())).thenReturn(requestId);
+
+            Workspace workspace = org.mockito.Mockito.mock(Workspace.class);
+            when(workspace.getId()).thenReturn(workspaceId);
+            when(workspaceRepository.findByIdAndOrganizationIdAndStatus(workspaceId, organizationId, WorkspaceStatus.ACTIVE))
+                    .thenReturn(Optional.of(workspace));
+
+            com.llm_ops.demo.prompt.domain.Prompt promptEntity = org.mockito.Mockito.mock(com.llm_ops.demo.prompt.domain.Prompt.class);
+            when(promptEntity.getId()).thenReturn(100L);
+            when(promptRepository.findByWorkspaceAndPromptKeyAndStatus(eq(workspace), eq("hello"), eq(PromptStatus.ACTIVE)))
+                    .thenReturn(Optional.of(promptEntity));
+
+            PromptVersion activeVersion = org.mockito.Mockito.mock(PromptVersion.class);
+            when(activeVersion.getUserTemplate()).thenReturn("hello");
+            when(activeVersion.getSystemPrompt()).thenReturn(null);
+            when(activeVersion.getProvider()).thenReturn(ProviderType.OPENAI);
+            when(activeVersion.getModel()).thenReturn("gpt-4o-mini");
+            when(activeVersion.getSecondaryProvider()).thenReturn(ProviderType.OPENAI);
+            when(activeVersion.getSecondaryModel()).thenReturn("gpt-4.1-mini");
+            when(activeVersion.getModelConfig()).thenReturn(Map.of("hedgeDelayMs", 1_000));
+
+            PromptRelease release = org.mockito.Mockito.mock(PromptRelease.class);
+            when(release.getActiveVersion()).thenReturn(activeVersion);
+            when(promptReleaseRepository.findWithActiveVersionByPromptId(100L)).thenReturn(Optional.of(release));
+
+            when(providerCredentialService.resolveApiKey(eq(organizationId), eq(ProviderType.OPENAI)))
+                    .thenReturn(
+                            new ProviderCredentialService.ResolvedProviderApiKey(10L, ProviderType.OPENAI, "provider-key"),
+                            new ProviderCredentialService.ResolvedProviderApiKey(11L, ProviderType.OPENAI, "provider-key-2")
+                    );
+            when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
+            when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
+
+            HttpServerErrorException upstream503 = HttpServerErrorException.create(
+                    HttpStatusCode.valueOf(503),
+                    "Service Unavailable",
+                    HttpHeaders.EMPTY,
+                    new byte[0],
+                    StandardCharsets.UTF_8
+            );
+            ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                    .withModel("gpt-4.1-mini")
+                    .withUsage(new DefaultUsage(null, null, 10L))
+                    .build();
+            ChatResponse secondaryResponse = new ChatResponse(List.of(new Generation(new AssistantMessage("ok"))), metadata);
+
+            when(llmCallService.callProvider(any(), eq("gpt-4o-mini"), any(), anyString(), any()))
+                    .thenThrow(upstream503)
+                    .thenThrow(upstream503);
+            when(llmCallService.callProvider(any(), eq("gpt-4.1-mini"), any(), anyString(), any()))
+                    .thenReturn(secondaryResponse);
+
+            GatewayChatRequest request = new GatewayChatRequest(workspaceId, "hello", Map.of(), false);
+
+            // when
+            GatewayChatResponse response = gatewayChatService.chat(apiKey, request);
+
+            // then
+            assertThat(response.answer()).isEqualTo("ok");
+            assertThat(response.isFailover()).isTrue();
+            verify(llmCallService, times(2)).callProvider(any(), eq("gpt-4o-mini"), any(), anyString(), any());
+            verify(llmCallService, times(1)).callProvider(any(), eq("gpt-4.1-mini"), any(), anyString(), any());
+            verify(gatewayMetrics, never()).incrementHedge("fired");
+        }
+
         private boolean invokeIsRetryableException(Exception exception) throws Exception {
             Method method = GatewayChatService.class.getDeclaredMethod("isRetryableException", Exception.class);
             method.setAccessible(true);
@@ -938,6 +1139,95 @@ class GatewayChatServiceUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("스트리밍 모드 테스트")
+    class StreamingTest {
+
+        @Test
+        @DisplayName("첫 토큰 전 primary 스트림이 실패하면 secondary로 failover하고, 청크를 중계하며 TTFT를 기록한다")
+        void 첫_토큰_전_실패시_failover_후_청크를_중계한다() {
+            // given
+            Long organizationId = 1L;
+            Long workspaceId = 1L;
+            UUID requestId = UUID.randomUUID();
+            OrganizationApiKeyAuthService.AuthResult authResult =
+                    new OrganizationApiKeyAuthService.AuthResult(organizationId, 99L, "lum_test");
+            when(requestLogWriter.start(any())).thenReturn(requestId);
+
+            Workspace workspace = org.mockito.Mockito.mock(Workspace.class);
+            when(workspace.getId()).thenReturn(workspaceId);
+            when(workspaceRepository.findByIdAndOrganizationIdAndStatus(workspaceId, organizationId, WorkspaceStatus.ACTIVE))
+                    .thenReturn(Optional.of(workspace));
+
+            com.llm_ops.demo.prompt.domain.Prompt promptEntity = org.mockito.Mockito.mock(com.llm_ops.demo.prompt.domain.Prompt.class);
+            when(promptEntity.getId()).thenReturn(100L);
+            when(promptRepository.findByWorkspaceAndPromptKeyAndStatus(eq(workspace), eq("hello"), eq(PromptStatus.ACTIVE)))
+                    .thenReturn(Optional.of(promptEntity));
+
+            PromptVersion activeVersion = org.mockito.Mockito.mock(PromptVersion.class);
+            when(activeVersion.getUserTemplate()).thenReturn("hello");
+            when(activeVersion.getSystemPrompt()).thenReturn(null);
+            when(activeVersion.getProvider()).thenReturn(ProviderType.OPENAI);
+            when(activeVersion.getModel()).thenReturn("gpt-4o-mini");
+            when(activeVersion.getSecondaryProvider()).thenReturn(ProviderType.ANTHROPIC);
+            when(activeVersion.getSecondaryModel()).thenReturn("claude-3-5-haiku");
+
+            PromptRelease release = org.mockito.Mockito.mock(PromptRelease.class);
+            when(release.getActiveVersion()).thenReturn(activeVersion);
+            when(promptReleaseRepository.findWithActiveVersionByPromptId(100L)).thenReturn(Optional.of(release));
+
+            ProviderCredentialService.ResolvedProviderApiKey openAiKey =
+                    new ProviderCredentialService.ResolvedProviderApiKey(10L, ProviderType.OPENAI, "provider-key-openai");
+            ProviderCredentialService.ResolvedProviderApiKey anthropicKey =
+                    new ProviderCredentialService.ResolvedProviderApiKey(11L, ProviderType.ANTHROPIC, "provider-key-anthropic");
+            when(providerCredentialService.resolveApiKey(eq(organizationId), eq(ProviderType.OPENAI))).thenReturn(openAiKey);
+            when(providerCredentialService.resolveApiKey(eq(organizationId), eq(ProviderType.ANTHROPIC))).thenReturn(anthropicKey);
+
+            when(budgetUsageService.currentUtcYearMonth()).thenReturn(YearMonth.of(2026, 2));
+            when(budgetGuardrailService.evaluateWorkspaceDegrade(eq(workspaceId), anyString())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(10L), any())).thenReturn(BudgetDecision.allow());
+            when(budgetGuardrailService.evaluateProviderCredential(eq(11L), any())).thenReturn(BudgetDecision.allow());
+
+            HttpClientErrorException tooManyRequests = HttpClientErrorException.create(
+                    HttpStatusCode.valueOf(429),
+                    "Too Many Requests",
+                    HttpHeaders.EMPTY,
+                    new byte[0],
+                    StandardCharsets.UTF_8
+            );
+            when(llmCallService.streamProvider(eq(openAiKey), anyString(), any(), anyString(), any()))
+                    .thenReturn(Flux.error(tooManyRequests));
+            ChatResponse firstChunk = new ChatResponse(List.of(new Generation(new AssistantMessage("안녕"))));
+            ChatResponse lastChunk = new ChatResponse(
+                    List.of(new Generation(new AssistantMessage("하세요"))),
+                    ChatResponseMetadata.builder()
+                            .withModel("claude-3-5-haiku")
+                            .withUsage(new DefaultUsage(5L, 7L))
+                            .build());
+            when(llmCallService.streamProvider(eq(anthropicKey), anyString(), any(), anyString(), any()))
+                    .thenReturn(Flux.just(firstChunk, lastChunk));
+
+            List<String> deltas = new java.util.ArrayList<>();
+            GatewayChatRequest request = new GatewayChatRequest(workspaceId, "hello", Map.of(), false, true);
+
+            // when
+            GatewayChatResponse response = gatewayChatService.chatStream(authResult, request, deltas::add);
+
+            // then
+            assertThat(deltas).containsExactly("안녕", "하세요");
+            assertThat(response.answer()).isEqualTo("안녕하세요");
+            assertThat(response.isFailover()).isTrue();
+            assertThat(response.usedModel()).isEqualTo("claude-3-5-haiku");
+            assertThat(response.usage().totalTokens()).isEqualTo(12L);
+
+            ArgumentCaptor<RequestLogWriter.SuccessUpdate> captor = ArgumentCaptor.forClass(RequestLogWriter.SuccessUpdate.class);
+            verify(requestLogWriter).markSuccess(eq(requestId), captor.capture());
+            assertThat(captor.getValue().ttftMs()).isNotNull();
+            assertThat(captor.getValue().outputTokens()).isEqualTo(7);
+            verify(llmCallService, org.mockito.Mockito.never()).callProvider(any(), anyString(), any(), anyString(), any());
+        }
+    }
+
     @Test
     @DisplayName("RAG 통합 테스트: GatewayChatService는 RagSearchService를 선택적으로 주입받는다")
     void RAG_통합_테스트() {
@@ -981,15 +1271,9 @@ class GatewayChatServiceUnitTest {
     }
 
     /**
-     * renderPrompt 메서드는 private이므로 리플렉션을 통해 호출합니다.
+     * 게이트웨이는 릴리즈 스냅샷에 컴파일해 둔 {@link PromptTemplate}으로 프롬프트를 렌더링합니다.
      */
-    private String invokeRenderPrompt(String promptKey, Map<String, String> variables) throws Exception {
-        Method renderPromptMethod = GatewayChatService.class.getDeclaredMethod(
-                "renderPrompt",
-                String.class,
-                Map.class
-        );
-        renderPromptMethod.setAccessible(true);
-        return (String) renderPromptMethod.invoke(gatewayChatService, promptKey, variables);
+    private String invokeRenderPrompt(String promptKey, Map<String, String> variables) {
+        return PromptTemplate.compile(promptKey).render(variables);
     }
 }
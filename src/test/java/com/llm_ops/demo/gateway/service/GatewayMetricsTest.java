@@ -0,0 +1,84 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.config.GatewayMetricsProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GatewayMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private GatewayMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        GatewayMetricsProperties properties = new GatewayMetricsProperties();
+        properties.setMaxModelsPerProvider(2);
+        metrics = new GatewayMetrics(registry, properties);
+    }
+
+    @Test
+    @DisplayName("같은 태그 조합은 한 번 등록한 timer에 누적하고 기존 태그 이름과 값을 유지한다")
+    void 같은_태그_조합은_같은_timer에_누적한다() {
+        // when
+        metrics.recordRequest(ProviderType.OPENAI, "gpt-4o", true, false, GatewayMetrics.Outcome.SUCCESS, 1_000_000L);
+        metrics.recordRequest(ProviderType.OPENAI, "gpt-4o", true, false, GatewayMetrics.Outcome.SUCCESS, 3_000_000L);
+        metrics.recordRequest(ProviderType.OPENAI, "gpt-4o", true, false, GatewayMetrics.Outcome.ERROR, 1_000_000L);
+        metrics.recordRequest(null, null, false, true, GatewayMetrics.Outcome.ERROR, 1_000_000L);
+
+        // then
+        Timer success = registry.get("gateway_request_seconds")
+                .tags("provider", "openai", "model", "gpt-4o", "is_rag", "true", "is_failover", "false", "status", "success")
+                .timer();
+        assertThat(success.count()).isEqualTo(2L);
+        assertThat(registry.get("gateway_request_seconds").tag("status", "error").timers()).hasSize(2);
+        assertThat(registry.get("gateway_request_seconds")
+                .tags("provider", "unknown", "model", "unknown", "is_failover", "true")
+                .timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("provider별 모델 수가 한도를 넘으면 새 모델은 model=other로 합친다")
+    void 모델_수_한도를_넘으면_other로_합친다() {
+        // when
+        metrics.incrementLlmSuccess(ProviderType.OPENAI, "m1");
+        metrics.incrementLlmSuccess(ProviderType.OPENAI, "m2");
+        metrics.incrementLlmSuccess(ProviderType.OPENAI, "m3");
+        metrics.incrementLlmSuccess(ProviderType.OPENAI, "m4");
+        metrics.incrementLlmSuccess(ProviderType.OPENAI, "m1");
+        metrics.incrementLlmSuccess(ProviderType.GEMINI, "g1");
+
+        // then
+        assertThat(registry.get("gateway_llm_success_total").tags("provider", "openai", "model", "m1").counter().count())
+                .isEqualTo(2.0d);
+        assertThat(registry.get("gateway_llm_success_total").tags("provider", "openai", "model", "other").counter().count())
+                .isEqualTo(2.0d);
+        assertThat(registry.find("gateway_llm_success_total").tag("model", "m3").counter()).isNull();
+        assertThat(registry.get("gateway_llm_success_total").tags("provider", "gemini", "model", "g1").counter().count())
+                .isEqualTo(1.0d);
+    }
+
+    @Test
+    @DisplayName("failover와 성공 호출 지연은 provider enum으로 기록하고 p95는 provider별로 계산한다")
+    void failover와_provider별_p95를_기록한다() {
+        // when
+        metrics.incrementFailover(ProviderType.OPENAI, ProviderType.ANTHROPIC);
+        metrics.incrementFailover(ProviderType.OPENAI, ProviderType.ANTHROPIC);
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordLlmCall(ProviderType.ANTHROPIC, "claude", false, false, GatewayMetrics.Outcome.SUCCESS, i * 1_000_000L);
+        }
+        metrics.recordLlmCall(ProviderType.OPENAI, "gpt-4o", false, false, GatewayMetrics.Outcome.ERROR, 1_000_000L);
+
+        // then
+        assertThat(registry.get("gateway_failover_total")
+                .tags("from_provider", "openai", "to_provider", "anthropic")
+                .counter().count()).isEqualTo(2.0d);
+        assertThat(metrics.providerLatencyP95Ms(ProviderType.ANTHROPIC)).hasValueSatisfying(p95 -> assertThat(p95).isBetween(90L, 100L));
+        assertThat(metrics.providerLatencyP95Ms(ProviderType.OPENAI)).isEmpty();
+    }
+}
@@ -0,0 +1,135 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayPreflightProperties;
+import com.llm_ops.demo.global.error.BusinessException;
+import com.llm_ops.demo.global.error.ErrorCode;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+import com.llm_ops.demo.rag.config.RagContextProperties;
+import com.llm_ops.demo.rag.dto.ChunkDetailResponse;
+import com.llm_ops.demo.rag.service.RagContextBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GatewayPreflightServiceTest {
+
+    private static final int MAX_CONTEXT_CHARS = 100_000;
+    private static final PromptTemplate USER_TEMPLATE = PromptTemplate.compile("질문: {{question}}");
+
+    @Mock
+    private GatewayMetrics gatewayMetrics;
+
+    private GatewayPreflightProperties properties;
+    private RagContextBuilder ragContextBuilder;
+    private PromptTokenEstimator promptTokenEstimator;
+    private GatewayPreflightService gatewayPreflightService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayPreflightProperties();
+        ragContextBuilder = new RagContextBuilder(new RagContextProperties());
+        promptTokenEstimator = new PromptTokenEstimator(properties);
+        gatewayPreflightService = new GatewayPreflightService(promptTokenEstimator, ragContextBuilder, properties, gatewayMetrics);
+    }
+
+    @Test
+    @DisplayName("윈도우 안에 들어오면 RAG 컨텍스트를 그대로 두고 추정 토큰과 예상 비용을 돌려준다")
+    void 윈도우_안이면_그대로_통과한다() {
+        // given
+        List<ChunkDetailResponse> chunks = List.of(new ChunkDetailResponse("서울의 오늘 날씨는 맑음입니다.", 0.95, 10L, "weather.txt"));
+        RagContextBuilder.RagContextResult ragContext = ragContextBuilder.build(chunks, 5, MAX_CONTEXT_CHARS);
+
+        // when
+        GatewayPreflightService.PreflightResult result = gatewayPreflightService.evaluate(
+                1L, "gpt-4o-mini", USER_TEMPLATE, null, Map.of("question", "날씨 어때?"), 256, ragContext, chunks, MAX_CONTEXT_CHARS);
+
+        // then
+        assertThat(result.ragContext()).isSameAs(ragContext);
+        assertThat(result.ragTrimmed()).isFalse();
+        assertThat(result.promptTokens()).isPositive();
+        assertThat(result.outputTokens()).isEqualTo(256);
+        assertThat(result.projectedCost("gpt-4o-mini")).isPositive();
+    }
+
+    @Test
+    @DisplayName("윈도우를 넘으면 뒤쪽 RAG 청크부터 빼서 맞춘다")
+    void 윈도우를_넘으면_RAG_청크를_줄인다() {
+        // given
+        List<ChunkDetailResponse> chunks = largeChunks(3);
+        RagContextBuilder.RagContextResult ragContext = ragContextBuilder.build(chunks, 5, MAX_CONTEXT_CHARS);
+
+        // when
+        GatewayPreflightService.PreflightResult result = gatewayPreflightService.evaluate(
+                1L, "gpt-4", USER_TEMPLATE, null, Map.of("question", "요약해줘"), null, ragContext, chunks, MAX_CONTEXT_CHARS);
+
+        // then
+        assertThat(result.ragTrimmed()).isTrue();
+        assertThat(result.ragContext()).isNotNull();
+        assertThat(result.ragContext().chunksIncluded()).isEqualTo(2);
+        assertThat(result.promptTokens() + result.outputTokens()).isLessThanOrEqualTo(8_192);
+        verify(gatewayMetrics).incrementPreflight("rag_trimmed");
+    }
+
+    @Test
+    @DisplayName("REJECT 설정이면 RAG를 줄이지 않고 CONTEXT_WINDOW_EXCEEDED로 거절한다")
+    void REJECT_설정이면_거절한다() {
+        // given
+        properties.setOverflowAction(GatewayPreflightProperties.OverflowAction.REJECT);
+        List<ChunkDetailResponse> chunks = largeChunks(3);
+        RagContextBuilder.RagContextResult ragContext = ragContextBuilder.build(chunks, 5, MAX_CONTEXT_CHARS);
+
+        // when & then
+        assertThatThrownBy(() -> gatewayPreflightService.evaluate(
+                1L, "gpt-4", USER_TEMPLATE, null, Map.of("question", "요약해줘"), null, ragContext, chunks, MAX_CONTEXT_CHARS))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.CONTEXT_WINDOW_EXCEEDED);
+        verify(gatewayMetrics).incrementPreflight("rejected");
+    }
+
+    @Test
+    @DisplayName("윈도우를 모르는 모델은 검사하지 않는다")
+    void 윈도우를_모르는_모델은_검사하지_않는다() {
+        // given
+        String hugeQuestion = " word".repeat(20_000);
+
+        // when
+        GatewayPreflightService.PreflightResult result = gatewayPreflightService.evaluate(
+                1L, "my-custom-model", USER_TEMPLATE, null, Map.of("question", hugeQuestion), null, null, null, 0);
+
+        // then
+        assertThat(result.promptTokens()).isGreaterThan(20_000);
+        assertThat(result.projectedCost("my-custom-model")).isZero();
+    }
+
+    @Test
+    @DisplayName("템플릿 고정 텍스트의 토큰 수는 프롬프트 버전별로 한 번만 계산한다")
+    void 고정_텍스트_토큰_수를_버전별로_캐시한다() {
+        // given
+        PromptTemplate system = PromptTemplate.compile("You are {{persona}}. Answer briefly.");
+
+        // when
+        int first = promptTokenEstimator.estimatePrompt(7L, USER_TEMPLATE, system, Map.of("question", "q", "persona", "a helper"));
+        int second = promptTokenEstimator.estimatePrompt(7L, USER_TEMPLATE, system, Map.of("question", "q", "persona", "a helper"));
+
+        // then
+        assertThat(second).isEqualTo(first);
+        assertThat(promptTokenEstimator.cachedVersionCount()).isEqualTo(2);
+    }
+
+    private static List<ChunkDetailResponse> largeChunks(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ChunkDetailResponse(" word".repeat(3_000), 0.9 - i * 0.1, (long) i, "doc-" + i + ".txt"))
+                .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.config.GatewayResponseCacheProperties;
+import com.llm_ops.demo.gateway.service.LlmCallService.ModelConfigOverride;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GatewayResponseCacheTest {
+
+    private static final Long WORKSPACE_ID = 1L;
+    private static final Long PROMPT_ID = 10L;
+    private static final ModelConfigOverride DETERMINISTIC = new ModelConfigOverride(0.0, 256, null, null);
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private GatewayResponseCacheProperties properties;
+    private GatewayResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setAllWorkspaces(true);
+        cache = new GatewayResponseCache(properties, new GatewayMetrics(registry), clock::get);
+    }
+
+    @Test
+    @DisplayName("temperature가 0이 아니거나 워크스페이스가 opt-in 하지 않으면 캐시 대상이 아니다")
+    void 결정적_요청과_opt_in_워크스페이스만_캐시한다() {
+        // given
+        properties.setAllWorkspaces(false);
+        GatewayResponseCacheProperties.WorkspaceOverride optIn = new GatewayResponseCacheProperties.WorkspaceOverride();
+        optIn.setEnabled(true);
+        properties.getWorkspaces().put(WORKSPACE_ID, optIn);
+
+        // then
+        assertThat(cache.isCacheable(WORKSPACE_ID, DETERMINISTIC)).isTrue();
+        assertThat(cache.isCacheable(WORKSPACE_ID, new ModelConfigOverride(0.7, 256, null, null))).isFalse();
+        assertThat(cache.isCacheable(WORKSPACE_ID, null)).isFalse();
+        assertThat(cache.isCacheable(2L, DETERMINISTIC)).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 요청 구성은 같은 키를 만들고 모델 설정이 다르면 다른 키를 만든다")
+    void 요청_구성이_같으면_같은_키를_만든다() {
+        // when
+        String first = key("hello", DETERMINISTIC);
+        String second = key("hello", DETERMINISTIC);
+        String otherConfig = key("hello", new ModelConfigOverride(0.0, 512, null, null));
+        String otherPrompt = key("hello!", DETERMINISTIC);
+
+        // then
+        assertThat(second).isEqualTo(first);
+        assertThat(otherConfig).isNotEqualTo(first);
+        assertThat(otherPrompt).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("TTL이 지나면 적중하지 않는다")
+    void TTL이_지나면_적중하지_않는다() {
+        // given
+        properties.setTtlMs(1_000L);
+        String key = key("hello", DETERMINISTIC);
+        cache.put(WORKSPACE_ID, PROMPT_ID, key, new GatewayResponseCache.CachedResponse("hi", "gpt-4.1-mini"));
+
+        // when
+        GatewayResponseCache.CachedResponse hit = cache.get(WORKSPACE_ID, key);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000L));
+        GatewayResponseCache.CachedResponse expired = cache.get(WORKSPACE_ID, key);
+
+        // then
+        assertThat(hit).isNotNull();
+        assertThat(hit.answer()).isEqualTo("hi");
+        assertThat(expired).isNull();
+        assertThat(registry.get("gateway_response_cache_requests_total").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("gateway_response_cache_requests_total").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("워크스페이스 최대 개수를 넘으면 가장 오래 사용되지 않은 응답을 축출한다")
+    void 최대_개수를_넘으면_LRU_응답을_축출한다() {
+        // given
+        properties.setMaxEntries(2);
+        cache.put(WORKSPACE_ID, PROMPT_ID, "a", new GatewayResponseCache.CachedResponse("A", null));
+        cache.put(WORKSPACE_ID, PROMPT_ID, "b", new GatewayResponseCache.CachedResponse("B", null));
+        cache.get(WORKSPACE_ID, "a");
+
+        // when
+        cache.put(WORKSPACE_ID, PROMPT_ID, "c", new GatewayResponseCache.CachedResponse("C", null));
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(WORKSPACE_ID, "a")).isNotNull();
+        assertThat(cache.get(WORKSPACE_ID, "b")).isNull();
+        assertThat(cache.get(WORKSPACE_ID, "c")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("프롬프트 릴리즈 무효화 시 해당 프롬프트의 응답만 제거한다")
+    void 프롬프트_무효화_시_해당_응답만_제거한다() {
+        // given
+        cache.put(WORKSPACE_ID, PROMPT_ID, "a", new GatewayResponseCache.CachedResponse("A", null));
+        cache.put(WORKSPACE_ID, 11L, "b", new GatewayResponseCache.CachedResponse("B", null));
+
+        // when
+        cache.invalidatePrompt(PROMPT_ID);
+
+        // then
+        assertThat(cache.get(WORKSPACE_ID, "a")).isNull();
+        assertThat(cache.get(WORKSPACE_ID, "b")).isNotNull();
+    }
+
+    private static String key(String userPrompt, ModelConfigOverride config) {
+        return GatewayResponseCache.keyOf(100L, ProviderType.OPENAI, "gpt-4.1-mini", "system", userPrompt, config, null);
+    }
+}
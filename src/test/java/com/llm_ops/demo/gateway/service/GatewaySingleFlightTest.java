@@ -0,0 +1,117 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewaySingleFlightProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GatewaySingleFlightTest {
+
+    private GatewaySingleFlightProperties properties;
+    private GatewaySingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewaySingleFlightProperties();
+        singleFlight = new GatewaySingleFlight(properties);
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 합류하면 첫 요청만 leader가 되고 나머지는 leader의 응답을 받는다")
+    void 동시_요청은_leader_응답을_공유한다() throws Exception {
+        // given
+        GatewaySingleFlight.Flight leader = singleFlight.join("key");
+        GatewaySingleFlight.Flight follower = singleFlight.join("key");
+        GatewaySingleFlight.SharedResponse response =
+                new GatewaySingleFlight.SharedResponse("answer", "gpt-4o-mini", ProviderType.OPENAI, "gpt-4o-mini", false);
+
+        // when
+        leader.complete(response);
+
+        // then
+        assertThat(leader.isLeader()).isTrue();
+        assertThat(follower.isLeader()).isFalse();
+        assertThat(follower.result().get()).isEqualTo(response);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("leader가 응답 없이 끝나면 기다리던 요청은 null을 받고, 다시 합류한 첫 요청이 새 leader가 된다")
+    void leader가_실패하면_다시_합류한_요청이_leader가_된다() throws Exception {
+        // given
+        GatewaySingleFlight.Flight leader = singleFlight.join("key");
+        GatewaySingleFlight.Flight follower = singleFlight.join("key");
+
+        // when
+        leader.complete(null);
+        leader.complete(new GatewaySingleFlight.SharedResponse("late", null, ProviderType.OPENAI, "m", false));
+
+        // then
+        assertThat(follower.result().get()).isNull();
+        assertThat(singleFlight.join("key").isLeader()).isTrue();
+        assertThat(singleFlight.join("key").isLeader()).isFalse();
+    }
+
+    @Test
+    @DisplayName("leader의 프로바이더 호출이 실패하면 기다리던 요청은 다시 호출하지 않고 같은 실패를 받는다")
+    void leader의_실패를_follower에게_넘긴다() {
+        // given
+        GatewaySingleFlight.Flight leader = singleFlight.join("key");
+        GatewaySingleFlight.Flight follower = singleFlight.join("key");
+        GatewayFailureClassifier.GatewayFailure failure = new GatewayFailureClassifier.GatewayFailure(
+                "GW-UP-UNAVAILABLE", "PROVIDER_5XX", "upstream error", 502,
+                GatewayFailureClassifier.FailoverPolicy.IMMEDIATE_FAILOVER);
+
+        // when
+        leader.fail(failure);
+        leader.complete(null);
+
+        // then
+        assertThatThrownBy(() -> follower.result().get())
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(GatewaySingleFlight.LeaderFailedException.class,
+                        e -> assertThat(e.failure()).isEqualTo(failure));
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("follower의 complete는 무시하고 다른 키는 서로 합류하지 않는다")
+    void follower_complete는_무시하고_키별로_분리한다() {
+        // given
+        GatewaySingleFlight.Flight leader = singleFlight.join("a");
+        GatewaySingleFlight.Flight follower = singleFlight.join("a");
+
+        // when
+        follower.complete(null);
+
+        // then
+        assertThat(leader.result()).isNotDone();
+        assertThat(singleFlight.join("b").isLeader()).isTrue();
+        assertThat(singleFlight.inFlightCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("enabled이고 all-workspaces 또는 워크스페이스별 opt-in일 때만 적용한다")
+    void 워크스페이스별_opt_in을_따른다() {
+        // given
+        properties.getWorkspaces().put(1L, true);
+        properties.getWorkspaces().put(2L, false);
+
+        // when & then
+        assertThat(singleFlight.isEnabled(1L)).isFalse();
+        properties.setEnabled(true);
+        assertThat(singleFlight.isEnabled(1L)).isTrue();
+        assertThat(singleFlight.isEnabled(3L)).isFalse();
+        properties.setAllWorkspaces(true);
+        assertThat(singleFlight.isEnabled(2L)).isFalse();
+        assertThat(singleFlight.isEnabled(3L)).isTrue();
+        assertThat(singleFlight.isEnabled(null)).isFalse();
+    }
+}
@@ -0,0 +1,154 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayTenantLimitProperties;
+import com.llm_ops.demo.global.error.ErrorCode;
+import com.llm_ops.demo.global.error.RateLimitExceededException;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService.AuthResult;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GatewayTenantLimiterTest {
+
+    private static final AuthResult KEY_A = new AuthResult(1L, 10L, "key-a");
+    private static final AuthResult KEY_B = new AuthResult(1L, 11L, "key-b");
+    private static final AuthResult OTHER_ORG = new AuthResult(2L, 20L, "key-c");
+
+    @Mock
+    private GatewayMetrics gatewayMetrics;
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private GatewayTenantLimitProperties properties;
+    private GatewayTenantLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayTenantLimitProperties();
+        properties.setEnabled(true);
+        limiter = new GatewayTenantLimiter(properties, gatewayMetrics, clock::get);
+    }
+
+    @Test
+    @DisplayName("API 키의 버킷이 비면 429와 다음 토큰까지의 Retry-After를 돌려주고, 시간이 지나면 다시 허용한다")
+    void API_키_처리율_한도를_넘으면_차단하고_충전_후_허용한다() {
+        // given
+        properties.getApiKey().setRequestsPerSecond(0.5d);
+        properties.getApiKey().setBurst(2);
+        limiter.acquire(KEY_A).close();
+        limiter.acquire(KEY_A).close();
+
+        // when & then
+        assertThatThrownBy(() -> limiter.acquire(KEY_A))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.GATEWAY_RATE_LIMITED)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 2L);
+        verify(gatewayMetrics).incrementTenantLimitRejected("api_key", "rate");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.acquire(KEY_A).close();
+    }
+
+    @Test
+    @DisplayName("배치 요청은 항목 수만큼 토큰을 쓰고, burst보다 큰 배치는 버킷이 가득 찼을 때만 통과하되 초과분만큼 이후 요청을 막는다")
+    void 배치_요청은_항목_수만큼_토큰을_쓴다() {
+        // given
+        properties.getApiKey().setRequestsPerSecond(1d);
+        properties.getApiKey().setBurst(4);
+        limiter.acquire(KEY_A, 3).close();
+
+        // when & then
+        assertThatThrownBy(() -> limiter.acquire(KEY_A, 2))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 1L);
+        limiter.acquire(KEY_A).close();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        limiter.acquire(KEY_A, 10).close();
+        assertThatThrownBy(() -> limiter.acquire(KEY_A))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 7L);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(7));
+        limiter.acquire(KEY_A).close();
+    }
+
+    @Test
+    @DisplayName("한 테넌트가 한도를 소진해도 다른 API 키와 다른 조직은 영향을 받지 않는다")
+    void 테넌트별로_한도를_격리한다() {
+        // given
+        properties.getApiKey().setRequestsPerSecond(1d);
+        properties.getApiKey().setBurst(1);
+        limiter.acquire(KEY_A).close();
+        assertThatThrownBy(() -> limiter.acquire(KEY_A)).isInstanceOf(RateLimitExceededException.class);
+
+        // when & then
+        limiter.acquire(KEY_B).close();
+        limiter.acquire(OTHER_ORG).close();
+    }
+
+    @Test
+    @DisplayName("조직 동시 처리 한도를 넘으면 차단하고, 반납 후에는 다시 허용한다")
+    void 조직_동시_처리_한도를_적용한다() {
+        // given
+        properties.getOrganization().setMaxInFlight(1);
+        GatewayTenantLimiter.Permit first = limiter.acquire(KEY_A);
+
+        // when & then
+        assertThatThrownBy(() -> limiter.acquire(KEY_B))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.GATEWAY_CONCURRENCY_LIMITED);
+        verify(gatewayMetrics).incrementTenantLimitRejected("organization", "concurrency");
+
+        first.close();
+        first.close();
+        limiter.acquire(KEY_B).close();
+    }
+
+    @Test
+    @DisplayName("API 키별 재정의가 기본 한도보다 우선한다")
+    void API_키별_재정의를_적용한다() {
+        // given
+        properties.getApiKey().setMaxInFlight(1);
+        GatewayTenantLimitProperties.Limit override = new GatewayTenantLimitProperties.Limit();
+        override.setMaxInFlight(2);
+        properties.getApiKeys().put(KEY_A.apiKeyId(), override);
+
+        // when
+        GatewayTenantLimiter.Permit first = limiter.acquire(KEY_A);
+        GatewayTenantLimiter.Permit second = limiter.acquire(KEY_A);
+
+        // then
+        assertThatThrownBy(() -> limiter.acquire(KEY_A)).isInstanceOf(RateLimitExceededException.class);
+        first.close();
+        second.close();
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 없고 유휴 시간이 지난 카운터만 정리한다")
+    void 유휴_카운터를_정리한다() {
+        // given
+        properties.setIdleEvictionMs(1_000L);
+        GatewayTenantLimiter.Permit inFlight = limiter.acquire(KEY_A);
+        limiter.acquire(OTHER_ORG).close();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // when
+        limiter.evictIdle();
+
+        // then
+        assertThat(limiter.trackedCounters()).isEqualTo(2);
+        inFlight.close();
+        limiter.evictIdle();
+        assertThat(limiter.trackedCounters()).isZero();
+    }
+}
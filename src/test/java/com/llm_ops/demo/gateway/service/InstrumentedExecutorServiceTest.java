@@ -0,0 +1,72 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedExecutorServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = new GatewayMetrics(registry)
+            .instrumentExecutor("provider_call", Executors.newFixedThreadPool(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("실행 중 작업 수와 대기 시간을 기록한다")
+    void 실행_중_작업_수와_대기_시간을_기록한다() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        Future<String> future = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return "ok";
+        });
+        started.await(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(registry.get("gateway_executor_in_flight").tag("executor", "provider_call").gauge().value())
+                .isEqualTo(1.0);
+        release.countDown();
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(registry.get("gateway_executor_queue_wait_seconds").tag("executor", "provider_call").timer().count())
+                .isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("future.cancel(true)는 실행 중인 작업을 인터럽트한다")
+    void cancel은_실행_중인_작업을_인터럽트한다() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<?> future = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000L);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await(1, TimeUnit.SECONDS);
+
+        // when
+        future.cancel(true);
+
+        // then
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,180 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.config.PromptSnapshotCacheProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.prompt.template.PromptTemplate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PromptReleaseSnapshotCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private final AtomicInteger loads = new AtomicInteger();
+    private PromptSnapshotCacheProperties properties;
+    private PromptReleaseSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PromptSnapshotCacheProperties();
+        cache = new PromptReleaseSnapshotCache(properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("TTL 안에서는 같은 스냅샷을 재사용한다")
+    void TTL_안에서는_스냅샷을_재사용한다() {
+        // when
+        PromptReleaseSnapshot first = load(1L, "greeting", 100L, 1000L);
+        PromptReleaseSnapshot second = load(1L, "greeting", 100L, 1000L);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TTL이 지나면 다시 조회한다")
+    void TTL이_지나면_다시_조회한다() {
+        // given
+        properties.setTtlMs(1_000L);
+        load(1L, "greeting", 100L, 1000L);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001L));
+
+        // when
+        load(1L, "greeting", 100L, 1000L);
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("프롬프트 무효화 시 해당 프롬프트의 스냅샷만 제거한다")
+    void 프롬프트_무효화_시_해당_스냅샷만_제거한다() {
+        // given
+        load(1L, "greeting", 100L, 1000L);
+        load(1L, "farewell", 101L, 1001L);
+
+        // when
+        cache.invalidatePrompt(100L);
+
+        // then
+        assertThat(cache.size()).isEqualTo(1);
+        load(1L, "farewell", 101L, 1001L);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("워크스페이스 무효화 시 워크스페이스의 모든 스냅샷을 제거한다")
+    void 워크스페이스_무효화_시_모든_스냅샷을_제거한다() {
+        // given
+        load(1L, "greeting", 100L, 1000L);
+        load(1L, "farewell", 101L, 1001L);
+        load(2L, "greeting", 200L, 2000L);
+
+        // when
+        cache.invalidateWorkspace(1L);
+
+        // then
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("조회 중 무효화가 일어나면 결과를 캐시하지 않는다")
+    void 조회_중_무효화가_일어나면_캐시하지_않는다() {
+        // when
+        cache.getOrLoad(10L, 1L, "greeting", () -> {
+            cache.invalidatePrompt(100L);
+            return snapshot(1L, 100L, 1000L);
+        });
+
+        // then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 키의 캐시 miss가 동시에 들어오면 한 번만 조회하고 결과를 함께 쓴다")
+    void 동시_miss는_한_번만_조회한다() throws Exception {
+        // given
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        CompletableFuture<PromptReleaseSnapshot> first = CompletableFuture.supplyAsync(() ->
+                cache.getOrLoad(10L, 1L, "greeting", () -> {
+                    loads.incrementAndGet();
+                    loaderStarted.countDown();
+                    await(releaseLoader);
+                    return snapshot(1L, 100L, 1000L);
+                }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<PromptReleaseSnapshot> second =
+                CompletableFuture.supplyAsync(() -> load(1L, "greeting", 100L, 1000L));
+
+        // when
+        releaseLoader.countDown();
+
+        // then
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 사용하지 않은 스냅샷만 제거한다")
+    void 가장_오래_사용하지_않은_스냅샷부터_제거한다() {
+        // given
+        properties.setMaxEntries(2);
+        load(1L, "greeting", 100L, 1000L);
+        load(1L, "farewell", 101L, 1001L);
+        load(1L, "greeting", 100L, 1000L);
+
+        // when
+        load(1L, "welcome", 102L, 1002L);
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        load(1L, "greeting", 100L, 1000L);
+        assertThat(loads.get()).isEqualTo(3);
+        load(1L, "farewell", 101L, 1001L);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("TTL이 0이면 캐시하지 않는다")
+    void TTL이_0이면_캐시하지_않는다() {
+        // given
+        properties.setTtlMs(0L);
+
+        // when
+        load(1L, "greeting", 100L, 1000L);
+        load(1L, "greeting", 100L, 1000L);
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private PromptReleaseSnapshot load(Long workspaceId, String promptKey, Long promptId, Long promptVersionId) {
+        return cache.getOrLoad(10L, workspaceId, promptKey, () -> {
+            loads.incrementAndGet();
+            return snapshot(workspaceId, promptId, promptVersionId);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PromptReleaseSnapshot snapshot(Long workspaceId, Long promptId, Long promptVersionId) {
+        return new PromptReleaseSnapshot(workspaceId, promptId, promptVersionId, ProviderType.OPENAI, "gpt-4.1-mini",
+                null, null, PromptTemplate.compile("{{question}}"), null, null, null);
+    }
+}
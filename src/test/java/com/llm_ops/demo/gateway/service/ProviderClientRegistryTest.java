@@ -0,0 +1,110 @@
+package com.llm_ops.demo.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.config.ProviderClientProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.ProviderCredentialService.ResolvedProviderApiKey;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.anthropic.AnthropicChatModel;
+
+class ProviderClientRegistryTest {
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private ProviderClientProperties properties;
+    private ProviderClientRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProviderClientProperties();
+        registry = new ProviderClientRegistry(properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("같은 credential과 키로 요청하면 동일한 클라이언트를 재사용한다")
+    void 같은_credential과_키는_클라이언트를_재사용한다() {
+        // given
+        ResolvedProviderApiKey resolved = anthropicKey(10L, "provider-key");
+
+        // when
+        AnthropicChatModel first = registry.anthropic(resolved);
+        AnthropicChatModel second = registry.anthropic(anthropicKey(10L, "provider-key"));
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("키가 바뀌면 fingerprint가 달라져 새 클라이언트를 만든다")
+    void 키가_바뀌면_새_클라이언트를_만든다() {
+        // when
+        AnthropicChatModel before = registry.anthropic(anthropicKey(10L, "old-key"));
+        AnthropicChatModel after = registry.anthropic(anthropicKey(10L, "new-key"));
+
+        // then
+        assertThat(after).isNotSameAs(before);
+    }
+
+    @Test
+    @DisplayName("credential 무효화 시 해당 credential의 클라이언트만 제거한다")
+    void credential_무효화_시_해당_클라이언트만_제거한다() {
+        // given
+        AnthropicChatModel target = registry.anthropic(anthropicKey(10L, "provider-key"));
+        AnthropicChatModel other = registry.anthropic(anthropicKey(11L, "other-key"));
+
+        // when
+        registry.invalidateCredential(10L);
+
+        // then
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(registry.anthropic(anthropicKey(10L, "provider-key"))).isNotSameAs(target);
+        assertThat(registry.anthropic(anthropicKey(11L, "other-key"))).isSameAs(other);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 사용되지 않은 클라이언트를 축출한다")
+    void 최대_개수를_넘으면_LRU_클라이언트를_축출한다() {
+        // given
+        properties.setMaxEntries(2);
+        AnthropicChatModel first = registry.anthropic(anthropicKey(1L, "key-1"));
+        clock.addAndGet(1L);
+        AnthropicChatModel second = registry.anthropic(anthropicKey(2L, "key-2"));
+        clock.addAndGet(1L);
+        registry.anthropic(anthropicKey(1L, "key-1"));
+        clock.addAndGet(1L);
+
+        // when
+        registry.anthropic(anthropicKey(3L, "key-3"));
+
+        // then
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.anthropic(anthropicKey(1L, "key-1"))).isSameAs(first);
+        assertThat(registry.anthropic(anthropicKey(2L, "key-2"))).isNotSameAs(second);
+    }
+
+    @Test
+    @DisplayName("유휴 시간을 넘긴 클라이언트는 정리된다")
+    void 유휴_시간을_넘긴_클라이언트는_정리된다() {
+        // given
+        properties.setIdleTimeoutMs(1_000L);
+        registry.anthropic(anthropicKey(10L, "provider-key"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500L));
+        registry.anthropic(anthropicKey(11L, "other-key"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600L));
+
+        // when
+        registry.evictIdle();
+
+        // then
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    private static ResolvedProviderApiKey anthropicKey(Long credentialId, String apiKey) {
+        return new ResolvedProviderApiKey(credentialId, ProviderType.ANTHROPIC, apiKey);
+    }
+}
@@ -0,0 +1,146 @@
+package com.llm_ops.demo.gateway.service;
+
+import com.llm_ops.demo.gateway.config.GatewayAdaptiveLimitProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderConcurrencyLimiterTest {
+
+    private static final String MODEL = "gpt-4o-mini";
+
+    @Mock
+    private GatewayMetrics gatewayMetrics;
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private GatewayAdaptiveLimitProperties properties;
+    private ProviderConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayAdaptiveLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(10);
+        limiter = new ProviderConcurrencyLimiter(properties, gatewayMetrics, clock::get);
+    }
+
+    @Test
+    @DisplayName("한도만큼 호출이 진행 중이면 대기하지 않고 ProviderConcurrencyLimitedException을 던진다")
+    void 한도를_넘으면_즉시_거절한다() {
+        // given
+        List<ProviderConcurrencyLimiter.Permit> permits = acquire(ProviderType.OPENAI, 4);
+
+        // when & then
+        assertThat(limiter.hasCapacity(ProviderType.OPENAI, MODEL)).isFalse();
+        assertThatThrownBy(() -> limiter.acquire(ProviderType.OPENAI, MODEL))
+                .isInstanceOf(ProviderConcurrencyLimitedException.class);
+        verify(gatewayMetrics).incrementProviderLimitRejected("openai");
+        assertThat(new GatewayFailureClassifier().classifyProvider(new ProviderConcurrencyLimitedException("openai", 4)).failoverEligible())
+                .isTrue();
+
+        permits.get(0).release(ProviderConcurrencyLimiter.Outcome.IGNORED);
+        permits.get(0).release(ProviderConcurrencyLimiter.Outcome.IGNORED);
+        assertThat(limiter.hasCapacity(ProviderType.OPENAI, MODEL)).isTrue();
+    }
+
+    @Test
+    @DisplayName("오류가 나면 한도를 줄이고, 한도를 충분히 쓰는 상태의 정상 응답은 한 번에 1/한도씩 늘린다")
+    void 오류에는_줄이고_정상_응답에는_늘린다() {
+        // given
+        properties.setBackoffRatio(0.5d);
+
+        // when
+        acquire(ProviderType.GEMINI, 1).get(0).release(ProviderConcurrencyLimiter.Outcome.DROPPED);
+        int afterDrop = limiter.currentLimit(ProviderType.GEMINI, MODEL);
+        acquire(ProviderType.GEMINI, 2).forEach(permit -> permit.release(ProviderConcurrencyLimiter.Outcome.SUCCESS));
+        int afterOneRound = limiter.currentLimit(ProviderType.GEMINI, MODEL);
+        acquire(ProviderType.GEMINI, 2).forEach(permit -> permit.release(ProviderConcurrencyLimiter.Outcome.SUCCESS));
+        int afterTwoRounds = limiter.currentLimit(ProviderType.GEMINI, MODEL);
+
+        // then
+        assertThat(afterDrop).isEqualTo(2);
+        assertThat(afterOneRound).isEqualTo(2);
+        assertThat(afterTwoRounds).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("같은 RTT 안에 몰린 오류로는 한도를 한 번만 줄이고, 감소 이후에 시작한 호출의 오류는 다시 반영한다")
+    void 한_RTT_안의_오류는_한_번만_반영한다() {
+        // given
+        properties.setBackoffRatio(0.5d);
+        List<ProviderConcurrencyLimiter.Permit> concurrent = acquire(ProviderType.OPENAI, 4);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // when
+        concurrent.forEach(permit -> permit.release(ProviderConcurrencyLimiter.Outcome.DROPPED));
+        int afterBurst = limiter.currentLimit(ProviderType.OPENAI, MODEL);
+        ProviderConcurrencyLimiter.Permit next = limiter.acquire(ProviderType.OPENAI, MODEL);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        next.release(ProviderConcurrencyLimiter.Outcome.DROPPED);
+        int afterNextRtt = limiter.currentLimit(ProviderType.OPENAI, MODEL);
+
+        // then
+        assertThat(afterBurst).isEqualTo(2);
+        assertThat(afterNextRtt).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최근 지연이 기준 지연의 허용 배수를 넘으면 오류가 없어도 한도를 줄인다")
+    void 지연이_늘어나면_한도를_줄인다() {
+        // given
+        properties.setShortWindow(2);
+        properties.setLongWindow(100);
+        for (int i = 0; i < 20; i++) {
+            completeAfter(ProviderType.ANTHROPIC, 100);
+        }
+        int before = limiter.currentLimit(ProviderType.ANTHROPIC, MODEL);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            completeAfter(ProviderType.ANTHROPIC, 2_000);
+        }
+
+        // then
+        assertThat(limiter.currentLimit(ProviderType.ANTHROPIC, MODEL)).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("프로바이더마다 한도를 따로 두어 한 프로바이더가 느려져도 다른 프로바이더는 영향을 받지 않는다")
+    void 프로바이더별로_한도를_격리한다() {
+        // given
+        acquire(ProviderType.GEMINI, 4);
+
+        // when & then
+        assertThat(limiter.hasCapacity(ProviderType.GEMINI, MODEL)).isFalse();
+        assertThat(limiter.hasCapacity(ProviderType.OPENAI, MODEL)).isTrue();
+        limiter.acquire(ProviderType.OPENAI, MODEL).release(ProviderConcurrencyLimiter.Outcome.SUCCESS);
+    }
+
+    private List<ProviderConcurrencyLimiter.Permit> acquire(ProviderType provider, int count) {
+        List<ProviderConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire(provider, MODEL));
+        }
+        return permits;
+    }
+
+    private void completeAfter(ProviderType provider, long millis) {
+        ProviderConcurrencyLimiter.Permit permit = limiter.acquire(provider, MODEL);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        permit.release(ProviderConcurrencyLimiter.Outcome.SUCCESS);
+    }
+}
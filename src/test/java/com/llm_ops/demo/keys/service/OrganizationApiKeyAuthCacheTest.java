@@ -0,0 +1,107 @@
+package com.llm_ops.demo.keys.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.gateway.service.GatewayMetrics;
+import com.llm_ops.demo.keys.config.ApiKeyAuthCacheProperties;
+import com.llm_ops.demo.keys.service.OrganizationApiKeyAuthService.AuthResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrganizationApiKeyAuthCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ApiKeyAuthCacheProperties properties;
+    private OrganizationApiKeyAuthCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApiKeyAuthCacheProperties();
+        cache = new OrganizationApiKeyAuthCache(properties, new GatewayMetrics(registry), clock::get);
+    }
+
+    @Test
+    @DisplayName("인증 성공 결과를 재사용한다")
+    void 인증_성공_결과를_재사용한다() {
+        // when
+        AuthResult first = load("hash-1", new AuthResult(1L, 10L, "lum_prefix01"));
+        AuthResult second = load("hash-1", new AuthResult(1L, 10L, "lum_prefix01"));
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1.0);
+        assertThat(requests("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("인증 실패는 음성 TTL 동안 DB를 다시 조회하지 않는다")
+    void 인증_실패는_음성_TTL_동안_재조회하지_않는다() {
+        // given
+        properties.setNegativeTtlMs(1_000L);
+        load("unknown", null);
+
+        // when
+        AuthResult cached = load("unknown", null);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001L));
+        load("unknown", null);
+
+        // then
+        assertThat(cached).isNull();
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(requests("negative_hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("키 무효화 시 해당 키의 결과만 제거한다")
+    void 키_무효화_시_해당_키의_결과만_제거한다() {
+        // given
+        load("hash-1", new AuthResult(1L, 10L, "lum_prefix01"));
+        load("hash-2", new AuthResult(1L, 11L, "lum_prefix02"));
+
+        // when
+        cache.invalidateApiKey(10L);
+
+        // then
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(registry.get("gateway_auth_cache_evictions_total").tag("reason", "invalidated").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 먼저 만료될 항목을 제거한다")
+    void 최대_개수를_넘으면_가장_오래된_항목을_제거한다() {
+        // given
+        properties.setMaxEntries(2);
+        load("hash-1", new AuthResult(1L, 10L, "lum_prefix01"));
+        clock.addAndGet(1L);
+        load("hash-2", new AuthResult(1L, 11L, "lum_prefix02"));
+        clock.addAndGet(1L);
+
+        // when
+        load("hash-3", new AuthResult(1L, 12L, "lum_prefix03"));
+        load("hash-2", new AuthResult(1L, 11L, "lum_prefix02"));
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    private AuthResult load(String keyHash, AuthResult result) {
+        return cache.getOrLoad(keyHash, () -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    private double requests(String result) {
+        return registry.get("gateway_auth_cache_requests_total").tag("result", result).counter().count();
+    }
+}
@@ -36,6 +36,9 @@ class OrganizationApiKeyRotateServiceTest {
     @Autowired
     private OrganizationApiKeyRepository organizationApiKeyRepository;
 
+    @Autowired
+    private OrganizationApiKeyAuthService organizationApiKeyAuthService;
+
     private Long organizationId;
     private OrganizationApiKey savedKey;
     private String originalKeyHash;
@@ -96,6 +99,29 @@ class OrganizationApiKeyRotateServiceTest {
         assertThat(rotatedKey.getId()).isEqualTo(originalKeyId);
     }
 
+    @Test
+    @DisplayName("교체 후에는 캐시된 기존 키로 인증할 수 없다")
+    void 교체_후에는_캐시된_기존_키로_인증할_수_없다() {
+        // given
+        OrganizationApiKeyCreateResponse created = organizationApiKeyCreateService.create(
+                organizationId, new OrganizationApiKeyCreateRequest("cached-key"));
+        OrganizationApiKeyAuthService.AuthResult cached = organizationApiKeyAuthService.resolveAuthResult(created.apiKey());
+
+        // when
+        OrganizationApiKeyRotateResponse response = organizationApiKeyRotateService.rotate(
+                organizationId, cached.apiKeyId(), new OrganizationApiKeyRotateRequest("유출 의심"));
+
+        // then
+        assertThatThrownBy(() -> organizationApiKeyAuthService.resolveAuthResult(created.apiKey()))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(exception -> {
+                    BusinessException businessException = (BusinessException) exception;
+                    assertThat(businessException.getErrorCode()).isEqualTo(ErrorCode.UNAUTHENTICATED);
+                });
+        assertThat(organizationApiKeyAuthService.resolveAuthResult(response.apiKey()).apiKeyId())
+                .isEqualTo(cached.apiKeyId());
+    }
+
     @Test
     @DisplayName("존재하지 않는 Key 교체시 예외가 발생한다")
     void 존재하지_않는_Key_교체시_예외가_발생한다() {
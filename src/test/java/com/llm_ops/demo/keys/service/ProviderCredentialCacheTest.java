@@ -0,0 +1,121 @@
+package com.llm_ops.demo.keys.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.keys.config.ProviderCredentialCacheProperties;
+import com.llm_ops.demo.keys.domain.ProviderType;
+import com.llm_ops.demo.keys.service.ProviderCredentialService.ResolvedProviderApiKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProviderCredentialCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private final AtomicInteger loads = new AtomicInteger();
+    private ProviderCredentialCacheProperties properties;
+    private ProviderCredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProviderCredentialCacheProperties();
+        cache = new ProviderCredentialCache(properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("TTL 안에서는 복호화 없이 캐시된 키를 반환한다")
+    void TTL_안에서는_캐시된_키를_반환한다() {
+        // when
+        load(1L, ProviderType.OPENAI, 10L, "sk-openai");
+        ResolvedProviderApiKey cached = load(1L, ProviderType.OPENAI, 10L, "sk-openai");
+
+        // then
+        assertThat(cached.credentialId()).isEqualTo(10L);
+        assertThat(cached.apiKey()).isEqualTo("sk-openai");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료된 키는 정리 시 0으로 덮어쓴 뒤 제거한다")
+    void 만료된_키는_0으로_덮어쓴_뒤_제거한다() {
+        // given
+        properties.setTtlMs(1_000L);
+        byte[] plaintext = "sk-openai".getBytes(StandardCharsets.UTF_8);
+        cache.getOrLoad(1L, ProviderType.OPENAI,
+                () -> new ProviderCredentialCache.DecryptedCredential(10L, plaintext));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001L));
+
+        // when
+        cache.evictExpired();
+
+        // then
+        assertThat(cache.size()).isZero();
+        assertThat(plaintext).containsOnly((byte) 0);
+    }
+
+    @Test
+    @DisplayName("credential 무효화 시 해당 credential만 제거한다")
+    void credential_무효화_시_해당_credential만_제거한다() {
+        // given
+        load(1L, ProviderType.OPENAI, 10L, "sk-openai");
+        load(1L, ProviderType.ANTHROPIC, 11L, "sk-anthropic");
+
+        // when
+        cache.invalidateCredential(10L);
+
+        // then
+        assertThat(cache.size()).isEqualTo(1);
+        load(1L, ProviderType.ANTHROPIC, 11L, "sk-anthropic");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TTL이 0이면 캐시하지 않고 평문 배열을 바로 지운다")
+    void TTL이_0이면_캐시하지_않는다() {
+        // given
+        properties.setTtlMs(0L);
+        byte[] plaintext = "sk-openai".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        ResolvedProviderApiKey resolved = cache.getOrLoad(1L, ProviderType.OPENAI,
+                () -> new ProviderCredentialCache.DecryptedCredential(10L, plaintext));
+
+        // then
+        assertThat(resolved.apiKey()).isEqualTo("sk-openai");
+        assertThat(cache.size()).isZero();
+        assertThat(plaintext).containsOnly((byte) 0);
+    }
+
+    @Test
+    @DisplayName("최대 개수에 이르면 전체를 비우지 않고 가장 오래 전에 넣은 키만 축출한다")
+    void 최대_개수에_이르면_가장_오래된_키만_축출한다() {
+        // given
+        properties.setMaxEntries(2);
+        byte[] eldest = "sk-openai".getBytes(StandardCharsets.UTF_8);
+        cache.getOrLoad(1L, ProviderType.OPENAI,
+                () -> new ProviderCredentialCache.DecryptedCredential(10L, eldest));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1L));
+        load(1L, ProviderType.ANTHROPIC, 11L, "sk-anthropic");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1L));
+
+        // when
+        load(2L, ProviderType.OPENAI, 12L, "sk-openai-2");
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(eldest).containsOnly((byte) 0);
+        load(1L, ProviderType.ANTHROPIC, 11L, "sk-anthropic");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private ResolvedProviderApiKey load(Long organizationId, ProviderType providerType, Long credentialId, String apiKey) {
+        return cache.getOrLoad(organizationId, providerType, () -> {
+            loads.incrementAndGet();
+            return new ProviderCredentialCache.DecryptedCredential(credentialId, apiKey.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+}
@@ -4,6 +4,8 @@ import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.keys.domain.ProviderType;
 import com.llm_ops.demo.keys.dto.ProviderCredentialCreateRequest;
+import com.llm_ops.demo.keys.dto.ProviderCredentialCreateResponse;
+import com.llm_ops.demo.keys.dto.ProviderCredentialUpdateRequest;
 import com.llm_ops.demo.keys.repository.ProviderCredentialRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -60,6 +62,30 @@ class ProviderCredentialServiceTest {
         assertThat(decryptedApiKey).isEqualTo(apiKey);
     }
 
+    @Test
+    @DisplayName("키를 수정하면 캐시된 이전 키 대신 새 키 상태를 반영한다")
+    void 키를_수정하면_캐시된_이전_키를_사용하지_않는다() {
+        // given
+        Long organizationId = 1L;
+        ProviderCredentialCreateResponse created = providerCredentialService.register(
+                organizationId,
+                new ProviderCredentialCreateRequest("openai", "old-key"));
+        activateCredential(organizationId, ProviderType.OPENAI);
+        assertThat(providerCredentialService.resolveApiKey(organizationId, ProviderType.OPENAI).apiKey())
+                .isEqualTo("old-key");
+
+        // when
+        providerCredentialService.update(
+                organizationId,
+                created.credentialId(),
+                new ProviderCredentialUpdateRequest("new-key"));
+        activateCredential(organizationId, ProviderType.OPENAI);
+
+        // then
+        assertThat(providerCredentialService.resolveApiKey(organizationId, ProviderType.OPENAI).apiKey())
+                .isEqualTo("new-key");
+    }
+
     @Test
     @DisplayName("등록된 키가 없으면 NOT_FOUND 예외가 발생한다")
     void 등록된_키가_없으면_예외가_발생한다() {
@@ -9,6 +9,8 @@ import static org.mockito.Mockito.verify;
 
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
+import com.llm_ops.demo.gateway.service.GatewayResponseCache;
+import com.llm_ops.demo.gateway.service.PromptReleaseSnapshotCache;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.keys.domain.ProviderType;
@@ -63,6 +65,12 @@ class PromptReleaseServiceTest {
     @Mock
     private WorkspaceMemberRepository workspaceMemberRepository;
 
+    @Mock
+    private PromptReleaseSnapshotCache promptReleaseSnapshotCache;
+
+    @Mock
+    private GatewayResponseCache gatewayResponseCache;
+
     @Test
     @DisplayName("첫 번째 릴리스를 생성한다")
     void release_FirstRelease_Success() throws Exception {
@@ -95,6 +103,8 @@ class PromptReleaseServiceTest {
 
         verify(promptReleaseRepository).save(any(PromptRelease.class));
         verify(promptReleaseHistoryRepository).save(any(PromptReleaseHistory.class));
+        verify(promptReleaseSnapshotCache).invalidatePrompt(promptId);
+        verify(gatewayResponseCache).invalidatePrompt(promptId);
     }
 
     @Test
@@ -287,6 +297,8 @@ class PromptReleaseServiceTest {
         assertThat(response.activeVersionNo()).isEqualTo(1);
 
         verify(promptReleaseHistoryRepository).save(any(PromptReleaseHistory.class));
+        verify(promptReleaseSnapshotCache).invalidatePrompt(promptId);
+        verify(gatewayResponseCache).invalidatePrompt(promptId);
     }
 
     @Test
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verify;
 
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
+import com.llm_ops.demo.gateway.service.PromptReleaseSnapshotCache;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.organization.domain.Organization;
@@ -52,6 +53,9 @@ class PromptServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PromptReleaseSnapshotCache promptReleaseSnapshotCache;
+
     @Nested
     @DisplayName("create 메서드")
     class Create {
@@ -0,0 +1,116 @@
+package com.llm_ops.demo.prompt.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PromptTemplateTest {
+
+    @Test
+    @DisplayName("placeholder를 한 번에 치환하고 값이 없는 placeholder는 원문으로 남긴다")
+    void placeholder를_치환하고_값이_없으면_원문을_남긴다() {
+        // given
+        PromptTemplate template = PromptTemplate.compile("hi {{name}}, {{name}}! today is {{day}}.");
+
+        // when
+        String rendered = template.render(Map.of("name", "lumina"));
+
+        // then
+        assertThat(rendered).isEqualTo("hi lumina, lumina! today is {{day}}.");
+        assertThat(template.variableNames()).containsExactly("name", "day");
+    }
+
+    @Test
+    @DisplayName("치환된 값 안의 placeholder는 다시 치환하지 않는다")
+    void 치환된_값은_다시_치환하지_않는다() {
+        // given
+        PromptTemplate template = PromptTemplate.compile("{{a}} / {{b}}");
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("a", "{{b}}");
+        variables.put("b", "B");
+
+        // when
+        String rendered = template.render(variables);
+
+        // then
+        assertThat(rendered).isEqualTo("{{b}} / B");
+    }
+
+    @Test
+    @DisplayName("null 값은 빈 문자열로, 겹친 중괄호는 가장 안쪽 placeholder만 치환한다")
+    void null_값과_겹친_중괄호를_처리한다() {
+        // given
+        PromptTemplate template = PromptTemplate.compile("[{{empty}}] {{{json}}}");
+        Map<String, String> variables = new HashMap<>();
+        variables.put("empty", null);
+        variables.put("json", "\"k\": 1");
+
+        // when
+        String rendered = template.render(variables);
+
+        // then
+        assertThat(rendered).isEqualTo("[] {\"k\": 1}");
+    }
+
+    @Test
+    @DisplayName("평가용 문법은 단일 중괄호 placeholder도 치환하고 JSON 같은 중괄호는 그대로 둔다")
+    void 단일_중괄호_placeholder를_치환한다() {
+        // given
+        PromptTemplate template = PromptTemplate.compile(
+            "Q: {question} / ctx: {{context}} / raw: {\"a\": {b}}",
+            PromptTemplate.Syntax.DOUBLE_OR_SINGLE_BRACE);
+
+        // when
+        String rendered = template.render(Map.of("question", "why?", "context", "docs"));
+
+        // then
+        assertThat(rendered).isEqualTo("Q: why? / ctx: docs / raw: {\"a\": {b}}");
+    }
+
+    @Test
+    @DisplayName("여러 템플릿을 합쳐 값이 없는 변수와 쓰지 않은 변수를 보고한다")
+    void 누락_미사용_변수를_보고한다() {
+        // given
+        PromptTemplate user = PromptTemplate.compile("{{question}} {{tone}}");
+        PromptTemplate system = PromptTemplate.compile("You are {{persona}}.");
+        Map<String, String> variables = new LinkedHashMap<>();
+        variables.put("question", "q");
+        variables.put("persona", "helper");
+        variables.put("extra", "x");
+
+        // when
+        PromptTemplate.VariableReport report = PromptTemplate.report(variables, user, system, null);
+
+        // then
+        assertThat(report.missingVariables()).containsExactly("tone");
+        assertThat(report.unusedVariables()).containsExactly("extra");
+    }
+
+    @Test
+    @DisplayName("RAG 규모 템플릿도 변수별 replace 반복과 같은 결과로 렌더링한다")
+    void 대형_템플릿도_반복_replace와_같은_결과를_낸다() {
+        // given
+        Map<String, String> variables = new LinkedHashMap<>();
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            variables.put("var" + i, "value-" + i + "-" + "x".repeat(40));
+            source.append("Section ").append(i).append(": {{var").append(i).append("}}\n");
+            source.append("lorem ipsum dolor sit amet ".repeat(20)).append('\n');
+        }
+        String template = source.toString();
+        String expected = template;
+        for (Map.Entry<String, String> entry : variables.entrySet()) {
+            expected = expected.replace("{{" + entry.getKey() + "}}", entry.getValue());
+        }
+
+        // when
+        String rendered = PromptTemplate.compile(template).render(variables);
+
+        // then
+        assertThat(rendered).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,139 @@
+package com.llm_ops.demo.statistics.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.statistics.config.StatisticsDashboardCacheProperties;
+import com.llm_ops.demo.statistics.dto.DashboardResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StatisticsDashboardCacheTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 9, 16, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 10, 16, 23, 59, 59);
+
+    private final AtomicLong clock = new AtomicLong(0L);
+    private final AtomicInteger loads = new AtomicInteger();
+    private StatisticsDashboardCacheProperties properties;
+    private StatisticsDashboardCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StatisticsDashboardCacheProperties();
+        cache = new StatisticsDashboardCache(properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("같은 조직/워크스페이스/기간은 TTL 안에서 재사용하고 워크스페이스가 다르면 따로 조회한다")
+    void TTL_안에서는_결과를_재사용한다() {
+        // when
+        DashboardResponse first = load(10L, "daily");
+        DashboardResponse second = load(10L, "daily");
+        load(11L, "daily");
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("period별 TTL이 지나면 다시 조회한다")
+    void period별_TTL이_지나면_다시_조회한다() {
+        // given
+        properties.setDailyTtlMs(1_000L);
+        properties.setMonthlyTtlMs(10_000L);
+        load(10L, "daily");
+        load(10L, "monthly");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_001L));
+
+        // when
+        load(10L, "daily");
+        load(10L, "monthly");
+
+        // then
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TTL이 0이면 캐시하지 않는다")
+    void TTL이_0이면_캐시하지_않는다() {
+        // given
+        properties.setDailyTtlMs(0L);
+
+        // when
+        load(10L, "daily");
+        load(10L, "daily");
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 miss는 한 번만 조회하고 나머지는 그 결과를 기다린다")
+    void 동시_miss는_한_번만_조회한다() throws Exception {
+        // given
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        DashboardResponse response = new DashboardResponse(null, null, null, null, null, null, null);
+        CompletableFuture<DashboardResponse> leader = CompletableFuture.supplyAsync(() ->
+                cache.getOrLoad(1L, 10L, "daily", FROM, TO, () -> {
+                    loads.incrementAndGet();
+                    loaderStarted.countDown();
+                    await(releaseLoader);
+                    return response;
+                }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture<DashboardResponse> follower = CompletableFuture.supplyAsync(() -> load(10L, "daily"));
+        releaseLoader.countDown();
+
+        // then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 전체를 비우지 않고 가장 오래 사용하지 않은 결과만 제거한다")
+    void 최대_개수를_넘으면_가장_오래된_결과만_제거한다() {
+        // given
+        properties.setMaxEntries(2);
+        load(10L, "daily");
+        load(11L, "daily");
+        load(10L, "daily");
+
+        // when
+        load(12L, "daily");
+        load(10L, "daily");
+        load(11L, "daily");
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private DashboardResponse load(Long workspaceId, String period) {
+        return cache.getOrLoad(1L, workspaceId, period, FROM, TO, () -> {
+            loads.incrementAndGet();
+            return new DashboardResponse(null, null, null, null, null, null, null);
+        });
+    }
+}
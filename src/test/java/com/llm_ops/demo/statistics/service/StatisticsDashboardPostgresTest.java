@@ -0,0 +1,68 @@
+package com.llm_ops.demo.statistics.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.config.PostgresTestContainer;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository;
+import com.llm_ops.demo.statistics.config.StatisticsDashboardCacheProperties;
+import com.llm_ops.demo.statistics.dto.DashboardResponse;
+import com.llm_ops.demo.statistics.dto.TimeseriesResponse.TimeseriesDataPoint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class StatisticsDashboardPostgresTest {
+
+    private static final long ORGANIZATION_ID = 1L;
+    private static final long WORKSPACE_ID = 2L;
+
+    private JdbcTemplate jdbcTemplate;
+    private StatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(PostgresTestContainer.dataSource());
+        jdbcTemplate.execute("TRUNCATE request_log_rollups");
+        statisticsService = new StatisticsService(
+                new RequestLogRollupRepository(jdbcTemplate, new RequestLogWriteProperties(), new MockEnvironment()),
+                new StatisticsDashboardCache(new StatisticsDashboardCacheProperties()));
+    }
+
+    @Test
+    @DisplayName("대시보드 통합 조회도 UTC 기준 기본 기간으로 한 번에 집계한다")
+    void 대시보드_통합_조회도_UTC_기준으로_집계한다() {
+        // given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        insertDailyRollup(today.minusDays(2), "SUCCESS", 4L, 40L);
+        insertDailyRollup(today, "FAIL", 1L, 0L);
+
+        // when
+        DashboardResponse dashboard = statisticsService.getDashboard(ORGANIZATION_ID, WORKSPACE_ID, "daily", null, null);
+
+        // then
+        assertThat(dashboard.overview().totalRequests()).isEqualTo(5L);
+        assertThat(dashboard.overview().errorCount()).isEqualTo(1L);
+        assertThat(dashboard.overview().totalTokens()).isEqualTo(40L);
+        assertThat(dashboard.timeseries().data()).extracting(TimeseriesDataPoint::date)
+                .containsExactly(today.minusDays(2), today);
+    }
+
+    private void insertDailyRollup(LocalDate day, String status, long requestCount, long totalTokens) {
+        jdbcTemplate.update("""
+                INSERT INTO request_log_rollups (
+                    granularity, bucket_start, organization_id, workspace_id, status,
+                    request_count, total_tokens, estimated_cost
+                ) VALUES ('DAY', ?, ?, ?, ?, ?, ?, ?)
+                """,
+                day.atStartOfDay(), ORGANIZATION_ID, WORKSPACE_ID, status,
+                requestCount, totalTokens, BigDecimal.valueOf(requestCount, 3));
+    }
+}
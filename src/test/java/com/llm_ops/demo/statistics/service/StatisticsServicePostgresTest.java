@@ -0,0 +1,73 @@
+package com.llm_ops.demo.statistics.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.llm_ops.demo.config.PostgresTestContainer;
+import com.llm_ops.demo.gateway.log.config.RequestLogWriteProperties;
+import com.llm_ops.demo.gateway.log.repository.RequestLogRollupRepository;
+import com.llm_ops.demo.statistics.config.StatisticsDashboardCacheProperties;
+import com.llm_ops.demo.statistics.dto.OverviewResponse;
+import com.llm_ops.demo.statistics.dto.TimeseriesResponse;
+import com.llm_ops.demo.statistics.dto.TimeseriesResponse.TimeseriesDataPoint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class StatisticsServicePostgresTest {
+
+    private static final long ORGANIZATION_ID = 1L;
+    private static final long WORKSPACE_ID = 2L;
+
+    private JdbcTemplate jdbcTemplate;
+    private StatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(PostgresTestContainer.dataSource());
+        jdbcTemplate.execute("TRUNCATE request_log_rollups");
+        statisticsService = new StatisticsService(
+                new RequestLogRollupRepository(jdbcTemplate, new RequestLogWriteProperties(), new MockEnvironment()),
+                new StatisticsDashboardCache(new StatisticsDashboardCacheProperties()));
+    }
+
+    @Test
+    @DisplayName("기간을 지정하지 않으면 UTC 기준 최근 30일의 일 롤업을 날짜별로 조회한다")
+    void 기본_기간은_UTC_기준으로_조회한다() {
+        // given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        insertDailyRollup(today.minusDays(31), "SUCCESS", 5L, 50L);
+        insertDailyRollup(today.minusDays(1), "SUCCESS", 3L, 30L);
+        insertDailyRollup(today, "SUCCESS", 2L, 20L);
+        insertDailyRollup(today, "FAIL", 1L, 0L);
+
+        // when
+        TimeseriesResponse timeseries = statisticsService.getTimeseries(ORGANIZATION_ID, WORKSPACE_ID, "daily", null, null);
+        OverviewResponse overview = statisticsService.getOverview(ORGANIZATION_ID, WORKSPACE_ID, "daily", null, null);
+
+        // then
+        assertThat(timeseries.data()).extracting(TimeseriesDataPoint::date)
+                .containsExactly(today.minusDays(1), today);
+        assertThat(timeseries.data()).extracting(TimeseriesDataPoint::requests).containsExactly(3L, 3L);
+        assertThat(overview.totalRequests()).isEqualTo(6L);
+        assertThat(overview.errorCount()).isEqualTo(1L);
+        assertThat(overview.totalTokens()).isEqualTo(50L);
+    }
+
+    private void insertDailyRollup(LocalDate day, String status, long requestCount, long totalTokens) {
+        jdbcTemplate.update("""
+                INSERT INTO request_log_rollups (
+                    granularity, bucket_start, organization_id, workspace_id, status,
+                    request_count, total_tokens, estimated_cost
+                ) VALUES ('DAY', ?, ?, ?, ?, ?, ?, ?)
+                """,
+                day.atStartOfDay(), ORGANIZATION_ID, WORKSPACE_ID, status,
+                requestCount, totalTokens, BigDecimal.valueOf(requestCount, 3));
+    }
+}
@@ -10,6 +10,8 @@ import static org.mockito.Mockito.verify;
 
 import com.llm_ops.demo.auth.domain.User;
 import com.llm_ops.demo.auth.repository.UserRepository;
+import com.llm_ops.demo.gateway.service.GatewayResponseCache;
+import com.llm_ops.demo.gateway.service.PromptReleaseSnapshotCache;
 import com.llm_ops.demo.global.error.BusinessException;
 import com.llm_ops.demo.global.error.ErrorCode;
 import com.llm_ops.demo.organization.domain.Organization;
@@ -58,6 +60,12 @@ class WorkspaceServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PromptReleaseSnapshotCache promptReleaseSnapshotCache;
+
+    @Mock
+    private GatewayResponseCache gatewayResponseCache;
+
     @Test
     @DisplayName("워크스페이스를 생성한다")
     void create_Success() throws Exception {